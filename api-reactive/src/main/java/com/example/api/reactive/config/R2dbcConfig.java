@@ -0,0 +1,62 @@
+package com.example.api.reactive.config;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+
+import java.util.List;
+
+@Configuration
+public class R2dbcConfig {
+
+    /**
+     * Filas que el driver pide por vez al recorrer un resultado. Con un valor mayor a cero
+     * las consultas se leen por tandas desde el portal de PostgreSQL según la demanda del
+     * suscriptor, en lugar de recibir el resultado completo. Con 0 no se configura (H2).
+     */
+    @Bean
+    public ConnectionFactoryOptionsBuilderCustomizer fetchSizeCustomizer(
+            @Value("${app.reactive.fetch-size:500}") int fetchSize) {
+        return builder -> {
+            if (fetchSize > 0) {
+                builder.option(Option.valueOf("fetchSize"), fetchSize);
+            }
+        };
+    }
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(new EstadoToColumn(), new ColumnToEstado()));
+    }
+
+    /**
+     * Igual que el EstadoReclamoConverter del módulo api: la columna guarda la descripción.
+     */
+    @WritingConverter
+    static class EstadoToColumn implements Converter<EstadoReclamoEnum, String> {
+
+        @Override
+        public String convert(EstadoReclamoEnum estado) {
+            return estado.getDescripcion();
+        }
+    }
+
+    @ReadingConverter
+    static class ColumnToEstado implements Converter<String, EstadoReclamoEnum> {
+
+        @Override
+        public EstadoReclamoEnum convert(String value) {
+            return EstadoReclamoEnum.fromValue(value);
+        }
+    }
+}
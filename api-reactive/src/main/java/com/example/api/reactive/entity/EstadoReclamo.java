@@ -0,0 +1,42 @@
+package com.example.api.reactive.entity;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento del historial de estados ({@code estado_reclamos}), con la secuencia por reclamo
+ * del event store.
+ */
+@Table("estado_reclamos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstadoReclamo {
+
+    @Id
+    private Long id;
+
+    @Column("reclamo_id")
+    private Long reclamoId;
+
+    private EstadoReclamoEnum estado;
+
+    private String notas;
+
+    @Column("asesor_email")
+    private String asesorEmail;
+
+    @Column("fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    private Long secuencia;
+}
@@ -0,0 +1,40 @@
+package com.example.api.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de {@code reclamos}. El esquema lo administra el módulo api.
+ */
+@Table("reclamos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reclamo {
+
+    @Id
+    private Long id;
+
+    private String codigo;
+
+    private String titulo;
+
+    private String descripcion;
+
+    @Column("cliente_id")
+    private Long clienteId;
+
+    @Column("fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    @Column("fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,142 @@
+package com.example.api.reactive.handler;
+
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.ClaimStatusRequest;
+import com.example.api.dto.CreateClaimRequest;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.ConcurrentClaimUpdateException;
+import com.example.api.exception.ErrorResponse;
+import com.example.api.reactive.service.ReactiveClaimService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handlers funcionales con el mismo contrato que el {@code ClaimController} del módulo api.
+ * El listado se transmite a medida que llegan las filas: como arreglo JSON, o como NDJSON
+ * (un reclamo por línea) si el cliente acepta {@code application/x-ndjson}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimHandler {
+
+    private final ReactiveClaimService claimService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createClaim(ServerRequest request) {
+        return body(request, CreateClaimRequest.class)
+                .flatMap(claimService::createClaim)
+                .flatMap(claim -> ServerResponse.created(URI.create("/api/claims/" + claim.id())).bodyValue(claim));
+    }
+
+    public Mono<ServerResponse> getAllClaims(ServerRequest request) {
+        EstadoReclamoEnum status = request.queryParam("status").map(EstadoReclamoEnum::fromValue).orElse(null);
+        Flux<ClaimResponse> claims = claimService.getClaims(status, request.queryParam("search").orElse(null));
+        boolean ndjson = request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(claims, ClaimResponse.class);
+    }
+
+    public Mono<ServerResponse> getClaimsByStatus(ServerRequest request) {
+        return claimService.getClaimsByStatus(
+                        EstadoReclamoEnum.fromValue(request.pathVariable("status")),
+                        request.queryParam("createdFrom").map(LocalDate::parse).orElse(null),
+                        request.queryParam("createdTo").map(LocalDate::parse).orElse(null),
+                        request.queryParam("page").map(Integer::parseInt).orElse(0),
+                        request.queryParam("size").map(Integer::parseInt).orElse(20))
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> getClaimStatusCounts(ServerRequest request) {
+        return claimService.getClaimStatusCounts().flatMap(counts -> ServerResponse.ok().bodyValue(counts));
+    }
+
+    public Mono<ServerResponse> getClaimById(ServerRequest request) {
+        return claimService.getClaimDetailsById(Long.parseLong(request.pathVariable("id")))
+                .flatMap(claim -> ServerResponse.ok().bodyValue(claim));
+    }
+
+    public Mono<ServerResponse> updateClaimStatus(ServerRequest request) {
+        Long id = Long.parseLong(request.pathVariable("id"));
+        return body(request, ClaimStatusRequest.class)
+                .flatMap(statusRequest -> claimService.addStatusToClaim(id, statusRequest))
+                .then(ServerResponse.ok().build());
+    }
+
+    /**
+     * Traduce los errores a {@link ErrorResponse} con los mismos códigos que el
+     * {@code GlobalExceptionHandler} del módulo api.
+     */
+    public Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        String path = request.path();
+        if (error instanceof InvalidRequestException invalid) {
+            return error(HttpStatus.BAD_REQUEST, new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+                    "Validation Failed", "Invalid input data", path, invalid.validationErrors));
+        }
+        if (error instanceof ClaimNotFoundException) {
+            return error(HttpStatus.NOT_FOUND, "Not Found", error.getMessage(), path);
+        }
+        if (error instanceof ConcurrentClaimUpdateException) {
+            return error(HttpStatus.CONFLICT, "Conflict", error.getMessage(), path);
+        }
+        if (error instanceof ServerWebInputException input) {
+            return error(HttpStatus.BAD_REQUEST, "Bad Request", input.getReason(), path);
+        }
+        if (error instanceof RuntimeException) {
+            return error(HttpStatus.BAD_REQUEST, "Bad Request", error.getMessage(), path);
+        }
+        log.error("Unexpected error handling {} {}", request.method(), path, error);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred", path);
+    }
+
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .flatMap(body -> {
+                    Set<ConstraintViolation<T>> violations = validator.validate(body);
+                    if (violations.isEmpty()) {
+                        return Mono.just(body);
+                    }
+                    Map<String, String> errors = new HashMap<>();
+                    violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                    return Mono.error(new InvalidRequestException(errors));
+                });
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String error, String message, String path) {
+        return error(status, new ErrorResponse(LocalDateTime.now(), status.value(), error, message, path));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, ErrorResponse body) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    static class InvalidRequestException extends RuntimeException {
+
+        private final Map<String, String> validationErrors;
+
+        InvalidRequestException(Map<String, String> validationErrors) {
+            super("Invalid input data");
+            this.validationErrors = validationErrors;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.api.reactive.handler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+public class ClaimRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> claimRoutes(ClaimHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/claims", claims -> claims
+                        .GET("/by-status/{status}", handler::getClaimsByStatus)
+                        .GET("/status-counts", handler::getClaimStatusCounts)
+                        .GET("/{id}", handler::getClaimById)
+                        .POST("/{id}/status", handler::updateClaimStatus)
+                        .GET(handler::getAllClaims)
+                        .POST(handler::createClaim))
+                .onError(Throwable.class, handler::handleError)
+                .build();
+    }
+}
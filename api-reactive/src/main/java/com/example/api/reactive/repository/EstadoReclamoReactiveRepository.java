@@ -0,0 +1,22 @@
+package com.example.api.reactive.repository;
+
+import com.example.api.reactive.entity.EstadoReclamo;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EstadoReclamoReactiveRepository extends ReactiveCrudRepository<EstadoReclamo, Long> {
+
+    /**
+     * Historial del reclamo en el orden en que se registró.
+     */
+    Flux<EstadoReclamo> findByReclamoIdOrderByIdAsc(Long reclamoId);
+
+    /**
+     * Última secuencia del historial del reclamo, 0 si no tiene eventos.
+     */
+    @Query("SELECT COALESCE(MAX(secuencia), 0) FROM estado_reclamos WHERE reclamo_id = :reclamoId")
+    Mono<Long> findLastSequence(@Param("reclamoId") Long reclamoId);
+}
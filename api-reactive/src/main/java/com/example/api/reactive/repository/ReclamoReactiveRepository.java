@@ -0,0 +1,149 @@
+package com.example.api.reactive.repository;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.reactive.entity.Reclamo;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión R2DBC de las consultas de {@code ReclamoRepository} del módulo api. El último
+ * estado de cada reclamo es el de mayor secuencia del event store. Los {@link Flux} se
+ * leen del cursor a medida que el suscriptor pide filas.
+ */
+public interface ReclamoReactiveRepository extends ReactiveCrudRepository<Reclamo, Long> {
+
+    /**
+     * Reclamo con su último estado ({@code null} si no tiene).
+     */
+    record ClaimRow(
+        Long id,
+        String titulo,
+        String descripcion,
+        Long clienteId,
+        LocalDateTime fechaCreacion,
+        LocalDateTime fechaActualizacion,
+        EstadoReclamoEnum estado
+    ) {}
+
+    /**
+     * Adjunto con los datos de su vista previa ({@code null} si aún no tiene).
+     */
+    record AttachmentRow(
+        Long id,
+        String nombreArchivo,
+        String tipoContenido,
+        Long tamanoBytes,
+        LocalDateTime fechaSubida,
+        PreviewStatus previewEstado,
+        Long tamanoVistaPrevia,
+        Integer numeroPaginas
+    ) {}
+
+    /**
+     * Cantidad de reclamos en un estado actual.
+     */
+    record StatusCount(EstadoReclamoEnum estado, Long total) {}
+
+    /**
+     * Todos los reclamos con su último estado, del más reciente al más antiguo.
+     */
+    @Query("SELECT r.id, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, e.estado " +
+           "FROM reclamos r " +
+           "LEFT JOIN estado_reclamos e ON e.reclamo_id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = r.id" +
+           ") " +
+           "ORDER BY r.fecha_creacion DESC")
+    Flux<ClaimRow> findAllWithLastStatus();
+
+    /**
+     * Reclamos con filtros opcionales de estado actual (descripción) y de texto, ya en
+     * minúsculas y con comodines, sobre título, descripción y código. El patrón escapa con
+     * {@code !} los comodines que deban buscarse como texto.
+     */
+    @Query("SELECT r.id, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, e.estado " +
+           "FROM reclamos r " +
+           "LEFT JOIN estado_reclamos e ON e.reclamo_id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = r.id" +
+           ") " +
+           "WHERE (:estado IS NULL OR e.estado = :estado) " +
+           "AND (:pattern IS NULL OR " +
+           "    LOWER(r.titulo) LIKE :pattern ESCAPE '!' OR " +
+           "    LOWER(r.descripcion) LIKE :pattern ESCAPE '!' OR " +
+           "    LOWER(r.codigo) LIKE :pattern ESCAPE '!'" +
+           ") " +
+           "ORDER BY r.fecha_creacion DESC")
+    Flux<ClaimRow> findWithFilters(@Param("estado") String estado, @Param("pattern") String pattern);
+
+    /**
+     * Reclamo con su último estado.
+     */
+    @Query("SELECT r.id, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, e.estado " +
+           "FROM reclamos r " +
+           "LEFT JOIN estado_reclamos e ON e.reclamo_id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = r.id" +
+           ") " +
+           "WHERE r.id = :id")
+    Mono<ClaimRow> findWithLastStatusById(@Param("id") Long id);
+
+    /**
+     * Página de reclamos cuyo estado actual es el indicado, de mayor a menor id, creados en
+     * {@code [createdFrom, createdTo)} (extremos opcionales).
+     */
+    @Query("SELECT r.id, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, e.estado " +
+           "FROM reclamos r " +
+           "JOIN estado_reclamos e ON e.reclamo_id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = r.id" +
+           ") " +
+           "WHERE e.estado = :estado " +
+           "AND (:createdFrom IS NULL OR r.fecha_creacion >= :createdFrom) " +
+           "AND (:createdTo IS NULL OR r.fecha_creacion < :createdTo) " +
+           "ORDER BY r.id DESC " +
+           "LIMIT :limit OFFSET :offset")
+    Flux<ClaimRow> findPageByCurrentStatus(@Param("estado") String estado,
+                                           @Param("createdFrom") LocalDateTime createdFrom,
+                                           @Param("createdTo") LocalDateTime createdTo,
+                                           @Param("limit") int limit,
+                                           @Param("offset") long offset);
+
+    /**
+     * Total de {@link #findPageByCurrentStatus}.
+     */
+    @Query("SELECT COUNT(*) " +
+           "FROM reclamos r " +
+           "JOIN estado_reclamos e ON e.reclamo_id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = r.id" +
+           ") " +
+           "WHERE e.estado = :estado " +
+           "AND (:createdFrom IS NULL OR r.fecha_creacion >= :createdFrom) " +
+           "AND (:createdTo IS NULL OR r.fecha_creacion < :createdTo)")
+    Mono<Long> countByCurrentStatus(@Param("estado") String estado,
+                                    @Param("createdFrom") LocalDateTime createdFrom,
+                                    @Param("createdTo") LocalDateTime createdTo);
+
+    /**
+     * Cantidad de reclamos por estado actual; los estados sin reclamos no aparecen.
+     */
+    @Query("SELECT e.estado, COUNT(*) AS total FROM estado_reclamos e " +
+           "WHERE e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) FROM estado_reclamos e2 WHERE e2.reclamo_id = e.reclamo_id" +
+           ") " +
+           "GROUP BY e.estado")
+    Flux<StatusCount> countGroupedByCurrentStatus();
+
+    /**
+     * Adjuntos del reclamo con su vista previa.
+     */
+    @Query("SELECT a.id, a.nombre_archivo, a.tipo_contenido, a.tamano_bytes, a.fecha_subida, " +
+           "    v.estado AS preview_estado, v.tamano_vista_previa, v.numero_paginas " +
+           "FROM adjunto_reclamos a " +
+           "LEFT JOIN vistas_previas_adjunto v ON v.adjunto_id = a.id " +
+           "WHERE a.reclamo_id = :reclamoId " +
+           "ORDER BY a.id")
+    Flux<AttachmentRow> findAttachments(@Param("reclamoId") Long reclamoId);
+}
@@ -0,0 +1,220 @@
+package com.example.api.reactive.service;
+
+import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.ClaimStatusPageResponse;
+import com.example.api.dto.ClaimStatusRequest;
+import com.example.api.dto.CreateClaimRequest;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.ConcurrentClaimUpdateException;
+import com.example.api.reactive.entity.EstadoReclamo;
+import com.example.api.reactive.entity.Reclamo;
+import com.example.api.reactive.repository.EstadoReclamoReactiveRepository;
+import com.example.api.reactive.repository.ReclamoReactiveRepository;
+import com.example.api.reactive.repository.ReclamoReactiveRepository.AttachmentRow;
+import com.example.api.reactive.repository.ReclamoReactiveRepository.ClaimRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Misma lógica que el {@code ClaimService} del módulo api, sin bloquear: los listados se
+ * devuelven como {@link Flux} que se leen del cursor según la demanda del cliente.
+ *
+ * <p>Las escrituras siguen el event store del módulo api (secuencia por reclamo, restricción
+ * única). No actualizan snapshots, índices ni cachés en memoria de ese módulo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveClaimService {
+
+    public static final int MAX_STATUS_PAGE_SIZE = 100;
+
+    private final ReclamoReactiveRepository reclamoRepository;
+    private final EstadoReclamoReactiveRepository estadoReclamoRepository;
+
+    @Transactional
+    public Mono<ClaimResponse> createClaim(CreateClaimRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        Reclamo reclamo = Reclamo.builder()
+                .codigo("CLM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .titulo(request.title())
+                .descripcion(request.description())
+                .clienteId(request.customerId())
+                .fechaCreacion(now)
+                .fechaActualizacion(now)
+                .build();
+
+        return reclamoRepository.save(reclamo)
+                .flatMap(saved -> estadoReclamoRepository.save(EstadoReclamo.builder()
+                                .reclamoId(saved.getId())
+                                .estado(EstadoReclamoEnum.INGRESADO)
+                                .notas("Reclamo creado exitosamente")
+                                .fechaCreacion(now)
+                                .secuencia(1L)
+                                .build())
+                        .map(status -> new ClaimResponse(
+                                saved.getId(),
+                                saved.getTitulo(),
+                                saved.getDescripcion(),
+                                saved.getClienteId(),
+                                status.getEstado(),
+                                saved.getFechaCreacion(),
+                                saved.getFechaActualizacion()
+                        )));
+    }
+
+    /**
+     * Reclamos con su estado actual, del más reciente al más antiguo, con filtros
+     * opcionales de estado y de texto.
+     */
+    public Flux<ClaimResponse> getClaims(EstadoReclamoEnum status, String search) {
+        boolean hasSearch = search != null && !search.trim().isEmpty();
+        if (status == null && !hasSearch) {
+            return reclamoRepository.findAllWithLastStatus().map(ReactiveClaimService::toClaimResponse);
+        }
+        String pattern = hasSearch ? "%" + likeLiteral(search.trim().toLowerCase(Locale.ROOT)) + "%" : null;
+        return reclamoRepository.findWithFilters(status != null ? status.getDescripcion() : null, pattern)
+                .map(ReactiveClaimService::toClaimResponse);
+    }
+
+    /**
+     * Página de reclamos cuyo estado actual es {@code status}, de mayor a menor id, creados
+     * entre {@code createdFrom} y {@code createdTo} inclusive (extremos opcionales).
+     */
+    public Mono<ClaimStatusPageResponse> getClaimsByStatus(EstadoReclamoEnum status, LocalDate createdFrom,
+                                                           LocalDate createdTo, int page, int size) {
+        if (page < 0) {
+            return Mono.error(new IllegalArgumentException("Page must not be negative"));
+        }
+        if (size < 1 || size > MAX_STATUS_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("Page size must be between 1 and " + MAX_STATUS_PAGE_SIZE));
+        }
+        LocalDateTime from = createdFrom != null ? createdFrom.atStartOfDay() : null;
+        LocalDateTime to = createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null;
+        long offset = (long) page * size;
+
+        return Mono.zip(
+                reclamoRepository.countByCurrentStatus(status.getDescripcion(), from, to),
+                reclamoRepository.findPageByCurrentStatus(status.getDescripcion(), from, to, size, offset)
+                        .map(ReactiveClaimService::toClaimResponse)
+                        .collectList()
+        ).map(result -> new ClaimStatusPageResponse(status, result.getT1(), page, size, result.getT2()));
+    }
+
+    /**
+     * Cantidad de reclamos por estado actual, incluidos los estados sin reclamos.
+     */
+    public Mono<Map<EstadoReclamoEnum, Long>> getClaimStatusCounts() {
+        return reclamoRepository.countGroupedByCurrentStatus()
+                .collect(() -> {
+                    Map<EstadoReclamoEnum, Long> counts = new EnumMap<>(EstadoReclamoEnum.class);
+                    for (EstadoReclamoEnum status : EstadoReclamoEnum.values()) {
+                        counts.put(status, 0L);
+                    }
+                    return counts;
+                }, (counts, row) -> counts.put(row.estado(), row.total()));
+    }
+
+    public Mono<ClaimDetailResponse> getClaimDetailsById(Long id) {
+        return reclamoRepository.findWithLastStatusById(id)
+                .switchIfEmpty(Mono.error(() -> new ClaimNotFoundException(id)))
+                .flatMap(claim -> Mono.zip(
+                        estadoReclamoRepository.findByReclamoIdOrderByIdAsc(id)
+                                .map(estado -> new ClaimDetailResponse.ClaimStatusHistory(
+                                        estado.getId(),
+                                        estado.getEstado(),
+                                        estado.getNotas(),
+                                        estado.getFechaCreacion()))
+                                .collectList(),
+                        reclamoRepository.findAttachments(id)
+                                .map(attachment -> toAttachment(id, attachment))
+                                .collectList()
+                ).map(parts -> new ClaimDetailResponse(
+                        claim.id(),
+                        claim.titulo(),
+                        claim.descripcion(),
+                        claim.clienteId(),
+                        claim.estado() != null ? claim.estado() : EstadoReclamoEnum.INGRESADO,
+                        claim.fechaCreacion(),
+                        claim.fechaActualizacion(),
+                        parts.getT1(),
+                        parts.getT2()
+                )));
+    }
+
+    /**
+     * Agrega el estado al final del historial del reclamo. Si otra escritura ocupó la misma
+     * secuencia se emite {@link ConcurrentClaimUpdateException}.
+     */
+    @Transactional
+    public Mono<Void> addStatusToClaim(Long claimId, ClaimStatusRequest request) {
+        return reclamoRepository.existsById(claimId)
+                .flatMap(exists -> exists
+                        ? estadoReclamoRepository.findLastSequence(claimId)
+                        : Mono.error(new ClaimNotFoundException(claimId)))
+                .flatMap(sequence -> estadoReclamoRepository.save(EstadoReclamo.builder()
+                        .reclamoId(claimId)
+                        .estado(request.status())
+                        .notas(request.notes())
+                        .asesorEmail(request.asesor_email())
+                        .fechaCreacion(LocalDateTime.now())
+                        .secuencia(sequence + 1)
+                        .build()))
+                .onErrorMap(DataIntegrityViolationException.class, e -> new ConcurrentClaimUpdateException(claimId, e))
+                .then();
+    }
+
+    private static ClaimResponse toClaimResponse(ClaimRow row) {
+        return new ClaimResponse(
+                row.id(),
+                row.titulo(),
+                row.descripcion(),
+                row.clienteId(),
+                row.estado() != null ? row.estado() : EstadoReclamoEnum.INGRESADO,
+                row.fechaCreacion(),
+                row.fechaActualizacion()
+        );
+    }
+
+    private static ClaimDetailResponse.ClaimAttachment toAttachment(Long claimId, AttachmentRow row) {
+        if (row.previewEstado() == null) {
+            return new ClaimDetailResponse.ClaimAttachment(
+                    row.id(), row.nombreArchivo(), row.tipoContenido(), row.tamanoBytes(), row.fechaSubida());
+        }
+        String previewUrl = row.previewEstado() == PreviewStatus.READY
+                ? "/api/claims/" + claimId + "/attachments/" + row.id() + "/preview"
+                : null;
+        return new ClaimDetailResponse.ClaimAttachment(
+                row.id(),
+                row.nombreArchivo(),
+                row.tipoContenido(),
+                row.tamanoBytes(),
+                row.fechaSubida(),
+                row.previewEstado(),
+                previewUrl,
+                row.tamanoVistaPrevia(),
+                row.numeroPaginas()
+        );
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que el texto se busque tal cual se escribió, igual
+     * que {@code ReclamoRepository.LIKE_LITERAL} en el módulo api.
+     */
+    private static String likeLiteral(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
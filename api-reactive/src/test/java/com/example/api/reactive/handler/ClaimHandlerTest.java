@@ -0,0 +1,136 @@
+package com.example.api.reactive.handler;
+
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.ClaimStatusRequest;
+import com.example.api.dto.CreateClaimRequest;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.ConcurrentClaimUpdateException;
+import com.example.api.reactive.service.ReactiveClaimService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimHandlerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private ReactiveClaimService claimService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ClaimHandler handler = new ClaimHandler(claimService, Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToRouterFunction(new ClaimRouter().claimRoutes(handler)).build();
+    }
+
+    @Test
+    void getAllClaims_AcceptingNdjson_ShouldStreamOneClaimPerLine() {
+        when(claimService.getClaims(EstadoReclamoEnum.EN_PROCESO, null)).thenReturn(Flux.just(claim(2L), claim(1L)));
+
+        String body = client.get().uri("/api/claims?status=EN_PROCESO")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst()).hasValueSatisfying(line ->
+                assertThat(line).contains("\"id\":2").contains("\"currentStatus\":\"En Proceso\""));
+    }
+
+    @Test
+    void getAllClaims_DefaultAccept_ShouldReturnJsonArray() {
+        when(claimService.getClaims(null, "factura")).thenReturn(Flux.just(claim(1L)));
+
+        client.get().uri("/api/claims?search=factura")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBodyList(ClaimResponse.class).hasSize(1);
+    }
+
+    @Test
+    void createClaim_MissingFields_ShouldReturnValidationErrors() {
+        client.post().uri("/api/claims")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateClaimRequest("", "Descripción", null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.validationErrors.title").isEqualTo("Title is required")
+                .jsonPath("$.validationErrors.customerId").isEqualTo("Customer ID is required");
+
+        verifyNoInteractions(claimService);
+    }
+
+    @Test
+    void createClaim_ValidRequest_ShouldReturnCreated() {
+        CreateClaimRequest request = new CreateClaimRequest("Cobro duplicado", "Descripción", 7L);
+        when(claimService.createClaim(request)).thenReturn(Mono.just(claim(5L)));
+
+        client.post().uri("/api/claims")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("/api/claims/5")
+                .expectBody().jsonPath("$.id").isEqualTo(5);
+    }
+
+    @Test
+    void getClaimById_NotFound_ShouldReturnNotFound() {
+        when(claimService.getClaimDetailsById(999L)).thenReturn(Mono.error(new ClaimNotFoundException(999L)));
+
+        client.get().uri("/api/claims/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Claim not found with id: 999")
+                .jsonPath("$.path").isEqualTo("/api/claims/999");
+    }
+
+    @Test
+    void updateClaimStatus_ConcurrentUpdate_ShouldReturnConflict() {
+        when(claimService.addStatusToClaim(eq(1L), any(ClaimStatusRequest.class)))
+                .thenReturn(Mono.error(new ConcurrentClaimUpdateException(1L, null)));
+
+        client.post().uri("/api/claims/1/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ClaimStatusRequest(EstadoReclamoEnum.RESUELTO, null, null))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void getClaimsByStatus_InvalidPageSize_ShouldReturnBadRequest() {
+        when(claimService.getClaimsByStatus(EstadoReclamoEnum.INGRESADO, null, null, 0, 500))
+                .thenReturn(Mono.error(new IllegalArgumentException("Page size must be between 1 and 100")));
+
+        client.get().uri("/api/claims/by-status/INGRESADO?size=500")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Page size must be between 1 and 100");
+    }
+
+    private static ClaimResponse claim(Long id) {
+        return new ClaimResponse(id, "Reclamo " + id, "Descripción", 7L, EstadoReclamoEnum.EN_PROCESO, NOW, NOW);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.api.reactive.repository;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.reactive.config.R2dbcConfig;
+import com.example.api.reactive.entity.EstadoReclamo;
+import com.example.api.reactive.entity.Reclamo;
+import com.example.api.reactive.repository.ReclamoReactiveRepository.ClaimRow;
+import com.example.api.reactive.repository.ReclamoReactiveRepository.StatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataR2dbcTest
+@ActiveProfiles("test")
+@Import(R2dbcConfig.class)
+class ReclamoReactiveRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private ReclamoReactiveRepository reclamoRepository;
+
+    @Autowired
+    private EstadoReclamoReactiveRepository estadoReclamoRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Reclamo older;
+    private Reclamo newer;
+    private Reclamo withoutStatus;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM vistas_previas_adjunto").then()
+                .then(databaseClient.sql("DELETE FROM adjunto_reclamos").then())
+                .then(databaseClient.sql("DELETE FROM estado_reclamos").then())
+                .then(databaseClient.sql("DELETE FROM reclamos").then())
+                .block();
+
+        older = claim("CLM-OLD", "Cobro duplicado", BASE);
+        newer = claim("CLM-NEW", "Señal intermitente", BASE.plusDays(2));
+        withoutStatus = claim("CLM-NONE", "Sin historial", BASE.plusDays(1));
+        status(older, 1, EstadoReclamoEnum.INGRESADO);
+        status(older, 2, EstadoReclamoEnum.EN_PROCESO);
+        status(newer, 1, EstadoReclamoEnum.INGRESADO);
+    }
+
+    @Test
+    void findAllWithLastStatus_ShouldReturnNewestFirstWithHighestSequenceStatus() {
+        StepVerifier.create(reclamoRepository.findAllWithLastStatus().map(row -> row.id() + ":" + row.estado()))
+                .expectNext(newer.getId() + ":INGRESADO", withoutStatus.getId() + ":null", older.getId() + ":EN_PROCESO")
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithFilters_ShouldMatchCurrentStatusAndLowercasePattern() {
+        StepVerifier.create(reclamoRepository.findWithFilters("En Proceso", null).map(ClaimRow::id))
+                .expectNext(older.getId())
+                .verifyComplete();
+        StepVerifier.create(reclamoRepository.findWithFilters(null, "%señal%").map(ClaimRow::titulo))
+                .expectNext("Señal intermitente")
+                .verifyComplete();
+        StepVerifier.create(reclamoRepository.findWithFilters("Ingresado", "%cobro%"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithFilters_EscapedWildcards_ShouldMatchLiterally() {
+        claim("CLM-PCT", "Descuento del 50% no aplicado", BASE.plusDays(3));
+
+        StepVerifier.create(reclamoRepository.findWithFilters(null, "%50!%%").map(ClaimRow::titulo))
+                .expectNext("Descuento del 50% no aplicado")
+                .verifyComplete();
+        StepVerifier.create(reclamoRepository.findWithFilters(null, "%!_%"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPageByCurrentStatus_ShouldPageByIdWithinDateRange() {
+        StepVerifier.create(reclamoRepository.findPageByCurrentStatus("Ingresado", null, null, 10, 0).map(ClaimRow::id))
+                .expectNext(newer.getId())
+                .verifyComplete();
+        StepVerifier.create(reclamoRepository.countByCurrentStatus("Ingresado", BASE, BASE.plusDays(2)))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(reclamoRepository.countByCurrentStatus("En Proceso", BASE, BASE.plusDays(1)))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void countGroupedByCurrentStatus_ShouldCountLatestStatusOnly() {
+        StepVerifier.create(reclamoRepository.countGroupedByCurrentStatus().collectList())
+                .assertNext(counts -> assertThat(counts).containsExactlyInAnyOrder(
+                        new StatusCount(EstadoReclamoEnum.INGRESADO, 1L),
+                        new StatusCount(EstadoReclamoEnum.EN_PROCESO, 1L)))
+                .verifyComplete();
+        StepVerifier.create(estadoReclamoRepository.findLastSequence(older.getId()))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(estadoReclamoRepository.findLastSequence(withoutStatus.getId()))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAttachments_ShouldJoinPreviewWhenPresent() {
+        databaseClient.sql("INSERT INTO adjunto_reclamos (id, reclamo_id, nombre_archivo, tipo_contenido, tamano_bytes, url_archivo, fecha_subida) " +
+                        "VALUES (100, :reclamo, 'factura.pdf', 'application/pdf', 2048, 'u1', :at), " +
+                        "(101, :reclamo, 'foto.png', 'image/png', 512, 'u2', :at)")
+                .bind("reclamo", older.getId())
+                .bind("at", BASE)
+                .then()
+                .then(databaseClient.sql("INSERT INTO vistas_previas_adjunto (adjunto_id, reclamo_id, estado, tamano_vista_previa, numero_paginas, fecha_actualizacion) " +
+                                "VALUES (100, :reclamo, 'READY', 300, 2, :at)")
+                        .bind("reclamo", older.getId())
+                        .bind("at", BASE)
+                        .then())
+                .block();
+
+        StepVerifier.create(reclamoRepository.findAttachments(older.getId()))
+                .assertNext(row -> {
+                    assertThat(row.nombreArchivo()).isEqualTo("factura.pdf");
+                    assertThat(row.previewEstado()).isEqualTo(PreviewStatus.READY);
+                    assertThat(row.numeroPaginas()).isEqualTo(2);
+                })
+                .assertNext(row -> assertThat(row.previewEstado()).isNull())
+                .verifyComplete();
+    }
+
+    private Reclamo claim(String codigo, String titulo, LocalDateTime createdAt) {
+        return reclamoRepository.save(Reclamo.builder()
+                .codigo(codigo)
+                .titulo(titulo)
+                .descripcion("Descripción")
+                .clienteId(7L)
+                .fechaCreacion(createdAt)
+                .fechaActualizacion(createdAt)
+                .build()).block();
+    }
+
+    private void status(Reclamo reclamo, long secuencia, EstadoReclamoEnum estado) {
+        estadoReclamoRepository.save(EstadoReclamo.builder()
+                .reclamoId(reclamo.getId())
+                .estado(estado)
+                .fechaCreacion(reclamo.getFechaCreacion().plusHours(secuencia))
+                .secuencia(secuencia)
+                .build()).block();
+    }
+}
@@ -0,0 +1,43 @@
+-- Subset of the schema created by the api module (JPA ddl-auto) used by this module
+CREATE TABLE IF NOT EXISTS reclamos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    codigo VARCHAR(255) NOT NULL UNIQUE,
+    titulo VARCHAR(255) NOT NULL,
+    descripcion TEXT,
+    cliente_id BIGINT NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS estado_reclamos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    reclamo_id BIGINT NOT NULL REFERENCES reclamos (id),
+    estado VARCHAR(255) NOT NULL,
+    notas TEXT,
+    asesor_email TEXT,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    secuencia BIGINT,
+    CONSTRAINT uk_estado_reclamos_reclamo_secuencia UNIQUE (reclamo_id, secuencia)
+);
+
+CREATE TABLE IF NOT EXISTS adjunto_reclamos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    reclamo_id BIGINT NOT NULL REFERENCES reclamos (id),
+    nombre_archivo VARCHAR(255) NOT NULL,
+    tipo_contenido VARCHAR(255),
+    tamano_bytes BIGINT,
+    url_archivo VARCHAR(255) NOT NULL,
+    fecha_subida TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS vistas_previas_adjunto (
+    adjunto_id BIGINT PRIMARY KEY,
+    reclamo_id BIGINT NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    url_vista_previa VARCHAR(255),
+    tamano_vista_previa BIGINT,
+    numero_paginas INTEGER,
+    texto TEXT,
+    error VARCHAR(255),
+    fecha_actualizacion TIMESTAMP(6) NOT NULL
+);
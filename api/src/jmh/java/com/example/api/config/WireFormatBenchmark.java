@@ -0,0 +1,101 @@
+package com.example.api.config;
+
+import com.example.api.dto.ClaimResponse;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de serializar 10.000 reclamos del listado en cada formato de respuesta.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WireFormatBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ *
+ * El tiempo por operación es la CPU por cada 10.000 reclamos; el tamaño de cada formato,
+ * con y sin gzip, se imprime al iniciar el trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int CLAIMS = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private List<ClaimResponse> claims;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        claims = new ArrayList<>(CLAIMS);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        EstadoReclamoEnum[] statuses = EstadoReclamoEnum.values();
+        for (int i = 1; i <= CLAIMS; i++) {
+            claims.add(new ClaimResponse(
+                    (long) i,
+                    "Reclamo " + i,
+                    "Descripción del reclamo número " + i + " registrada por el cliente",
+                    1000L + i % 500,
+                    statuses[i % statuses.length],
+                    base.plusMinutes(i),
+                    base.plusMinutes(i + 30)
+            ));
+        }
+
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> WireFormatConfig.binaryMapper(builder, new CBORFactory());
+            case "smile" -> WireFormatConfig.binaryMapper(builder, new SmileFactory());
+            default -> builder.factory(new JsonFactory()).build();
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ClaimResponse.class));
+
+        System.out.printf("%n%s (gzip=%s): %d bytes para %d reclamos%n", format, gzip, serialize(), CLAIMS);
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                writer.writeValue(out, claims);
+            }
+        } else {
+            writer.writeValue(buffer, claims);
+        }
+        return buffer.size();
+    }
+}
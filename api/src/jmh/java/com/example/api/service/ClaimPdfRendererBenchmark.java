@@ -0,0 +1,120 @@
+package com.example.api.service;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el coste por fila del reporte PDF con recursos cacheados frente a la
+ * maquetación original, que creaba formateadores y recursos en cada llamada.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ClaimPdfRendererBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ *
+ * Con {@code -prof gc} la métrica {@code gc.alloc.rate.norm} dividida entre {@code rows}
+ * da los bytes asignados por fila.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimPdfRendererBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private List<ClaimPdfRenderer.ClaimRow> claimRows;
+    private ClaimPdfRenderer renderer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        claimRows = new ArrayList<>(rows);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        EstadoReclamoEnum[] estados = EstadoReclamoEnum.values();
+        for (int i = 1; i <= rows; i++) {
+            claimRows.add(new ClaimPdfRenderer.ClaimRow(
+                    (long) i,
+                    String.format("CLM-%08d", i),
+                    "Reclamo de prueba número " + i,
+                    10_000L + (i % 500),
+                    estados[i % estados.length],
+                    base.plusMinutes(i)
+            ));
+        }
+        // Un solo hilo para medir el coste de maquetación por fila, no el paralelismo.
+        renderer = new ClaimPdfRenderer(new ClaimReportTemplate(), 1, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Benchmark
+    public byte[] cachedTemplate() {
+        return renderer.render(claimRows);
+    }
+
+    @Benchmark
+    public byte[] perCallResources() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDoc);
+
+        document.add(new Paragraph("Reporte de Reclamos")
+                .setFontSize(18)
+                .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("Generado el: " +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
+                .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph(" "));
+
+        Table table = new Table(new float[]{1f, 2f, 3f, 1.5f, 2f, 2.5f});
+        table.setWidth(UnitValue.createPercentValue(100));
+        for (String title : ClaimReportTemplate.COLUMN_TITLES) {
+            table.addHeaderCell(new Cell().add(new Paragraph(title)).setTextAlignment(TextAlignment.CENTER));
+        }
+        for (ClaimPdfRenderer.ClaimRow row : claimRows) {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(row.id()))));
+            table.addCell(new Cell().add(new Paragraph(row.codigo())));
+            table.addCell(new Cell().add(new Paragraph(row.titulo())));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(row.clienteId()))));
+            table.addCell(new Cell().add(new Paragraph(row.estado().toString())));
+            table.addCell(new Cell().add(new Paragraph(row.fechaCreacion()
+                    .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))));
+        }
+        document.add(table);
+        document.add(new Paragraph("Total de reclamos: " + claimRows.size()).setTextAlignment(TextAlignment.RIGHT));
+        document.close();
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.api.loadtest;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Tráfico mixto contra una instancia local cargada con {@link SyntheticClaimGenerator}:
+ * listado completo, historial por cliente, búsqueda, detalle, cambios de estado, adjuntos y
+ * exportación.
+ * Cada usuario virtual hace una operación, con llegadas abiertas (usuarios por segundo).
+ *
+ * <pre>
+ * mvn -Ploadtest gatling:test -DbaseUrl=http://localhost:5000 -DusersPerSec=50 -DmaxClaimId=1000000
+ * </pre>
+ *
+ * Propiedades: {@code baseUrl}, {@code usersPerSec}, {@code rampSeconds}, {@code steadySeconds},
+ * {@code maxClaimId}, {@code customers}, {@code p99Millis}. Todo el tráfico sale de la IP del
+ * generador y cae en un único bucket del límite por cliente, así que hay que arrancar la API
+ * con {@code --app.rate-limit.enabled=false}.
+ */
+public class ClaimTrafficSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:5000");
+    private static final double USERS_PER_SEC = Double.parseDouble(System.getProperty("usersPerSec", "50"));
+    private static final Duration RAMP = Duration.ofSeconds(Long.getLong("rampSeconds", 60));
+    private static final Duration STEADY = Duration.ofSeconds(Long.getLong("steadySeconds", 300));
+    private static final long MAX_CLAIM_ID = Long.getLong("maxClaimId", 1_000_000);
+    private static final long CUSTOMERS = Long.getLong("customers", 250_000);
+    private static final int P99_MILLIS = Integer.getInteger("p99Millis", 1_000);
+
+    private static final String[] SEARCH_TERMS = {
+            "internet", "factura", "router", "instalación", "señal", "cobro", "portabilidad", "velocidad"
+    };
+    // Agents mostly filter by the statuses they work on
+    private static final EstadoReclamoEnum[] SEARCH_STATUSES = {
+            EstadoReclamoEnum.INGRESADO, EstadoReclamoEnum.EN_PROCESO, EstadoReclamoEnum.ESCALADO,
+            EstadoReclamoEnum.PENDIENTE_INFORMACION
+    };
+    private static final EstadoReclamoEnum[] UPDATE_STATUSES = {
+            EstadoReclamoEnum.EN_PROCESO, EstadoReclamoEnum.RESUELTO, EstadoReclamoEnum.PENDIENTE_INFORMACION,
+            EstadoReclamoEnum.ESCALADO, EstadoReclamoEnum.CERRADO
+    };
+
+    private static final byte[] ATTACHMENT = samplePdf();
+
+    private final Iterator<Map<String, Object>> requests = Stream.generate(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.<String, Object>of(
+                "claimId", 1 + random.nextLong(MAX_CLAIM_ID),
+                // Same skew as the generator: a few customers own many claims
+                "customerId", 10_000 + (long) (CUSTOMERS * Math.pow(random.nextDouble(), 2.5)),
+                "term", SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)],
+                "searchStatus", SEARCH_STATUSES[random.nextInt(SEARCH_STATUSES.length)].name(),
+                "newStatus", UPDATE_STATUSES[random.nextInt(UPDATE_STATUSES.length)].name());
+    }).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .acceptEncodingHeader("gzip");
+
+    private final ChainBuilder customerHistory = exec(
+            http("customer claims")
+                    .get("/api/customers/#{customerId}/claims")
+                    .check(status().is(200), jsonPath("$.nextCursor").optional().saveAs("cursor")))
+            .doIf(session -> session.getString("cursor") != null).then(exec(
+                    http("customer claims next page")
+                            .get("/api/customers/#{customerId}/claims")
+                            .queryParam("cursor", "#{cursor}")
+                            .check(status().is(200))));
+
+    // The unfiltered list, then a revalidation with its ETag as a polling client would send
+    private final ChainBuilder list = exec(
+            http("claim list")
+                    .get("/api/claims")
+                    .check(status().is(200), header("ETag").saveAs("listEtag")))
+            .exec(http("claim list revalidation")
+                    .get("/api/claims")
+                    .header("If-None-Match", "#{listEtag}")
+                    .check(status().in(200, 304)));
+
+    private final ChainBuilder search = exec(
+            http("search")
+                    .get("/api/claims")
+                    .queryParam("status", "#{searchStatus}")
+                    .queryParam("search", "#{term}")
+                    .check(status().is(200)));
+
+    private final ChainBuilder detail = exec(
+            http("claim detail")
+                    .get("/api/claims/#{claimId}")
+                    .check(status().is(200)));
+
+    private final ChainBuilder statusUpdate = exec(
+            http("status update")
+                    .post("/api/claims/#{claimId}/status")
+                    .body(StringBody("{\"status\":\"#{newStatus}\",\"notes\":\"Carga sintética\","
+                            + "\"asesor_email\":\"loadtest@empresa.com\"}"))
+                    .asJson()
+                    .check(status().is(200)));
+
+    private final ChainBuilder upload = exec(
+            http("attachment upload")
+                    .post("/api/claims/#{claimId}/attachments")
+                    .bodyPart(ByteArrayBodyPart("file", ATTACHMENT).fileName("evidencia.pdf")
+                            .contentType("application/pdf"))
+                    .asMultipartForm()
+                    .check(status().is(200)));
+
+    // Exports are limited to a couple per client per minute; 429 is an expected answer
+    private final ChainBuilder export = exec(
+            http("export")
+                    .get("/api/claims/export")
+                    .queryParam("format", "ndjson")
+                    .queryParam("compression", "gzip")
+                    .check(status().in(200, 429)));
+
+    private final ScenarioBuilder claimTraffic = scenario("claim traffic")
+            .feed(requests)
+            .randomSwitch().on(
+                    percent(34.0).then(detail),
+                    percent(30.0).then(customerHistory),
+                    percent(1.0).then(list),
+                    percent(15.0).then(search),
+                    percent(14.0).then(statusUpdate),
+                    percent(5.9).then(upload),
+                    percent(0.1).then(export));
+
+    {
+        setUp(claimTraffic.injectOpen(
+                rampUsersPerSec(1).to(USERS_PER_SEC).during(RAMP),
+                constantUsersPerSec(USERS_PER_SEC).during(STEADY)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().responseTime().percentile(99.0).lt(P99_MILLIS),
+                        global().failedRequests().percent().lt(1.0));
+    }
+
+    private static byte[] samplePdf() {
+        // Smallest valid one-page PDF, enough for the preview pipeline
+        String pdf = "%PDF-1.4\n"
+                + "1 0 obj<</Type/Catalog/Pages 2 0 R>>endobj\n"
+                + "2 0 obj<</Type/Pages/Kids[3 0 R]/Count 1>>endobj\n"
+                + "3 0 obj<</Type/Page/Parent 2 0 R/MediaBox[0 0 200 200]>>endobj\n"
+                + "trailer<</Root 1 0 R>>\n%%EOF\n";
+        return pdf.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.api.loadtest;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.seed.ClaimFixtures;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Carga reclamos sintéticos ({@link ClaimFixtures}) con su historial de estados y adjuntos
+ * para las pruebas de carga, usando lotes JDBC para que funcione con cualquier base. Sobre
+ * PostgreSQL, el perfil {@code seed} de la aplicación ({@code FixtureLoader}) carga el
+ * mismo conjunto con {@code COPY}, bastante más rápido.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--claims=1000000 --url=jdbc:postgresql://localhost:5433/myapp"
+ * </pre>
+ *
+ * Opciones: {@code --url}, {@code --user}, {@code --password}, {@code --claims},
+ * {@code --customers}, {@code --days}, {@code --batch}, {@code --seed}. Las filas se agregan
+ * a las existentes y al final se reinician las secuencias de identidad.
+ */
+public final class SyntheticClaimGenerator {
+
+    private final ClaimFixtures fixtures;
+    private final Map<EstadoReclamoEnum, Long> finalStatuses = new EnumMap<>(EstadoReclamoEnum.class);
+
+    private long statusRows;
+    private long attachmentRows;
+
+    SyntheticClaimGenerator(ClaimFixtures fixtures) {
+        this.fixtures = fixtures;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = parse(args);
+        long claims = Long.parseLong(options.getOrDefault("claims", "1000000"));
+        long customers = Long.parseLong(options.getOrDefault("customers", String.valueOf(Math.max(1, claims / 4))));
+        int days = Integer.parseInt(options.getOrDefault("days", "365"));
+        int batch = Integer.parseInt(options.getOrDefault("batch", "5000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String url = options.getOrDefault("url", "jdbc:postgresql://localhost:5433/myapp?reWriteBatchedInserts=true");
+
+        SyntheticClaimGenerator generator =
+                new SyntheticClaimGenerator(new ClaimFixtures(customers, days, seed, LocalDateTime.now()));
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("user", "postgres"), options.getOrDefault("password", "postgres"))) {
+            connection.setAutoCommit(false);
+            generator.generate(connection, claims, batch);
+        }
+    }
+
+    void generate(Connection connection, long claims, int batch) throws SQLException {
+        long firstClaimId = nextId(connection, "reclamos");
+        long statusId = nextId(connection, "estado_reclamos");
+        long attachmentId = nextId(connection, "adjunto_reclamos");
+        long started = System.nanoTime();
+
+        try (PreparedStatement claimInsert = connection.prepareStatement(
+                "INSERT INTO reclamos (id, codigo, titulo, descripcion, cliente_id, fecha_creacion, fecha_actualizacion) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement statusInsert = connection.prepareStatement(
+                     "INSERT INTO estado_reclamos (id, reclamo_id, estado, notas, asesor_email, fecha_creacion) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement attachmentInsert = connection.prepareStatement(
+                     "INSERT INTO adjunto_reclamos (id, reclamo_id, nombre_archivo, tipo_contenido, tamano_bytes, "
+                             + "url_archivo, fecha_subida) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (long i = 0; i < claims; i++) {
+                ClaimFixtures.FixtureClaim claim = fixtures.claim(i);
+                long claimId = firstClaimId + i;
+
+                claimInsert.setLong(1, claimId);
+                claimInsert.setString(2, ClaimFixtures.code(claimId));
+                claimInsert.setString(3, claim.title());
+                claimInsert.setString(4, claim.description());
+                claimInsert.setLong(5, claim.customerId());
+                claimInsert.setTimestamp(6, Timestamp.valueOf(claim.createdAt()));
+                claimInsert.setTimestamp(7, Timestamp.valueOf(claim.updatedAt()));
+                claimInsert.addBatch();
+
+                for (ClaimFixtures.FixtureStatus status : claim.statuses()) {
+                    statusInsert.setLong(1, statusId++);
+                    statusInsert.setLong(2, claimId);
+                    statusInsert.setString(3, status.status().getDescripcion());
+                    statusInsert.setString(4, status.notes());
+                    statusInsert.setString(5, status.advisorEmail());
+                    statusInsert.setTimestamp(6, Timestamp.valueOf(status.createdAt()));
+                    statusInsert.addBatch();
+                    statusRows++;
+                }
+                finalStatuses.merge(claim.currentStatus(), 1L, Long::sum);
+
+                for (ClaimFixtures.FixtureAttachment attachment : claim.attachments()) {
+                    attachmentInsert.setLong(1, attachmentId++);
+                    attachmentInsert.setLong(2, claimId);
+                    attachmentInsert.setString(3, attachment.fileName());
+                    attachmentInsert.setString(4, attachment.contentType());
+                    attachmentInsert.setLong(5, attachment.size());
+                    attachmentInsert.setString(6, attachment.url());
+                    attachmentInsert.setTimestamp(7, Timestamp.valueOf(attachment.uploadedAt()));
+                    attachmentInsert.addBatch();
+                    attachmentRows++;
+                }
+
+                if ((i + 1) % batch == 0 || i + 1 == claims) {
+                    // Parents first: the foreign keys are checked per statement
+                    claimInsert.executeBatch();
+                    statusInsert.executeBatch();
+                    attachmentInsert.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    System.out.printf("%,d claims loaded%n", i + 1);
+                }
+            }
+        }
+
+        resetIdentity(connection, "reclamos", firstClaimId + claims);
+        resetIdentity(connection, "estado_reclamos", statusId);
+        resetIdentity(connection, "adjunto_reclamos", attachmentId);
+        connection.commit();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Loaded %,d claims, %,d statuses, %,d attachments in %.1f s (%,.0f rows/s)%n",
+                claims, statusRows, attachmentRows, seconds, (claims + statusRows + attachmentRows) / seconds);
+        finalStatuses.forEach((status, count) ->
+                System.out.printf("  %-22s %5.1f%%%n", status.getDescripcion(), 100.0 * count / claims));
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void resetIdentity(Connection connection, String table, long next) throws SQLException {
+        String sql = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")
+                ? "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + next + ", false)"
+                : "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.api;
 
+import com.example.api.startup.StartupReport;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ApiApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ApiApplication.class, args);
+		SpringApplication application = new SpringApplication(ApiApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(StartupReport.TIMELINE_CAPACITY));
+		application.run(args);
 	}
 
 }
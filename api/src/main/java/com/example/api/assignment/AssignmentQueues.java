@@ -0,0 +1,439 @@
+package com.example.api.assignment;
+
+import com.example.api.dto.AssignmentResponse;
+import com.example.api.entity.AsignacionReclamo;
+import com.example.api.enums.AssignmentStatus;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.exception.AgentNotFoundException;
+import com.example.api.repository.AsignacionReclamoRepository;
+import com.example.api.repository.ReclamoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Reparto de reclamos abiertos entre asesores. Cada asesor tiene su propia cola
+ * (deque sin bloqueos); los reclamos nuevos se reparten en turno rotativo y, si aún no hay
+ * asesores, quedan en una cola común. Un asesor toma trabajo del frente de su cola, luego de
+ * la cola común y, si ambas están vacías, roba del final de la cola de otro asesor.
+ *
+ * <p>Con {@code app.assignment.agents} configurado solo piden trabajo esos asesores y los que
+ * ya tienen asignaciones guardadas; sin lista, un asesor se registra la primera vez que pide
+ * trabajo, hasta {@code app.assignment.max-agents}.
+ *
+ * <p>El reclamo entregado queda prestado al asesor por {@code app.assignment.lease}; cada
+ * cambio de estado renueva el préstamo y, si vence, el reclamo vuelve al frente de la cola
+ * del asesor. Las colas y el mapa de asignaciones son locales a cada nodo y pueden tener ids
+ * obsoletos, que se descartan al sacarlos. La fuente de verdad es {@code asignaciones_reclamo}:
+ * un reclamo se presta con un {@code UPDATE} condicional, así que con varios nodos solo uno
+ * lo entrega, y un reclamo cerrado en otro nodo ya no tiene fila. Cada escritura va en su
+ * propia transacción: los cambios de estado llegan después del commit que los produjo.
+ */
+@Slf4j
+@Component
+public class AssignmentQueues {
+
+    static final Set<EstadoReclamoEnum> FINAL_STATUSES =
+            EnumSet.of(EstadoReclamoEnum.RESUELTO, EstadoReclamoEnum.CERRADO, EstadoReclamoEnum.RECHAZADO);
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final int MAX_EMAIL_LENGTH = 254;
+
+    record Assignment(String agent, AssignmentStatus status, long leaseExpiresAt) {}
+
+    private final AsignacionReclamoRepository asignacionReclamoRepository;
+    private final ReclamoRepository reclamoRepository;
+    private final TransactionTemplate writes;
+    private final Set<String> configuredAgents;
+    private final int maxAgents;
+    private final long leaseMillis;
+    private final long sweepMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, Assignment> assignments = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentLinkedDeque<Long>> queues = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Long> unassigned = new ConcurrentLinkedDeque<>();
+    private final List<String> agents = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> leases = new ConcurrentHashMap<>();
+    private final AtomicInteger nextAgent = new AtomicInteger();
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public AssignmentQueues(AsignacionReclamoRepository asignacionReclamoRepository,
+                            ReclamoRepository reclamoRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.assignment.agents:}") List<String> agents,
+                            @Value("${app.assignment.max-agents:200}") int maxAgents,
+                            @Value("${app.assignment.lease:30m}") Duration lease,
+                            @Value("${app.assignment.lease-check:10s}") Duration leaseCheck) {
+        this(asignacionReclamoRepository, reclamoRepository, transactionManager, agents, maxAgents, lease, leaseCheck,
+                System::currentTimeMillis);
+    }
+
+    AssignmentQueues(AsignacionReclamoRepository asignacionReclamoRepository, ReclamoRepository reclamoRepository,
+                     PlatformTransactionManager transactionManager, List<String> agents, int maxAgents,
+                     Duration lease, Duration leaseCheck, LongSupplier clock) {
+        this.asignacionReclamoRepository = asignacionReclamoRepository;
+        this.reclamoRepository = reclamoRepository;
+        this.writes = new TransactionTemplate(transactionManager);
+        // After commit the committed transaction is still bound, so joining it would drop the write
+        this.writes.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseMillis = lease.toMillis();
+        this.sweepMillis = leaseCheck.toMillis();
+        this.clock = clock;
+        this.maxAgents = maxAgents;
+        List<String> configured = agents.stream()
+                .filter(agent -> !agent.isBlank())
+                .map(AssignmentQueues::normalize)
+                .toList();
+        // Registered in the configured order, which the round-robin follows
+        configured.forEach(this::queueOf);
+        this.configuredAgents = Set.copyOf(configured);
+    }
+
+    /**
+     * Carga las asignaciones guardadas y pone en la cola común los reclamos abiertos que no
+     * tienen fila. Las filas de reclamos que ya se cerraron se borran.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void start() {
+        rebuild();
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().name("assignment-leases").daemon().unstarted(runnable));
+        sweeper.scheduleWithFixedDelay(this::expireLeases, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    void rebuild() {
+        List<AsignacionReclamo> stored = asignacionReclamoRepository.findAllByOrderByFechaActualizacionAsc();
+        Set<Long> assigned = new HashSet<>();
+        for (AsignacionReclamo row : stored) {
+            assigned.add(row.getReclamoId());
+        }
+
+        Set<Long> open = new HashSet<>();
+        List<Long> missing = new ArrayList<>();
+        Set<EstadoReclamoEnum> openStatuses = EnumSet.complementOf(EnumSet.copyOf(FINAL_STATUSES));
+        try (Stream<Object[]> rows = reclamoRepository.streamCurrentStatuses(openStatuses)) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                Long claimId = (Long) row[0];
+                if (open.add(claimId) && !assigned.contains(claimId)) {
+                    missing.add(claimId);
+                }
+            }
+        }
+        LocalDateTime now = toDateTime(clock.getAsLong());
+        for (Long claimId : missing) {
+            // Another node starting at the same time may insert the same row first
+            asignacionReclamoRepository.insertQueued(claimId, null, now);
+            assignments.put(claimId, new Assignment(null, AssignmentStatus.QUEUED, 0));
+            unassigned.addLast(claimId);
+        }
+
+        List<Long> closed = new ArrayList<>();
+        for (AsignacionReclamo row : stored) {
+            if (!open.contains(row.getReclamoId())) {
+                closed.add(row.getReclamoId());
+                continue;
+            }
+            String agent = row.getAsesorEmail();
+            if (agent != null) {
+                queueOf(agent);
+            }
+            if (row.getEstado() == AssignmentStatus.LEASED) {
+                long expiresAt = toMillis(row.getLeaseExpira());
+                assignments.put(row.getReclamoId(), new Assignment(agent, AssignmentStatus.LEASED, expiresAt));
+                leases.put(row.getReclamoId(), expiresAt);
+            } else {
+                assignments.put(row.getReclamoId(), new Assignment(agent, AssignmentStatus.QUEUED, 0));
+                queueFor(agent).addLast(row.getReclamoId());
+            }
+        }
+        asignacionReclamoRepository.deleteAllById(closed);
+        log.info("Assignment queues rebuilt: {} claims, {} agents, {} unassigned",
+                assignments.size(), agents.size(), unassigned.size());
+    }
+
+    /**
+     * Entrega el siguiente reclamo al asesor: de su cola, de la cola común o robado de otro
+     * asesor. Vacío si no hay trabajo.
+     */
+    public Optional<AssignmentResponse> next(String agentEmail) {
+        String agent = normalize(agentEmail);
+        ConcurrentLinkedDeque<Long> own = agentQueue(agent);
+
+        Long claimId;
+        while ((claimId = own.pollFirst()) != null) {
+            AssignmentResponse leased = lease(claimId, agent);
+            if (leased != null) {
+                return Optional.of(leased);
+            }
+        }
+        while ((claimId = unassigned.pollFirst()) != null) {
+            AssignmentResponse leased = lease(claimId, agent);
+            if (leased != null) {
+                return Optional.of(leased);
+            }
+        }
+        return Optional.ofNullable(steal(agent));
+    }
+
+    /**
+     * Roba del final de las colas de otros asesores, empezando por uno al azar para no
+     * concentrar a todos los ladrones en la misma víctima.
+     */
+    private AssignmentResponse steal(String thief) {
+        List<String> victims = agents;
+        int count = victims.size();
+        if (count < 2) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            String victim = victims.get((start + i) % count);
+            if (victim.equals(thief)) {
+                continue;
+            }
+            ConcurrentLinkedDeque<Long> queue = queues.get(victim);
+            Long claimId;
+            while ((claimId = queue.pollLast()) != null) {
+                AssignmentResponse leased = lease(claimId, thief);
+                if (leased != null) {
+                    return leased;
+                }
+            }
+        }
+        return null;
+    }
+
+    private AssignmentResponse lease(Long claimId, String agent) {
+        Assignment queued = assignments.get(claimId);
+        if (queued == null || queued.status() != AssignmentStatus.QUEUED) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        long expiresAt = now + leaseMillis;
+        Assignment leased = new Assignment(agent, AssignmentStatus.LEASED, expiresAt);
+        if (!assignments.replace(claimId, queued, leased)) {
+            return null;
+        }
+        int updated;
+        try {
+            updated = writes.execute(status ->
+                    asignacionReclamoRepository.lease(claimId, agent, toDateTime(expiresAt), toDateTime(now)));
+        } catch (RuntimeException e) {
+            if (assignments.replace(claimId, leased, queued)) {
+                queueFor(queued.agent()).addFirst(claimId);
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            // Leased through another node or closed there; the sweep brings it back if that lease expires
+            assignments.remove(claimId, leased);
+            return null;
+        }
+        leases.put(claimId, expiresAt);
+        return new AssignmentResponse(claimId, agent, toDateTime(expiresAt));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        Long claimId = event.claimId();
+        if (FINAL_STATUSES.contains(event.status())) {
+            forget(claimId);
+            writes.executeWithoutResult(status -> asignacionReclamoRepository.deleteById(claimId));
+            return;
+        }
+
+        long now = clock.getAsLong();
+        long expiresAt = now + leaseMillis;
+        // The lease may have been taken through another node, so the table is renewed as well
+        writes.executeWithoutResult(status ->
+                asignacionReclamoRepository.renewLease(claimId, toDateTime(expiresAt), toDateTime(now)));
+        if (assignments.get(claimId) == null) {
+            enqueue(claimId);
+        } else {
+            renew(claimId, expiresAt);
+        }
+    }
+
+    /**
+     * Cambio hecho en otro nodo, que ya actualizó la tabla: aquí solo se ajustan las colas.
+     */
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        Long claimId = event.change().claimId();
+        if (FINAL_STATUSES.contains(event.change().status())) {
+            forget(claimId);
+        } else if (assignments.putIfAbsent(claimId, new Assignment(null, AssignmentStatus.QUEUED, 0)) == null) {
+            // Its agent is not known here; the conditional lease decides who gets it
+            unassigned.addLast(claimId);
+        } else {
+            renew(claimId, clock.getAsLong() + leaseMillis);
+        }
+    }
+
+    private void enqueue(Long claimId) {
+        List<String> known = agents;
+        String agent = known.isEmpty() ? null : known.get(Math.floorMod(nextAgent.getAndIncrement(), known.size()));
+        Assignment queued = new Assignment(agent, AssignmentStatus.QUEUED, 0);
+        if (assignments.putIfAbsent(claimId, queued) == null) {
+            writes.executeWithoutResult(status ->
+                    asignacionReclamoRepository.insertQueued(claimId, agent, toDateTime(clock.getAsLong())));
+            queueFor(agent).addLast(claimId);
+        }
+    }
+
+    private void renew(Long claimId, long expiresAt) {
+        Assignment current = assignments.get(claimId);
+        if (current != null && current.status() == AssignmentStatus.LEASED) {
+            Assignment renewed = new Assignment(current.agent(), AssignmentStatus.LEASED, expiresAt);
+            if (assignments.replace(claimId, current, renewed)) {
+                leases.put(claimId, expiresAt);
+            }
+        }
+    }
+
+    private void forget(Long claimId) {
+        assignments.remove(claimId);
+        leases.remove(claimId);
+    }
+
+    /**
+     * Devuelve al frente de la cola de su asesor los reclamos con el préstamo vencido. Los
+     * préstamos vencidos se buscan en la tabla, así que también vuelven los que se dieron en
+     * otro nodo (por ejemplo, uno que se detuvo); si varios nodos los ven, solo uno los encola.
+     */
+    void expireLeases() {
+        long now = clock.getAsLong();
+        // A lease that expired here may have been renewed through another node; the table decides
+        for (Map.Entry<Long, Long> lease : leases.entrySet()) {
+            if (lease.getValue() > now) {
+                continue;
+            }
+            Long claimId = lease.getKey();
+            leases.remove(claimId, lease.getValue());
+            Assignment leased = assignments.get(claimId);
+            if (leased != null && leased.status() == AssignmentStatus.LEASED && leased.leaseExpiresAt() <= now) {
+                assignments.remove(claimId, leased);
+            }
+        }
+
+        LocalDateTime nowTime = toDateTime(now);
+        try {
+            for (AsignacionReclamo row : asignacionReclamoRepository.findExpiredLeases(nowTime)) {
+                Long claimId = row.getReclamoId();
+                int requeued = writes.execute(status -> asignacionReclamoRepository.requeueExpired(claimId, nowTime));
+                if (requeued == 0) {
+                    continue;
+                }
+                leases.remove(claimId);
+                assignments.put(claimId, new Assignment(row.getAsesorEmail(), AssignmentStatus.QUEUED, 0));
+                queueFor(row.getAsesorEmail()).addFirst(claimId);
+                log.info("Lease of claim {} by {} expired, back in queue", claimId, row.getAsesorEmail());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not return expired leases to the queues: {}", e.getMessage());
+        }
+    }
+
+    int queued(String agentEmail) {
+        return queueOf(normalize(agentEmail)).size();
+    }
+
+    /**
+     * Cola del asesor que pide trabajo; lo registra si se aceptan asesores nuevos.
+     */
+    private ConcurrentLinkedDeque<Long> agentQueue(String agent) {
+        ConcurrentLinkedDeque<Long> queue = queues.get(agent);
+        if (queue != null) {
+            return queue;
+        }
+        if (!configuredAgents.isEmpty()) {
+            throw new AgentNotFoundException(agent);
+        }
+        synchronized (queues) {
+            if (!queues.containsKey(agent) && agents.size() >= maxAgents) {
+                throw new IllegalStateException("Cannot register more than " + maxAgents + " agents");
+            }
+            return queueOf(agent);
+        }
+    }
+
+    private ConcurrentLinkedDeque<Long> queueFor(String agent) {
+        return agent == null ? unassigned : queueOf(agent);
+    }
+
+    private ConcurrentLinkedDeque<Long> queueOf(String agent) {
+        ConcurrentLinkedDeque<Long> queue = queues.get(agent);
+        if (queue != null) {
+            return queue;
+        }
+        return queues.computeIfAbsent(agent, key -> {
+            agents.add(key);
+            return new ConcurrentLinkedDeque<>();
+        });
+    }
+
+    private static String normalize(String agentEmail) {
+        if (agentEmail == null || agentEmail.isBlank()) {
+            throw new IllegalArgumentException("Agent email is required");
+        }
+        String agent = agentEmail.trim().toLowerCase(Locale.ROOT);
+        if (agent.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(agent).matches()) {
+            throw new IllegalArgumentException("Invalid agent email: " + agentEmail);
+        }
+        return agent;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
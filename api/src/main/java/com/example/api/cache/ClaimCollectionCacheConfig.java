@@ -0,0 +1,31 @@
+package com.example.api.cache;
+
+import com.example.api.entity.Reclamo;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cachea en el segundo nivel las colecciones {@code Reclamo.estados} y
+ * {@code Reclamo.adjuntos} solo con el {@link ClusterInvalidationBus} activo. La caché es de
+ * cada nodo y solo el bus la invalida ante cambios de otros nodos o de SQL directo; sin él,
+ * el detalle podría servir una lista vieja con el ETag nuevo, que sale de la base.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cluster-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ClaimCollectionCacheConfig {
+
+    private static final String USAGE = "nonstrict-read-write";
+
+    @Bean
+    public HibernatePropertiesCustomizer claimCollectionCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.COLLECTION_CACHE_PREFIX + "." + ClaimCollectionCacheEvictor.STATUSES_ROLE,
+                    USAGE + "," + Reclamo.STATUSES_CACHE_REGION);
+            properties.put(AvailableSettings.COLLECTION_CACHE_PREFIX + "." + ClaimCollectionCacheEvictor.ATTACHMENTS_ROLE,
+                    USAGE + "," + Reclamo.ATTACHMENTS_CACHE_REGION);
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.api.cache;
+
+import com.example.api.entity.Reclamo;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.event.ClaimAttachmentsInvalidatedEvent;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida en la caché de segundo nivel las colecciones {@code Reclamo.estados} y
+ * {@code Reclamo.adjuntos} cuando se les agrega un elemento. Son el lado inverso de la
+ * relación: insertar un {@code EstadoReclamo} no modifica la colección en memoria y
+ * Hibernate no sabría que la lista de ids cacheada quedó incompleta. Sin el bus de
+ * invalidación las colecciones no se cachean ({@link ClaimCollectionCacheConfig}) y esto no
+ * hace nada.
+ */
+@Component
+public class ClaimCollectionCacheEvictor {
+
+    static final String STATUSES_ROLE = Reclamo.class.getName() + ".estados";
+    static final String ATTACHMENTS_ROLE = Reclamo.class.getName() + ".adjuntos";
+
+    private final Cache cache;
+
+    public ClaimCollectionCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        cache.evictCollectionData(STATUSES_ROLE, event.claimId());
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    @EventListener(ClaimCacheResetEvent.class)
+    public void evictAll() {
+        cache.evictAllRegions();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttachmentAdded(AttachmentAddedEvent event) {
+        cache.evictCollectionData(ATTACHMENTS_ROLE, event.claimId());
+    }
+
+    @EventListener
+    public void onAttachmentsInvalidated(ClaimAttachmentsInvalidatedEvent event) {
+        cache.evictCollectionData(ATTACHMENTS_ROLE, event.claimId());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.api.cache;
+
+import com.example.api.dto.ClaimVersion;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.repository.ReclamoRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión del listado de reclamos para las peticiones condicionales. Con el
+ * {@link ClusterInvalidationBus} activo se calcula con la consulta de agregados una sola vez
+ * y después avanza en memoria con cada reclamo creado o estado agregado, en este nodo o en
+ * otro (el trigger del bus también anuncia cargas masivas y SQL directo), así que un GET
+ * condicional no cuenta filas. Tras un {@link ClaimCacheResetEvent} se vuelve a calcular.
+ *
+ * <p>Sin el bus nada avisa de los cambios hechos fuera de este nodo, así que cada petición
+ * lee los agregados de la base.
+ *
+ * <p>Cada nodo lleva su propio contador: el mismo listado puede tener ETags distintos en
+ * nodos distintos, lo que solo cuesta una respuesta completa.
+ */
+@Component
+public class ClaimListVersion {
+
+    static final String KEY = "claims";
+
+    private final ReclamoRepository reclamoRepository;
+    private final ClusterInvalidationBus invalidationBus;
+    private ClaimVersion current;
+
+    public ClaimListVersion(ReclamoRepository reclamoRepository, ClusterInvalidationBus invalidationBus) {
+        this.reclamoRepository = reclamoRepository;
+        this.invalidationBus = invalidationBus;
+    }
+
+    public ClaimVersion current() {
+        if (!invalidationBus.isEnabled()) {
+            return query();
+        }
+        // Seeding holds the lock so a change committed during the query is applied after it, not lost
+        synchronized (this) {
+            if (current == null) {
+                current = query();
+            }
+            return current;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onClaimChanged(ClaimChangedEvent event) {
+        if (current == null) {
+            return;
+        }
+        LocalDateTime changedAt = event.changedAt() != null ? event.changedAt() : LocalDateTime.now();
+        current = ClaimVersion.of(KEY, current.rowCount() + 1, current.lastModified(), changedAt);
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    @EventListener(ClaimCacheResetEvent.class)
+    public synchronized void reset() {
+        current = null;
+    }
+
+    private ClaimVersion query() {
+        Object[] row = reclamoRepository.findListVersion().get(0);
+        return ClaimVersion.of(KEY, (Long) row[0] + (Long) row[3],
+                (LocalDateTime) row[1], (LocalDateTime) row[2]);
+    }
+}
@@ -0,0 +1,424 @@
+package com.example.api.cache;
+
+import com.example.api.entity.Reclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.repository.ReclamoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Resumen de cada reclamo para el listado y los recorridos completos (reporte PDF), fuera
+ * del heap: un archivo mapeado en memoria con un registro de {@value #RECORD_SIZE} bytes por
+ * id y otro, de solo agregado, con el texto (código, título y descripción) en UTF-8.
+ * Leer el listado no crea entidades ni consulta la base de datos; solo los objetos de la
+ * respuesta.
+ *
+ * <p>Es opcional ({@code app.summary-store.enabled}). Se llena al arrancar y se mantiene con
+ * cada cambio de estado confirmado. Los archivos son temporales: se borran al cerrar y se
+ * reconstruyen en cada arranque. Si una escritura falla el almacén deja de estar listo y
+ * los llamadores vuelven a la base de datos.
+ */
+@Slf4j
+@Component
+public class ClaimSummaryStore {
+
+    static final int RECORD_SIZE = 64;
+    static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    // Record layout (byte offsets); status 0 marks an empty slot
+    private static final int STATUS = 0;
+    private static final int CODE_LENGTH = 2;
+    private static final int TITLE_LENGTH = 4;
+    private static final int CUSTOMER_ID = 8;
+    private static final int CREATED_AT = 16;
+    private static final int UPDATED_AT = 24;
+    private static final int STATUS_CHANGED_AT = 32;
+    private static final int TEXT_OFFSET = 40;
+    private static final int DESCRIPTION_LENGTH = 48;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final EstadoReclamoEnum[] STATUSES = EstadoReclamoEnum.values();
+
+    /**
+     * Vista del registro actual durante {@link #scan}; no debe guardarse fuera del recorrido.
+     */
+    public interface Cursor {
+        long id();
+        String code();
+        String title();
+        String description();
+        long customerId();
+        EstadoReclamoEnum status();
+        LocalDateTime createdAt();
+        LocalDateTime updatedAt();
+    }
+
+    private final ReclamoRepository reclamoRepository;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile MappedFile records;
+    private MappedFile text;
+    private long textEnd;
+    private long maxId;
+    private long size;
+    private volatile boolean ready;
+
+    @Autowired
+    public ClaimSummaryStore(ReclamoRepository reclamoRepository,
+                             @Value("${app.summary-store.enabled:false}") boolean enabled,
+                             @Value("${app.summary-store.dir:${java.io.tmpdir}}") Path directory) {
+        this(reclamoRepository, enabled, directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    ClaimSummaryStore(ReclamoRepository reclamoRepository, boolean enabled, Path directory, int segmentSize) {
+        this.reclamoRepository = reclamoRepository;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ClaimCacheResetEvent.class})
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        open();
+        try (Stream<Object[]> rows = reclamoRepository.streamSummaries()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                EstadoReclamoEnum status = row[7] != null ? (EstadoReclamoEnum) row[7] : EstadoReclamoEnum.INGRESADO;
+                put((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (Long) row[4],
+                        (LocalDateTime) row[5], (LocalDateTime) row[6], status, (LocalDateTime) row[8]);
+            }
+        }
+        ready = true;
+        log.info("Claim summary store loaded {} claims ({} MB of text) in {} ms",
+                size, textEnd >> 20, System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (!enabled || records == null) {
+            return;
+        }
+        try {
+            if (!updateStatus(event.claimId(), event.status(), event.changedAt())) {
+                Reclamo reclamo = reclamoRepository.findById(event.claimId()).orElse(null);
+                if (reclamo != null) {
+                    put(reclamo.getId(), reclamo.getCodigo(), reclamo.getTitulo(), reclamo.getDescripcion(),
+                            reclamo.getClienteId(), reclamo.getFechaCreacion(), reclamo.getFechaActualizacion(),
+                            event.status(), event.changedAt());
+                }
+            }
+        } catch (RuntimeException e) {
+            ready = false;
+            log.warn("Claim summary store disabled after a failed update of claim {}", event.claimId(), e);
+        }
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Aplica {@code mapper} a cada reclamo, de mayor a menor id, y devuelve los resultados.
+     */
+    public <T> List<T> scan(Function<Cursor, T> mapper) {
+        lock.readLock().lock();
+        try {
+            List<T> result = new ArrayList<>((int) size);
+            SlotCursor cursor = new SlotCursor();
+            for (long id = maxId; id > 0; id--) {
+                MappedByteBuffer segment = records.segment(id * RECORD_SIZE);
+                int position = records.position(id * RECORD_SIZE);
+                if (segment.get(position + STATUS) != 0) {
+                    cursor.id = id;
+                    cursor.segment = segment;
+                    cursor.position = position;
+                    result.add(mapper.apply(cursor));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            if (records != null) {
+                records.close();
+                text.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void open() {
+        lock.writeLock().lock();
+        try {
+            if (records == null) {
+                Files.createDirectories(directory);
+                records = new MappedFile(Files.createTempFile(directory, "claim-summaries", ".bin"), segmentSize);
+                text = new MappedFile(Files.createTempFile(directory, "claim-summaries-text", ".bin"), segmentSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error creating claim summary files in " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda el resumen del reclamo. Si ya existe solo se actualiza el estado, y solo si el
+     * cambio no es anterior al guardado.
+     */
+    void put(long id, String code, String title, String description, long customerId, LocalDateTime createdAt,
+             LocalDateTime updatedAt, EstadoReclamoEnum status, LocalDateTime statusChangedAt) {
+        lock.writeLock().lock();
+        try {
+            long offset = id * RECORD_SIZE;
+            MappedByteBuffer segment = records.segment(offset);
+            int position = records.position(offset);
+            if (segment.get(position + STATUS) != 0) {
+                setStatus(segment, position, status, statusChangedAt);
+                return;
+            }
+
+            byte[] codeBytes = code.getBytes(StandardCharsets.UTF_8);
+            byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+            byte[] descriptionBytes = description != null ? description.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            long textOffset = appendText(codeBytes, titleBytes, descriptionBytes);
+
+            segment.putShort(position + CODE_LENGTH, (short) codeBytes.length);
+            segment.putInt(position + TITLE_LENGTH, titleBytes.length);
+            segment.putLong(position + CUSTOMER_ID, customerId);
+            segment.putLong(position + CREATED_AT, micros(createdAt));
+            segment.putLong(position + UPDATED_AT, micros(updatedAt));
+            segment.putLong(position + STATUS_CHANGED_AT, micros(statusChangedAt));
+            segment.putLong(position + TEXT_OFFSET, textOffset);
+            segment.putInt(position + DESCRIPTION_LENGTH, description != null ? descriptionBytes.length : -1);
+            segment.put(position + STATUS, (byte) (status.ordinal() + 1));
+            maxId = Math.max(maxId, id);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el estado de un reclamo ya guardado; devuelve {@code false} si no lo está.
+     */
+    boolean updateStatus(long id, EstadoReclamoEnum status, LocalDateTime changedAt) {
+        lock.writeLock().lock();
+        try {
+            if (id > maxId) {
+                return false;
+            }
+            MappedByteBuffer segment = records.segment(id * RECORD_SIZE);
+            int position = records.position(id * RECORD_SIZE);
+            if (segment.get(position + STATUS) == 0) {
+                return false;
+            }
+            setStatus(segment, position, status, changedAt);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setStatus(MappedByteBuffer segment, int position, EstadoReclamoEnum status, LocalDateTime changedAt) {
+        long changedMicros = micros(changedAt);
+        if (segment.getLong(position + STATUS_CHANGED_AT) <= changedMicros) {
+            segment.putLong(position + STATUS_CHANGED_AT, changedMicros);
+            segment.put(position + STATUS, (byte) (status.ordinal() + 1));
+        }
+    }
+
+    // Keeps one claim's text inside a single segment so it can be read with one bulk get
+    private long appendText(byte[] code, byte[] title, byte[] description) {
+        int length = code.length + title.length + description.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Claim text of " + length + " bytes does not fit in a segment");
+        }
+        if (text.position(textEnd) + length > segmentSize) {
+            textEnd += segmentSize - text.position(textEnd);
+        }
+        long offset = textEnd;
+        MappedByteBuffer segment = text.segment(offset);
+        int position = text.position(offset);
+        segment.put(position, code);
+        segment.put(position + code.length, title);
+        segment.put(position + code.length + title.length, description);
+        textEnd += length;
+        return offset;
+    }
+
+    private static long micros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private final class SlotCursor implements Cursor {
+        private long id;
+        private MappedByteBuffer segment;
+        private int position;
+
+        @Override
+        public long id() {
+            return id;
+        }
+
+        @Override
+        public String code() {
+            return readText(0, segment.getShort(position + CODE_LENGTH));
+        }
+
+        @Override
+        public String title() {
+            return readText(segment.getShort(position + CODE_LENGTH), segment.getInt(position + TITLE_LENGTH));
+        }
+
+        @Override
+        public String description() {
+            int length = segment.getInt(position + DESCRIPTION_LENGTH);
+            if (length < 0) {
+                return null;
+            }
+            return readText(segment.getShort(position + CODE_LENGTH) + segment.getInt(position + TITLE_LENGTH), length);
+        }
+
+        @Override
+        public long customerId() {
+            return segment.getLong(position + CUSTOMER_ID);
+        }
+
+        @Override
+        public EstadoReclamoEnum status() {
+            return STATUSES[segment.get(position + STATUS) - 1];
+        }
+
+        @Override
+        public LocalDateTime createdAt() {
+            return timestamp(segment.getLong(position + CREATED_AT));
+        }
+
+        @Override
+        public LocalDateTime updatedAt() {
+            return timestamp(segment.getLong(position + UPDATED_AT));
+        }
+
+        private String readText(int skip, int length) {
+            long offset = segment.getLong(position + TEXT_OFFSET) + skip;
+            byte[] bytes = new byte[length];
+            text.segment(offset).get(text.position(offset), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Archivo mapeado por segmentos de tamaño fijo, que se mapean a medida que se usan.
+     */
+    private static final class MappedFile {
+        private final FileChannel channel;
+        private final int segmentSize;
+        // Copy-on-write so that readers never need a lock to find a mapped segment
+        private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+        MappedFile(Path file, int segmentSize) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            this.segmentSize = segmentSize;
+        }
+
+        MappedByteBuffer segment(long offset) {
+            int index = Math.toIntExact(offset / segmentSize);
+            MappedByteBuffer[] current = segments;
+            if (index < current.length && current[index] != null) {
+                return current[index];
+            }
+            return map(index);
+        }
+
+        private synchronized MappedByteBuffer map(int index) {
+            MappedByteBuffer[] current = segments;
+            if (index < current.length && current[index] != null) {
+                return current[index];
+            }
+            MappedByteBuffer[] grown = Arrays.copyOf(current, Math.max(index + 1, current.length));
+            try {
+                grown[index] = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * segmentSize, segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error mapping claim summary segment " + index, e);
+            }
+            segments = grown;
+            return grown[index];
+        }
+
+        int position(long offset) {
+            return (int) (offset % segmentSize);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
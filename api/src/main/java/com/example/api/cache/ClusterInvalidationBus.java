@@ -0,0 +1,308 @@
+package com.example.api.cache;
+
+import com.example.api.datasource.ReadConsistency;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimAttachmentsInvalidatedEvent;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Coherencia de las cachés locales entre varios nodos con {@code LISTEN/NOTIFY} de
+ * Postgres. Un trigger diferido sobre {@code estado_reclamos} anuncia cada estado insertado
+ * con {@code pg_notify} al confirmar la transacción, así que también se ven los cambios de
+ * cargas masivas, scripts u otros servicios, y solo si hubo commit. Otros dos, sobre
+ * {@code adjunto_reclamos} y {@code vistas_previas_adjunto}, anuncian los adjuntos agregados
+ * y las vistas previas generadas. Las transacciones de este nodo marcan su id para que el
+ * aviso propio se descarte. Cada nodo escucha en una conexión propia, fuera del pool, junta
+ * los avisos de {@code app.cluster-invalidation.coalesce-window} (uno por reclamo, el más
+ * nuevo) y los publica como {@link ClaimInvalidatedEvent} o
+ * {@link ClaimAttachmentsInvalidatedEvent}, con las lecturas de quienes lo escuchan
+ * dirigidas al primario para no recargar desde una réplica atrasada.
+ *
+ * <p>El índice de estados, las vistas guardadas, la rueda de plazos, las colas de reparto,
+ * la versión del listado y las colecciones cacheadas de {@code Reclamo} solo ven los cambios
+ * de otros nodos a través del bus: con más de una instancia debe quedar activo.
+ *
+ * <p>Mientras la conexión está caída los avisos se pierden; al reconectar se publica
+ * {@link ClaimCacheResetEvent} para que las cachés se vacíen o se recarguen.
+ */
+@Slf4j
+@Component
+public class ClusterInvalidationBus implements SmartLifecycle {
+
+    private static final String SEPARATOR = "|";
+    private static final String ATTACHMENTS = "adjuntos";
+    private static final int POLL_MILLIS = 500;
+    private static final String NODE_SETTING = "app.cluster_node";
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final String channel;
+    private final String nodeId;
+    private final long coalesceMillis;
+    private final long reconnectBackoffMillis;
+
+    private final Map<Long, ClaimChangedEvent> pending = new LinkedHashMap<>();
+    private final Set<Long> pendingAttachments = new LinkedHashSet<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    @Autowired
+    public ClusterInvalidationBus(ApplicationEventPublisher eventPublisher,
+                                  DataSource dataSource,
+                                  DataSourceProperties dataSourceProperties,
+                                  @Value("${app.cluster-invalidation.enabled:true}") boolean enabled,
+                                  @Value("${app.cluster-invalidation.channel:claim_changed}") String channel,
+                                  @Value("${app.cluster-invalidation.node-id:}") String nodeId,
+                                  @Value("${app.cluster-invalidation.coalesce-window:50ms}") Duration coalesceWindow,
+                                  @Value("${app.cluster-invalidation.reconnect-backoff:1s}") Duration reconnectBackoff) {
+        this(eventPublisher, new JdbcTemplate(dataSource), dataSourceProperties, enabled, channel,
+                nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId, coalesceWindow, reconnectBackoff);
+    }
+
+    ClusterInvalidationBus(ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties, boolean enabled, String channel,
+                           String nodeId, Duration coalesceWindow, Duration reconnectBackoff) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel: " + channel);
+        }
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.nodeId = nodeId;
+        this.coalesceMillis = coalesceWindow.toMillis();
+        this.reconnectBackoffMillis = reconnectBackoff.toMillis();
+    }
+
+    /**
+     * Indica si este nodo recibe los cambios confirmados por otros: las cachés locales que
+     * no pueden enterarse de otra forma solo se usan con el bus activo.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marca la transacción con el id de este nodo para que el trigger lo incluya en el aviso
+     * y este nodo lo descarte: los cambios propios ya se aplicaron con el evento local.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (enabled) {
+            jdbcTemplate.queryForObject("SELECT set_config(?, ?, true)", String.class, NODE_SETTING, nodeId);
+        }
+    }
+
+    /**
+     * Crea o actualiza los triggers que anuncian los estados insertados y los cambios de
+     * adjuntos. Varios nodos pueden arrancar a la vez, así que se instalan bajo un advisory
+     * lock.
+     */
+    void installTrigger() {
+        jdbcTemplate.execute("DO $$ BEGIN "
+                + "PERFORM pg_advisory_xact_lock(hashtext('claim-invalidation-trigger')); "
+                + "CREATE OR REPLACE FUNCTION notify_claim_changed() RETURNS trigger AS $f$ BEGIN "
+                + "  PERFORM pg_notify('" + channel + "', concat_ws('" + SEPARATOR + "', "
+                + "    coalesce(current_setting('" + NODE_SETTING + "', true), ''), NEW.reclamo_id, "
+                + "    coalesce((SELECT r.cliente_id::text FROM reclamos r WHERE r.id = NEW.reclamo_id), ''), "
+                + "    coalesce(NEW.estado, ''), "
+                + "    coalesce(to_char(NEW.fecha_creacion, 'YYYY-MM-DD\"T\"HH24:MI:SS.US'), ''))); "
+                + "  RETURN NULL; "
+                + "END $f$ LANGUAGE plpgsql; "
+                + "CREATE OR REPLACE FUNCTION notify_claim_attachments_changed() RETURNS trigger AS $f$ BEGIN "
+                + "  PERFORM pg_notify('" + channel + "', concat_ws('" + SEPARATOR + "', "
+                + "    coalesce(current_setting('" + NODE_SETTING + "', true), ''), NEW.reclamo_id, "
+                + "    '" + ATTACHMENTS + "')); "
+                + "  RETURN NULL; "
+                + "END $f$ LANGUAGE plpgsql; "
+                // Deferred to commit, so they run after this node's transaction marked itself
+                + createTrigger("estado_reclamos_notify", "estado_reclamos", "INSERT", "notify_claim_changed")
+                + createTrigger("adjunto_reclamos_notify", "adjunto_reclamos", "INSERT",
+                        "notify_claim_attachments_changed")
+                + createTrigger("vistas_previas_adjunto_notify", "vistas_previas_adjunto", "INSERT OR UPDATE",
+                        "notify_claim_attachments_changed")
+                + "END $$");
+    }
+
+    private static String createTrigger(String name, String table, String events, String function) {
+        return "IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = '" + name + "' "
+                + "    AND tgrelid = '" + table + "'::regclass) THEN "
+                + "  CREATE CONSTRAINT TRIGGER " + name + " AFTER " + events + " ON " + table + " "
+                + "  DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION " + function + "(); "
+                + "END IF; ";
+    }
+
+    // Started with the context, before the ApplicationReadyEvent warm-ups, so that no change
+    // committed while the caches load goes unnoticed
+    @Override
+    public void start() {
+        if (enabled) {
+            installTrigger();
+            running = true;
+            listener = Thread.ofPlatform().name("claim-invalidation-listener").daemon().start(this::listen);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Agrega el aviso ({@code nodo|reclamo|cliente|estado|fecha}, o {@code nodo|reclamo|adjuntos}
+     * para los adjuntos) a los pendientes, salvo que venga de este mismo nodo. Si el reclamo ya
+     * tenía un aviso pendiente queda el cambio más nuevo.
+     */
+    void received(String payload) {
+        String[] fields = payload.split("\\" + SEPARATOR, -1);
+        if ((fields.length == 5 || fields.length == 3) && fields[0].equals(nodeId)) {
+            return;
+        }
+        ClaimChangedEvent change;
+        try {
+            if (fields.length == 3 && fields[2].equals(ATTACHMENTS)) {
+                pendingAttachments.add(Long.valueOf(fields[1]));
+                return;
+            }
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Expected 5 fields");
+            }
+            change = new ClaimChangedEvent(
+                    Long.valueOf(fields[1]),
+                    fields[2].isEmpty() ? null : Long.valueOf(fields[2]),
+                    EstadoReclamoEnum.fromValue(fields[3]),
+                    fields[4].isEmpty() ? null : LocalDateTime.parse(fields[4]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed claim invalidation '{}'", payload, e);
+            return;
+        }
+        pending.merge(change.claimId(), change, (current, next) ->
+                current.changedAt() != null && next.changedAt() != null
+                        && current.changedAt().isAfter(next.changedAt()) ? current : next);
+    }
+
+    void flushPending() {
+        List<ClaimChangedEvent> changes = new ArrayList<>(pending.values());
+        List<Long> attachmentClaims = new ArrayList<>(pendingAttachments);
+        pending.clear();
+        pendingAttachments.clear();
+        // The change may not have reached the replica yet: reload from the primary
+        ReadConsistency.begin(true, null);
+        try {
+            for (ClaimChangedEvent change : changes) {
+                try {
+                    eventPublisher.publishEvent(new ClaimInvalidatedEvent(change));
+                } catch (RuntimeException e) {
+                    log.warn("Error applying invalidation of claim {}", change.claimId(), e);
+                }
+            }
+            for (Long claimId : attachmentClaims) {
+                try {
+                    eventPublisher.publishEvent(new ClaimAttachmentsInvalidatedEvent(claimId));
+                } catch (RuntimeException e) {
+                    log.warn("Error applying attachment invalidation of claim {}", claimId, e);
+                }
+            }
+        } finally {
+            ReadConsistency.end();
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnect) {
+                    // Anything sent while disconnected is lost: start over from the database
+                    log.info("Claim invalidation listener reconnected, resetting local caches");
+                    eventPublisher.publishEvent(new ClaimCacheResetEvent());
+                }
+                reconnect = true;
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Claim invalidation listener disconnected, retrying in {} ms", reconnectBackoffMillis, e);
+                pending.clear();
+                pendingAttachments.clear();
+                try {
+                    Thread.sleep(reconnectBackoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        long flushAt = 0;
+        while (running) {
+            int timeout = !hasPending() ? POLL_MILLIS
+                    : (int) Math.max(1, flushAt - System.currentTimeMillis());
+            PGNotification[] notifications = connection.getNotifications(timeout);
+            if (notifications != null) {
+                boolean wasEmpty = !hasPending();
+                for (PGNotification notification : notifications) {
+                    received(notification.getParameter());
+                }
+                if (wasEmpty && hasPending()) {
+                    flushAt = System.currentTimeMillis() + coalesceMillis;
+                }
+            }
+            if (hasPending() && System.currentTimeMillis() >= flushAt) {
+                flushPending();
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        return !pending.isEmpty() || !pendingAttachments.isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.api.cache;
+
+import com.example.api.dto.CustomerClaimsResponse;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de la primera página de reclamos de cada cliente. Se invalida por cliente
+ * cuando uno de sus reclamos se crea o cambia de estado, una vez confirmado el cambio.
+ *
+ * <p>Una lectura que empezó antes de una invalidación no debe repoblar la caché con datos
+ * viejos: quien lee toma un {@link #stamp()} antes de consultar la base y {@link #put}
+ * descarta la página si ese mismo cliente se invalidó entre medio. Las invalidaciones de
+ * otros clientes no la descartan. Se recuerda la última invalidación de hasta
+ * {@code maxCustomers} clientes; las olvidadas cuentan como si afectaran a todos.
+ */
+@Component
+public class CustomerClaimCache {
+
+    static final int MAX_CUSTOMERS = 1000;
+
+    private final Map<Long, CustomerClaimsResponse> entries;
+    // Sequence number of each customer's last invalidation, oldest first
+    private final Map<Long, Long> invalidatedAt;
+    private long invalidations;
+    private long forgottenUpTo;
+
+    public CustomerClaimCache() {
+        this(MAX_CUSTOMERS);
+    }
+
+    public CustomerClaimCache(int maxCustomers) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CustomerClaimsResponse> eldest) {
+                return size() > maxCustomers;
+            }
+        };
+        this.invalidatedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if (size() > maxCustomers) {
+                    forgottenUpTo = Math.max(forgottenUpTo, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized CustomerClaimsResponse get(Long customerId) {
+        return entries.get(customerId);
+    }
+
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    public synchronized void put(Long customerId, CustomerClaimsResponse firstPage, long stamp) {
+        if (invalidatedAt.getOrDefault(customerId, forgottenUpTo) <= stamp) {
+            entries.put(customerId, firstPage);
+        }
+    }
+
+    public synchronized void evict(Long customerId) {
+        invalidations++;
+        entries.remove(customerId);
+        invalidatedAt.remove(customerId);
+        invalidatedAt.put(customerId, invalidations);
+    }
+
+    @EventListener(ClaimCacheResetEvent.class)
+    public synchronized void clear() {
+        invalidations++;
+        entries.clear();
+        invalidatedAt.clear();
+        forgottenUpTo = invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        evict(event.customerId());
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+}
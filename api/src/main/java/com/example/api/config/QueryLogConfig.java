@@ -0,0 +1,43 @@
+package com.example.api.config;
+
+import com.example.api.datasource.QueryLog;
+import com.example.api.datasource.QueryLoggingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Registro muestreado de sentencias SQL ({@code app.query-log.*}). Envuelve el
+ * {@link DataSource} principal, así que cubre tanto Hibernate como {@code JdbcTemplate};
+ * con réplica configurada se mide sobre el proxy que enruta entre ambos pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public QueryLog queryLog(@Value("${app.query-log.slow-threshold:200ms}") Duration slowThreshold,
+                             @Value("${app.query-log.sample-rate:0.01}") double sampleRate,
+                             @Value("${app.query-log.queue-capacity:10000}") int queueCapacity) {
+        return new QueryLog(slowThreshold, sampleRate, queueCapacity);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSourcePostProcessor(ObjectProvider<QueryLog> queryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new QueryLoggingDataSource(dataSource, queryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
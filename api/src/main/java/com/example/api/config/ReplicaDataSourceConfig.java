@@ -0,0 +1,83 @@
+package com.example.api.config;
+
+import com.example.api.datasource.ConsistencyTokenFilter;
+import com.example.api.datasource.ReplicaLagMonitor;
+import com.example.api.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplica de lectura. Solo se activa si {@code app.datasource.replica.url} está definido;
+ * en ese caso el primario y la réplica tienen pools Hikari separados
+ * ({@code spring.datasource.hikari.*} y {@code app.datasource.replica.hikari.*}) y las
+ * transacciones {@code readOnly} se enrutan a la réplica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = ReplicaDataSourceProperties.PREFIX, name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(ReplicaDataSourceProperties.PREFIX + ".hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+                                              ReplicaDataSourceProperties replicaProperties) {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(replicaProperties.getUrl());
+        // Credentials default to the primary ones
+        if (replicaProperties.getUsername() == null) {
+            properties.setUsername(primaryProperties.getUsername());
+            properties.setPassword(primaryProperties.getPassword());
+        } else {
+            properties.setUsername(replicaProperties.getUsername());
+            properties.setPassword(replicaProperties.getPassword());
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(primary, replica, properties.getPositionQuery(), properties.getReplayQuery(),
+                properties.getProbeInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConsistencyTokenFilter> consistencyTokenFilter(ReplicaLagMonitor lagMonitor) {
+        FilterRegistrationBean<ConsistencyTokenFilter> registration =
+                new FilterRegistrationBean<>(new ConsistencyTokenFilter(lagMonitor));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.api.config;
+
+import com.example.api.datasource.ReplicaLagMonitor;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de {@code app.datasource.replica.*}. El pool de la réplica se ajusta
+ * aparte con {@code app.datasource.replica.hikari.*}.
+ */
+@Data
+@ConfigurationProperties(ReplicaDataSourceProperties.PREFIX)
+public class ReplicaDataSourceProperties {
+
+    public static final String PREFIX = "app.datasource.replica";
+
+    private String url;
+
+    /** Sin usuario se usan las credenciales del primario. */
+    private String username;
+
+    private String password;
+
+    /** Cada cuánto se vuelve a consultar hasta qué posición del WAL reprodujo la réplica. */
+    private Duration probeInterval = Duration.ofMillis(500);
+
+    /** Posición del WAL del primario, como número, tras confirmar una escritura. */
+    private String positionQuery = ReplicaLagMonitor.POSTGRES_POSITION_QUERY;
+
+    /** Posición del WAL ya reproducida por la réplica, comparable con {@link #positionQuery}. */
+    private String replayQuery = ReplicaLagMonitor.POSTGRES_REPLAY_QUERY;
+}
@@ -0,0 +1,115 @@
+package com.example.api.config;
+
+import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.ClaimResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formatos binarios opcionales para las respuestas de reclamos. Con
+ * {@code Accept: application/cbor} o {@code Accept: application/x-jackson-smile} se
+ * responde con el mismo modelo que en JSON, pero sin repetir nombres de campo en texto
+ * y con las fechas como números.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WireFormatConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        ObjectMapper cborMapper = binaryMapper(objectMapperBuilder, new CBORFactory());
+        ObjectMapper smileMapper = binaryMapper(objectMapperBuilder, new SmileFactory());
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+
+        // Construye de antemano los serializadores de los DTOs de reclamos para que la
+        // primera respuesta no pague la introspección de los records
+        prepareSerializers(cborMapper);
+        prepareSerializers(smileMapper);
+        converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .forEach(WireFormatConfig::prepareSerializers);
+    }
+
+    /**
+     * Formato que se negociará para un {@code Accept}: {@code json}, {@code cbor} o
+     * {@code smile}. Distingue el ETag de cada formato, que son cuerpos distintos. Ordena
+     * los tipos por calidad y luego por especificidad, igual que la negociación de Spring.
+     */
+    public static String representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "json";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "json";
+        }
+        // Stable sort: the q-value decides first, specificity breaks ties
+        MimeTypeUtils.sortBySpecificity(accepted);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            // JSON is the first converter, so it also wins for */*
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "json";
+            }
+            if (type.isCompatibleWith(CBOR)) {
+                return "cbor";
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return "smile";
+            }
+        }
+        return "json";
+    }
+
+    /**
+     * Mapper binario con la misma configuración que el JSON de la aplicación, pero con
+     * fechas como arreglos numéricos en lugar de cadenas ISO.
+     */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder,
+                                            com.fasterxml.jackson.core.JsonFactory factory) {
+        return builder.build()
+                .copyWith(factory)
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public static void prepareSerializers(ObjectMapper mapper) {
+        for (JavaType type : List.of(
+                mapper.constructType(ClaimResponse.class),
+                mapper.constructType(ClaimDetailResponse.class),
+                mapper.getTypeFactory().constructCollectionType(List.class, ClaimResponse.class))) {
+            mapper.writerFor(type);
+        }
+    }
+}
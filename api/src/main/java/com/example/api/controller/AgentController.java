@@ -0,0 +1,39 @@
+package com.example.api.controller;
+
+import com.example.api.assignment.AssignmentQueues;
+import com.example.api.dto.AssignmentResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/agents")
+@RequiredArgsConstructor
+@Tag(name = "Agents", description = "Claim assignment for agents")
+public class AgentController {
+
+    private final AssignmentQueues assignmentQueues;
+
+    @GetMapping("/{email}/next")
+    @Operation(summary = "Take the next claim",
+            description = "Leases the next claim to the agent: from their own queue, the shared queue, or stolen from another agent. "
+                    + "Updating the claim status renews the lease; when it expires the claim goes back to the queue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Claim leased to the agent"),
+            @ApiResponse(responseCode = "204", description = "No claims waiting"),
+            @ApiResponse(responseCode = "400", description = "Invalid agent email or agent limit reached"),
+            @ApiResponse(responseCode = "404", description = "Agent not in the configured list")
+    })
+    public ResponseEntity<AssignmentResponse> nextClaim(
+            @Parameter(description = "Email of the agent", required = true)
+            @PathVariable String email) {
+        return assignmentQueues.next(email)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
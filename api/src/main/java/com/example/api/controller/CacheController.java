@@ -0,0 +1,64 @@
+package com.example.api.controller;
+
+import com.example.api.dto.CacheStatisticsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Second-level cache diagnostics")
+public class CacheController {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheController(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @GetMapping("/statistics")
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and put counts of the Hibernate second-level cache, overall and per region")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    })
+    public ResponseEntity<CacheStatisticsResponse> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheStatisticsResponse.Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+                    return region == null ? null : new CacheStatisticsResponse.Region(
+                            name,
+                            region.getHitCount(),
+                            region.getMissCount(),
+                            region.getPutCount(),
+                            region.getElementCountInMemory()
+                    );
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        return ResponseEntity.ok(new CacheStatisticsResponse(
+                statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getPrepareStatementCount(),
+                regions
+        ));
+    }
+}
@@ -1,26 +1,44 @@
 package com.example.api.controller;
 
+import com.example.api.config.WireFormatConfig;
 import com.example.api.dto.CreateClaimRequest;
 import com.example.api.dto.ClaimStatusRequest;
 import com.example.api.dto.ClaimResponse;
 import com.example.api.dto.ClaimDetailResponse;
 import com.example.api.dto.PdfExportResponse;
+import com.example.api.dto.ClaimVersion;
+import com.example.api.dto.ClaimStatusPageResponse;
 import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.ExportCompression;
+import com.example.api.enums.ExportFormat;
+import com.example.api.service.AttachmentPreviewService;
+import com.example.api.service.ClaimExportService;
 import com.example.api.service.ClaimService;
+import com.example.api.service.StatusGroupCommitter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/claims")
@@ -29,6 +47,9 @@ import java.util.List;
 public class ClaimController {
 
     private final ClaimService claimService;
+    private final ClaimExportService claimExportService;
+    private final AttachmentPreviewService attachmentPreviewService;
+    private final StatusGroupCommitter statusGroupCommitter;
 
     @PostMapping
     @Operation(summary = "Create a new claim", description = "Creates a new claim with the provided details")
@@ -43,15 +64,23 @@ public class ClaimController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all claims", description = "Retrieves all claims with optional filtering by status and text search")
+    @Operation(summary = "Get all claims", description = "Retrieves all claims with optional filtering by status and text search. Supports If-None-Match / If-Modified-Since")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Claims retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Claims not modified since the given ETag or date")
     })
     public ResponseEntity<List<ClaimResponse>> getAllClaims(
             @Parameter(description = "Filter by claim status (optional)")
             @RequestParam(required = false) EstadoReclamoEnum status,
             @Parameter(description = "Search text in title, description or code (optional)")
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+        
+        ClaimVersion version = claimService.getClaimsVersion();
+        if (checkNotModified(version, webRequest, response)) {
+            return null;
+        }
         
         if (status != null || (search != null && !search.trim().isEmpty())) {
             List<ClaimResponse> claims = claimService.getClaimsWithFilters(status, search);
@@ -62,15 +91,51 @@ public class ClaimController {
         return ResponseEntity.ok(claims);
     }
 
+    @GetMapping("/by-status/{status}")
+    @Operation(summary = "Get claims by current status", description = "Page of claims whose current status is the given one, newest first, optionally limited to a creation date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or page size")
+    })
+    public ResponseEntity<ClaimStatusPageResponse> getClaimsByStatus(
+            @Parameter(description = "Current status of the claims", required = true)
+            @PathVariable EstadoReclamoEnum status,
+            @Parameter(description = "First creation date included (optional), e.g. 2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @Parameter(description = "Last creation date included (optional)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, up to " + ClaimService.MAX_STATUS_PAGE_SIZE)
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(claimService.getClaimsByStatus(status, createdFrom, createdTo, page, size));
+    }
+
+    @GetMapping("/status-counts")
+    @Operation(summary = "Count claims by current status", description = "Number of claims in each current status")
+    @ApiResponse(responseCode = "200", description = "Counts retrieved successfully")
+    public ResponseEntity<Map<EstadoReclamoEnum, Long>> getClaimStatusCounts() {
+        return ResponseEntity.ok(claimService.getClaimStatusCounts());
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get claim details", description = "Retrieves detailed information about a specific claim")
+    @Operation(summary = "Get claim details", description = "Retrieves detailed information about a specific claim. Supports If-None-Match / If-Modified-Since")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Claim details retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Claim not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Claim not found")
     })
     public ResponseEntity<ClaimDetailResponse> getClaimById(
             @Parameter(description = "ID of the claim to retrieve", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+        // The version lookup is an aggregate query; the full claim is only hydrated when it changed
+        ClaimVersion version = claimService.getClaimVersion(id);
+        if (checkNotModified(version, webRequest, response)) {
+            return null;
+        }
+        
         ClaimDetailResponse claimDetails = claimService.getClaimDetailsById(id);
         return ResponseEntity.ok(claimDetails);
     }
@@ -80,13 +145,18 @@ public class ClaimController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Status updated successfully"),
             @ApiResponse(responseCode = "404", description = "Claim not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid status data")
+            @ApiResponse(responseCode = "400", description = "Invalid status data"),
+            @ApiResponse(responseCode = "503", description = "Group commit queue full, stopped or not confirmed in time")
     })
     public ResponseEntity<Void> updateClaimStatus(
             @Parameter(description = "ID of the claim to update", required = true)
             @PathVariable Long id,
             @Valid @RequestBody ClaimStatusRequest request) {
-        claimService.addStatusToClaim(id, request);
+        if (statusGroupCommitter.isEnabled()) {
+            statusGroupCommitter.write(id, request);
+        } else {
+            claimService.addStatusToClaim(id, request);
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -106,6 +176,28 @@ public class ClaimController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping(value = "/{id}/attachments/{attachmentId}/preview", produces = MediaType.IMAGE_PNG_VALUE)
+    @Operation(summary = "Get attachment preview", description = "Returns a small PNG preview of the first page of the attachment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Preview returned"),
+            @ApiResponse(responseCode = "404", description = "Preview not available (yet) for the attachment")
+    })
+    public ResponseEntity<Resource> getAttachmentPreview(
+            @Parameter(description = "ID of the claim", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "ID of the attachment", required = true)
+            @PathVariable Long attachmentId) {
+        Resource preview = attachmentPreviewService.getPreview(id, attachmentId);
+        if (preview == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Attachments never change once uploaded, so neither does their preview
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.DAYS).cachePrivate().immutable())
+                .contentType(MediaType.IMAGE_PNG)
+                .body(preview);
+    }
+
     @GetMapping("/export/pdf")
     @Operation(summary = "Export claims to PDF", description = "Exports all claims to a PDF file and returns it as base64 encoded content")
     @ApiResponses(value = {
@@ -116,4 +208,43 @@ public class ClaimController {
         PdfExportResponse pdfResponse = claimService.exportClaimsToPdf();
         return ResponseEntity.ok(pdfResponse);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/export")
+    @Operation(summary = "Bulk export claims", description = "Streams all claims as CSV or NDJSON, optionally gzip-compressed and including the status history")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or compression")
+    })
+    public ResponseEntity<StreamingResponseBody> exportClaims(
+            @Parameter(description = "Export format: csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Compression applied to the stream: none or gzip")
+            @RequestParam(defaultValue = "none") String compression,
+            @Parameter(description = "Include the status history of each claim")
+            @RequestParam(defaultValue = "false") boolean includeHistory) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        ExportCompression exportCompression = ExportCompression.fromValue(compression);
+        String contentType = exportCompression.getContentType() != null
+                ? exportCompression.getContentType()
+                : exportFormat.getContentType() + ";charset=UTF-8";
+
+        StreamingResponseBody body = outputStream ->
+                claimExportService.export(exportFormat, exportCompression, includeHistory, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + claimExportService.buildFilename(exportFormat, exportCompression) + "\"")
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body);
+    }
+
+    /**
+     * Compara la versión con If-None-Match / If-Modified-Since usando el ETag del formato
+     * pedido; el cuerpo cambia según {@code Accept}, así que se avisa con {@code Vary}.
+     */
+    private static boolean checkNotModified(ClaimVersion version, WebRequest webRequest, HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String representation = WireFormatConfig.representation(webRequest.getHeader(HttpHeaders.ACCEPT));
+        return webRequest.checkNotModified(version.etag(representation), version.lastModifiedEpochMillis());
+    }
+}
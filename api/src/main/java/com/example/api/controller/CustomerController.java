@@ -0,0 +1,37 @@
+package com.example.api.controller;
+
+import com.example.api.dto.CustomerClaimsResponse;
+import com.example.api.service.CustomerClaimService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+@Tag(name = "Customers", description = "Customer claim history API")
+public class CustomerController {
+
+    private final CustomerClaimService customerClaimService;
+
+    @GetMapping("/{clienteId}/claims")
+    @Operation(summary = "Get claims for a customer", description = "Retrieves the claims of a customer, newest first, using cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<CustomerClaimsResponse> getCustomerClaims(
+            @Parameter(description = "ID of the customer", required = true)
+            @PathVariable Long clienteId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (optional)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, between 1 and 100")
+            @RequestParam(defaultValue = "" + CustomerClaimService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(customerClaimService.getCustomerClaims(clienteId, cursor, size));
+    }
+}
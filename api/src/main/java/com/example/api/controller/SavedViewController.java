@@ -0,0 +1,74 @@
+package com.example.api.controller;
+
+import com.example.api.dto.CreateSavedViewRequest;
+import com.example.api.dto.SavedViewPageResponse;
+import com.example.api.dto.SavedViewResponse;
+import com.example.api.service.SavedViewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/views")
+@RequiredArgsConstructor
+@Tag(name = "Saved views", description = "Named status and search filters over the claims list")
+public class SavedViewController {
+
+    private final SavedViewService savedViewService;
+
+    @PostMapping
+    @Operation(summary = "Create a saved view", description = "Saves a status and/or search filter and precomputes the claims matching it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "View created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or no filter given")
+    })
+    public ResponseEntity<SavedViewResponse> createView(@Valid @RequestBody CreateSavedViewRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedViewService.createView(request));
+    }
+
+    @GetMapping
+    @Operation(summary = "List saved views", description = "Retrieves all saved views, oldest first")
+    @ApiResponse(responseCode = "200", description = "Views retrieved successfully")
+    public ResponseEntity<List<SavedViewResponse>> getViews() {
+        return ResponseEntity.ok(savedViewService.getViews());
+    }
+
+    @GetMapping("/{id}/claims")
+    @Operation(summary = "Get claims of a saved view", description = "Page of the claims currently matching the view, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Claims retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or page size"),
+            @ApiResponse(responseCode = "404", description = "View not found")
+    })
+    public ResponseEntity<SavedViewPageResponse> getViewClaims(
+            @Parameter(description = "ID of the view", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, up to " + SavedViewService.MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(savedViewService.getViewClaims(id, page, size));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a saved view", description = "Deletes the view and its precomputed results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "View deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "View not found")
+    })
+    public ResponseEntity<Void> deleteView(
+            @Parameter(description = "ID of the view", required = true)
+            @PathVariable Long id) {
+        savedViewService.deleteView(id);
+        return ResponseEntity.noContent().build();
+    }
+}
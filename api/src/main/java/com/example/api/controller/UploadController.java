@@ -0,0 +1,125 @@
+package com.example.api.controller;
+
+import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.CreateUploadRequest;
+import com.example.api.dto.UploadSessionResponse;
+import com.example.api.service.AttachmentUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Subidas reanudables de adjuntos. Flujo: {@code POST /api/claims/{id}/uploads} crea la
+ * subida, {@code PATCH /api/uploads/{uploadId}} envía cada bloque con su
+ * {@code Upload-Offset}, {@code HEAD} indica desde dónde continuar y
+ * {@code POST /api/uploads/{uploadId}/complete} registra el adjunto.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Uploads", description = "Resumable attachment uploads")
+public class UploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+    static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final AttachmentUploadService attachmentUploadService;
+
+    @PostMapping("/api/claims/{id}/uploads")
+    @Operation(summary = "Create resumable upload", description = "Creates an upload session for a new attachment of the claim")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload created; chunks can be sent to the Location URL"),
+            @ApiResponse(responseCode = "404", description = "Claim not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid file name or size")
+    })
+    public ResponseEntity<UploadSessionResponse> createUpload(
+            @Parameter(description = "ID of the claim to add attachment to", required = true)
+            @PathVariable Long id,
+            @Valid @RequestBody CreateUploadRequest request) {
+        UploadSessionResponse upload = attachmentUploadService.createUpload(id, request);
+        return ResponseEntity.created(URI.create("/api/uploads/" + upload.uploadId()))
+                .header(UPLOAD_OFFSET, String.valueOf(upload.offset()))
+                .header(UPLOAD_LENGTH, String.valueOf(upload.size()))
+                .body(upload);
+    }
+
+    @RequestMapping(value = "/api/uploads/{uploadId}", method = RequestMethod.HEAD)
+    @Operation(summary = "Get upload offset", description = "Returns the number of bytes received so far in the Upload-Offset header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload found"),
+            @ApiResponse(responseCode = "404", description = "Upload not found")
+    })
+    public ResponseEntity<Void> getUploadOffset(@PathVariable String uploadId) {
+        UploadSessionResponse upload = attachmentUploadService.getUpload(uploadId);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(upload.offset()))
+                .header(UPLOAD_LENGTH, String.valueOf(upload.size()))
+                .header("Cache-Control", "no-store")
+                .build();
+    }
+
+    @GetMapping("/api/uploads/{uploadId}")
+    @Operation(summary = "Get upload", description = "Returns the state of a resumable upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload found"),
+            @ApiResponse(responseCode = "404", description = "Upload not found")
+    })
+    public ResponseEntity<UploadSessionResponse> getUpload(@PathVariable String uploadId) {
+        return ResponseEntity.ok(attachmentUploadService.getUpload(uploadId));
+    }
+
+    @PatchMapping(value = "/api/uploads/{uploadId}", consumes = OFFSET_OCTET_STREAM)
+    @Operation(summary = "Upload chunk", description = "Writes the request body at the given Upload-Offset, which must match the current offset")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Chunk stored; Upload-Offset holds the new offset"),
+            @ApiResponse(responseCode = "404", description = "Upload not found"),
+            @ApiResponse(responseCode = "409", description = "Upload-Offset does not match the current offset")
+    })
+    public ResponseEntity<Void> uploadChunk(
+            @PathVariable String uploadId,
+            @Parameter(description = "Offset of the first byte in the body", required = true)
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            throw new IllegalArgumentException("Content-Length is required");
+        }
+        UploadSessionResponse upload = attachmentUploadService.appendChunk(uploadId, offset, request.getInputStream(), length);
+        return ResponseEntity.noContent()
+                .header(UPLOAD_OFFSET, String.valueOf(upload.offset()))
+                .build();
+    }
+
+    @PostMapping("/api/uploads/{uploadId}/complete")
+    @Operation(summary = "Complete upload", description = "Registers the uploaded file as an attachment of the claim")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Attachment created"),
+            @ApiResponse(responseCode = "404", description = "Upload not found"),
+            @ApiResponse(responseCode = "400", description = "Upload is incomplete")
+    })
+    public ResponseEntity<ClaimDetailResponse.ClaimAttachment> completeUpload(@PathVariable String uploadId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(attachmentUploadService.completeUpload(uploadId));
+    }
+
+    @DeleteMapping("/api/uploads/{uploadId}")
+    @Operation(summary = "Cancel upload", description = "Discards the upload session and the bytes received")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Upload cancelled"),
+            @ApiResponse(responseCode = "404", description = "Upload not found")
+    })
+    public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId) {
+        attachmentUploadService.cancelUpload(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
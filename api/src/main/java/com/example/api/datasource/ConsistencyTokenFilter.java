@@ -0,0 +1,55 @@
+package com.example.api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes sobre la réplica. Cada escritura confirmada devuelve en
+ * {@value #HEADER} la posición del WAL del primario tras el commit; si el cliente la
+ * reenvía y la réplica aún no la reprodujo, las lecturas del request se hacen contra el
+ * primario.
+ */
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ConsistencyTokenFilter(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long token = parse(request.getHeader(HEADER));
+        boolean primaryRequired = token != null && lagMonitor.isBehind(token);
+
+        ReadConsistency.begin(primaryRequired, () -> {
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(lagMonitor.primaryPosition()));
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadConsistency.end();
+        }
+    }
+
+    private static Long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
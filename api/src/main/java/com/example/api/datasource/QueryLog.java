@@ -0,0 +1,124 @@
+package com.example.api.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Registro de sentencias SQL en formato clave=valor. Las sentencias que superan el umbral
+ * se registran siempre (WARN); el resto solo en la fracción muestreada (INFO). El hilo que
+ * ejecuta la sentencia únicamente encola: la normalización y la escritura ocurren en un hilo
+ * propio y, si la cola está llena, la entrada se descarta y se cuenta.
+ */
+public class QueryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.query");
+
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    record Entry(String sql, long durationNanos, long rows, int binds, boolean slow) {}
+
+    record Fingerprint(String id, String normalizedSql) {}
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final BlockingQueue<Entry> queue;
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    public QueryLog(Duration slowThreshold, double sampleRate, int queueCapacity) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = Thread.ofPlatform().name("query-log").daemon().start(this::drain);
+    }
+
+    /**
+     * Decide con la duración ya medida si la sentencia se registrará, para que las que no
+     * se registran no paguen el conteo de filas.
+     */
+    public boolean shouldRecord(long durationNanos) {
+        return durationNanos >= slowThresholdNanos
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public void record(String sql, long durationNanos, long rows, int binds) {
+        if (!queue.offer(new Entry(sql, durationNanos, rows, binds, durationNanos >= slowThresholdNanos))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long droppedEntries() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        writer.interrupt();
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Entry entry) {
+        Fingerprint fingerprint = fingerprint(entry.sql());
+        String line = String.format(Locale.ROOT, "fingerprint=%s duration_ms=%.3f rows=%d binds=%d slow=%b dropped=%d sql=\"%s\"",
+                fingerprint.id(), entry.durationNanos() / 1_000_000.0, entry.rows(), entry.binds(), entry.slow(),
+                dropped.get(), fingerprint.normalizedSql().replace("\"", "\\\""));
+        if (entry.slow()) {
+            log.warn(line);
+        } else {
+            log.info(line);
+        }
+    }
+
+    Fingerprint fingerprint(String sql) {
+        Fingerprint cached = fingerprints.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = normalize(sql);
+        CRC32 crc = new CRC32();
+        crc.update(normalized.getBytes(StandardCharsets.UTF_8));
+        Fingerprint fingerprint = new Fingerprint(String.format("%08x", crc.getValue()), normalized);
+        // Statements with inlined literals would grow the map without bound
+        if (fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+            fingerprints.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Forma canónica de la sentencia: literales reemplazados por {@code ?}, listas
+     * {@code IN (?, ?, ...)} colapsadas y espacios normalizados.
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
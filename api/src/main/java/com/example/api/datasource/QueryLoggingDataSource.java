@@ -0,0 +1,240 @@
+package com.example.api.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mide cada sentencia ejecutada a través del {@link DataSource} y la entrega al
+ * {@link QueryLog} con su duración, filas y cantidad de parámetros. Las filas de un
+ * {@code SELECT} se cuentan al recorrer el {@link ResultSet}, y solo cuando la sentencia
+ * va a registrarse.
+ */
+public class QueryLoggingDataSource extends DelegatingDataSource {
+
+    private final QueryLog queryLog;
+
+    public QueryLoggingDataSource(DataSource target, QueryLog queryLog) {
+        super(target);
+        this.queryLog = queryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connectionProxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connectionProxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection connectionProxy(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    Object result = invoke(target, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> statementProxy(Statement.class, (Statement) result, null);
+                        case "prepareStatement" -> statementProxy(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> statementProxy(CallableStatement.class, (Statement) result, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Statement statementProxy(Class<? extends Statement> type, Statement target, String sql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new StatementHandler(target, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Estado de una sentencia entre ejecuciones: SQL, parámetros asignados y, si la última
+     * ejecución devolvió un {@code ResultSet} que se registrará, el conteo pendiente.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+        private int binds;
+        private int batchBinds;
+        private PendingQuery pending;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "addBatch" -> {
+                    if (args != null && args.length == 1) {
+                        sql = (String) args[0];
+                    }
+                    batchBinds += binds;
+                    binds = 0;
+                }
+                case "clearParameters" -> binds = 0;
+                case "clearBatch" -> batchBinds = 0;
+                case "getResultSet" -> {
+                    ResultSet resultSet = (ResultSet) QueryLoggingDataSource.invoke(target, method, args);
+                    return pending != null && resultSet != null ? pending.track(resultSet) : resultSet;
+                }
+                case "close" -> flushPending();
+                default -> {
+                    // Indexed setters (setString(1, ...)) bind a parameter; single-argument
+                    // setters such as setFetchSize configure the statement.
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        binds++;
+                    }
+                }
+            }
+            return QueryLoggingDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            flushPending();
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql;
+            }
+            boolean batch = method.getName().contains("Batch");
+            int executionBinds = batch ? batchBinds + binds : binds;
+            if (batch) {
+                batchBinds = 0;
+            }
+
+            long start = System.nanoTime();
+            Object result = QueryLoggingDataSource.invoke(target, method, args);
+            long duration = System.nanoTime() - start;
+            if (!queryLog.shouldRecord(duration)) {
+                return result;
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                pending = new PendingQuery(sql, duration, executionBinds);
+                return pending.track(resultSet);
+            }
+            if (result instanceof Boolean hasResultSet) {
+                if (hasResultSet) {
+                    pending = new PendingQuery(sql, duration, executionBinds);
+                } else {
+                    queryLog.record(sql, duration, target.getUpdateCount(), executionBinds);
+                }
+                return result;
+            }
+            queryLog.record(sql, duration, updatedRows(result), executionBinds);
+            return result;
+        }
+
+        private void flushPending() {
+            if (pending != null) {
+                pending.flush();
+                pending = null;
+            }
+        }
+    }
+
+    /**
+     * Hibernate guarda sentencias y resultados en mapas: equals/hashCode deben ser los del
+     * proxy y no delegarse al objeto real.
+     */
+    private static boolean isIdentityMethod(Method method) {
+        return (method.getName().equals("equals") && method.getParameterCount() == 1)
+                || (method.getName().equals("hashCode") && method.getParameterCount() == 0);
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Consulta ya medida cuyas filas se cuentan hasta que se cierra el {@code ResultSet},
+     * la sentencia o se vuelve a ejecutar.
+     */
+    private final class PendingQuery {
+
+        private final String sql;
+        private final long durationNanos;
+        private final int binds;
+        private long rows;
+        private boolean flushed;
+
+        PendingQuery(String sql, long durationNanos, int binds) {
+            this.sql = sql;
+            this.durationNanos = durationNanos;
+            this.binds = binds;
+        }
+
+        ResultSet track(ResultSet target) {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        if (isIdentityMethod(method)) {
+                            return identity(proxy, method, args);
+                        }
+                        Object result = invoke(target, method, args);
+                        switch (method.getName()) {
+                            case "next" -> {
+                                if ((Boolean) result) {
+                                    rows++;
+                                }
+                            }
+                            case "close" -> flush();
+                            default -> { }
+                        }
+                        return result;
+                    });
+        }
+
+        void flush() {
+            if (!flushed) {
+                flushed = true;
+                queryLog.record(sql, durationNanos, rows, binds);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.api.datasource;
+
+/**
+ * Estado de consistencia de lectura del request en curso: si las lecturas deben ir al
+ * primario (el cliente presentó un token más reciente que lo replicado) y a quién avisar
+ * cuando una transacción de escritura confirma, para emitir el token siguiente.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Abre el alcance del request. Debe cerrarse con {@link #end()} en el mismo hilo.
+     */
+    public static void begin(boolean primaryRequired, Runnable onWriteCommitted) {
+        CURRENT.set(new Scope(primaryRequired, onWriteCommitted));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPrimaryRequired() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.primaryRequired;
+    }
+
+    static boolean isTrackingWrites() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.onWriteCommitted != null;
+    }
+
+    /**
+     * Registra una escritura confirmada en el primario, también cuando otro hilo la confirmó
+     * en nombre del request. Las lecturas posteriores del mismo request también van al
+     * primario. Debe llamarse después del commit.
+     */
+    public static void writeCommitted() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        scope.primaryRequired = true;
+        if (scope.onWriteCommitted != null) {
+            scope.onWriteCommitted.run();
+        }
+    }
+
+    private static final class Scope {
+
+        private boolean primaryRequired;
+        private final Runnable onWriteCommitted;
+
+        private Scope(boolean primaryRequired, Runnable onWriteCommitted) {
+            this.primaryRequired = primaryRequired;
+            this.onWriteCommitted = onWriteCommitted;
+        }
+    }
+}
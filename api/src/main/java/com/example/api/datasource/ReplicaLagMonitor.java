@@ -0,0 +1,102 @@
+package com.example.api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Compara posiciones del WAL: la del primario tras una escritura (el token de consistencia)
+ * con la que ya reprodujo la réplica. Al no depender del reloj de ningún nodo, un token solo
+ * se da por replicado cuando la réplica aplicó de verdad ese commit. Consulta la réplica
+ * como mucho una vez por intervalo; si la consulta falla se asume que va atrasada.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Posición actual del WAL del primario, en bytes.
+     */
+    public static final String POSTGRES_POSITION_QUERY = "SELECT pg_current_wal_lsn() - '0/0'::pg_lsn";
+
+    /**
+     * Posición del WAL reproducida por la réplica, en bytes; fuera de recuperación, la actual.
+     */
+    public static final String POSTGRES_REPLAY_QUERY = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END - '0/0'::pg_lsn";
+
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final String positionQuery;
+    private final String replayQuery;
+    private final long probeIntervalMillis;
+    private final LongSupplier clock;
+
+    private volatile long replayedUpTo = UNKNOWN;
+    private volatile long probedAt = Long.MIN_VALUE;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, String positionQuery, String replayQuery,
+                             Duration probeInterval) {
+        this(primary, replica, positionQuery, replayQuery, probeInterval, System::currentTimeMillis);
+    }
+
+    ReplicaLagMonitor(DataSource primary, DataSource replica, String positionQuery, String replayQuery,
+                      Duration probeInterval, LongSupplier clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.positionQuery = positionQuery;
+        this.replayQuery = replayQuery;
+        this.probeIntervalMillis = probeInterval.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Posición del primario después de un commit: cualquier commit ya confirmado queda por
+     * debajo. Si no se puede leer se devuelve una que la réplica nunca alcanza, de modo que
+     * las lecturas con ese token van al primario.
+     */
+    public long primaryPosition() {
+        try {
+            Long position = primary.queryForObject(positionQuery, Long.class);
+            if (position != null) {
+                return position;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Primary WAL position query failed, pinning reads to the primary: {}", e.getMessage());
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Indica si la réplica todavía no reproduce la posición {@code position} del primario.
+     */
+    public boolean isBehind(long position) {
+        return position > replayedUpTo();
+    }
+
+    long replayedUpTo() {
+        long now = clock.getAsLong();
+        if (now >= probedAt + probeIntervalMillis) {
+            probedAt = now;
+            replayedUpTo = probe();
+        }
+        return replayedUpTo;
+    }
+
+    private long probe() {
+        try {
+            Long replayed = replica.queryForObject(replayQuery, Long.class);
+            if (replayed != null) {
+                return replayed;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replica replay position probe failed, assuming it lags: {}", e.getMessage());
+        }
+        return UNKNOWN;
+    }
+}
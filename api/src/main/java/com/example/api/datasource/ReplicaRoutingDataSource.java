@@ -0,0 +1,57 @@
+package com.example.api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envía las transacciones {@code readOnly} a la réplica y todo lo demás al primario.
+ * Debe envolverse en un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que la conexión real se pida cuando la transacción ya marcó si es de solo lectura.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final Object WRITE_TRACKED = new Object();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadConsistency.isPrimaryRequired() ? Target.PRIMARY : Target.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            trackWrite();
+        }
+        return Target.PRIMARY;
+    }
+
+    private static void trackWrite() {
+        if (!ReadConsistency.isTrackingWrites()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadConsistency.writeCommitted();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+}
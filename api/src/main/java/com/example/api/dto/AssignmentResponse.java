@@ -0,0 +1,19 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Claim handed out to an agent")
+public record AssignmentResponse(
+    @Schema(description = "ID of the claim", requiredMode = Schema.RequiredMode.REQUIRED)
+    Long claimId,
+
+    @Schema(description = "Agent holding the lease", example = "asesor@empresa.com", requiredMode = Schema.RequiredMode.REQUIRED)
+    String agentEmail,
+
+    @Schema(description = "When the lease expires and the claim goes back to the queue unless its status is updated",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    LocalDateTime leaseExpiresAt
+) {
+}
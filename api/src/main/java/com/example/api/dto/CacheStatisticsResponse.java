@@ -0,0 +1,35 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Hibernate second-level cache statistics since startup")
+public record CacheStatisticsResponse(
+    @Schema(description = "Whether Hibernate statistics collection is enabled")
+    boolean statisticsEnabled,
+
+    @Schema(description = "Second-level cache hits across all regions")
+    long hitCount,
+
+    @Schema(description = "Second-level cache misses across all regions")
+    long missCount,
+
+    @Schema(description = "Entries put into the second-level cache across all regions")
+    long putCount,
+
+    @Schema(description = "JDBC statements prepared since startup")
+    long prepareStatementCount,
+
+    @Schema(description = "Per-region statistics")
+    List<Region> regions
+) {
+
+    public record Region(
+        String name,
+        long hitCount,
+        long missCount,
+        long putCount,
+        long elementCountInMemory
+    ) {}
+}
@@ -1,6 +1,7 @@
 package com.example.api.dto;
 
 import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -28,6 +29,15 @@ public record ClaimDetailResponse(
         String fileName,
         String fileType,
         Long fileSize,
-        LocalDateTime uploadedAt
-    ) {}
+        LocalDateTime uploadedAt,
+        PreviewStatus previewStatus,
+        String previewUrl,
+        Long previewSize,
+        Integer pageCount
+    ) {
+
+        public ClaimAttachment(Long id, String fileName, String fileType, Long fileSize, LocalDateTime uploadedAt) {
+            this(id, fileName, fileType, fileSize, uploadedAt, PreviewStatus.PENDING, null, null, null);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.api.dto;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of claims in a given current status, newest first")
+public record ClaimStatusPageResponse(
+    @Schema(description = "Current status of every claim in the page", requiredMode = Schema.RequiredMode.REQUIRED)
+    EstadoReclamoEnum status,
+
+    @Schema(description = "Total claims matching the status and date range", example = "1250", requiredMode = Schema.RequiredMode.REQUIRED)
+    long total,
+
+    @Schema(description = "Zero-based page number", example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    int page,
+
+    @Schema(description = "Page size", example = "20", requiredMode = Schema.RequiredMode.REQUIRED)
+    int size,
+
+    @Schema(description = "Claims in this page", requiredMode = Schema.RequiredMode.REQUIRED)
+    List<ClaimResponse> claims
+) {
+}
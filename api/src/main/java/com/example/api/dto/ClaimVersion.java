@@ -0,0 +1,44 @@
+package com.example.api.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+/**
+ * Marcador de versión barato de un reclamo o del listado: la última modificación entre
+ * reclamos, estados y adjuntos, y la cantidad de filas que la componen. Sirve para ETag
+ * y Last-Modified sin hidratar entidades.
+ */
+public record ClaimVersion(
+    String key,
+    LocalDateTime lastModified,
+    long rowCount
+) {
+
+    public static ClaimVersion of(String key, long rowCount, LocalDateTime... timestamps) {
+        LocalDateTime lastModified = Stream.of(timestamps)
+                .filter(timestamp -> timestamp != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new ClaimVersion(key, lastModified, rowCount);
+    }
+
+    /**
+     * ETag débil de la versión en un formato ({@code json}, {@code cbor}...). Es débil
+     * porque el cuerpo puede ir comprimido o no (Tomcat no comprime respuestas con ETag
+     * fuerte), y lleva el formato porque JSON y CBOR del mismo recurso son cuerpos distintos.
+     */
+    public String etag(String representation) {
+        long micros = lastModified != null
+                ? ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastModified)
+                : 0;
+        return "W/\"" + key + "-" + Long.toString(micros, 36) + "-" + rowCount + "-" + representation + "\"";
+    }
+
+    public long lastModifiedEpochMillis() {
+        return lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.api.dto;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Named filter over the claims list; status, search or both")
+public record CreateSavedViewRequest(
+    @Schema(description = "Name of the view", example = "Escalados de facturación", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name must be at most 255 characters")
+    String name,
+
+    @Schema(description = "Current status of the claims (optional)")
+    EstadoReclamoEnum status,
+
+    @Schema(description = "Text to search in title, description or code (optional)", example = "factura")
+    @Size(max = 255, message = "Search must be at most 255 characters")
+    String search
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "Resumable upload to create for a claim attachment")
+public record CreateUploadRequest(
+    @Schema(description = "Original file name", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "File name is required")
+    String fileName,
+
+    @Schema(description = "MIME type of the file")
+    String contentType,
+
+    @Schema(description = "Total size of the file in bytes", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be greater than zero")
+    Long size
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of claims for a customer, newest first")
+public record CustomerClaimsResponse(
+    @Schema(description = "Customer the claims belong to", requiredMode = Schema.RequiredMode.REQUIRED)
+    Long customerId,
+
+    @Schema(description = "Claims in this page", requiredMode = Schema.RequiredMode.REQUIRED)
+    List<ClaimResponse> claims,
+
+    @Schema(description = "Cursor for the next page, null when there are no more claims")
+    String nextCursor
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of the claims matching a saved view, newest first")
+public record SavedViewPageResponse(
+    @Schema(description = "The saved view", requiredMode = Schema.RequiredMode.REQUIRED)
+    SavedViewResponse view,
+
+    @Schema(description = "Total claims matching the view", example = "1250", requiredMode = Schema.RequiredMode.REQUIRED)
+    long total,
+
+    @Schema(description = "Zero-based page number", example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    int page,
+
+    @Schema(description = "Page size", example = "20", requiredMode = Schema.RequiredMode.REQUIRED)
+    int size,
+
+    @Schema(description = "Claims in this page", requiredMode = Schema.RequiredMode.REQUIRED)
+    List<ClaimResponse> claims
+) {
+}
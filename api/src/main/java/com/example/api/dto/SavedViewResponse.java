@@ -0,0 +1,25 @@
+package com.example.api.dto;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Saved filter view")
+public record SavedViewResponse(
+    @Schema(description = "ID of the view", example = "3", requiredMode = Schema.RequiredMode.REQUIRED)
+    Long id,
+
+    @Schema(description = "Name of the view", requiredMode = Schema.RequiredMode.REQUIRED)
+    String name,
+
+    @Schema(description = "Current status filter, if any")
+    EstadoReclamoEnum status,
+
+    @Schema(description = "Search text filter, if any")
+    String search,
+
+    @Schema(description = "When the view was created", requiredMode = Schema.RequiredMode.REQUIRED)
+    LocalDateTime createdAt
+) {
+}
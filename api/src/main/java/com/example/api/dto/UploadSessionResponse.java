@@ -0,0 +1,22 @@
+package com.example.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of a resumable attachment upload")
+public record UploadSessionResponse(
+    @Schema(description = "Upload identifier, used in /api/uploads/{uploadId}", requiredMode = Schema.RequiredMode.REQUIRED)
+    String uploadId,
+
+    @Schema(description = "Claim the attachment belongs to", requiredMode = Schema.RequiredMode.REQUIRED)
+    Long claimId,
+
+    @Schema(description = "Original file name", requiredMode = Schema.RequiredMode.REQUIRED)
+    String fileName,
+
+    @Schema(description = "Total size of the file in bytes", requiredMode = Schema.RequiredMode.REQUIRED)
+    long size,
+
+    @Schema(description = "Bytes received so far; the next chunk must start here", requiredMode = Schema.RequiredMode.REQUIRED)
+    long offset
+) {
+}
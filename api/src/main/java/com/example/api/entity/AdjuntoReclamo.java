@@ -5,16 +5,24 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "adjunto_reclamos")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = AdjuntoReclamo.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AdjuntoReclamo {
+
+    /** Los metadatos de un adjunto no cambian después de subirse (@Immutable): se cachean como solo lectura. */
+    public static final String CACHE_REGION = "claim-attachments";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
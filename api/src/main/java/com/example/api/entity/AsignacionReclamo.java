@@ -0,0 +1,42 @@
+package com.example.api.entity;
+
+import com.example.api.enums.AssignmentStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asignación de un reclamo abierto: en cola ({@code QUEUED}, de un asesor o de la cola común
+ * si no tiene asesor) o entregado con un préstamo que vence en {@code leaseExpira}
+ * ({@code LEASED}). Es la fuente de verdad entre nodos: un reclamo se presta con un
+ * {@code UPDATE} condicional sobre esta fila, y un reclamo cerrado no tiene fila.
+ */
+@Entity
+@Table(name = "asignaciones_reclamo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsignacionReclamo {
+
+    @Id
+    @Column(name = "reclamo_id")
+    private Long reclamoId;
+
+    @Column(name = "asesor_email")
+    private String asesorEmail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AssignmentStatus estado;
+
+    @Column(name = "lease_expira")
+    private LocalDateTime leaseExpira;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
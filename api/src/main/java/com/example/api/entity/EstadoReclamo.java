@@ -7,16 +7,32 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "estado_reclamos")
+@Table(name = "estado_reclamos", indexes = {
+    @Index(name = "idx_estado_reclamos_reclamo_fecha", columnList = "reclamo_id, fecha_creacion")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_estado_reclamos_reclamo_secuencia", columnNames = {"reclamo_id", "secuencia"})
+})
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = EstadoReclamo.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class EstadoReclamo {
+
+    /**
+     * Los estados solo se insertan (@Immutable): se cachean como solo lectura. La numeración
+     * de secuencias es una consulta nativa, que vacía la región al ejecutarse.
+     */
+    public static final String CACHE_REGION = "claim-statuses";
+
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +55,9 @@ public class EstadoReclamo {
     @Column(name = "fecha_creacion", nullable = false)
     private LocalDateTime fechaCreacion;
 
+    /** Posición del estado en el historial del reclamo (1, 2, ...), asignada por ClaimEventStore. */
+    private Long secuencia;
+
 
     @PrePersist
     protected void onCreate() {
@@ -10,12 +10,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "reclamos")
+@Table(name = "reclamos", indexes = {
+    @Index(name = "idx_reclamos_cliente_fecha", columnList = "cliente_id, fecha_creacion DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Reclamo {
+
+    public static final String STATUSES_CACHE_REGION = "claim-status-lists";
+    public static final String ATTACHMENTS_CACHE_REGION = "claim-attachment-lists";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +44,9 @@ public class Reclamo {
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
     
+    // Inverse collections: appending a child does not touch them, so ClaimCollectionCacheEvictor
+    // evicts the cached id list after each commit that adds a status or attachment. They are
+    // only cached with cluster invalidation on (ClaimCollectionCacheConfig)
     @OneToMany(mappedBy = "reclamo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<EstadoReclamo> estados;
     
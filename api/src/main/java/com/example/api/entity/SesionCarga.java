@@ -0,0 +1,58 @@
+package com.example.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subida reanudable de un adjunto en curso. Los bytes recibidos se escriben en un
+ * archivo parcial del almacenamiento; aquí se guarda hasta dónde llegaron para poder
+ * continuar tras un corte de conexión o un reinicio de la aplicación.
+ */
+@Entity
+@Table(name = "sesiones_carga")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SesionCarga {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "reclamo_id", nullable = false)
+    private Long reclamoId;
+
+    @Column(name = "nombre_archivo", nullable = false)
+    private String nombreArchivo;
+
+    @Column(name = "tipo_contenido")
+    private String tipoContenido;
+
+    @Column(name = "tamano_total", nullable = false)
+    private Long tamanoTotal;
+
+    @Column(name = "bytes_recibidos", nullable = false)
+    private Long bytesRecibidos;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCreacion = LocalDateTime.now();
+        fechaActualizacion = fechaCreacion;
+    }
+
+    public boolean isComplete() {
+        return bytesRecibidos.equals(tamanoTotal);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.api.entity;
+
+import com.example.api.converter.EstadoReclamoConverter;
+import com.example.api.enums.EstadoReclamoEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado derivado de un reclamo tras aplicar sus eventos hasta {@code secuencia}. Es una
+ * proyección: se puede borrar y reconstruir desde {@code estado_reclamos}.
+ */
+@Entity
+@Table(name = "snapshots_reclamo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotReclamo {
+
+    @Id
+    @Column(name = "reclamo_id")
+    private Long reclamoId;
+
+    @Column(nullable = false)
+    private Long secuencia;
+
+    @Convert(converter = EstadoReclamoConverter.class)
+    @Column(nullable = false)
+    private EstadoReclamoEnum estado;
+
+    @Column(nullable = false)
+    private Integer escalamientos;
+
+    @Column(name = "fecha_primera_respuesta")
+    private LocalDateTime fechaPrimeraRespuesta;
+
+    @Column(name = "fecha_ultimo_cambio")
+    private LocalDateTime fechaUltimoCambio;
+}
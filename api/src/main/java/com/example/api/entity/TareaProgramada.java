@@ -0,0 +1,33 @@
+package com.example.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarea periódica que solo debe correr en un nodo a la vez. El nodo que la ejecuta tiene un
+ * préstamo hasta {@code leaseExpira} y lo renueva en cada ejecución; los demás la toman
+ * recién cuando el préstamo vence.
+ */
+@Entity
+@Table(name = "tareas_programadas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TareaProgramada {
+
+    @Id
+    @Column(length = 50)
+    private String nombre;
+
+    @Column(length = 100)
+    private String nodo;
+
+    @Column(name = "lease_expira")
+    private LocalDateTime leaseExpira;
+}
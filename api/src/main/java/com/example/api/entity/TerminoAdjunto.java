@@ -0,0 +1,40 @@
+package com.example.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entrada del índice invertido de texto de adjuntos: cuántas veces aparece un término
+ * normalizado en un adjunto. Se guarda también el reclamo para puntuar reclamos sin
+ * pasar por {@code adjunto_reclamos}.
+ */
+@Entity
+@Table(name = "terminos_adjunto", indexes = {
+    @Index(name = "idx_terminos_adjunto_termino", columnList = "termino, reclamo_id"),
+    @Index(name = "idx_terminos_adjunto_adjunto", columnList = "adjunto_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TerminoAdjunto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String termino;
+
+    @Column(name = "adjunto_id", nullable = false)
+    private Long adjuntoId;
+
+    @Column(name = "reclamo_id", nullable = false)
+    private Long reclamoId;
+
+    @Column(nullable = false)
+    private Integer frecuencia;
+}
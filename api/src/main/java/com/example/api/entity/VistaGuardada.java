@@ -0,0 +1,44 @@
+package com.example.api.entity;
+
+import com.example.api.converter.EstadoReclamoConverter;
+import com.example.api.enums.EstadoReclamoEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtro guardado con nombre: estado actual y texto a buscar en el título, la descripción
+ * o el código, como en el listado de reclamos. Al menos uno de los dos está definido.
+ */
+@Entity
+@Table(name = "vistas_guardadas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VistaGuardada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Convert(converter = EstadoReclamoConverter.class)
+    private EstadoReclamoEnum estado;
+
+    private String texto;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCreacion = LocalDateTime.now();
+    }
+}
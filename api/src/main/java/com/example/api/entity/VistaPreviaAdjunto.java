@@ -0,0 +1,59 @@
+package com.example.api.entity;
+
+import com.example.api.enums.PreviewStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos derivados de un adjunto: imagen de la primera página, número de páginas y texto
+ * extraído. Van en una tabla aparte para que {@link AdjuntoReclamo} no cambie después de
+ * subirse.
+ */
+@Entity
+@Table(name = "vistas_previas_adjunto")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VistaPreviaAdjunto {
+
+    @Id
+    @Column(name = "adjunto_id")
+    private Long adjuntoId;
+
+    @Column(name = "reclamo_id", nullable = false)
+    private Long reclamoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PreviewStatus estado;
+
+    @Column(name = "url_vista_previa")
+    private String urlVistaPrevia;
+
+    @Column(name = "tamano_vista_previa")
+    private Long tamanoVistaPrevia;
+
+    @Column(name = "numero_paginas")
+    private Integer numeroPaginas;
+
+    @Column(columnDefinition = "TEXT")
+    private String texto;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        fechaActualizacion = LocalDateTime.now();
+    }
+}
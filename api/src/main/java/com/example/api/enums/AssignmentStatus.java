@@ -0,0 +1,9 @@
+package com.example.api.enums;
+
+/**
+ * Estado de la asignación de un reclamo a un asesor.
+ */
+public enum AssignmentStatus {
+    QUEUED,
+    LEASED
+}
@@ -0,0 +1,35 @@
+package com.example.api.enums;
+
+/**
+ * Compresión aplicada al vuelo sobre el flujo de exportación.
+ */
+public enum ExportCompression {
+
+    NONE("", null),
+    GZIP(".gz", "application/gzip");
+
+    private final String suffix;
+    private final String contentType;
+
+    ExportCompression(String suffix, String contentType) {
+        this.suffix = suffix;
+        this.contentType = contentType;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportCompression fromValue(String value) {
+        for (ExportCompression compression : ExportCompression.values()) {
+            if (compression.name().equalsIgnoreCase(value)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export compression: " + value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.api.enums;
+
+/**
+ * Formatos soportados por la exportación masiva de reclamos.
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : ExportFormat.values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.api.enums;
+
+/**
+ * Estado de la vista previa de un adjunto.
+ */
+public enum PreviewStatus {
+    PENDING,
+    READY,
+    FAILED,
+    UNSUPPORTED
+}
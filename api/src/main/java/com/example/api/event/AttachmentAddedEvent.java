@@ -0,0 +1,13 @@
+package com.example.api.event;
+
+/**
+ * Se publica cuando se registra un adjunto nuevo en un reclamo. Se escucha después del
+ * commit para procesar el archivo ya guardado.
+ */
+public record AttachmentAddedEvent(
+    Long attachmentId,
+    Long claimId,
+    String fileUrl,
+    String contentType
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.api.event;
+
+/**
+ * Adjunto agregado o vista previa generada en otro nodo. Lo publica el bus de invalidación
+ * fuera de toda transacción para que se descarte la lista de adjuntos cacheada del reclamo.
+ */
+public record ClaimAttachmentsInvalidatedEvent(
+    Long claimId
+) {
+}
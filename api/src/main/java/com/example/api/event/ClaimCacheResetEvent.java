@@ -0,0 +1,8 @@
+package com.example.api.event;
+
+/**
+ * Se publica cuando pudieron perderse invalidaciones de otros nodos (por ejemplo, tras
+ * reconectar el bus). Las cachés locales se vacían o se vuelven a cargar desde la base.
+ */
+public record ClaimCacheResetEvent() {
+}
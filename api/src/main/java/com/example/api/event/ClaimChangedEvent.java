@@ -0,0 +1,17 @@
+package com.example.api.event;
+
+import com.example.api.enums.EstadoReclamoEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Se publica cuando un reclamo se crea o cambia de estado. Los componentes que mantienen
+ * datos derivados de los reclamos lo escuchan después del commit.
+ */
+public record ClaimChangedEvent(
+    Long claimId,
+    Long customerId,
+    EstadoReclamoEnum status,
+    LocalDateTime changedAt
+) {
+}
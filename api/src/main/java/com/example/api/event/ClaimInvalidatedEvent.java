@@ -0,0 +1,11 @@
+package com.example.api.event;
+
+/**
+ * Cambio de un reclamo confirmado en otro nodo. Lo publica el bus de invalidación fuera de
+ * toda transacción. Lo escuchan las cachés locales, las colas de reparto y la rueda de
+ * plazos, que solo ajustan su copia local.
+ */
+public record ClaimInvalidatedEvent(
+    ClaimChangedEvent change
+) {
+}
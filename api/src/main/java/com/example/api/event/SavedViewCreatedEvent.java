@@ -0,0 +1,12 @@
+package com.example.api.event;
+
+import com.example.api.entity.VistaGuardada;
+
+/**
+ * Se publica al guardar una vista nueva. El índice de vistas la registra después del
+ * commit, así una creación revertida no deja una vista fantasma calculándose.
+ */
+public record SavedViewCreatedEvent(
+    VistaGuardada view
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.api.event;
+
+/**
+ * Se publica al borrar una vista guardada. El índice de vistas la descarta después del
+ * commit, así un borrado revertido no deja la vista sin precálculo.
+ */
+public record SavedViewDeletedEvent(
+    Long viewId
+) {
+}
@@ -0,0 +1,210 @@
+package com.example.api.eventstore;
+
+import com.example.api.entity.EstadoReclamo;
+import com.example.api.entity.SnapshotReclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.exception.ConcurrentClaimUpdateException;
+import com.example.api.repository.EstadoReclamoRepository;
+import com.example.api.repository.SnapshotReclamoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Historial de estados de los reclamos como event store: cada estado es un evento con
+ * secuencia propia del reclamo (1, 2, ...) y la restricción única (reclamo_id, secuencia)
+ * rechaza dos escrituras concurrentes sobre la misma posición.
+ *
+ * <p>Cada {@code app.event-store.snapshot-every} eventos se guarda un snapshot del
+ * {@link ClaimState} del reclamo; las lecturas cargan el snapshot y solo los eventos
+ * posteriores. Los snapshots son una proyección que se reconstruye con
+ * {@link #rebuildSnapshots()}.
+ */
+@Slf4j
+@Service
+public class ClaimEventStore {
+
+    /** Máximo de ids por consulta IN al cargar estados en lote. */
+    static final int LOAD_BATCH_SIZE = 1000;
+    private static final String BACKFILL_LOCK = "claim-event-store-backfill";
+
+    private final EstadoReclamoRepository estadoReclamoRepository;
+    private final SnapshotReclamoRepository snapshotReclamoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotEvery;
+
+    @Autowired
+    public ClaimEventStore(EstadoReclamoRepository estadoReclamoRepository,
+                           SnapshotReclamoRepository snapshotReclamoRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.event-store.snapshot-every:50}") int snapshotEvery) {
+        this.estadoReclamoRepository = estadoReclamoRepository;
+        this.snapshotReclamoRepository = snapshotReclamoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Agrega el evento al final del historial de su reclamo.
+     */
+    @Transactional
+    public EstadoReclamo append(EstadoReclamo event) {
+        return appendAll(List.of(event)).get(0);
+    }
+
+    /**
+     * Agrega los eventos, en orden, al final del historial de sus reclamos. Si otra
+     * transacción ocupó la misma secuencia se lanza {@link ConcurrentClaimUpdateException}.
+     */
+    @Transactional
+    public List<EstadoReclamo> appendAll(List<EstadoReclamo> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        List<Long> claimIds = events.stream().map(event -> event.getReclamo().getId()).distinct().toList();
+        Map<Long, Long> sequences = new HashMap<>();
+        for (Object[] row : estadoReclamoRepository.findLastSequences(claimIds)) {
+            if (row[1] != null) {
+                sequences.put((Long) row[0], (Long) row[1]);
+            }
+        }
+
+        List<EstadoReclamo> saved = new ArrayList<>(events.size());
+        for (EstadoReclamo event : events) {
+            Long claimId = event.getReclamo().getId();
+            long sequence = sequences.merge(claimId, 1L, Long::sum);
+            event.setSecuencia(sequence);
+            try {
+                saved.add(estadoReclamoRepository.save(event));
+            } catch (DataIntegrityViolationException e) {
+                throw new ConcurrentClaimUpdateException(claimId, e);
+            }
+            if (sequence % snapshotEvery == 0) {
+                snapshot(claimId);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Estado actual del reclamo: su snapshot más los eventos posteriores.
+     */
+    @Transactional(readOnly = true)
+    public ClaimState load(Long claimId) {
+        return loadAll(List.of(claimId)).getOrDefault(claimId, ClaimState.empty(claimId));
+    }
+
+    /**
+     * Estado actual de cada reclamo indicado que tenga eventos.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ClaimState> loadAll(Collection<Long> claimIds) {
+        Map<Long, ClaimState> states = new HashMap<>();
+        List<Long> ids = List.copyOf(claimIds);
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size()));
+            for (SnapshotReclamo snapshot : snapshotReclamoRepository.findAllById(batch)) {
+                states.put(snapshot.getReclamoId(), ClaimState.of(snapshot));
+            }
+            for (Object[] row : estadoReclamoRepository.findEventsAfterSnapshot(batch)) {
+                Long claimId = (Long) row[0];
+                states.put(claimId, states.getOrDefault(claimId, ClaimState.empty(claimId))
+                        .apply((Long) row[1], (EstadoReclamoEnum) row[2], (LocalDateTime) row[3]));
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Vuelve a generar todos los snapshots recorriendo el historial completo una sola vez.
+     * Devuelve la cantidad de snapshots guardados.
+     */
+    @Transactional
+    public int rebuildSnapshots() {
+        snapshotReclamoRepository.deleteAllInBatch();
+        List<SnapshotReclamo> pending = new ArrayList<>();
+        int saved = 0;
+        ClaimState state = null;
+        try (Stream<Object[]> rows = estadoReclamoRepository.streamAllEvents()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                Long claimId = (Long) row[0];
+                if (state != null && !state.claimId().equals(claimId)) {
+                    saved += collect(state, pending);
+                    state = null;
+                }
+                if (state == null) {
+                    state = ClaimState.empty(claimId);
+                }
+                state = state.apply((Long) row[1], (EstadoReclamoEnum) row[2], (LocalDateTime) row[3]);
+            }
+        }
+        if (state != null) {
+            saved += collect(state, pending);
+        }
+        snapshotReclamoRepository.saveAll(pending);
+        return saved;
+    }
+
+    /**
+     * Numera el historial que aún no tiene secuencia y, si hubo que hacerlo, reconstruye
+     * los snapshots. Corre al quedar lista la aplicación (no durante el refresh, así que el
+     * arranque de entrenamiento de CDS no necesita base de datos), antes de los warm-ups que
+     * leen las secuencias. Varios nodos pueden arrancar a la vez: la numeración se hace bajo
+     * un advisory lock y el que llega segundo no encuentra nada pendiente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillLegacyEvents() {
+        long unsequenced = estadoReclamoRepository.countBySecuenciaIsNull();
+        if (unsequenced == 0) {
+            return;
+        }
+        // Self-invocation skips the @Transactional proxy, so the transaction is opened here
+        int[] counts = transactionTemplate.execute(status -> {
+            estadoReclamoRepository.lockForTransaction(BACKFILL_LOCK);
+            if (estadoReclamoRepository.countBySecuenciaIsNull() == 0) {
+                return null;
+            }
+            return new int[]{estadoReclamoRepository.backfillSequences(), rebuildSnapshots()};
+        });
+        if (counts == null) {
+            log.info("Event store: legacy status events already numbered by another node");
+            return;
+        }
+        log.info("Event store: numbered {} legacy status events, rebuilt {} snapshots", counts[0], counts[1]);
+    }
+
+    private void snapshot(Long claimId) {
+        snapshotReclamoRepository.save(loadAll(List.of(claimId)).get(claimId).toSnapshot());
+    }
+
+    // Only claims with a full snapshot interval of history get one; shorter ones are read from events
+    private int collect(ClaimState state, List<SnapshotReclamo> pending) {
+        if (state.sequence() < snapshotEvery) {
+            return 0;
+        }
+        pending.add(state.toSnapshot());
+        if (pending.size() >= LOAD_BATCH_SIZE) {
+            snapshotReclamoRepository.saveAll(pending);
+            pending.clear();
+        }
+        return 1;
+    }
+}
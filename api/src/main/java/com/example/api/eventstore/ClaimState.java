@@ -0,0 +1,53 @@
+package com.example.api.eventstore;
+
+import com.example.api.entity.SnapshotReclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un reclamo derivado de su historial de eventos hasta {@code sequence}.
+ */
+public record ClaimState(
+        Long claimId,
+        long sequence,
+        EstadoReclamoEnum status,
+        int escalations,
+        LocalDateTime firstResponseAt,
+        LocalDateTime lastChangedAt
+) {
+
+    public static ClaimState empty(Long claimId) {
+        return new ClaimState(claimId, 0, EstadoReclamoEnum.INGRESADO, 0, null, null);
+    }
+
+    public static ClaimState of(SnapshotReclamo snapshot) {
+        return new ClaimState(snapshot.getReclamoId(), snapshot.getSecuencia(), snapshot.getEstado(),
+                snapshot.getEscalamientos(), snapshot.getFechaPrimeraRespuesta(), snapshot.getFechaUltimoCambio());
+    }
+
+    /**
+     * Estado resultante de aplicar el evento siguiente.
+     */
+    public ClaimState apply(long sequence, EstadoReclamoEnum status, LocalDateTime changedAt) {
+        return new ClaimState(
+                claimId,
+                sequence,
+                status,
+                status == EstadoReclamoEnum.ESCALADO ? escalations + 1 : escalations,
+                firstResponseAt == null && status != EstadoReclamoEnum.INGRESADO ? changedAt : firstResponseAt,
+                changedAt
+        );
+    }
+
+    public SnapshotReclamo toSnapshot() {
+        return SnapshotReclamo.builder()
+                .reclamoId(claimId)
+                .secuencia(sequence)
+                .estado(status)
+                .escalamientos(escalations)
+                .fechaPrimeraRespuesta(firstResponseAt)
+                .fechaUltimoCambio(lastChangedAt)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.api.exception;
+
+public class AgentNotFoundException extends RuntimeException {
+    public AgentNotFoundException(String email) {
+        super("Agent not found: " + email);
+    }
+}
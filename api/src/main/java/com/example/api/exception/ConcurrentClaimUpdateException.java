@@ -0,0 +1,8 @@
+package com.example.api.exception;
+
+public class ConcurrentClaimUpdateException extends RuntimeException {
+
+    public ConcurrentClaimUpdateException(Long claimId, Throwable cause) {
+        super("Claim " + claimId + " was updated concurrently, retry the request", cause);
+    }
+}
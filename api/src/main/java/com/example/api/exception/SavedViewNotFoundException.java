@@ -0,0 +1,7 @@
+package com.example.api.exception;
+
+public class SavedViewNotFoundException extends RuntimeException {
+    public SavedViewNotFoundException(Long id) {
+        super("Saved view not found with id: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.api.exception;
+
+import java.time.Duration;
+
+public class StatusWriteTimeoutException extends RuntimeException {
+
+    public StatusWriteTimeoutException(Long claimId, Duration timeout) {
+        super("Status change of claim " + claimId + " was not confirmed within " + timeout.toMillis()
+                + " ms, it may still be applied");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.api.exception;
+
+public class UploadOffsetConflictException extends RuntimeException {
+
+    private final long currentOffset;
+
+    public UploadOffsetConflictException(long requestedOffset, long currentOffset) {
+        super("Upload offset " + requestedOffset + " does not match current offset " + currentOffset);
+        this.currentOffset = currentOffset;
+    }
+
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.api.exception;
+
+public class UploadSessionNotFoundException extends RuntimeException {
+    public UploadSessionNotFoundException(String uploadId) {
+        super("Upload session not found with id: " + uploadId);
+    }
+}
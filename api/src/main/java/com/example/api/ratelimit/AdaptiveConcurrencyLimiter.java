@@ -0,0 +1,69 @@
+package com.example.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Límite de peticiones simultáneas que se ajusta con AIMD: crece en {@code 1/limit} por
+ * cada respuesta rápida con el límite en uso y se multiplica por
+ * {@code backoffRatio} cuando una respuesta supera el umbral de latencia o falla. Así el
+ * servicio rechaza trabajo antes de que todas las conexiones del pool queden ocupadas.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final RateLimitProperties.Concurrency settings;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency settings) {
+        this.settings = settings;
+        this.latencyThresholdNanos = settings.getLatencyThreshold().toNanos();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(settings.getInitialLimit()));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el permiso e informa del resultado de la petición.
+     *
+     * @param latencyNanos duración de la petición, o un valor negativo si no debe influir
+     *                     en el límite (p. ej. exportaciones, que son largas por diseño)
+     * @param failed       si la petición terminó con error de servidor
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int saturation = inFlight.getAndDecrement();
+        if (latencyNanos < 0) {
+            return;
+        }
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            updateLimit(limit -> Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio()));
+        } else if (saturation >= (int) getLimit()) {
+            // Only grow while the current limit is actually being used
+            updateLimit(limit -> Math.min(settings.getMaxLimit(), limit + 1 / limit));
+        }
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.api.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets por cliente y clase de endpoint.
+ *
+ * <p>El mapa está acotado a {@link RateLimitProperties#getMaxClients()}: al llenarse se
+ * descartan los buckets llenos (clientes inactivos) y, si aun así no hay sitio, los
+ * clientes nuevos comparten un bucket de desborde por clase, con el cupo por defecto,
+ * hasta que se libere espacio. Recorrer el mapa cuesta O(n), así que lo hace un solo hilo
+ * y como mucho una vez por segundo; mientras tanto los clientes nuevos van al desborde.
+ * Los clientes con cupo propio en la configuración nunca van al desborde.
+ */
+public class ClientRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long NEVER_SWEPT = Long.MIN_VALUE;
+
+    private final RateLimitProperties properties;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, TokenBucket> overflow = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong nextSweepNanos = new AtomicLong(NEVER_SWEPT);
+
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return 0 si la petición se admite, o los nanosegundos que el cliente debe esperar
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass, long nowNanos) {
+        BucketKey key = new BucketKey(clientKey, endpointClass);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = register(key, nowNanos);
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private TokenBucket register(BucketKey key, long nowNanos) {
+        boolean configured = properties.getClients().containsKey(key.clientKey());
+        if (!configured && size.get() >= properties.getMaxClients()) {
+            evictFull(nowNanos);
+            if (size.get() >= properties.getMaxClients()) {
+                return overflow.computeIfAbsent(key.endpointClass(),
+                        endpointClass -> newBucket(properties.getBuckets().get(endpointClass), nowNanos));
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> {
+            size.incrementAndGet();
+            return newBucket(properties.bucketFor(k.clientKey(), k.endpointClass()), nowNanos);
+        });
+    }
+
+    private void evictFull(long nowNanos) {
+        long next = nextSweepNanos.get();
+        if ((next != NEVER_SWEPT && nowNanos - next < 0)
+                || !nextSweepNanos.compareAndSet(next, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> {
+            if (entry.getValue().isFull(nowNanos)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static TokenBucket newBucket(RateLimitProperties.Bucket limits, long nowNanos) {
+        return new TokenBucket(limits.getCapacity(), limits.getRefillPerSecond(), nowNanos);
+    }
+
+    private record BucketKey(String clientKey, EndpointClass endpointClass) {}
+}
@@ -0,0 +1,40 @@
+package com.example.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Clases de endpoint con límites independientes. Las exportaciones ocupan una conexión
+ * durante todo el volcado, por eso tienen su propio cupo, mucho menor que el de lecturas.
+ * Las subidas (trozos {@code PATCH /api/uploads/{id}} y adjuntos multipart) duran lo que
+ * tarde el cliente en enviar el archivo.
+ */
+public enum EndpointClass {
+    READ,
+    EXPORT,
+    UPLOAD,
+    WRITE;
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.contains("/export")) {
+            return EXPORT;
+        }
+        String method = request.getMethod();
+        if (("PATCH".equals(method) && uri.startsWith("/api/uploads/"))
+                || ("POST".equals(method) && uri.endsWith("/attachments"))) {
+            return UPLOAD;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+
+    /**
+     * Si la duración de la petición sirve como señal de saturación. La de exportaciones y
+     * subidas depende del volumen y del ancho de banda del cliente, no de la carga.
+     */
+    public boolean reportsLatency() {
+        return this == READ || this == WRITE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.api.ratelimit;
+
+import com.example.api.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Protege la API de reclamos de clientes que generan demasiado tráfico. Primero aplica
+ * el token bucket del cliente para la clase de endpoint (429 si se agotó) y después el
+ * límite adaptativo de concurrencia global (503 si el servicio está saturado).
+ *
+ * <p>El cliente es el usuario autenticado o, sin autenticación, la IP remota (detrás de un
+ * proxy, la que resuelve {@code server.forward-headers-strategy}). Ninguna cabecera que
+ * elija el propio cliente sirve para cambiar de bucket.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CLIENT_KEY_LENGTH = 64;
+
+    private final RateLimitProperties properties;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = new ClientRateLimiter(properties);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.getConcurrency());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isEnabled()
+                || !(uri.startsWith("/api/claims") || uri.startsWith("/api/customers") || uri.startsWith("/api/uploads"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        String clientKey = clientKey(request);
+
+        long waitNanos = rateLimiter.tryAcquire(clientKey, endpointClass, System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    "Rate limit exceeded for " + endpointClass.name().toLowerCase() + " requests");
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            log.warn("Shedding request {} {}: {} requests in flight (limit {})", request.getMethod(),
+                    request.getRequestURI(), concurrencyLimiter.getInFlight(), (int) concurrencyLimiter.getLimit());
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service is overloaded, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Permit permit = new Permit(endpointClass, start, response);
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.release(true);
+            throw e;
+        }
+
+        // Streaming responses finish on another thread: keep the permit until they complete
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(permit);
+        } else {
+            permit.release(false);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && principal.getName() != null && !principal.getName().isBlank()) {
+            String name = principal.getName();
+            return name.length() > MAX_CLIENT_KEY_LENGTH ? name.substring(0, MAX_CLIENT_KEY_LENGTH) : name;
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        ));
+    }
+
+    AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private final class Permit implements AsyncListener {
+
+        private final EndpointClass endpointClass;
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(EndpointClass endpointClass, long start, HttpServletResponse response) {
+            this.endpointClass = endpointClass;
+            this.start = start;
+            this.response = response;
+        }
+
+        void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                long latency = endpointClass.reportsLatency() ? System.nanoTime() - start : -1;
+                concurrencyLimiter.release(latency, failed || response.getStatus() >= 500);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.api.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración de {@code app.rate-limit.*}. Los cupos de {@code buckets} aplican a todos
+ * los clientes; {@code clients.<clave>.<clase>} permite dar otro cupo a una integración
+ * concreta, identificada por su usuario autenticado o su IP.
+ */
+@Data
+@ConfigurationProperties(RateLimitProperties.PREFIX)
+public class RateLimitProperties {
+
+    public static final String PREFIX = "app.rate-limit";
+
+    private boolean enabled = true;
+
+    /**
+     * Máximo de buckets en memoria; por encima los clientes nuevos comparten uno por clase.
+     * Los clientes de {@code clients} siempre tienen el suyo.
+     */
+    private int maxClients = 10_000;
+
+    private Map<EndpointClass, Bucket> buckets = defaultBuckets();
+
+    private Map<String, Map<EndpointClass, Bucket>> clients = new HashMap<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    public Bucket bucketFor(String clientKey, EndpointClass endpointClass) {
+        Map<EndpointClass, Bucket> overrides = clients.get(clientKey);
+        if (overrides != null && overrides.containsKey(endpointClass)) {
+            return overrides.get(endpointClass);
+        }
+        return buckets.get(endpointClass);
+    }
+
+    private static Map<EndpointClass, Bucket> defaultBuckets() {
+        Map<EndpointClass, Bucket> defaults = new EnumMap<>(EndpointClass.class);
+        defaults.put(EndpointClass.READ, new Bucket(100, 50));
+        defaults.put(EndpointClass.WRITE, new Bucket(20, 10));
+        defaults.put(EndpointClass.EXPORT, new Bucket(2, 1.0 / 60));
+        defaults.put(EndpointClass.UPLOAD, new Bucket(20, 10));
+        return defaults;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        /** Peticiones que se pueden hacer de golpe con el bucket lleno. */
+        private int capacity;
+        /** Peticiones por segundo que se reponen. */
+        private double refillPerSecond;
+    }
+
+    /**
+     * Límite adaptativo (AIMD) de peticiones simultáneas. El máximo queda por debajo del
+     * pool de Hikari para que siempre quede una conexión libre para tareas internas.
+     */
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 8;
+        private int minLimit = 2;
+        private int maxLimit = 9;
+        /** Una respuesta más lenta que esto se toma como señal de saturación. */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+        /** Factor por el que se multiplica el límite ante saturación. */
+        private double backoffRatio = 0.9;
+    }
+}
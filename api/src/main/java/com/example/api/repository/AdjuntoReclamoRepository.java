@@ -2,8 +2,20 @@ package com.example.api.repository;
 
 import com.example.api.entity.AdjuntoReclamo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AdjuntoReclamoRepository extends JpaRepository<AdjuntoReclamo, Long> {
+
+    /**
+     * Adjuntos sin vista previa terminada, como {@code [id, reclamoId, urlArchivo, tipoContenido]}:
+     * los que no tienen fila y los que quedaron pendientes.
+     */
+    @Query("SELECT a.id, a.reclamo.id, a.urlArchivo, a.tipoContenido FROM AdjuntoReclamo a " +
+           "WHERE NOT EXISTS (SELECT v.adjuntoId FROM VistaPreviaAdjunto v WHERE v.adjuntoId = a.id " +
+           "AND v.estado <> com.example.api.enums.PreviewStatus.PENDING) ORDER BY a.id")
+    List<Object[]> findWithoutPreview();
 }
\ No newline at end of file
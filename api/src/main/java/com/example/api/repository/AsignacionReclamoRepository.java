@@ -0,0 +1,67 @@
+package com.example.api.repository;
+
+import com.example.api.entity.AsignacionReclamo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AsignacionReclamoRepository extends JpaRepository<AsignacionReclamo, Long> {
+
+    List<AsignacionReclamo> findAllByOrderByFechaActualizacionAsc();
+
+    /**
+     * Pone el reclamo en cola si todavía no tiene fila; si otro nodo ya la creó no la toca.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO asignaciones_reclamo (reclamo_id, asesor_email, estado, fecha_actualizacion) " +
+                   "VALUES (:claimId, :agent, 'QUEUED', :now) ON CONFLICT (reclamo_id) DO NOTHING", nativeQuery = true)
+    int insertQueued(@Param("claimId") Long claimId,
+                     @Param("agent") String agent,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Presta el reclamo al asesor si está en cola o con el préstamo vencido. Devuelve 0 si
+     * otro nodo se lo llevó antes o si el reclamo ya se cerró.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AsignacionReclamo a SET a.asesorEmail = :agent, " +
+           "a.estado = com.example.api.enums.AssignmentStatus.LEASED, a.leaseExpira = :expiresAt, " +
+           "a.fechaActualizacion = :now " +
+           "WHERE a.reclamoId = :claimId AND (a.estado = com.example.api.enums.AssignmentStatus.QUEUED " +
+           "OR a.leaseExpira <= :now)")
+    int lease(@Param("claimId") Long claimId,
+              @Param("agent") String agent,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Extiende el préstamo vigente del reclamo, lo tenga quien lo tenga.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AsignacionReclamo a SET a.leaseExpira = :expiresAt, a.fechaActualizacion = :now " +
+           "WHERE a.reclamoId = :claimId AND a.estado = com.example.api.enums.AssignmentStatus.LEASED")
+    int renewLease(@Param("claimId") Long claimId,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Devuelve a la cola el reclamo si su préstamo sigue vencido. Solo un nodo lo consigue.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AsignacionReclamo a SET a.estado = com.example.api.enums.AssignmentStatus.QUEUED, " +
+           "a.leaseExpira = NULL, a.fechaActualizacion = :now " +
+           "WHERE a.reclamoId = :claimId AND a.estado = com.example.api.enums.AssignmentStatus.LEASED " +
+           "AND a.leaseExpira <= :now")
+    int requeueExpired(@Param("claimId") Long claimId,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT a FROM AsignacionReclamo a WHERE a.estado = com.example.api.enums.AssignmentStatus.LEASED " +
+           "AND a.leaseExpira <= :now")
+    List<AsignacionReclamo> findExpiredLeases(@Param("now") LocalDateTime now);
+}
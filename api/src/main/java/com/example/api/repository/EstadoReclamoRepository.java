@@ -2,8 +2,70 @@ package com.example.api.repository;
 
 import com.example.api.entity.EstadoReclamo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EstadoReclamoRepository extends JpaRepository<EstadoReclamo, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Última secuencia de cada reclamo indicado, como pares [reclamoId, secuencia].
+     */
+    @Query("SELECT e.reclamo.id, MAX(e.secuencia) FROM EstadoReclamo e " +
+           "WHERE e.reclamo.id IN :ids " +
+           "GROUP BY e.reclamo.id")
+    List<Object[]> findLastSequences(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Eventos de cada reclamo posteriores a su snapshot (todos si no tiene), como
+     * [reclamoId, secuencia, estado, fechaCreacion] en orden de secuencia.
+     * Usa la restricción única (reclamo_id, secuencia).
+     */
+    @Query("SELECT e.reclamo.id, e.secuencia, e.estado, e.fechaCreacion FROM EstadoReclamo e " +
+           "WHERE e.reclamo.id IN :ids " +
+           "AND e.secuencia > COALESCE((" +
+           "    SELECT s.secuencia FROM SnapshotReclamo s WHERE s.reclamoId = e.reclamo.id" +
+           "), 0) " +
+           "ORDER BY e.reclamo.id, e.secuencia")
+    List<Object[]> findEventsAfterSnapshot(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Todos los eventos como [reclamoId, secuencia, estado, fechaCreacion], agrupados por
+     * reclamo y en orden de secuencia. Debe consumirse dentro de una transacción.
+     */
+    @Query("SELECT e.reclamo.id, e.secuencia, e.estado, e.fechaCreacion FROM EstadoReclamo e " +
+           "ORDER BY e.reclamo.id, e.secuencia")
+    Stream<Object[]> streamAllEvents();
+
+    long countBySecuenciaIsNull();
+
+    /**
+     * Toma el advisory lock con ese nombre hasta el fin de la transacción en curso; espera si
+     * otro nodo lo tiene.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:name))) l", nativeQuery = true)
+    int lockForTransaction(@Param("name") String name);
+
+    /**
+     * Numera los estados sin secuencia (historial anterior al event store o cargado por COPY)
+     * a continuación de la mayor secuencia del reclamo, en orden de fecha e id.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE estado_reclamos e SET secuencia = " +
+                   "    COALESCE((SELECT MAX(p.secuencia) FROM estado_reclamos p " +
+                   "              WHERE p.reclamo_id = e.reclamo_id), 0) " +
+                   "    + (SELECT COUNT(*) FROM estado_reclamos p " +
+                   "       WHERE p.reclamo_id = e.reclamo_id AND p.secuencia IS NULL " +
+                   "       AND (p.fecha_creacion < e.fecha_creacion " +
+                   "            OR (p.fecha_creacion = e.fecha_creacion AND p.id <= e.id))) " +
+                   "WHERE e.secuencia IS NULL", nativeQuery = true)
+    int backfillSequences();
+}
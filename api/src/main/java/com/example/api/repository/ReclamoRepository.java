@@ -2,24 +2,40 @@ package com.example.api.repository;
 
 import com.example.api.entity.Reclamo;
 import com.example.api.enums.EstadoReclamoEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReclamoRepository extends JpaRepository<Reclamo, Long> {
+
+    // :searchText with the LIKE wildcards escaped, so it is matched as typed
+    String LIKE_LITERAL = "REPLACE(REPLACE(REPLACE(:searchText, '!', '!!'), '%', '!%'), '_', '!_')";
+
+    // The current status is always the one with the highest secuencia, the event store's order:
+    // fechaCreacion comes from each node's clock and can tie or go backwards
     
     /**
-     * Consulta optimizada para obtener todos los reclamos con su último estado
+     * Consulta optimizada para obtener todos los reclamos con su último estado.
+     * Deja {@code estados} con un único elemento, por eso no debe llegar a la caché de
+     * segundo nivel (modo GET: lee de la caché pero no la puebla).
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
     @Query("SELECT r FROM Reclamo r " +
            "LEFT JOIN FETCH r.estados e " +
-           "WHERE e.fechaCreacion = (" +
-           "    SELECT MAX(e2.fechaCreacion) " +
+           "WHERE e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
            "    FROM EstadoReclamo e2 " +
            "    WHERE e2.reclamo.id = r.id" +
            ") OR e IS NULL " +
@@ -42,8 +58,8 @@ public interface ReclamoRepository extends JpaRepository<Reclamo, Long> {
     @Query("SELECT r FROM Reclamo r " +
            "JOIN r.estados e " +
            "WHERE e.estado = :estado " +
-           "AND e.fechaCreacion = (" +
-           "    SELECT MAX(e2.fechaCreacion) " +
+           "AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
            "    FROM EstadoReclamo e2 " +
            "    WHERE e2.reclamo.id = r.id" +
            ") " +
@@ -51,25 +67,168 @@ public interface ReclamoRepository extends JpaRepository<Reclamo, Long> {
     List<Reclamo> findByCurrentStatus(@Param("estado") EstadoReclamoEnum estado);
     
     /**
-     * Busca reclamos con filtros opcionales de estado y búsqueda de texto
+     * Busca reclamos con filtros opcionales de estado y búsqueda de texto. El texto se busca
+     * literal: {@code %} y {@code _} se escapan. No trae el historial: el estado actual se lee
+     * de los snapshots del event store.
      */
-    @Query("SELECT DISTINCT r FROM Reclamo r " +
-           "LEFT JOIN FETCH r.estados e " +
+    @Query("SELECT r FROM Reclamo r " +
            "WHERE (:estado IS NULL OR EXISTS (" +
            "    SELECT 1 FROM EstadoReclamo e2 " +
            "    WHERE e2.reclamo.id = r.id " +
            "    AND e2.estado = :estado " +
-           "    AND e2.fechaCreacion = (" +
-           "        SELECT MAX(e3.fechaCreacion) " +
+           "    AND e2.secuencia = (" +
+           "        SELECT MAX(e3.secuencia) " +
            "        FROM EstadoReclamo e3 " +
            "        WHERE e3.reclamo.id = r.id" +
            "    )" +
            ")) " +
            "AND (:searchText IS NULL OR :searchText = '' OR " +
-           "    LOWER(r.titulo) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
-           "    LOWER(r.descripcion) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
-           "    LOWER(r.codigo) LIKE LOWER(CONCAT('%', :searchText, '%'))" +
+           "    LOWER(r.titulo) LIKE LOWER(CONCAT('%', " + LIKE_LITERAL + ", '%')) ESCAPE '!' OR " +
+           "    LOWER(r.descripcion) LIKE LOWER(CONCAT('%', " + LIKE_LITERAL + ", '%')) ESCAPE '!' OR " +
+           "    LOWER(r.codigo) LIKE LOWER(CONCAT('%', " + LIKE_LITERAL + ", '%')) ESCAPE '!'" +
            ") " +
            "ORDER BY r.fechaCreacion DESC")
     List<Reclamo> findWithFilters(@Param("estado") EstadoReclamoEnum estado, @Param("searchText") String searchText);
+    
+    /**
+     * Reclamos por id con el filtro opcional de estado de {@link #findWithFilters}, sin
+     * cargar su historial.
+     */
+    @Query("SELECT r FROM Reclamo r " +
+           "WHERE r.id IN :ids " +
+           "AND (:estado IS NULL OR EXISTS (" +
+           "    SELECT 1 FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = r.id " +
+           "    AND e2.estado = :estado " +
+           "    AND e2.secuencia = (" +
+           "        SELECT MAX(e3.secuencia) " +
+           "        FROM EstadoReclamo e3 " +
+           "        WHERE e3.reclamo.id = r.id" +
+           "    )" +
+           "))")
+    List<Reclamo> findWithStatusByIds(@Param("estado") EstadoReclamoEnum estado, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * Primera página de reclamos de un cliente, del más reciente al más antiguo.
+     * Usa el índice (cliente_id, fecha_creacion DESC, id DESC).
+     */
+    @Query("SELECT r FROM Reclamo r " +
+           "WHERE r.clienteId = :clienteId " +
+           "ORDER BY r.fechaCreacion DESC, r.id DESC")
+    List<Reclamo> findByClienteIdNewestFirst(@Param("clienteId") Long clienteId, Pageable pageable);
+    
+    /**
+     * Página siguiente de reclamos de un cliente (keyset): los anteriores a la posición
+     * (fechaCreacion, id) del último reclamo de la página previa.
+     */
+    @Query("SELECT r FROM Reclamo r " +
+           "WHERE r.clienteId = :clienteId " +
+           "AND (r.fechaCreacion < :fechaCreacion " +
+           "    OR (r.fechaCreacion = :fechaCreacion AND r.id < :id)) " +
+           "ORDER BY r.fechaCreacion DESC, r.id DESC")
+    List<Reclamo> findByClienteIdBefore(@Param("clienteId") Long clienteId,
+                                        @Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+    
+    /**
+     * Último estado de cada reclamo indicado, como pares [reclamoId, estado].
+     */
+    @Query("SELECT e.reclamo.id, e.estado FROM EstadoReclamo e " +
+           "WHERE e.reclamo.id IN :ids " +
+           "AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
+           "    FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = e.reclamo.id" +
+           ")")
+    List<Object[]> findLastStatusByReclamoIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Reclamos cuyo último estado es uno de los indicados, como
+     * [reclamoId, estado, fecha del estado]. Debe consumirse dentro de una transacción.
+     */
+    @Query("SELECT e.reclamo.id, e.estado, e.fechaCreacion FROM EstadoReclamo e " +
+           "WHERE e.estado IN :estados " +
+           "AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
+           "    FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = e.reclamo.id" +
+           ")")
+    Stream<Object[]> streamCurrentStatuses(@Param("estados") Collection<EstadoReclamoEnum> estados);
+    
+    /**
+     * Último estado de cada reclamo según la secuencia del event store, como
+     * [reclamoId, fecha del reclamo, estado, fecha del estado]. Debe consumirse dentro de
+     * una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.id, r.fechaCreacion, e.estado, e.fechaCreacion FROM EstadoReclamo e " +
+           "JOIN e.reclamo r " +
+           "WHERE e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
+           "    FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = r.id" +
+           ")")
+    Stream<Object[]> streamLatestStatuses();
+    
+    /**
+     * Resumen de cada reclamo con su último estado (nulo si no tiene), como
+     * [id, codigo, titulo, descripcion, clienteId, fechaCreacion, fechaActualizacion,
+     * estado, fecha del estado]. Debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.id, r.codigo, r.titulo, r.descripcion, r.clienteId, r.fechaCreacion, r.fechaActualizacion, " +
+           "    e.estado, e.fechaCreacion " +
+           "FROM Reclamo r " +
+           "LEFT JOIN EstadoReclamo e ON e.reclamo.id = r.id AND e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
+           "    FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = r.id" +
+           ")")
+    Stream<Object[]> streamSummaries();
+
+    /**
+     * Campos de texto de cada reclamo, como [id, codigo, titulo, descripcion]. Debe
+     * consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT r.id, r.codigo, r.titulo, r.descripcion FROM Reclamo r")
+    Stream<Object[]> streamTexts();
+
+    /**
+     * Cantidad de reclamos por último estado, como pares [estado, cantidad].
+     */
+    @Query("SELECT e.estado, COUNT(e) FROM EstadoReclamo e " +
+           "WHERE e.secuencia = (" +
+           "    SELECT MAX(e2.secuencia) " +
+           "    FROM EstadoReclamo e2 " +
+           "    WHERE e2.reclamo.id = e.reclamo.id" +
+           ") " +
+           "GROUP BY e.estado")
+    List<Object[]> countByCurrentStatus();
+    
+    /**
+     * Datos de versión de un reclamo para peticiones condicionales, como
+     * [fechaActualizacion, último estado, último adjunto, cantidad de estados, cantidad de adjuntos,
+     * última actualización de una vista previa].
+     */
+    @Query("SELECT r.fechaActualizacion, " +
+           "    (SELECT MAX(e.fechaCreacion) FROM EstadoReclamo e WHERE e.reclamo.id = r.id), " +
+           "    (SELECT MAX(a.fechaSubida) FROM AdjuntoReclamo a WHERE a.reclamo.id = r.id), " +
+           "    (SELECT COUNT(e) FROM EstadoReclamo e WHERE e.reclamo.id = r.id), " +
+           "    (SELECT COUNT(a) FROM AdjuntoReclamo a WHERE a.reclamo.id = r.id), " +
+           "    (SELECT MAX(v.fechaActualizacion) FROM VistaPreviaAdjunto v WHERE v.adjuntoId IN (" +
+           "        SELECT a.id FROM AdjuntoReclamo a WHERE a.reclamo.id = r.id)) " +
+           "FROM Reclamo r WHERE r.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+    
+    /**
+     * Datos de versión del conjunto de reclamos, como
+     * [cantidad de reclamos, última fechaActualizacion, último estado, cantidad de estados].
+     */
+    @Query("SELECT COUNT(r), MAX(r.fechaActualizacion), " +
+           "    (SELECT MAX(e.fechaCreacion) FROM EstadoReclamo e), " +
+           "    (SELECT COUNT(e) FROM EstadoReclamo e) " +
+           "FROM Reclamo r")
+    List<Object[]> findListVersion();
 }
\ No newline at end of file
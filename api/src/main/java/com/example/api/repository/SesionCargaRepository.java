@@ -0,0 +1,29 @@
+package com.example.api.repository;
+
+import com.example.api.entity.SesionCarga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SesionCargaRepository extends JpaRepository<SesionCarga, String> {
+
+    /**
+     * Avanza el offset solo si nadie lo movió desde que se leyó, para que dos PATCH
+     * simultáneos sobre el mismo offset no se den ambos por buenos. Lleva su propia
+     * transacción corta: se llama después de escribir el bloque, fuera de toda transacción.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SesionCarga s SET s.bytesRecibidos = :newOffset, s.fechaActualizacion = :now " +
+           "WHERE s.id = :id AND s.bytesRecibidos = :expectedOffset")
+    int advanceOffset(@Param("id") String id,
+                      @Param("expectedOffset") Long expectedOffset,
+                      @Param("newOffset") Long newOffset,
+                      @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.example.api.repository;
+
+import com.example.api.entity.SnapshotReclamo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SnapshotReclamoRepository extends JpaRepository<SnapshotReclamo, Long> {
+}
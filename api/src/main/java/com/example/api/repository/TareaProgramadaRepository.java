@@ -0,0 +1,26 @@
+package com.example.api.repository;
+
+import com.example.api.entity.TareaProgramada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TareaProgramadaRepository extends JpaRepository<TareaProgramada, String> {
+
+    /**
+     * Toma o renueva el préstamo de la tarea para el nodo si ya era suyo o si venció.
+     * Devuelve 0 si otro nodo lo tiene vigente.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TareaProgramada t SET t.nodo = :node, t.leaseExpira = :expiresAt " +
+           "WHERE t.nombre = :name AND (t.nodo = :node OR t.leaseExpira IS NULL OR t.leaseExpira <= :now)")
+    int takeLease(@Param("name") String name,
+                  @Param("node") String node,
+                  @Param("expiresAt") LocalDateTime expiresAt,
+                  @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package com.example.api.repository;
+
+import com.example.api.entity.TerminoAdjunto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TerminoAdjuntoRepository extends JpaRepository<TerminoAdjunto, Long> {
+
+    @Modifying
+    @Query("DELETE FROM TerminoAdjunto t WHERE t.adjuntoId = :adjuntoId")
+    int deleteByAdjuntoId(@Param("adjuntoId") Long adjuntoId);
+
+    /**
+     * Reclamos cuyos adjuntos contienen todos los términos, con la suma de frecuencias
+     * como puntuación: filas [reclamoId, puntuación].
+     */
+    @Query("SELECT t.reclamoId, SUM(t.frecuencia) FROM TerminoAdjunto t " +
+           "WHERE t.termino IN :terminos " +
+           "GROUP BY t.reclamoId " +
+           "HAVING COUNT(DISTINCT t.termino) = :cantidad")
+    List<Object[]> scoreClaimsByTerms(@Param("terminos") Collection<String> terminos, @Param("cantidad") long cantidad);
+}
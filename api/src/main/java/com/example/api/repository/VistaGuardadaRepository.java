@@ -0,0 +1,13 @@
+package com.example.api.repository;
+
+import com.example.api.entity.VistaGuardada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VistaGuardadaRepository extends JpaRepository<VistaGuardada, Long> {
+
+    List<VistaGuardada> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,25 @@
+package com.example.api.repository;
+
+import com.example.api.entity.VistaPreviaAdjunto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VistaPreviaAdjuntoRepository extends JpaRepository<VistaPreviaAdjunto, Long> {
+
+    /**
+     * Vistas previas con texto que todavía no tiene términos en el índice de adjuntos, por
+     * id a partir de {@code after}, como {@code [adjuntoId, reclamoId]}.
+     */
+    @Query("SELECT v.adjuntoId, v.reclamoId FROM VistaPreviaAdjunto v " +
+           "WHERE v.adjuntoId > :after AND v.estado = com.example.api.enums.PreviewStatus.READY " +
+           "AND v.texto IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM TerminoAdjunto t WHERE t.adjuntoId = v.adjuntoId) " +
+           "ORDER BY v.adjuntoId")
+    List<Object[]> findUnindexedText(@Param("after") Long after, Pageable page);
+}
@@ -0,0 +1,64 @@
+package com.example.api.search;
+
+import com.example.api.entity.TerminoAdjunto;
+import com.example.api.repository.TerminoAdjuntoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de búsqueda sobre el texto de los adjuntos. Se alimenta desde el pipeline de
+ * vistas previas, que ya extrae el texto de cada PDF en segundo plano, y se consulta por
+ * igualdad de términos, sin leer archivos al buscar.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentTextIndexer {
+
+    /** Tope de términos distintos por adjunto, para que un PDF enorme no infle el índice. */
+    static final int MAX_TERMS_PER_ATTACHMENT = 5_000;
+
+    private final TerminoAdjuntoRepository terminoAdjuntoRepository;
+
+    /**
+     * Reemplaza los términos indexados del adjunto por los de su texto.
+     */
+    @Transactional
+    public void index(Long attachmentId, Long claimId, String text) {
+        terminoAdjuntoRepository.deleteByAdjuntoId(attachmentId);
+
+        List<TerminoAdjunto> terms = SearchTokenizer.termFrequencies(text).entrySet().stream()
+                .limit(MAX_TERMS_PER_ATTACHMENT)
+                .map(entry -> TerminoAdjunto.builder()
+                        .termino(entry.getKey())
+                        .adjuntoId(attachmentId)
+                        .reclamoId(claimId)
+                        .frecuencia(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+        terminoAdjuntoRepository.saveAll(terms);
+    }
+
+    /**
+     * Puntuación por reclamo de los adjuntos que contienen todos los términos de la
+     * consulta.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> scoreClaims(String searchText) {
+        Set<String> terms = SearchTokenizer.terms(searchText);
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> scores = new HashMap<>();
+        for (Object[] row : terminoAdjuntoRepository.scoreClaimsByTerms(terms, terms.size())) {
+            scores.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.api.search;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Conjunto de ids de reclamo como mapa de bits por bloques, al estilo Roaring: los ids se
+ * agrupan en bloques de 2^16 y solo los bloques con algún elemento tienen su arreglo de
+ * 1024 {@code long}. Los ids son consecutivos, así que en la práctica todos los bloques son
+ * densos. No es thread-safe.
+ */
+public final class ClaimIdBitmap {
+
+    private static final int BLOCK_BITS = 16;
+    private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+    private static final int WORDS_PER_BLOCK = 1 << (BLOCK_BITS - 6);
+
+    private long[][] blocks = new long[0][];
+    private int[] blockCardinality = new int[0];
+    private long cardinality;
+
+    public boolean add(long id) {
+        int block = block(id);
+        if (block >= blocks.length) {
+            int length = Math.max(block + 1, blocks.length * 2);
+            blocks = Arrays.copyOf(blocks, length);
+            blockCardinality = Arrays.copyOf(blockCardinality, length);
+        }
+        if (blocks[block] == null) {
+            blocks[block] = new long[WORDS_PER_BLOCK];
+        }
+        int bit = (int) id & BLOCK_MASK;
+        long[] words = blocks[block];
+        long mask = 1L << bit;
+        if ((words[bit >>> 6] & mask) != 0) {
+            return false;
+        }
+        words[bit >>> 6] |= mask;
+        blockCardinality[block]++;
+        cardinality++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int block = block(id);
+        if (block >= blocks.length || blocks[block] == null) {
+            return false;
+        }
+        int bit = (int) id & BLOCK_MASK;
+        long[] words = blocks[block];
+        long mask = 1L << bit;
+        if ((words[bit >>> 6] & mask) == 0) {
+            return false;
+        }
+        words[bit >>> 6] &= ~mask;
+        cardinality--;
+        if (--blockCardinality[block] == 0) {
+            blocks[block] = null;
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        int block = block(id);
+        if (block >= blocks.length || blocks[block] == null) {
+            return false;
+        }
+        int bit = (int) id & BLOCK_MASK;
+        return (blocks[block][bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Recorre los ids de mayor a menor mientras {@code action} devuelva {@code true}.
+     */
+    public void forEachDescending(LongPredicate action) {
+        for (int block = blocks.length - 1; block >= 0; block--) {
+            long[] words = blocks[block];
+            if (words == null) {
+                continue;
+            }
+            long base = (long) block << BLOCK_BITS;
+            for (int word = WORDS_PER_BLOCK - 1; word >= 0; word--) {
+                long bits = words[word];
+                while (bits != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    if (!action.test(base + ((long) word << 6) + bit)) {
+                        return;
+                    }
+                    bits &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    private static int block(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Claim id must not be negative: " + id);
+        }
+        return Math.toIntExact(id >>> BLOCK_BITS);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.api.search;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.repository.ReclamoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria del estado actual de cada reclamo: un {@link ClaimIdBitmap} por estado
+ * y, por id, la fecha de creación del reclamo y la del último cambio aplicado, empaquetadas
+ * en un {@code long}. Se llena al arrancar desde el último evento de cada reclamo y se
+ * actualiza con cada cambio de estado confirmado; si dos cambios llegan desordenados gana
+ * el más reciente.
+ *
+ * <p>Responde filtros por estado y rango de fechas, y conteos, sin consultar la base de
+ * datos. Mientras no termina la carga inicial ({@link #isReady()}) los llamadores usan las
+ * consultas de siempre.
+ */
+@Slf4j
+@Component
+public class ClaimStatusIndex {
+
+    private static final int BLOCK_BITS = 16;
+    private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+    // Slot layout: creation epoch day in the high 20 bits, last change epoch millis in the low 44
+    private static final int MILLIS_BITS = 44;
+    private static final long MILLIS_MASK = (1L << MILLIS_BITS) - 1;
+
+    /**
+     * Página de ids, de mayor a menor, y total de ids que cumplen el filtro.
+     */
+    public record IdPage(long total, long[] ids) {}
+
+    private final ReclamoRepository reclamoRepository;
+    private final boolean enabled;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<EstadoReclamoEnum, ClaimIdBitmap> byStatus = new EnumMap<>(EstadoReclamoEnum.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[][] slots = new long[0][];
+    private volatile boolean ready;
+
+    @Autowired
+    public ClaimStatusIndex(ReclamoRepository reclamoRepository,
+                            @Value("${app.status-index.enabled:true}") boolean enabled) {
+        this.reclamoRepository = reclamoRepository;
+        this.enabled = enabled;
+        for (EstadoReclamoEnum status : EstadoReclamoEnum.values()) {
+            byStatus.put(status, new ClaimIdBitmap());
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ClaimCacheResetEvent.class})
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long rows = 0;
+        try (Stream<Object[]> latest = reclamoRepository.streamLatestStatuses()) {
+            for (Object[] row : (Iterable<Object[]>) latest::iterator) {
+                apply((Long) row[0], (LocalDateTime) row[1], (EstadoReclamoEnum) row[2], (LocalDateTime) row[3]);
+                rows++;
+            }
+        }
+        ready = true;
+        log.info("Claim status index warmed with {} claims in {} ms", rows, System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (enabled) {
+            apply(event.claimId(), null, event.status(), event.changedAt());
+        }
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(EstadoReclamoEnum status, long claimId) {
+        lock.readLock().lock();
+        try {
+            return byStatus.get(status).contains(claimId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<EstadoReclamoEnum, Long> counts() {
+        Map<EstadoReclamoEnum, Long> counts = new EnumMap<>(EstadoReclamoEnum.class);
+        lock.readLock().lock();
+        try {
+            byStatus.forEach((status, ids) -> counts.put(status, ids.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Ids con el estado indicado, creados en {@code [createdFrom, createdTo]} (extremos
+     * opcionales), de mayor a menor, saltando {@code offset} y devolviendo hasta
+     * {@code limit}.
+     */
+    public IdPage page(EstadoReclamoEnum status, LocalDate createdFrom, LocalDate createdTo, int offset, int limit) {
+        long fromDay = createdFrom != null ? createdFrom.toEpochDay() : Long.MIN_VALUE;
+        long toDay = createdTo != null ? createdTo.toEpochDay() : Long.MAX_VALUE;
+        boolean dated = createdFrom != null || createdTo != null;
+        int[] found = new int[1];
+        long[] matched = new long[1];
+
+        lock.readLock().lock();
+        try {
+            ClaimIdBitmap candidates = byStatus.get(status);
+            long[] ids = new long[(int) Math.min(limit, candidates.cardinality())];
+            candidates.forEachDescending(id -> {
+                if (dated) {
+                    long day = slot(id) >>> MILLIS_BITS;
+                    if (day < fromDay || day > toDay) {
+                        return true;
+                    }
+                }
+                long position = matched[0]++;
+                if (position >= offset && found[0] < ids.length) {
+                    ids[found[0]++] = id;
+                }
+                // Without a date filter the total is the cardinality, no need to keep walking
+                return dated || found[0] < ids.length;
+            });
+            long total = dated ? matched[0] : candidates.cardinality();
+            return new IdPage(total, Arrays.copyOf(ids, found[0]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica el estado del reclamo si no es anterior al ya indexado. Sin {@code createdAt}
+     * (cambios en vivo) se conserva la fecha conocida o, para un reclamo nuevo, se usa la
+     * del cambio, que es su creación.
+     */
+    void apply(long claimId, LocalDateTime createdAt, EstadoReclamoEnum status, LocalDateTime changedAt) {
+        long changedMillis = changedAt.atZone(zone).toInstant().toEpochMilli();
+        lock.writeLock().lock();
+        try {
+            long slot = slot(claimId);
+            long createdDay = createdAt != null ? createdAt.toLocalDate().toEpochDay()
+                    : slot != 0 ? slot >>> MILLIS_BITS : changedAt.toLocalDate().toEpochDay();
+            if (slot != 0 && (slot & MILLIS_MASK) > changedMillis) {
+                // A live change already won, but the warm-up row still knows the real creation date
+                setSlot(claimId, createdDay << MILLIS_BITS | (slot & MILLIS_MASK));
+                return;
+            }
+            for (ClaimIdBitmap ids : byStatus.values()) {
+                ids.remove(claimId);
+            }
+            byStatus.get(status).add(claimId);
+            setSlot(claimId, createdDay << MILLIS_BITS | changedMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long slot(long claimId) {
+        int block = (int) (claimId >>> BLOCK_BITS);
+        return block < slots.length && slots[block] != null ? slots[block][(int) claimId & BLOCK_MASK] : 0;
+    }
+
+    private void setSlot(long claimId, long value) {
+        int block = Math.toIntExact(claimId >>> BLOCK_BITS);
+        if (block >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(block + 1, slots.length * 2));
+        }
+        if (slots[block] == null) {
+            slots[block] = new long[1 << BLOCK_BITS];
+        }
+        slots[block][(int) claimId & BLOCK_MASK] = value;
+    }
+}
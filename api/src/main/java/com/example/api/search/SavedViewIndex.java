@@ -0,0 +1,370 @@
+package com.example.api.search;
+
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.VistaGuardada;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimCacheResetEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.event.SavedViewCreatedEvent;
+import com.example.api.event.SavedViewDeletedEvent;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.VistaGuardadaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Resultados precalculados de las vistas guardadas. Para cada vista con texto se guarda el
+ * conjunto de reclamos cuyo título, descripción o código lo contienen. Esos campos no
+ * cambian después de crear el reclamo, así que el conjunto se calcula una vez y solo crece
+ * con los reclamos nuevos: cada reclamo se compara contra las vistas la primera vez que se
+ * lo ve. El filtro de estado se resuelve al paginar con {@link ClaimStatusIndex}, que ya se
+ * mantiene con cada cambio de estado.
+ *
+ * <p>Los recorridos corren en un hilo propio, fuera del request y de su transacción; si
+ * fallan se reintentan con espera creciente. Una vista que todavía se está calculando (o
+ * sin el índice de estados cargado) no tiene página: quien pagina usa la consulta.
+ */
+@Slf4j
+@Component
+public class SavedViewIndex {
+
+    private static final int SCAN_BATCH_SIZE = 1024;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Filtro de una vista y, si busca texto, los reclamos cuyo texto coincide.
+     */
+    private static final class View {
+        final EstadoReclamoEnum status;
+        final String needle;
+        final ClaimIdBitmap matches;
+        volatile boolean built;
+
+        View(EstadoReclamoEnum status, String search) {
+            this.status = status;
+            this.needle = search != null ? search.toLowerCase(Locale.ROOT) : null;
+            this.matches = needle != null ? new ClaimIdBitmap() : null;
+        }
+
+        boolean matches(String codigo, String titulo, String descripcion) {
+            return contains(titulo) || contains(descripcion) || contains(codigo);
+        }
+
+        private boolean contains(String value) {
+            return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+        }
+    }
+
+    private final ReclamoRepository reclamoRepository;
+    private final VistaGuardadaRepository vistaGuardadaRepository;
+    private final ClaimStatusIndex claimStatusIndex;
+    private final boolean enabled;
+    private final TransactionTemplate reads;
+    private final ScheduledExecutorService builder;
+    private final long retryDelayMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, View> views = new HashMap<>();
+    // Claims whose text has already been compared against every registered view
+    private ClaimIdBitmap evaluated = new ClaimIdBitmap();
+    private volatile boolean ready;
+    // Bumped by each warm-up so a scan of an older set of views does not mark the index ready
+    private volatile long generation;
+
+    @Autowired
+    public SavedViewIndex(ReclamoRepository reclamoRepository,
+                          VistaGuardadaRepository vistaGuardadaRepository,
+                          ClaimStatusIndex claimStatusIndex,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.saved-views.precompute:true}") boolean enabled,
+                          @Value("${app.saved-views.retry-delay:5s}") Duration retryDelay) {
+        this(reclamoRepository, vistaGuardadaRepository, claimStatusIndex, transactionManager, enabled,
+                Executors.newSingleThreadScheduledExecutor(runnable ->
+                        Thread.ofPlatform().name("saved-view-builder").daemon().unstarted(runnable)),
+                retryDelay);
+    }
+
+    SavedViewIndex(ReclamoRepository reclamoRepository, VistaGuardadaRepository vistaGuardadaRepository,
+                   ClaimStatusIndex claimStatusIndex, PlatformTransactionManager transactionManager, boolean enabled,
+                   ScheduledExecutorService builder, Duration retryDelay) {
+        this.reclamoRepository = reclamoRepository;
+        this.vistaGuardadaRepository = vistaGuardadaRepository;
+        this.claimStatusIndex = claimStatusIndex;
+        this.enabled = enabled;
+        this.reads = new TransactionTemplate(transactionManager);
+        this.reads.setReadOnly(true);
+        this.builder = builder;
+        this.retryDelayMillis = retryDelay.toMillis();
+    }
+
+    /**
+     * Carga las vistas y programa el recorrido de los reclamos; el índice queda listo
+     * cuando ese recorrido termina.
+     */
+    @EventListener({ApplicationReadyEvent.class, ClaimCacheResetEvent.class})
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        List<View> loaded = new ArrayList<>();
+        long current;
+        lock.writeLock().lock();
+        try {
+            current = ++generation;
+            views.clear();
+            evaluated = new ClaimIdBitmap();
+            for (VistaGuardada vista : vistaGuardadaRepository.findAllByOrderByIdAsc()) {
+                View view = new View(vista.getEstado(), vista.getTexto());
+                views.put(vista.getId(), view);
+                loaded.add(view);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        build("warm-up", () -> generation == current, () -> {
+            long started = System.currentTimeMillis();
+            long rows = scan(loaded, true);
+            if (generation == current) {
+                ready = true;
+            }
+            log.info("Saved views warmed: {} views over {} claims in {} ms",
+                    loaded.size(), rows, System.currentTimeMillis() - started);
+        }, 0);
+    }
+
+    /**
+     * Registra una vista nueva y programa su cálculo. La vista se registra antes de recorrer
+     * los reclamos, así que los reclamos creados mientras tanto también se comparan con ella.
+     */
+    public void register(VistaGuardada vista) {
+        if (!enabled) {
+            return;
+        }
+        Long viewId = vista.getId();
+        View view = new View(vista.getEstado(), vista.getTexto());
+        lock.writeLock().lock();
+        try {
+            if (views.putIfAbsent(viewId, view) != null) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        build("view " + viewId, () -> view(viewId) == view, () -> scan(List.of(view), false), 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    public void remove(Long viewId) {
+        lock.writeLock().lock();
+        try {
+            views.remove(viewId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onViewCreated(SavedViewCreatedEvent event) {
+        register(event.view());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onViewDeleted(SavedViewDeletedEvent event) {
+        remove(event.viewId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            // Only a claim seen for the first time can add matches; status changes are read from the index
+            if (evaluated.contains(event.claimId()) || views.values().stream().allMatch(view -> view.needle == null)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Reclamo reclamo = reclamoRepository.findById(event.claimId()).orElse(null);
+        if (reclamo != null) {
+            evaluate(reclamo.getId(), reclamo.getCodigo(), reclamo.getTitulo(), reclamo.getDescripcion());
+        }
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Página de ids de la vista, de mayor a menor, o {@code null} si la vista no está
+     * calculada. Una vista guardada en otro nodo o antes del arranque se programa aquí y
+     * hasta que termine se pagina con la consulta.
+     */
+    public ClaimStatusIndex.IdPage page(VistaGuardada vista, int offset, int limit) {
+        if (!enabled || !ready || (vista.getEstado() != null && !claimStatusIndex.isReady())) {
+            return null;
+        }
+        View view = view(vista.getId());
+        if (view == null) {
+            register(vista);
+            return null;
+        }
+        if (!view.built) {
+            return null;
+        }
+        if (view.needle == null) {
+            return claimStatusIndex.page(view.status, null, null, offset, limit);
+        }
+
+        int[] found = new int[1];
+        long[] matched = new long[1];
+        lock.readLock().lock();
+        try {
+            long[] ids = new long[(int) Math.min(limit, view.matches.cardinality())];
+            view.matches.forEachDescending(id -> {
+                if (view.status != null && !claimStatusIndex.contains(view.status, id)) {
+                    return true;
+                }
+                long position = matched[0]++;
+                if (position >= offset && found[0] < ids.length) {
+                    ids[found[0]++] = id;
+                }
+                // Without a status filter the total is the cardinality, no need to keep walking
+                return view.status != null || found[0] < ids.length;
+            });
+            long total = view.status != null ? matched[0] : view.matches.cardinality();
+            return new ClaimStatusIndex.IdPage(total, Arrays.copyOf(ids, found[0]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private View view(Long viewId) {
+        lock.readLock().lock();
+        try {
+            return views.get(viewId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta el recorrido en el hilo de cálculo, dentro de una transacción de lectura. Si
+     * falla lo reintenta duplicando la espera, mientras siga haciendo falta.
+     */
+    private void build(String name, BooleanSupplier wanted, Runnable scan, int attempt) {
+        long delay = attempt == 0 ? 0 : Math.min(retryDelayMillis << Math.min(attempt - 1, 20), MAX_RETRY_DELAY_MILLIS);
+        try {
+            builder.schedule(() -> {
+                if (!wanted.getAsBoolean()) {
+                    return;
+                }
+                try {
+                    reads.executeWithoutResult(status -> scan.run());
+                } catch (RuntimeException e) {
+                    log.warn("Saved view build of {} failed (attempt {}), retrying", name, attempt + 1, e);
+                    build(name, wanted, scan, attempt + 1);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Saved view builder stopped, {} not built", name);
+        }
+    }
+
+    /**
+     * Compara el texto de todos los reclamos con las vistas indicadas, en lotes para no
+     * tomar el lock por cada fila, y las marca como calculadas.
+     */
+    private long scan(List<View> targets, boolean markEvaluated) {
+        List<View> searching = targets.stream().filter(view -> view.needle != null).toList();
+        long rows = 0;
+        if (!searching.isEmpty() || markEvaluated) {
+            List<Object[]> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            try (Stream<Object[]> texts = reclamoRepository.streamTexts()) {
+                for (Object[] row : (Iterable<Object[]>) texts::iterator) {
+                    batch.add(row);
+                    if (batch.size() == SCAN_BATCH_SIZE) {
+                        apply(searching, batch, markEvaluated);
+                        rows += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            apply(searching, batch, markEvaluated);
+            rows += batch.size();
+        }
+        for (View view : targets) {
+            view.built = true;
+        }
+        return rows;
+    }
+
+    private void apply(List<View> searching, List<Object[]> rows, boolean markEvaluated) {
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                for (View view : searching) {
+                    if (view.matches((String) row[1], (String) row[2], (String) row[3])) {
+                        view.matches.add(id);
+                    }
+                }
+                if (markEvaluated) {
+                    evaluated.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void evaluate(long claimId, String codigo, String titulo, String descripcion) {
+        lock.writeLock().lock();
+        try {
+            for (View view : views.values()) {
+                if (view.needle != null && view.matches(codigo, titulo, descripcion)) {
+                    view.matches.add(claimId);
+                }
+            }
+            evaluated.add(claimId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.api.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto compartida por el indexador y las búsquedas: minúsculas, sin
+ * tildes y partido en palabras, descartando palabras vacías y términos muy cortos o
+ * largos. Indexar y consultar con la misma función es lo que permite comparar términos
+ * por igualdad en la base de datos.
+ */
+public final class SearchTokenizer {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 64;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "de", "la", "el", "en", "y", "a", "los", "las", "del", "se", "por", "un", "una", "con",
+            "no", "su", "para", "es", "al", "lo", "como", "mas", "o", "pero", "sus", "le", "ya",
+            "the", "and", "of", "to", "in", "is"
+    );
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Frecuencia de cada término del texto, en orden de primera aparición.
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : split(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Términos distintos de una consulta.
+     */
+    public static Set<String> terms(String text) {
+        return new LinkedHashSet<>(split(text));
+    }
+
+    private static List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(normalized.toLowerCase())) {
+            if (token.length() >= MIN_TERM_LENGTH && token.length() <= MAX_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.api.seed;
+
+import com.example.api.enums.EstadoReclamoEnum;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera reclamos sintéticos con su historial de estados y adjuntos. Los datos imitan el
+ * tráfico real: pocos clientes concentran muchos reclamos, los reclamos entran en horario
+ * de oficina y cada uno avanza por los estados con probabilidades y tiempos de espera
+ * típicos, así que los más recientes quedan abiertos.
+ *
+ * <p>Cada reclamo depende solo de la semilla y de su índice, así que el mismo conjunto
+ * se puede regenerar por rangos y en paralelo, tabla por tabla.
+ */
+public class ClaimFixtures {
+
+    public record FixtureClaim(
+            long index,
+            String title,
+            String description,
+            long customerId,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            List<FixtureStatus> statuses,
+            List<FixtureAttachment> attachments
+    ) {
+        public EstadoReclamoEnum currentStatus() {
+            return statuses.get(statuses.size() - 1).status();
+        }
+    }
+
+    public record FixtureStatus(EstadoReclamoEnum status, String notes, String advisorEmail, LocalDateTime createdAt) {}
+
+    public record FixtureAttachment(String fileName, String contentType, long size, String url, LocalDateTime uploadedAt) {}
+
+    private static final String[][] SUBJECTS = {
+            {"Internet lento", "La velocidad de internet es mucho menor a la contratada, sobre todo por las noches."},
+            {"Corte de internet", "El servicio de internet se corta varias veces al día y el router se reinicia solo."},
+            {"Cobro duplicado en factura", "En la factura del mes aparece el mismo cargo dos veces."},
+            {"Factura con servicio no contratado", "Me cobran un paquete adicional que nunca solicité."},
+            {"Demora en instalación", "La instalación programada no se realizó y nadie avisó del cambio de fecha."},
+            {"Señal de TV con interferencias", "Varios canales se ven pixelados y otros no cargan."},
+            {"Router defectuoso", "El router entregado no enciende desde la última actualización."},
+            {"Atención al cliente", "Llamé varias veces a la central y no resolvieron mi consulta."},
+            {"Portabilidad pendiente", "La portabilidad de mi línea lleva más de una semana sin completarse."},
+            {"Baja del servicio", "Solicité la baja del servicio y siguen llegando cobros."}
+    };
+
+    private static final String[] ADVISORS = {
+            "recepcion@empresa.com", "soporte1@empresa.com", "soporte2@empresa.com", "tecnico1@empresa.com",
+            "tecnico2@empresa.com", "facturacion@empresa.com", "supervisor@empresa.com", "calidad@empresa.com"
+    };
+
+    // Share of claims created in each hour of the day (office hours dominate)
+    private static final double[] HOUR_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 4, 8, 14, 16, 16, 15, 12, 14, 15, 14, 12, 10, 8, 6, 4, 3, 2, 1
+    };
+
+    private static final String SAMPLE_ATTACHMENT_URL = "uploads/sample-local-pdf.pdf";
+
+    private final long customers;
+    private final int days;
+    private final long seed;
+    private final LocalDateTime now;
+    private final double[] hourCdf = cumulative(HOUR_WEIGHTS);
+
+    public ClaimFixtures(long customers, int days, long seed, LocalDateTime now) {
+        this.customers = customers;
+        this.days = days;
+        this.seed = seed;
+        this.now = now.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public FixtureClaim claim(long index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+
+        String[] subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        long customerId = customerId(random);
+        LocalDateTime createdAt = createdAt(random);
+
+        // Status history: random walk over the workflow, stopping at "now"
+        List<FixtureStatus> statuses = new ArrayList<>(4);
+        EstadoReclamoEnum status = EstadoReclamoEnum.INGRESADO;
+        LocalDateTime statusAt = createdAt;
+        while (true) {
+            statuses.add(new FixtureStatus(status, "Cambio a " + status.getDescripcion(),
+                    ADVISORS[random.nextInt(ADVISORS.length)], statusAt));
+            EstadoReclamoEnum next = nextStatus(status, random.nextDouble());
+            LocalDateTime nextAt = statusAt.plusMinutes((long) exponential(random, waitHours(status) * 60));
+            if (next == null || nextAt.isAfter(now)) {
+                break;
+            }
+            status = next;
+            statusAt = nextAt;
+        }
+
+        int attachmentCount = attachmentCount(random.nextDouble());
+        List<FixtureAttachment> attachments = new ArrayList<>(attachmentCount);
+        for (int a = 0; a < attachmentCount; a++) {
+            boolean pdf = random.nextInt(3) > 0;
+            attachments.add(new FixtureAttachment(
+                    "evidencia_" + (a + 1) + (pdf ? ".pdf" : ".jpg"),
+                    pdf ? "application/pdf" : "image/jpeg",
+                    20_000 + (long) exponential(random, 400_000),
+                    SAMPLE_ATTACHMENT_URL,
+                    createdAt.plusMinutes(random.nextInt(120))));
+        }
+
+        return new FixtureClaim(index, subject[0], subject[1], customerId, createdAt, statusAt, statuses, attachments);
+    }
+
+    /**
+     * Código del reclamo sintético; el prefijo evita choques con los códigos que genera la API.
+     */
+    public static String code(long claimId) {
+        return String.format("SYN-%09d", claimId);
+    }
+
+    /**
+     * Siguiente estado del flujo, o {@code null} si el reclamo se queda en el actual.
+     */
+    static EstadoReclamoEnum nextStatus(EstadoReclamoEnum current, double p) {
+        return switch (current) {
+            case INGRESADO -> p < 0.70 ? EstadoReclamoEnum.EN_PROCESO
+                    : p < 0.80 ? EstadoReclamoEnum.PENDIENTE_INFORMACION
+                    : p < 0.85 ? EstadoReclamoEnum.RECHAZADO : null;
+            case EN_PROCESO -> p < 0.60 ? EstadoReclamoEnum.RESUELTO
+                    : p < 0.72 ? EstadoReclamoEnum.ESCALADO
+                    : p < 0.82 ? EstadoReclamoEnum.PENDIENTE_INFORMACION : null;
+            case PENDIENTE_INFORMACION -> p < 0.60 ? EstadoReclamoEnum.EN_PROCESO
+                    : p < 0.80 ? EstadoReclamoEnum.CERRADO : null;
+            case ESCALADO -> p < 0.55 ? EstadoReclamoEnum.RESUELTO
+                    : p < 0.85 ? EstadoReclamoEnum.EN_PROCESO : null;
+            case RESUELTO -> p < 0.70 ? EstadoReclamoEnum.CERRADO
+                    : p < 0.75 ? EstadoReclamoEnum.EN_PROCESO : null;
+            case CERRADO, RECHAZADO -> null;
+        };
+    }
+
+    private static double waitHours(EstadoReclamoEnum status) {
+        return switch (status) {
+            case INGRESADO -> 6;
+            case EN_PROCESO -> 48;
+            case PENDIENTE_INFORMACION -> 72;
+            case ESCALADO -> 96;
+            case RESUELTO -> 120;
+            case CERRADO, RECHAZADO -> 0;
+        };
+    }
+
+    private LocalDateTime createdAt(SplittableRandom random) {
+        double u = random.nextDouble();
+        int hour = 0;
+        while (hourCdf[hour] < u) {
+            hour++;
+        }
+        LocalDateTime createdAt = now.truncatedTo(ChronoUnit.DAYS)
+                .minusDays(random.nextInt(days))
+                .withHour(hour)
+                .withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60));
+        return createdAt.isAfter(now) ? createdAt.minusDays(1) : createdAt;
+    }
+
+    private long customerId(SplittableRandom random) {
+        // Heavy-tailed: low ids are frequent customers
+        return 10_000 + (long) (customers * Math.pow(random.nextDouble(), 2.5));
+    }
+
+    private static int attachmentCount(double p) {
+        return p < 0.60 ? 0 : p < 0.85 ? 1 : p < 0.95 ? 2 : 3;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum / total;
+        }
+        cdf[weights.length - 1] = 1.0;
+        return cdf;
+    }
+}
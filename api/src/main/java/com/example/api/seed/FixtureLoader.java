@@ -0,0 +1,355 @@
+package com.example.api.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga volúmenes grandes de reclamos con {@code COPY FROM STDIN} de PostgreSQL, en lugar
+ * de los {@code INSERT} fila por fila de {@code data.sql}. Se activa con el perfil
+ * {@code seed}: genera {@code app.seed.claims} reclamos con {@link ClaimFixtures} o, si
+ * {@code app.seed.fixtures-dir} está definido, copia los CSV de ese directorio
+ * ({@code reclamos.csv}, {@code estado_reclamos.csv}, {@code adjunto_reclamos.csv}, con
+ * cabecera de columnas). Los estados generados llevan su secuencia; los de un CSV sin
+ * columna {@code secuencia} los numera el event store al siguiente arranque.
+ *
+ * <p>Primero se carga {@code reclamos} y después, en paralelo, las tablas hijas, de modo
+ * que las claves foráneas se cumplen durante toda la carga. Cada tabla se divide en rangos
+ * que se copian por conexiones separadas. Al final se reinician las secuencias y se
+ * actualizan las estadísticas del planificador.
+ *
+ * <p>Solo carga si {@code reclamos} está vacía, así que reiniciar con el perfil activo no
+ * duplica datos; {@code app.seed.force=true} agrega otra tanda igualmente. Cada rango se
+ * confirma por separado: si la generación falla, se borran los reclamos (y sus hijos) que
+ * alcanzaron a copiarse. Una carga de CSV que falla a medias no se deshace; hay que vaciar
+ * las tablas antes de reintentarla.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class FixtureLoader implements ApplicationRunner {
+
+    static final String CLAIMS_TABLE = "reclamos";
+    static final String STATUSES_TABLE = "estado_reclamos";
+    static final String ATTACHMENTS_TABLE = "adjunto_reclamos";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public record LoadResult(long claims, long statuses, long attachments, long millis) {}
+
+    private final DataSource dataSource;
+    private final long claims;
+    private final long customers;
+    private final int days;
+    private final long seed;
+    private final int parallelism;
+    private final String fixturesDir;
+    private final boolean force;
+
+    public FixtureLoader(DataSource dataSource,
+                         @Value("${app.seed.claims:1000000}") long claims,
+                         @Value("${app.seed.customers:0}") long customers,
+                         @Value("${app.seed.days:365}") int days,
+                         @Value("${app.seed.random-seed:42}") long seed,
+                         @Value("${app.seed.parallelism:4}") int parallelism,
+                         @Value("${app.seed.fixtures-dir:}") String fixturesDir,
+                         @Value("${app.seed.force:false}") boolean force) {
+        this.dataSource = dataSource;
+        this.claims = claims;
+        this.customers = customers > 0 ? customers : Math.max(1, claims / 4);
+        this.days = days;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.fixturesDir = fixturesDir;
+        this.force = force;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!force && hasClaims()) {
+            log.info("Seed skipped: {} already has rows (set app.seed.force=true to add more)", CLAIMS_TABLE);
+            return;
+        }
+        LoadResult result = StringUtils.hasText(fixturesDir)
+                ? loadFiles(Path.of(fixturesDir))
+                : generate(claims);
+        long rows = result.claims() + result.statuses() + result.attachments();
+        log.info("Seed loaded {} claims, {} statuses, {} attachments in {} ms ({} rows/s)",
+                result.claims(), result.statuses(), result.attachments(), result.millis(),
+                rows * 1000 / Math.max(1, result.millis()));
+    }
+
+    /**
+     * Genera y copia {@code count} reclamos a continuación del mayor id existente.
+     */
+    public LoadResult generate(long count) throws Exception {
+        long started = System.currentTimeMillis();
+        long firstId = nextClaimId();
+        ClaimFixtures fixtures = new ClaimFixtures(customers, days, seed, LocalDateTime.now());
+        List<long[]> ranges = ranges(count, parallelism);
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Callable<Long>> claimTasks = new ArrayList<>();
+            for (long[] range : ranges) {
+                claimTasks.add(() -> copy(
+                        "COPY reclamos (id, codigo, titulo, descripcion, cliente_id, fecha_creacion, fecha_actualizacion) "
+                                + "FROM STDIN", range, fixtures, (claim, id, line) -> {
+                            line.append(id).append('\t').append(ClaimFixtures.code(id)).append('\t');
+                            appendText(line, claim.title()).append('\t');
+                            appendText(line, claim.description()).append('\t');
+                            line.append(claim.customerId()).append('\t')
+                                    .append(TIMESTAMP.format(claim.createdAt())).append('\t')
+                                    .append(TIMESTAMP.format(claim.updatedAt())).append('\n');
+                        }, firstId));
+            }
+            long claimRows = sum(pool, claimTasks);
+
+            // Child ids come from the identity defaults, in claim order within each range
+            List<Callable<Long>> statusTasks = new ArrayList<>();
+            List<Callable<Long>> attachmentTasks = new ArrayList<>();
+            for (long[] range : ranges) {
+                statusTasks.add(() -> copy(
+                        "COPY estado_reclamos (reclamo_id, estado, notas, asesor_email, fecha_creacion, secuencia) "
+                                + "FROM STDIN", range, fixtures, (claim, id, line) -> {
+                            int sequence = 0;
+                            for (ClaimFixtures.FixtureStatus status : claim.statuses()) {
+                                line.append(id).append('\t');
+                                appendText(line, status.status().getDescripcion()).append('\t');
+                                appendText(line, status.notes()).append('\t');
+                                appendText(line, status.advisorEmail()).append('\t')
+                                        .append(TIMESTAMP.format(status.createdAt())).append('\t')
+                                        .append(++sequence).append('\n');
+                            }
+                        }, firstId));
+                attachmentTasks.add(() -> copy(
+                        "COPY adjunto_reclamos (reclamo_id, nombre_archivo, tipo_contenido, tamano_bytes, url_archivo, "
+                                + "fecha_subida) FROM STDIN", range, fixtures, (claim, id, line) -> {
+                            for (ClaimFixtures.FixtureAttachment attachment : claim.attachments()) {
+                                line.append(id).append('\t');
+                                appendText(line, attachment.fileName()).append('\t');
+                                appendText(line, attachment.contentType()).append('\t');
+                                line.append(attachment.size()).append('\t');
+                                appendText(line, attachment.url()).append('\t')
+                                        .append(TIMESTAMP.format(attachment.uploadedAt())).append('\n');
+                            }
+                        }, firstId));
+            }
+            List<Future<Long>> statusRows = submitAll(pool, statusTasks);
+            List<Future<Long>> attachmentRows = submitAll(pool, attachmentTasks);
+            long statuses = join(statusRows);
+            long attachments = join(attachmentRows);
+
+            finish(CLAIMS_TABLE);
+            return new LoadResult(claimRows, statuses, attachments, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Ranges still copying would commit after the cleanup; stop them first
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            try {
+                removeClaimsFrom(firstId);
+            } catch (SQLException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Copia los CSV de fixtures del directorio indicado, respetando las claves foráneas.
+     */
+    public LoadResult loadFiles(Path directory) throws Exception {
+        long started = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            long claimRows = copyFile(directory.resolve(CLAIMS_TABLE + ".csv"), CLAIMS_TABLE);
+            Future<Long> statuses = pool.submit(() -> copyFile(directory.resolve(STATUSES_TABLE + ".csv"), STATUSES_TABLE));
+            Future<Long> attachments =
+                    pool.submit(() -> copyFile(directory.resolve(ATTACHMENTS_TABLE + ".csv"), ATTACHMENTS_TABLE));
+            long statusRows = join(List.of(statuses));
+            long attachmentRows = join(List.of(attachments));
+
+            finish(CLAIMS_TABLE, STATUSES_TABLE, ATTACHMENTS_TABLE);
+            return new LoadResult(claimRows, statusRows, attachmentRows, System.currentTimeMillis() - started);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        void write(ClaimFixtures.FixtureClaim claim, long claimId, StringBuilder line);
+    }
+
+    private long copy(String sql, long[] range, ClaimFixtures fixtures, RowWriter rowWriter, long firstId)
+            throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+            Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE);
+            try {
+                StringBuilder line = new StringBuilder(256);
+                for (long index = range[0]; index < range[1]; index++) {
+                    line.setLength(0);
+                    rowWriter.write(fixtures.claim(index), firstId + index, line);
+                    out.append(line);
+                }
+                out.flush();
+                return copy.endCopy();
+            } catch (SQLException | IOException | RuntimeException e) {
+                // Closing the stream would end the COPY and keep a partial range
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private long copyFile(Path file, String table) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection();
+             BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return 0;
+            }
+            if (!header.matches("[a-z_]+(,[a-z_]+)*")) {
+                throw new IllegalArgumentException("Invalid CSV header in " + file + ": " + header);
+            }
+            String sql = "COPY " + table + " (" + header + ") FROM STDIN (FORMAT csv)";
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, reader, BUFFER_SIZE);
+        }
+    }
+
+    private boolean hasClaims() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + CLAIMS_TABLE + ")")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private void removeClaimsFrom(long firstId) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM " + STATUSES_TABLE + " WHERE reclamo_id >= " + firstId);
+            statement.execute("DELETE FROM " + ATTACHMENTS_TABLE + " WHERE reclamo_id >= " + firstId);
+            statement.execute("DELETE FROM " + CLAIMS_TABLE + " WHERE id >= " + firstId);
+        }
+        log.warn("Seed failed; removed the claims copied from id {}", firstId);
+    }
+
+    private long nextClaimId() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM reclamos")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Deja las secuencias de identidad después del mayor id cargado y actualiza estadísticas.
+     */
+    private void finish(String... explicitIdTables) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String table : explicitIdTables) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "COALESCE(MAX(id), 0) + 1, false) FROM " + table);
+            }
+            statement.execute("ANALYZE " + CLAIMS_TABLE);
+            statement.execute("ANALYZE " + STATUSES_TABLE);
+            statement.execute("ANALYZE " + ATTACHMENTS_TABLE);
+        }
+    }
+
+    /**
+     * Divide {@code [0, count)} en hasta {@code parts} rangos contiguos.
+     */
+    static List<long[]> ranges(long count, int parts) {
+        List<long[]> ranges = new ArrayList<>();
+        long size = Math.max(1, (count + parts - 1) / parts);
+        for (long from = 0; from < count; from += size) {
+            ranges.add(new long[]{from, Math.min(count, from + size)});
+        }
+        return ranges;
+    }
+
+    /**
+     * Escribe un valor en el formato de texto de COPY.
+     */
+    static StringBuilder appendText(StringBuilder line, String value) {
+        if (value == null) {
+            return line.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                default -> line.append(c);
+            }
+        }
+        return line;
+    }
+
+    private static long sum(ExecutorService pool, List<Callable<Long>> tasks) throws Exception {
+        return join(submitAll(pool, tasks));
+    }
+
+    private static List<Future<Long>> submitAll(ExecutorService pool, List<Callable<Long>> tasks) {
+        List<Future<Long>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Long> task : tasks) {
+            futures.add(pool.submit(task));
+        }
+        return futures;
+    }
+
+    private static long join(List<Future<Long>> futures) throws Exception {
+        long total = 0;
+        try {
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.api.service;
+
+import com.example.api.entity.VistaPreviaAdjunto;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.VistaPreviaAdjuntoRepository;
+import com.example.api.search.AttachmentTextIndexer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera en segundo plano la vista previa de cada adjunto nuevo: una imagen PNG de la
+ * primera página (o de la imagen subida), el número de páginas y el texto de los PDF.
+ * El trabajo corre en un pool acotado después del commit, así que la subida no espera
+ * y un pico de adjuntos no puede acaparar CPU ni memoria; si la cola está llena el adjunto
+ * queda pendiente. El texto extraído se pasa al índice de búsqueda de adjuntos.
+ *
+ * <p>Cada escritura va en su propia transacción: el aviso llega después del commit de la
+ * subida. Al arrancar se indexa el texto ya extraído que no está en el índice (adjuntos
+ * anteriores al índice) y se encolan los adjuntos que no tienen vista previa terminada.
+ */
+@Slf4j
+@Service
+public class AttachmentPreviewService {
+
+    static final int PREVIEW_WIDTH = 600;
+    static final int MAX_TEXT_LENGTH = 100_000;
+    private static final long BACKFILL_RETRY_MILLIS = 500;
+    private static final int TEXT_BACKFILL_BATCH_SIZE = 500;
+
+    private final VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository;
+    private final AdjuntoReclamoRepository adjuntoReclamoRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentTextIndexer attachmentTextIndexer;
+    private final TransactionTemplate writes;
+    private final ExecutorService workers;
+
+    @Autowired
+    public AttachmentPreviewService(VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository,
+                                    AdjuntoReclamoRepository adjuntoReclamoRepository,
+                                    AttachmentStorage attachmentStorage,
+                                    AttachmentTextIndexer attachmentTextIndexer,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.attachments.preview.workers:2}") int workers,
+                                    @Value("${app.attachments.preview.queue-capacity:200}") int queueCapacity) {
+        this(vistaPreviaAdjuntoRepository, adjuntoReclamoRepository, attachmentStorage, attachmentTextIndexer,
+                transactionManager, newWorkerPool(workers, queueCapacity));
+    }
+
+    AttachmentPreviewService(VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository,
+                             AdjuntoReclamoRepository adjuntoReclamoRepository,
+                             AttachmentStorage attachmentStorage,
+                             AttachmentTextIndexer attachmentTextIndexer,
+                             PlatformTransactionManager transactionManager,
+                             ExecutorService workers) {
+        this.vistaPreviaAdjuntoRepository = vistaPreviaAdjuntoRepository;
+        this.adjuntoReclamoRepository = adjuntoReclamoRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.attachmentTextIndexer = attachmentTextIndexer;
+        this.writes = new TransactionTemplate(transactionManager);
+        // After commit the upload transaction is still bound, so joining it would drop the write
+        this.writes.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workers = workers;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttachmentAdded(AttachmentAddedEvent event) {
+        VistaPreviaAdjunto preview = pending(event);
+        try {
+            workers.execute(() -> generate(preview, event));
+        } catch (RejectedExecutionException e) {
+            // Left PENDING, so the startup backfill generates it
+            log.warn("Preview queue is full, attachment {} stays pending", event.attachmentId());
+        }
+    }
+
+    /**
+     * Genera las vistas previas que faltan en un hilo aparte, que espera cuando el pool está
+     * lleno en vez de marcarlas como fallidas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Thread.ofPlatform().name("attachment-preview-backfill").daemon().start(this::backfillMissing);
+    }
+
+    void backfillMissing() {
+        indexMissingText();
+        List<Object[]> missing;
+        try {
+            missing = adjuntoReclamoRepository.findWithoutPreview();
+        } catch (RuntimeException e) {
+            log.warn("Could not look for attachments without preview: {}", e.getMessage());
+            return;
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        log.info("Generating previews for {} attachments without one", missing.size());
+        for (Object[] row : missing) {
+            AttachmentAddedEvent event = new AttachmentAddedEvent(
+                    (Long) row[0], (Long) row[1], (String) row[2], (String) row[3]);
+            VistaPreviaAdjunto preview = pending(event);
+            while (true) {
+                try {
+                    workers.execute(() -> generate(preview, event));
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (workers.isShutdown()) {
+                        return;
+                    }
+                    try {
+                        Thread.sleep(BACKFILL_RETRY_MILLIS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    void indexMissingText() {
+        long indexed = 0;
+        long after = 0;
+        try {
+            List<Object[]> batch;
+            do {
+                batch = vistaPreviaAdjuntoRepository.findUnindexedText(after, PageRequest.ofSize(TEXT_BACKFILL_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    Long attachmentId = (Long) row[0];
+                    after = attachmentId;
+                    String text = vistaPreviaAdjuntoRepository.findById(attachmentId)
+                            .map(VistaPreviaAdjunto::getTexto)
+                            .orElse(null);
+                    if (text != null && !text.isEmpty()) {
+                        attachmentTextIndexer.index(attachmentId, (Long) row[1], text);
+                        indexed++;
+                    }
+                }
+            } while (batch.size() == TEXT_BACKFILL_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Attachment text backfill stopped after attachment {}: {}", after, e.getMessage());
+        }
+        if (indexed > 0) {
+            log.info("Indexed the text of {} attachments extracted before the search index", indexed);
+        }
+    }
+
+    private VistaPreviaAdjunto pending(AttachmentAddedEvent event) {
+        return save(VistaPreviaAdjunto.builder()
+                .adjuntoId(event.attachmentId())
+                .reclamoId(event.claimId())
+                .estado(PreviewStatus.PENDING)
+                .build());
+    }
+
+    /**
+     * Archivo PNG de la vista previa de un adjunto, si ya está generada.
+     */
+    public Resource getPreview(Long claimId, Long attachmentId) {
+        return vistaPreviaAdjuntoRepository.findById(attachmentId)
+                .filter(preview -> preview.getReclamoId().equals(claimId))
+                .filter(preview -> preview.getEstado() == PreviewStatus.READY)
+                .map(preview -> (Resource) new FileSystemResource(attachmentStorage.resolve(preview.getUrlVistaPrevia())))
+                .filter(Resource::exists)
+                .orElse(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    void generate(VistaPreviaAdjunto preview, AttachmentAddedEvent event) {
+        try {
+            Path file = attachmentStorage.resolve(event.fileUrl());
+            if (!Files.exists(file)) {
+                fail(preview, "Attachment file not found");
+                return;
+            }
+
+            BufferedImage image;
+            if (isPdf(event)) {
+                try (PDDocument document = Loader.loadPDF(file.toFile(), null, null, null,
+                        IOUtils.createTempFileOnlyStreamCache())) {
+                    preview.setNumeroPaginas(document.getNumberOfPages());
+                    preview.setTexto(extractText(document));
+                    image = renderFirstPage(document);
+                }
+            } else if (isImage(event)) {
+                image = ImageIO.read(file.toFile());
+                preview.setNumeroPaginas(1);
+            } else {
+                preview.setEstado(PreviewStatus.UNSUPPORTED);
+                save(preview);
+                return;
+            }
+            if (image == null) {
+                fail(preview, "Unreadable attachment");
+                return;
+            }
+
+            String previewUrl = AttachmentStorage.previewUrl(event.fileUrl());
+            Path previewFile = attachmentStorage.resolve(previewUrl);
+            ImageIO.write(scaleToWidth(image, PREVIEW_WIDTH), "png", previewFile.toFile());
+
+            preview.setUrlVistaPrevia(previewUrl);
+            preview.setTamanoVistaPrevia(Files.size(previewFile));
+            preview.setEstado(PreviewStatus.READY);
+            preview.setError(null);
+            save(preview);
+
+            if (preview.getTexto() != null && !preview.getTexto().isEmpty()) {
+                attachmentTextIndexer.index(event.attachmentId(), event.claimId(), preview.getTexto());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate preview for attachment {}: {}", event.attachmentId(), e.getMessage());
+            fail(preview, e.getMessage());
+        }
+    }
+
+    private void fail(VistaPreviaAdjunto preview, String message) {
+        preview.setEstado(PreviewStatus.FAILED);
+        preview.setError(message != null && message.length() > 255 ? message.substring(0, 255) : message);
+        save(preview);
+    }
+
+    private VistaPreviaAdjunto save(VistaPreviaAdjunto preview) {
+        return writes.execute(status -> vistaPreviaAdjuntoRepository.save(preview));
+    }
+
+    private static BufferedImage renderFirstPage(PDDocument document) throws IOException {
+        if (document.getNumberOfPages() == 0) {
+            return null;
+        }
+        PDRectangle box = document.getPage(0).getCropBox();
+        float scale = PREVIEW_WIDTH / box.getWidth();
+        return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+    }
+
+    private static String extractText(PDDocument document) throws IOException {
+        String text = new PDFTextStripper().getText(document).strip();
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage source, int width) {
+        if (source.getWidth() <= width) {
+            return source;
+        }
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static boolean isPdf(AttachmentAddedEvent event) {
+        return "application/pdf".equalsIgnoreCase(event.contentType())
+                || event.fileUrl().toLowerCase().endsWith(".pdf");
+    }
+
+    private static boolean isImage(AttachmentAddedEvent event) {
+        return event.contentType() != null && event.contentType().toLowerCase().startsWith("image/");
+    }
+
+    private static ExecutorService newWorkerPool(int workers, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "attachment-preview-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Archivos de adjuntos en disco. Los adjuntos se guardan en
+ * {@code <storage-dir>/<claimId>/<uuid>-<fileName>}, que corresponde a la URL
+ * {@code /uploads/<claimId>/<uuid>-<fileName>} registrada en {@code adjunto_reclamos}; el
+ * prefijo aleatorio evita que dos adjuntos con el mismo nombre se pisen. Las subidas en
+ * curso viven en {@code <storage-dir>/.sessions/<uploadId>.part}.
+ */
+@Component
+public class AttachmentStorage {
+
+    public static final String URL_PREFIX = "/uploads/";
+
+    public static final String PREVIEW_SUFFIX = ".preview.png";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_STORED_NAME_LENGTH = 100;
+
+    private final Path root;
+
+    public AttachmentStorage(@Value("${app.attachments.storage-dir:uploads}") String storageDir) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * URL nueva y única para un adjunto del reclamo. El nombre original queda en
+     * {@code adjunto_reclamos.nombre_archivo}; en disco se guarda saneado y con un prefijo
+     * aleatorio.
+     */
+    public static String newUrl(Long claimId, String fileName) {
+        return URL_PREFIX + claimId + "/" + UUID.randomUUID() + "-" + storedName(fileName);
+    }
+
+    /**
+     * Guarda el contenido completo de un adjunto en la ruta que corresponde a su URL. Nunca
+     * reemplaza un archivo existente.
+     */
+    public void store(String url, InputStream content) {
+        Path target = resolve(url);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(content, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error storing attachment " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Borra el archivo si la transacción en curso se deshace, para que no quede en disco un
+     * adjunto sin su fila.
+     */
+    public void deleteOnRollback(String url) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    try {
+                        Files.deleteIfExists(resolve(url));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Error deleting attachment " + url + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * URL de la vista previa de un adjunto, guardada junto al archivo original.
+     */
+    public static String previewUrl(String url) {
+        return url + PREVIEW_SUFFIX;
+    }
+
+    /**
+     * Escribe {@code length} bytes de {@code content} en el archivo parcial de la subida a
+     * partir de {@code offset}, con escrituras posicionales, y los fuerza a disco antes de
+     * volver para que el offset que se registre después nunca vaya por delante del archivo.
+     *
+     * @return bytes escritos, que pueden ser menos de {@code length} si el cliente cortó
+     */
+    public long writeChunk(String uploadId, long offset, InputStream content, long length) {
+        Path part = sessionFile(uploadId);
+        try {
+            Files.createDirectories(part.getParent());
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                byte[] chunk = buffer.array();
+                long written = 0;
+                while (written < length) {
+                    int read = content.read(chunk, 0, (int) Math.min(chunk.length, length - written));
+                    if (read < 0) {
+                        break;
+                    }
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer, offset + written);
+                    }
+                }
+                channel.force(false);
+                return written;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing upload " + uploadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mueve la subida terminada a la ruta de su URL, obtenida de {@link #newUrl}.
+     */
+    public void promote(String uploadId, String url) {
+        Path target = resolve(url);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(sessionFile(uploadId), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error storing upload " + uploadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void discard(String uploadId) {
+        try {
+            Files.deleteIfExists(sessionFile(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error discarding upload " + uploadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ruta en disco de un adjunto a partir de su URL.
+     */
+    public Path resolve(String url) {
+        if (!url.startsWith(URL_PREFIX)) {
+            throw new IllegalArgumentException("Unsupported attachment URL: " + url);
+        }
+        Path path = root.resolve(url.substring(URL_PREFIX.length())).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Unsupported attachment URL: " + url);
+        }
+        return path;
+    }
+
+    private static String storedName(String fileName) {
+        String name = fileName == null ? "" : fileName.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).replaceAll("[^A-Za-z0-9._-]", "_");
+        if (name.length() > MAX_STORED_NAME_LENGTH) {
+            // Keeps the end, where the extension the previews rely on is
+            name = name.substring(name.length() - MAX_STORED_NAME_LENGTH);
+        }
+        return name.isEmpty() ? "file" : name;
+    }
+
+    Path sessionFile(String uploadId) {
+        return root.resolve(".sessions").resolve(uploadId + ".part");
+    }
+}
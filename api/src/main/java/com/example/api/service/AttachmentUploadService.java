@@ -0,0 +1,182 @@
+package com.example.api.service;
+
+import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.CreateUploadRequest;
+import com.example.api.dto.UploadSessionResponse;
+import com.example.api.entity.AdjuntoReclamo;
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.SesionCarga;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.UploadOffsetConflictException;
+import com.example.api.exception.UploadSessionNotFoundException;
+import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.SesionCargaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Subidas reanudables de adjuntos al estilo tus: se crea una sesión con el tamaño total,
+ * se envían bloques indicando su offset y, cuando llegó todo, se finaliza y se registra
+ * el {@link AdjuntoReclamo}. El estado de la sesión vive en base de datos y los bytes en
+ * disco, así que una subida se puede retomar después de reiniciar la aplicación.
+ */
+@Service
+public class AttachmentUploadService {
+
+    private final SesionCargaRepository sesionCargaRepository;
+    private final ReclamoRepository reclamoRepository;
+    private final AdjuntoReclamoRepository adjuntoReclamoRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxUploadSize;
+
+    public AttachmentUploadService(SesionCargaRepository sesionCargaRepository,
+                                   ReclamoRepository reclamoRepository,
+                                   AdjuntoReclamoRepository adjuntoReclamoRepository,
+                                   AttachmentStorage attachmentStorage,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${app.attachments.max-upload-size:2147483648}") long maxUploadSize) {
+        this.sesionCargaRepository = sesionCargaRepository;
+        this.reclamoRepository = reclamoRepository;
+        this.adjuntoReclamoRepository = adjuntoReclamoRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.eventPublisher = eventPublisher;
+        this.maxUploadSize = maxUploadSize;
+    }
+
+    @Transactional
+    public UploadSessionResponse createUpload(Long claimId, CreateUploadRequest request) {
+        if (!reclamoRepository.existsById(claimId)) {
+            throw new ClaimNotFoundException(claimId);
+        }
+        if (request.size() > maxUploadSize) {
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+
+        SesionCarga sesion = SesionCarga.builder()
+                .id(UUID.randomUUID().toString())
+                .reclamoId(claimId)
+                .nombreArchivo(sanitizeFileName(request.fileName()))
+                .tipoContenido(request.contentType())
+                .tamanoTotal(request.size())
+                .bytesRecibidos(0L)
+                .build();
+
+        return toResponse(sesionCargaRepository.save(sesion));
+    }
+
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getUpload(String uploadId) {
+        return toResponse(findSession(uploadId));
+    }
+
+    /**
+     * Escribe un bloque que debe empezar exactamente en el offset actual de la subida. No
+     * es transaccional: el cuerpo puede tardar minutos en llegar y no debe retener una
+     * conexión; el offset se avanza en una transacción corta después de escribir los bytes.
+     *
+     * @return el estado de la subida con el nuevo offset
+     */
+    public UploadSessionResponse appendChunk(String uploadId, long offset, InputStream content, long length) {
+        SesionCarga sesion = findSession(uploadId);
+        if (offset != sesion.getBytesRecibidos()) {
+            throw new UploadOffsetConflictException(offset, sesion.getBytesRecibidos());
+        }
+        if (length < 0 || offset + length > sesion.getTamanoTotal()) {
+            throw new IllegalArgumentException("Chunk exceeds the declared upload size of " + sesion.getTamanoTotal() + " bytes");
+        }
+
+        long written = attachmentStorage.writeChunk(uploadId, offset, content, length);
+        long newOffset = offset + written;
+        if (sesionCargaRepository.advanceOffset(uploadId, offset, newOffset, LocalDateTime.now()) == 0) {
+            throw new UploadOffsetConflictException(offset, findSession(uploadId).getBytesRecibidos());
+        }
+
+        sesion.setBytesRecibidos(newOffset);
+        return toResponse(sesion);
+    }
+
+    /**
+     * Registra el adjunto de una subida completa y elimina la sesión. La fila se inserta
+     * antes de mover el archivo: si el movimiento falla la transacción se deshace y la
+     * subida se puede volver a finalizar; si falla el commit, el archivo movido se borra.
+     */
+    @Transactional
+    public ClaimDetailResponse.ClaimAttachment completeUpload(String uploadId) {
+        SesionCarga sesion = findSession(uploadId);
+        if (!sesion.isComplete()) {
+            throw new IllegalStateException("Upload is incomplete: received " + sesion.getBytesRecibidos()
+                    + " of " + sesion.getTamanoTotal() + " bytes");
+        }
+
+        Reclamo reclamo = reclamoRepository.findById(sesion.getReclamoId())
+                .orElseThrow(() -> new ClaimNotFoundException(sesion.getReclamoId()));
+        String url = AttachmentStorage.newUrl(reclamo.getId(), sesion.getNombreArchivo());
+
+        AdjuntoReclamo attachment = adjuntoReclamoRepository.save(AdjuntoReclamo.builder()
+                .reclamo(reclamo)
+                .nombreArchivo(sesion.getNombreArchivo())
+                .tipoContenido(sesion.getTipoContenido())
+                .tamanoBytes(sesion.getTamanoTotal())
+                .urlArchivo(url)
+                .build());
+        sesionCargaRepository.delete(sesion);
+        attachmentStorage.promote(uploadId, url);
+        attachmentStorage.deleteOnRollback(url);
+
+        eventPublisher.publishEvent(new AttachmentAddedEvent(
+                attachment.getId(),
+                reclamo.getId(),
+                url,
+                attachment.getTipoContenido()
+        ));
+
+        return new ClaimDetailResponse.ClaimAttachment(
+                attachment.getId(),
+                attachment.getNombreArchivo(),
+                attachment.getTipoContenido(),
+                attachment.getTamanoBytes(),
+                attachment.getFechaSubida()
+        );
+    }
+
+    @Transactional
+    public void cancelUpload(String uploadId) {
+        SesionCarga sesion = findSession(uploadId);
+        sesionCargaRepository.delete(sesion);
+        attachmentStorage.discard(uploadId);
+    }
+
+    private SesionCarga findSession(String uploadId) {
+        return sesionCargaRepository.findById(uploadId)
+                .orElseThrow(() -> new UploadSessionNotFoundException(uploadId));
+    }
+
+    private static String sanitizeFileName(String fileName) {
+        Path name = Paths.get(fileName.replace('\\', '/')).getFileName();
+        if (name == null || name.toString().isBlank() || name.toString().startsWith(".")) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        return name.toString();
+    }
+
+    private static UploadSessionResponse toResponse(SesionCarga sesion) {
+        return new UploadSessionResponse(
+                sesion.getId(),
+                sesion.getReclamoId(),
+                sesion.getNombreArchivo(),
+                sesion.getTamanoTotal(),
+                sesion.getBytesRecibidos()
+        );
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.api.service;
+
+import com.example.api.converter.EstadoReclamoConverter;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.ExportCompression;
+import com.example.api.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación masiva de reclamos en formatos tabulares. Las filas se leen con un cursor
+ * del lado del servidor y se escriben directamente al flujo de salida, de modo que la
+ * memoria usada no depende del número de reclamos exportados.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClaimExportService {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String CLAIMS_SQL =
+            "SELECT r.id, r.codigo, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, " +
+            "    (SELECT e.estado FROM estado_reclamos e " +
+            "     WHERE e.reclamo_id = r.id " +
+            "     ORDER BY e.fecha_creacion DESC, e.id DESC LIMIT 1) AS estado_actual " +
+            "FROM reclamos r " +
+            "ORDER BY r.id";
+
+    private static final String CLAIMS_WITH_HISTORY_SQL =
+            "SELECT r.id, r.codigo, r.titulo, r.descripcion, r.cliente_id, r.fecha_creacion, r.fecha_actualizacion, " +
+            "    (SELECT e2.estado FROM estado_reclamos e2 " +
+            "     WHERE e2.reclamo_id = r.id " +
+            "     ORDER BY e2.fecha_creacion DESC, e2.id DESC LIMIT 1) AS estado_actual, " +
+            "    e.id AS estado_id, e.estado, e.notas, e.asesor_email, e.fecha_creacion AS estado_fecha " +
+            "FROM reclamos r " +
+            "LEFT JOIN estado_reclamos e ON e.reclamo_id = r.id " +
+            "ORDER BY r.id, e.fecha_creacion, e.id";
+
+    private static final EstadoReclamoConverter ESTADO_CONVERTER = new EstadoReclamoConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escribe todos los reclamos en el formato indicado y devuelve cuántos se exportaron.
+     * La transacción de solo lectura es necesaria para que PostgreSQL respete el
+     * {@code fetchSize} y no materialice el resultado completo en el cliente.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, ExportCompression compression, boolean includeHistory,
+                       OutputStream outputStream) {
+        try {
+            OutputStream target = compression == ExportCompression.GZIP
+                    ? new GZIPOutputStream(outputStream, 64 * 1024)
+                    : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+
+            ExportSink sink = format == ExportFormat.CSV
+                    ? new CsvSink(writer, includeHistory)
+                    : new NdjsonSink(objectMapper.getFactory().createGenerator(writer)
+                            .setRootValueSeparator(null), includeHistory);
+
+            ExportRowHandler handler = new ExportRowHandler(sink, includeHistory);
+            String sql = includeHistory ? CLAIMS_WITH_HISTORY_SQL : CLAIMS_SQL;
+
+            sink.begin();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, handler);
+            handler.finish();
+            sink.finish();
+
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+            outputStream.flush();
+
+            return handler.getExportedClaims();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing export: " + e.getMessage(), e);
+        }
+    }
+
+    public String buildFilename(ExportFormat format, ExportCompression compression) {
+        return "reclamos_" + LocalDateTime.now().format(ClaimReportTemplate.FILENAME_FORMAT)
+                + "." + format.getExtension() + compression.getSuffix();
+    }
+
+    record ClaimRow(
+            long id,
+            String codigo,
+            String titulo,
+            String descripcion,
+            long clienteId,
+            EstadoReclamoEnum estadoActual,
+            LocalDateTime fechaCreacion,
+            LocalDateTime fechaActualizacion
+    ) {}
+
+    record HistoryRow(
+            long id,
+            EstadoReclamoEnum estado,
+            String notas,
+            String asesorEmail,
+            LocalDateTime fechaCreacion
+    ) {}
+
+    /**
+     * Agrupa las filas consecutivas de un mismo reclamo. Solo se mantiene en memoria
+     * la fila del reclamo en curso.
+     */
+    private static final class ExportRowHandler implements RowCallbackHandler {
+
+        private final ExportSink sink;
+        private final boolean includeHistory;
+        private Long currentId;
+        private long exportedClaims;
+
+        ExportRowHandler(ExportSink sink, boolean includeHistory) {
+            this.sink = sink;
+            this.includeHistory = includeHistory;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (currentId == null || currentId != id) {
+                if (currentId != null) {
+                    sink.endClaim();
+                }
+                sink.claim(new ClaimRow(
+                        id,
+                        rs.getString("codigo"),
+                        rs.getString("titulo"),
+                        rs.getString("descripcion"),
+                        rs.getLong("cliente_id"),
+                        toEstado(rs.getString("estado_actual")),
+                        toLocalDateTime(rs.getTimestamp("fecha_creacion")),
+                        toLocalDateTime(rs.getTimestamp("fecha_actualizacion"))
+                ));
+                currentId = id;
+                exportedClaims++;
+            }
+
+            if (includeHistory) {
+                long estadoId = rs.getLong("estado_id");
+                if (!rs.wasNull()) {
+                    sink.history(new HistoryRow(
+                            estadoId,
+                            toEstado(rs.getString("estado")),
+                            rs.getString("notas"),
+                            rs.getString("asesor_email"),
+                            toLocalDateTime(rs.getTimestamp("estado_fecha"))
+                    ));
+                }
+            }
+        }
+
+        void finish() {
+            if (currentId != null) {
+                sink.endClaim();
+            }
+        }
+
+        long getExportedClaims() {
+            return exportedClaims;
+        }
+
+        private static EstadoReclamoEnum toEstado(String value) {
+            EstadoReclamoEnum estado = ESTADO_CONVERTER.convertToEntityAttribute(value);
+            return estado != null ? estado : EstadoReclamoEnum.INGRESADO;
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+
+    private interface ExportSink {
+
+        void begin();
+
+        void claim(ClaimRow claim);
+
+        void history(HistoryRow history);
+
+        void endClaim();
+
+        void finish();
+    }
+
+    /**
+     * CSV (RFC 4180). Con historial se escribe una línea por cada estado del reclamo,
+     * repitiendo las columnas del reclamo.
+     */
+    private static final class CsvSink implements ExportSink {
+
+        private static final String CLAIM_HEADER =
+                "id,codigo,titulo,descripcion,cliente_id,estado_actual,fecha_creacion,fecha_actualizacion";
+        private static final String HISTORY_HEADER =
+                ",estado_id,estado,notas,asesor_email,estado_fecha";
+
+        private final Writer writer;
+        private final boolean includeHistory;
+        private ClaimRow current;
+        private boolean historyWritten;
+
+        CsvSink(Writer writer, boolean includeHistory) {
+            this.writer = writer;
+            this.includeHistory = includeHistory;
+        }
+
+        @Override
+        public void begin() {
+            write(includeHistory ? CLAIM_HEADER + HISTORY_HEADER : CLAIM_HEADER);
+            newLine();
+        }
+
+        @Override
+        public void claim(ClaimRow claim) {
+            current = claim;
+            historyWritten = false;
+            if (!includeHistory) {
+                writeClaimColumns(claim);
+                newLine();
+            }
+        }
+
+        @Override
+        public void history(HistoryRow history) {
+            writeClaimColumns(current);
+            write(",");
+            write(String.valueOf(history.id()));
+            write(",");
+            writeField(history.estado().name());
+            write(",");
+            writeField(history.notas());
+            write(",");
+            writeField(history.asesorEmail());
+            write(",");
+            writeField(history.fechaCreacion());
+            newLine();
+            historyWritten = true;
+        }
+
+        @Override
+        public void endClaim() {
+            if (includeHistory && !historyWritten) {
+                writeClaimColumns(current);
+                write(",,,,,");
+                newLine();
+            }
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeClaimColumns(ClaimRow claim) {
+            write(String.valueOf(claim.id()));
+            write(",");
+            writeField(claim.codigo());
+            write(",");
+            writeField(claim.titulo());
+            write(",");
+            writeField(claim.descripcion());
+            write(",");
+            write(String.valueOf(claim.clienteId()));
+            write(",");
+            writeField(claim.estadoActual().name());
+            write(",");
+            writeField(claim.fechaCreacion());
+            write(",");
+            writeField(claim.fechaActualizacion());
+        }
+
+        private void writeField(LocalDateTime value) {
+            if (value != null) {
+                write(value.toString());
+            }
+        }
+
+        private void writeField(String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                write(value);
+                return;
+            }
+            write("\"");
+            write(value.replace("\"", "\"\""));
+            write("\"");
+        }
+
+        private void newLine() {
+            write("\r\n");
+        }
+
+        private void write(String value) {
+            try {
+                writer.write(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Un objeto JSON por línea. El historial se anida en {@code statusHistory}.
+     */
+    private static final class NdjsonSink implements ExportSink {
+
+        private final JsonGenerator generator;
+        private final boolean includeHistory;
+
+        NdjsonSink(JsonGenerator generator, boolean includeHistory) {
+            this.generator = generator;
+            this.includeHistory = includeHistory;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void claim(ClaimRow claim) {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", claim.id());
+                generator.writeStringField("code", claim.codigo());
+                generator.writeStringField("title", claim.titulo());
+                generator.writeStringField("description", claim.descripcion());
+                generator.writeNumberField("customerId", claim.clienteId());
+                generator.writeStringField("currentStatus", claim.estadoActual().getDescripcion());
+                writeDate("createdAt", claim.fechaCreacion());
+                writeDate("lastUpdated", claim.fechaActualizacion());
+                if (includeHistory) {
+                    generator.writeArrayFieldStart("statusHistory");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void history(HistoryRow history) {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", history.id());
+                generator.writeStringField("status", history.estado().getDescripcion());
+                generator.writeStringField("notes", history.notas());
+                generator.writeStringField("advisorEmail", history.asesorEmail());
+                writeDate("createdAt", history.fechaCreacion());
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endClaim() {
+            try {
+                if (includeHistory) {
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeDate(String field, LocalDateTime value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, value.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.api.service;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Genera el reporte PDF de reclamos. Los reportes grandes se dividen en bloques de filas
+ * que se maquetan en paralelo como documentos independientes y luego se unen con
+ * {@link PdfMerger}; la numeración de páginas se estampa sobre el documento final.
+ */
+@Component
+public class ClaimPdfRenderer {
+
+    static final int DEFAULT_CHUNK_SIZE = 2000;
+    private static final int FLUSH_ROWS = 100;
+
+    private final ClaimReportTemplate reportTemplate;
+    private final ForkJoinPool renderPool;
+    private final int chunkSize;
+
+    @Autowired
+    public ClaimPdfRenderer(ClaimReportTemplate reportTemplate) {
+        this(reportTemplate, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    ClaimPdfRenderer(ClaimReportTemplate reportTemplate, int parallelism, int chunkSize) {
+        this.reportTemplate = reportTemplate;
+        this.renderPool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    public record ClaimRow(
+            Long id,
+            String codigo,
+            String titulo,
+            Long clienteId,
+            EstadoReclamoEnum estado,
+            LocalDateTime fechaCreacion
+    ) {}
+
+    public byte[] render(List<ClaimRow> rows) {
+        List<List<ClaimRow>> chunks = split(rows);
+
+        List<ForkJoinTask<byte[]>> tasks = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            List<ClaimRow> chunk = chunks.get(i);
+            boolean first = i == 0;
+            boolean last = i == chunks.size() - 1;
+            tasks.add(renderPool.submit(() -> renderChunk(chunk, first, last, rows.size())));
+        }
+
+        List<byte[]> sections = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<byte[]> task : tasks) {
+            sections.add(task.join());
+        }
+
+        return merge(sections);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdown();
+    }
+
+    private List<List<ClaimRow>> split(List<ClaimRow> rows) {
+        List<List<ClaimRow>> chunks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            chunks.add(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(List.of());
+        }
+        return chunks;
+    }
+
+    private byte[] renderChunk(List<ClaimRow> rows, boolean first, boolean last, int totalClaims) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDoc);
+        document.setFont(reportTemplate.font());
+
+        if (first) {
+            document.add(reportTemplate.title(pdfDoc));
+            document.add(reportTemplate.generatedAt(LocalDateTime.now()));
+            document.add(new Paragraph(" "));
+        }
+
+        // Large-table mode lets iText lay out and flush finished rows instead of
+        // keeping the whole table in memory until the end.
+        Table table = new Table(ClaimReportTemplate.COLUMN_WIDTHS, true);
+        table.setWidth(UnitValue.createPercentValue(100));
+        for (String title : ClaimReportTemplate.COLUMN_TITLES) {
+            table.addHeaderCell(new Cell().add(new Paragraph(title)).addStyle(ClaimReportTemplate.HEADER_CELL_STYLE));
+        }
+        document.add(table);
+
+        int rowsInBatch = 0;
+        for (ClaimRow row : rows) {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(row.id()))));
+            table.addCell(new Cell().add(new Paragraph(row.codigo() != null ? row.codigo() : "")));
+            table.addCell(new Cell().add(new Paragraph(row.titulo() != null ? row.titulo() : "Sin título")));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(row.clienteId()))));
+            table.addCell(new Cell().add(new Paragraph(row.estado().toString())));
+            table.addCell(new Cell().add(new Paragraph(ClaimReportTemplate.ROW_DATE_FORMAT.format(row.fechaCreacion()))));
+            if (++rowsInBatch == FLUSH_ROWS) {
+                table.flush();
+                rowsInBatch = 0;
+            }
+        }
+        table.complete();
+
+        if (last) {
+            document.add(new Paragraph(" "));
+            document.add(new Paragraph("Total de reclamos: " + totalClaims).addStyle(ClaimReportTemplate.TOTALS_STYLE));
+        }
+
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private byte[] merge(List<byte[]> sections) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfDocument merged = new PdfDocument(new PdfWriter(baos));
+            PdfMerger merger = new PdfMerger(merged);
+
+            for (byte[] section : sections) {
+                PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(section)));
+                merger.merge(source, 1, source.getNumberOfPages());
+                source.close();
+            }
+
+            Document document = new Document(merged);
+            document.setFont(reportTemplate.font());
+            int totalPages = merged.getNumberOfPages();
+            for (int page = 1; page <= totalPages; page++) {
+                float centerX = merged.getPage(page).getPageSize().getWidth() / 2;
+                document.showTextAligned(new Paragraph("Página " + page + " de " + totalPages)
+                                .addStyle(ClaimReportTemplate.PAGE_NUMBER_STYLE),
+                        centerX, 20, page, TextAlignment.CENTER, VerticalAlignment.BOTTOM, 0);
+            }
+            document.close();
+
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error merging PDF sections: " + e.getMessage(), e);
+        }
+    }
+}
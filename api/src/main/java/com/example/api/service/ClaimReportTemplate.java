@@ -0,0 +1,118 @@
+package com.example.api.service;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Recursos de maquetación compartidos por todos los reportes de reclamos. Se crean una
+ * sola vez por JVM: programas de fuente, estilos, formateadores y el encabezado estático
+ * del reporte ya renderizado y leído, que cada documento importa como Form XObject.
+ *
+ * <p>Los {@link PdfFont} y los XObjects pertenecen a un documento concreto, por eso se
+ * cachea lo que es independiente del documento (el {@link FontProgram} y el documento del
+ * encabezado) y se vincula a cada documento al usarlo.
+ */
+@Component
+public class ClaimReportTemplate {
+
+    public static final DateTimeFormatter ROW_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    public static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    public static final DateTimeFormatter FILENAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    // Column widths: ID(1), Código(2), Título(3), Cliente ID(1.5), Estado(2), Fecha(2.5)
+    static final float[] COLUMN_WIDTHS = {1f, 2f, 3f, 1.5f, 2f, 2.5f};
+    static final String[] COLUMN_TITLES = {"ID", "Código", "Título", "Cliente ID", "Estado", "Fecha Creación"};
+
+    static final Style HEADER_CELL_STYLE = new Style().setTextAlignment(TextAlignment.CENTER);
+    static final Style CENTERED_STYLE = new Style().setTextAlignment(TextAlignment.CENTER);
+    static final Style TOTALS_STYLE = new Style().setTextAlignment(TextAlignment.RIGHT);
+    static final Style PAGE_NUMBER_STYLE = new Style().setFontSize(8);
+
+    private static final float TITLE_FONT_SIZE = 18;
+    private static final float TITLE_HEIGHT = 30;
+
+    private final FontProgram regularFont;
+    // Parsed once and only read; iText documents are not thread-safe, so copies lock it
+    private final PdfDocument titleTemplate;
+
+    public ClaimReportTemplate() {
+        try {
+            this.regularFont = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            this.titleTemplate = new PdfDocument(new PdfReader(new ByteArrayInputStream(renderTitle())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading report template: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fuente del reporte. Cada documento necesita su propia instancia.
+     */
+    public PdfFont font() {
+        return PdfFontFactory.createFont(regularFont, PdfEncodings.WINANSI);
+    }
+
+    /**
+     * Encabezado estático del reporte importado en el documento como Form XObject.
+     */
+    public Image title(PdfDocument pdfDoc) {
+        try {
+            PdfFormXObject title;
+            synchronized (titleTemplate) {
+                title = titleTemplate.getFirstPage().copyAsFormXObject(pdfDoc);
+            }
+            return new Image(title).setAutoScale(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error importing report title: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (titleTemplate) {
+            titleTemplate.close();
+        }
+    }
+
+    public Paragraph generatedAt(LocalDateTime timestamp) {
+        return new Paragraph("Generado el: " + GENERATED_AT_FORMAT.format(timestamp)).addStyle(CENTERED_STYLE);
+    }
+
+    private byte[] renderTitle() {
+        Rectangle area = new Rectangle(PageSize.A4.getWidth() - 72, TITLE_HEIGHT);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDoc, new PageSize(area));
+        document.setMargins(0, 0, 0, 0);
+        document.add(new Paragraph("Reporte de Reclamos")
+                .setFont(font())
+                .setFontSize(TITLE_FONT_SIZE)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMargin(0));
+        document.close();
+        return baos.toByteArray();
+    }
+}
@@ -1,46 +1,79 @@
 package com.example.api.service;
 
+import com.example.api.cache.ClaimListVersion;
+import com.example.api.cache.ClaimSummaryStore;
 import com.example.api.dto.CreateClaimRequest;
 import com.example.api.dto.ClaimStatusRequest;
 import com.example.api.dto.ClaimResponse;
 import com.example.api.dto.ClaimDetailResponse;
 import com.example.api.dto.PdfExportResponse;
+import com.example.api.dto.ClaimVersion;
+import com.example.api.dto.ClaimStatusPageResponse;
 import com.example.api.entity.Reclamo;
 import com.example.api.entity.EstadoReclamo;
 import com.example.api.entity.AdjuntoReclamo;
+import com.example.api.entity.VistaPreviaAdjunto;
 import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.eventstore.ClaimEventStore;
+import com.example.api.eventstore.ClaimState;
 import com.example.api.exception.ClaimNotFoundException;
 import com.example.api.repository.ReclamoRepository;
-import com.example.api.repository.EstadoReclamoRepository;
 import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.VistaPreviaAdjuntoRepository;
+import com.example.api.search.AttachmentTextIndexer;
+import com.example.api.search.ClaimStatusIndex;
+import com.example.api.search.SearchTokenizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.UUID;
 import java.util.Base64;
 import java.util.stream.Collectors;
-import java.io.ByteArrayOutputStream;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
 
 @Service
 @RequiredArgsConstructor
 public class ClaimService {
 
+        public static final int MAX_STATUS_PAGE_SIZE = 100;
+        private static final int STATUS_HYDRATION_BATCH_SIZE = 1000;
+        // Event store order; rows not yet numbered (legacy, before the startup backfill) go first
+        private static final Comparator<EstadoReclamo> HISTORY_ORDER = Comparator
+                        .comparing(EstadoReclamo::getSecuencia, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(EstadoReclamo::getFechaCreacion);
+
         private final ReclamoRepository reclamoRepository;
-        private final EstadoReclamoRepository estadoReclamoRepository;
         private final AdjuntoReclamoRepository adjuntoReclamoRepository;
+        private final ClaimPdfRenderer claimPdfRenderer;
+        private final ApplicationEventPublisher eventPublisher;
+        private final AttachmentStorage attachmentStorage;
+        private final VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository;
+        private final AttachmentTextIndexer attachmentTextIndexer;
+        private final ClaimEventStore claimEventStore;
+        private final ClaimStatusIndex claimStatusIndex;
+        private final ClaimSummaryStore claimSummaryStore;
+        private final ClaimListVersion claimListVersion;
 
         @Transactional
         public ClaimResponse createClaim(CreateClaimRequest request) {
@@ -61,7 +94,14 @@ public class ClaimService {
                                 .notas("Reclamo creado exitosamente")
                                 .build();
                 
-                EstadoReclamo savedStatus = estadoReclamoRepository.save(initialStatus);
+                EstadoReclamo savedStatus = claimEventStore.append(initialStatus);
+                
+                eventPublisher.publishEvent(new ClaimChangedEvent(
+                                savedReclamo.getId(),
+                                savedReclamo.getClienteId(),
+                                savedStatus.getEstado(),
+                                savedStatus.getFechaCreacion()
+                ));
                 
                 return new ClaimResponse(
                                 savedReclamo.getId(),
@@ -76,12 +116,27 @@ public class ClaimService {
 
         @Transactional(readOnly = true)
         public List<ClaimResponse> getAllClaimsWithLastStatus() {
+                if (claimSummaryStore.isReady()) {
+                        List<ClaimResponse> claims = claimSummaryStore.scan(summary -> new ClaimResponse(
+                                        summary.id(),
+                                        summary.title(),
+                                        summary.description(),
+                                        summary.customerId(),
+                                        summary.status(),
+                                        summary.createdAt(),
+                                        summary.updatedAt()
+                        ));
+                        // The store walks ids newest first, which is nearly creation order already
+                        claims.sort(Comparator.comparing(ClaimResponse::createdAt, Comparator.reverseOrder()));
+                        return claims;
+                }
+                
                 List<Reclamo> reclamos = reclamoRepository.findAllWithLastStatus();
                 
                 return reclamos.stream()
                                 .map(reclamo -> {
                                         EstadoReclamoEnum currentStatus = reclamo.getEstados().stream()
-                                                        .max((e1, e2) -> e1.getFechaCreacion().compareTo(e2.getFechaCreacion()))
+                                                        .max(HISTORY_ORDER)
                                                         .map(EstadoReclamo::getEstado)
                                                         .orElse(EstadoReclamoEnum.INGRESADO);
                                         
@@ -100,28 +155,125 @@ public class ClaimService {
 
         @Transactional(readOnly = true)
         public List<ClaimResponse> getClaimsWithFilters(EstadoReclamoEnum status, String searchText) {
-                List<Reclamo> reclamos = reclamoRepository.findWithFilters(status, searchText);
+                boolean hasSearch = searchText != null && !searchText.isBlank();
+                // A warm status index answers the status filter, so the queries skip the nested subqueries
+                boolean indexed = status != null && claimStatusIndex.isReady();
+                EstadoReclamoEnum queryStatus = indexed ? null : status;
+                
+                List<Reclamo> reclamos = indexed && !hasSearch
+                                ? findClaimsInStatus(status)
+                                : reclamoRepository.findWithFilters(queryStatus, searchText);
+                
+                if (hasSearch) {
+                        Map<Long, Long> attachmentScores = attachmentTextIndexer.scoreClaims(searchText);
+                        if (!attachmentScores.isEmpty()) {
+                                reclamos = rankSearchResults(reclamos, attachmentScores, queryStatus, searchText);
+                        }
+                        if (indexed) {
+                                reclamos = reclamos.stream()
+                                                .filter(reclamo -> claimStatusIndex.contains(status, reclamo.getId()))
+                                                .collect(Collectors.toList());
+                        }
+                }
+                
+                // Snapshot plus tail events for the whole page instead of each claim's full history
+                Map<Long, ClaimState> states = indexed ? Map.of() : claimEventStore.loadAll(
+                                reclamos.stream().map(Reclamo::getId).collect(Collectors.toList()));
                 
                 return reclamos.stream()
                                 .map(reclamo -> {
-                                        EstadoReclamoEnum currentStatus = reclamo.getEstados().stream()
-                                                        .max((e1, e2) -> e1.getFechaCreacion().compareTo(e2.getFechaCreacion()))
-                                                        .map(EstadoReclamo::getEstado)
-                                                        .orElse(EstadoReclamoEnum.INGRESADO);
+                                        ClaimState state = states.get(reclamo.getId());
+                                        EstadoReclamoEnum currentStatus = indexed ? status
+                                                        : state != null ? state.status() : EstadoReclamoEnum.INGRESADO;
                                         
-                                        return new ClaimResponse(
-                                                        reclamo.getId(),
-                                                        reclamo.getTitulo(),
-                                                        reclamo.getDescripcion(),
-                                                        reclamo.getClienteId(),
-                                                        currentStatus,
-                                                        reclamo.getFechaCreacion(),
-                                                        reclamo.getFechaActualizacion()
-                                        );
+                                        return toClaimResponse(reclamo, currentStatus);
                                 })
                                 .collect(Collectors.toList());
         }
 
+        /**
+         * Página de reclamos cuyo estado actual es el indicado, creados opcionalmente dentro
+         * del rango de fechas, de los más recientes a los más antiguos. Con el índice de
+         * estados cargado solo se consultan los reclamos de la página.
+         */
+        @Transactional(readOnly = true)
+        public ClaimStatusPageResponse getClaimsByStatus(EstadoReclamoEnum status, LocalDate createdFrom,
+                                                         LocalDate createdTo, int page, int size) {
+                if (page < 0) {
+                        throw new IllegalArgumentException("Page must not be negative");
+                }
+                if (size < 1 || size > MAX_STATUS_PAGE_SIZE) {
+                        throw new IllegalArgumentException("Page size must be between 1 and " + MAX_STATUS_PAGE_SIZE);
+                }
+                int offset = Math.multiplyExact(page, size);
+                
+                if (!claimStatusIndex.isReady()) {
+                        List<Reclamo> matching = reclamoRepository.findByCurrentStatus(status).stream()
+                                        .filter(reclamo -> createdFrom == null
+                                                        || !reclamo.getFechaCreacion().toLocalDate().isBefore(createdFrom))
+                                        .filter(reclamo -> createdTo == null
+                                                        || !reclamo.getFechaCreacion().toLocalDate().isAfter(createdTo))
+                                        .collect(Collectors.toList());
+                        List<ClaimResponse> claims = matching.stream()
+                                        .skip(offset)
+                                        .limit(size)
+                                        .map(reclamo -> toClaimResponse(reclamo, status))
+                                        .collect(Collectors.toList());
+                        return new ClaimStatusPageResponse(status, matching.size(), page, size, claims);
+                }
+                
+                ClaimStatusIndex.IdPage ids = claimStatusIndex.page(status, createdFrom, createdTo, offset, size);
+                Map<Long, Reclamo> byId = reclamoRepository.findAllById(Arrays.stream(ids.ids()).boxed().toList()).stream()
+                                .collect(Collectors.toMap(Reclamo::getId, Function.identity()));
+                List<ClaimResponse> claims = Arrays.stream(ids.ids())
+                                .mapToObj(byId::get)
+                                .filter(Objects::nonNull)
+                                .map(reclamo -> toClaimResponse(reclamo, status))
+                                .collect(Collectors.toList());
+                return new ClaimStatusPageResponse(status, ids.total(), page, size, claims);
+        }
+
+        /**
+         * Cantidad de reclamos por estado actual, incluidos los estados sin reclamos.
+         */
+        @Transactional(readOnly = true)
+        public Map<EstadoReclamoEnum, Long> getClaimStatusCounts() {
+                if (claimStatusIndex.isReady()) {
+                        return claimStatusIndex.counts();
+                }
+                Map<EstadoReclamoEnum, Long> counts = new EnumMap<>(EstadoReclamoEnum.class);
+                for (EstadoReclamoEnum status : EstadoReclamoEnum.values()) {
+                        counts.put(status, 0L);
+                }
+                for (Object[] row : reclamoRepository.countByCurrentStatus()) {
+                        counts.put((EstadoReclamoEnum) row[0], (Long) row[1]);
+                }
+                return counts;
+        }
+
+        /**
+         * Versión del reclamo calculada con una consulta de agregados, sin cargar entidades.
+         * Incluye las vistas previas de los adjuntos, que el detalle también devuelve.
+         */
+        @Transactional(readOnly = true)
+        public ClaimVersion getClaimVersion(Long id) {
+                List<Object[]> rows = reclamoRepository.findVersionById(id);
+                if (rows.isEmpty()) {
+                        throw new ClaimNotFoundException(id);
+                }
+                Object[] row = rows.get(0);
+                return ClaimVersion.of(String.valueOf(id), (Long) row[3] + (Long) row[4],
+                                (LocalDateTime) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2],
+                                (LocalDateTime) row[5]);
+        }
+
+        /**
+         * Versión del listado de reclamos. Cambia al crear un reclamo o agregarle un estado.
+         */
+        public ClaimVersion getClaimsVersion() {
+                return claimListVersion.current();
+        }
+
         @Transactional(readOnly = true)
         public ClaimDetailResponse getClaimDetailsById(Long id) {
                 Reclamo reclamo = reclamoRepository.findById(id)
@@ -136,18 +288,20 @@ public class ClaimService {
                                 ))
                                 .collect(Collectors.toList());
                 
+                Map<Long, VistaPreviaAdjunto> previews = reclamo.getAdjuntos().isEmpty()
+                                ? Map.of()
+                                : vistaPreviaAdjuntoRepository.findAllById(reclamo.getAdjuntos().stream()
+                                                .map(AdjuntoReclamo::getId)
+                                                .collect(Collectors.toList()))
+                                                .stream()
+                                                .collect(Collectors.toMap(VistaPreviaAdjunto::getAdjuntoId, Function.identity()));
+                
                 List<ClaimDetailResponse.ClaimAttachment> attachments = reclamo.getAdjuntos().stream()
-                                .map(adjunto -> new ClaimDetailResponse.ClaimAttachment(
-                                                adjunto.getId(),
-                                                adjunto.getNombreArchivo(),
-                                                adjunto.getTipoContenido(),
-                                                adjunto.getTamanoBytes(),
-                                                adjunto.getFechaSubida()
-                                ))
+                                .map(adjunto -> toAttachment(reclamo.getId(), adjunto, previews.get(adjunto.getId())))
                                 .collect(Collectors.toList());
                 
                 EstadoReclamoEnum currentStatus = reclamo.getEstados().stream()
-                                .max((e1, e2) -> e1.getFechaCreacion().compareTo(e2.getFechaCreacion()))
+                                .max(HISTORY_ORDER)
                                 .map(EstadoReclamo::getEstado)
                                 .orElse(EstadoReclamoEnum.INGRESADO);
                 
@@ -176,7 +330,95 @@ public class ClaimService {
                                 .notas(request.notes())
                                 .build();
                 
-                estadoReclamoRepository.save(newStatus);
+                claimEventStore.append(newStatus);
+                
+                eventPublisher.publishEvent(new ClaimChangedEvent(
+                                reclamo.getId(),
+                                reclamo.getClienteId(),
+                                request.status(),
+                                newStatus.getFechaCreacion()
+                ));
+        }
+
+        /**
+         * Cambio de estado pendiente de un reclamo, para escribir varios en una transacción.
+         */
+        public record StatusChange(Long claimId, ClaimStatusRequest request) {}
+
+        /**
+         * Agrega, en una sola transacción y en orden, cada estado a su reclamo. Los cambios
+         * de reclamos que no existen se omiten; devuelve esos ids.
+         */
+        @Transactional
+        public Set<Long> addStatusesToClaims(List<StatusChange> changes) {
+                Map<Long, Reclamo> reclamos = new HashMap<>();
+                for (Reclamo reclamo : reclamoRepository.findAllById(
+                                changes.stream().map(StatusChange::claimId).distinct().toList())) {
+                        reclamos.put(reclamo.getId(), reclamo);
+                }
+
+                Set<Long> missing = new HashSet<>();
+                List<EstadoReclamo> statuses = new ArrayList<>(changes.size());
+                for (StatusChange change : changes) {
+                        Reclamo reclamo = reclamos.get(change.claimId());
+                        if (reclamo == null) {
+                                missing.add(change.claimId());
+                                continue;
+                        }
+                        statuses.add(EstadoReclamo.builder()
+                                        .reclamo(reclamo)
+                                        .asesor_email(change.request().asesor_email())
+                                        .estado(change.request().status())
+                                        .notas(change.request().notes())
+                                        .build());
+                }
+
+                for (EstadoReclamo status : claimEventStore.appendAll(statuses)) {
+                        eventPublisher.publishEvent(new ClaimChangedEvent(
+                                        status.getReclamo().getId(),
+                                        status.getReclamo().getClienteId(),
+                                        status.getEstado(),
+                                        status.getFechaCreacion()
+                        ));
+                }
+                return missing;
+        }
+
+        /**
+         * Pasa a ESCALADO, en una sola transacción, los reclamos cuyo último estado sigue siendo
+         * el esperado; los que cambiaron de estado mientras tanto se omiten. Devuelve los ids
+         * escalados.
+         */
+        @Transactional
+        public List<Long> escalateClaims(Map<Long, EstadoReclamoEnum> expectedStatuses, String reason) {
+                Map<Long, ClaimState> states = claimEventStore.loadAll(expectedStatuses.keySet());
+
+                List<EstadoReclamo> escalations = new ArrayList<>();
+                for (Reclamo reclamo : reclamoRepository.findAllById(expectedStatuses.keySet())) {
+                        EstadoReclamoEnum expected = expectedStatuses.get(reclamo.getId());
+                        ClaimState state = states.get(reclamo.getId());
+                        if (state == null || state.status() != expected) {
+                                continue;
+                        }
+                        escalations.add(EstadoReclamo.builder()
+                                        .reclamo(reclamo)
+                                        .estado(EstadoReclamoEnum.ESCALADO)
+                                        .notas(reason + " (" + expected.getDescripcion() + ")")
+                                        .build());
+                }
+
+                List<Long> escalated = new ArrayList<>(escalations.size());
+                for (EstadoReclamo status : claimEventStore.appendAll(escalations)) {
+                        Reclamo reclamo = status.getReclamo();
+                        eventPublisher.publishEvent(new ClaimChangedEvent(
+                                        reclamo.getId(),
+                                        reclamo.getClienteId(),
+                                        status.getEstado(),
+                                        status.getFechaCreacion()
+                        ));
+                        escalated.add(reclamo.getId());
+                }
+                return escalated;
         }
 
         @Transactional
@@ -189,7 +431,14 @@ public class ClaimService {
                 }
                 
                 String fileName = file.getOriginalFilename();
-                String filePath = "/uploads/" + claimId + "/" + fileName;
+                String filePath = AttachmentStorage.newUrl(claimId, fileName);
+                
+                try (InputStream content = file.getInputStream()) {
+                        attachmentStorage.store(filePath, content);
+                } catch (IOException e) {
+                        throw new UncheckedIOException("Error reading uploaded file: " + e.getMessage(), e);
+                }
+                attachmentStorage.deleteOnRollback(filePath);
                 
                 AdjuntoReclamo attachment = AdjuntoReclamo.builder()
                                 .reclamo(reclamo)
@@ -200,70 +449,165 @@ public class ClaimService {
                                 .build();
                 
                 adjuntoReclamoRepository.save(attachment);
+                
+                eventPublisher.publishEvent(new AttachmentAddedEvent(
+                                attachment.getId(),
+                                claimId,
+                                filePath,
+                                file.getContentType()
+                ));
         }
 
         @Transactional(readOnly = true)
         public PdfExportResponse exportClaimsToPdf() {
                 try {
-                        List<Reclamo> reclamos = reclamoRepository.findAllWithLastStatus();
-                        
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                        PdfWriter writer = new PdfWriter(baos);
-                        PdfDocument pdfDoc = new PdfDocument(writer);
-                        Document document = new Document(pdfDoc);
-                        
-                        document.add(new Paragraph("Reporte de Reclamos")
-                                        .setFontSize(18)
-                                        .setTextAlignment(TextAlignment.CENTER));
-                        
-                        document.add(new Paragraph("Generado el: " + 
-                                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")))
-                                        .setTextAlignment(TextAlignment.CENTER));
-                        
-                        document.add(new Paragraph(" "));
-                        
-                        // Define column widths: ID(1), Código(2), Título(3), Cliente ID(1.5), Estado(2), Fecha(2.5)
-                        float[] columnWidths = {1f, 2f, 3f, 1.5f, 2f, 2.5f};
-                        Table table = new Table(columnWidths);
-                        table.setWidth(UnitValue.createPercentValue(100));
-                        
-                        table.addHeaderCell(new Cell().add(new Paragraph("ID")).setTextAlignment(TextAlignment.CENTER));
-                        table.addHeaderCell(new Cell().add(new Paragraph("Código")).setTextAlignment(TextAlignment.CENTER));
-                        table.addHeaderCell(new Cell().add(new Paragraph("Título")).setTextAlignment(TextAlignment.CENTER));
-                        table.addHeaderCell(new Cell().add(new Paragraph("Cliente ID")).setTextAlignment(TextAlignment.CENTER));
-                        table.addHeaderCell(new Cell().add(new Paragraph("Estado")).setTextAlignment(TextAlignment.CENTER));
-                        table.addHeaderCell(new Cell().add(new Paragraph("Fecha Creación")).setTextAlignment(TextAlignment.CENTER));
-                        
-                        for (Reclamo reclamo : reclamos) {
-                                EstadoReclamoEnum currentStatus = reclamo.getEstados().stream()
-                                                .max((e1, e2) -> e1.getFechaCreacion().compareTo(e2.getFechaCreacion()))
-                                                .map(EstadoReclamo::getEstado)
-                                                .orElse(EstadoReclamoEnum.INGRESADO);
-                                
-                                table.addCell(new Cell().add(new Paragraph(String.valueOf(reclamo.getId()))));
-                                table.addCell(new Cell().add(new Paragraph(reclamo.getCodigo() != null ? reclamo.getCodigo() : "")));
-                                table.addCell(new Cell().add(new Paragraph(reclamo.getTitulo() != null ? reclamo.getTitulo() : "Sin título")));
-                                table.addCell(new Cell().add(new Paragraph(String.valueOf(reclamo.getClienteId()))));
-                                table.addCell(new Cell().add(new Paragraph(currentStatus.toString())));
-                                table.addCell(new Cell().add(new Paragraph(reclamo.getFechaCreacion()
-                                                .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))));
+                        if (claimSummaryStore.isReady()) {
+                                List<ClaimPdfRenderer.ClaimRow> rows = claimSummaryStore.scan(summary -> new ClaimPdfRenderer.ClaimRow(
+                                                summary.id(),
+                                                summary.code(),
+                                                summary.title(),
+                                                summary.customerId(),
+                                                summary.status(),
+                                                summary.createdAt()
+                                ));
+                                rows.sort(Comparator.comparing(ClaimPdfRenderer.ClaimRow::fechaCreacion, Comparator.reverseOrder()));
+                                return toPdfExport(rows);
                         }
                         
-                        document.add(table);
-                        
-                        document.add(new Paragraph(" "));
-                        document.add(new Paragraph("Total de reclamos: " + reclamos.size())
-                                        .setTextAlignment(TextAlignment.RIGHT));
-                        
-                        document.close();
+                        List<Reclamo> reclamos = reclamoRepository.findAllWithLastStatus();
                         
-                        String base64Content = Base64.getEncoder().encodeToString(baos.toByteArray());
-                        String filename = "reclamos_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
+                        List<ClaimPdfRenderer.ClaimRow> rows = reclamos.stream()
+                                        .map(reclamo -> new ClaimPdfRenderer.ClaimRow(
+                                                        reclamo.getId(),
+                                                        reclamo.getCodigo(),
+                                                        reclamo.getTitulo(),
+                                                        reclamo.getClienteId(),
+                                                        reclamo.getEstados().stream()
+                                                                        .max(HISTORY_ORDER)
+                                                                        .map(EstadoReclamo::getEstado)
+                                                                        .orElse(EstadoReclamoEnum.INGRESADO),
+                                                        reclamo.getFechaCreacion()
+                                        ))
+                                        .collect(Collectors.toList());
                         
-                        return new PdfExportResponse(base64Content, filename, reclamos.size());
+                        return toPdfExport(rows);
                         
                 } catch (Exception e) {
                         throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
                 }
         }
+        
+        private PdfExportResponse toPdfExport(List<ClaimPdfRenderer.ClaimRow> rows) {
+                byte[] pdf = claimPdfRenderer.render(rows);
+                
+                String base64Content = Base64.getEncoder().encodeToString(pdf);
+                String filename = "reclamos_" + LocalDateTime.now().format(ClaimReportTemplate.FILENAME_FORMAT) + ".pdf";
+                
+                return new PdfExportResponse(base64Content, filename, rows.size());
+        }
+
+        /**
+         * Reclamos del estado indicado según el índice, cargados por lotes de ids y en el
+         * orden de {@link ReclamoRepository#findWithFilters}.
+         */
+        private List<Reclamo> findClaimsInStatus(EstadoReclamoEnum status) {
+                ClaimStatusIndex.IdPage ids = claimStatusIndex.page(status, null, null, 0, Integer.MAX_VALUE);
+                List<Reclamo> reclamos = new ArrayList<>(ids.ids().length);
+                for (int from = 0; from < ids.ids().length; from += STATUS_HYDRATION_BATCH_SIZE) {
+                        List<Long> batch = Arrays.stream(ids.ids(), from, Math.min(from + STATUS_HYDRATION_BATCH_SIZE, ids.ids().length))
+                                        .boxed()
+                                        .toList();
+                        // The index already filtered by status and callers take it from there, not the history
+                        reclamos.addAll(reclamoRepository.findAllById(batch));
+                }
+                reclamos.sort(Comparator.comparing(Reclamo::getFechaCreacion, Comparator.reverseOrder()));
+                return reclamos;
+        }
+        
+        private static ClaimResponse toClaimResponse(Reclamo reclamo, EstadoReclamoEnum currentStatus) {
+                return new ClaimResponse(
+                                reclamo.getId(),
+                                reclamo.getTitulo(),
+                                reclamo.getDescripcion(),
+                                reclamo.getClienteId(),
+                                currentStatus,
+                                reclamo.getFechaCreacion(),
+                                reclamo.getFechaActualizacion()
+                );
+        }
+
+        /**
+         * Une los reclamos que coinciden por título, descripción o código con los que solo
+         * coinciden por el texto de sus adjuntos, y los ordena por relevancia: primero las
+         * coincidencias en los campos del reclamo y después la frecuencia en los adjuntos.
+         * Los campos se comparan con los mismos términos normalizados que el índice de
+         * adjuntos, así que tildes y mayúsculas puntúan igual en ambos.
+         */
+        private List<Reclamo> rankSearchResults(List<Reclamo> fieldMatches, Map<Long, Long> attachmentScores,
+                                                EstadoReclamoEnum status, String searchText) {
+                Set<Long> found = fieldMatches.stream().map(Reclamo::getId).collect(Collectors.toSet());
+                List<Long> attachmentOnly = attachmentScores.keySet().stream()
+                                .filter(id -> !found.contains(id))
+                                .collect(Collectors.toList());
+                
+                List<Reclamo> ranked = new ArrayList<>(fieldMatches);
+                if (!attachmentOnly.isEmpty()) {
+                        ranked.addAll(reclamoRepository.findWithStatusByIds(status, attachmentOnly));
+                }
+                
+                Set<String> terms = SearchTokenizer.terms(searchText);
+                ranked.sort(Comparator.comparingLong((Reclamo reclamo) ->
+                                                searchScore(reclamo, terms, found.contains(reclamo.getId()), attachmentScores))
+                                .reversed()
+                                .thenComparing(Reclamo::getFechaCreacion, Comparator.reverseOrder()));
+                return ranked;
+        }
+        
+        private static long searchScore(Reclamo reclamo, Set<String> terms, boolean fieldMatch,
+                                        Map<Long, Long> attachmentScores) {
+                long fieldScore = 0;
+                if (containsTerms(reclamo.getTitulo(), terms) || containsTerms(reclamo.getCodigo(), terms)) {
+                        fieldScore += 3;
+                }
+                if (containsTerms(reclamo.getDescripcion(), terms)) {
+                        fieldScore += 1;
+                }
+                // A substring-only hit from the SQL filter still counts as a field match
+                if (fieldScore == 0 && fieldMatch) {
+                        fieldScore = 1;
+                }
+                // Field hits always outrank attachment hits; attachment frequency breaks ties
+                return fieldScore * 1000 + Math.min(999, attachmentScores.getOrDefault(reclamo.getId(), 0L));
+        }
+        
+        private static boolean containsTerms(String value, Set<String> terms) {
+                return value != null && SearchTokenizer.terms(value).containsAll(terms);
+        }
+        
+        private static ClaimDetailResponse.ClaimAttachment toAttachment(Long claimId, AdjuntoReclamo adjunto,
+                                                                        VistaPreviaAdjunto preview) {
+                if (preview == null) {
+                        return new ClaimDetailResponse.ClaimAttachment(
+                                        adjunto.getId(),
+                                        adjunto.getNombreArchivo(),
+                                        adjunto.getTipoContenido(),
+                                        adjunto.getTamanoBytes(),
+                                        adjunto.getFechaSubida()
+                        );
+                }
+                String previewUrl = preview.getEstado() == PreviewStatus.READY
+                                ? "/api/claims/" + claimId + "/attachments/" + adjunto.getId() + "/preview"
+                                : null;
+                return new ClaimDetailResponse.ClaimAttachment(
+                                adjunto.getId(),
+                                adjunto.getNombreArchivo(),
+                                adjunto.getTipoContenido(),
+                                adjunto.getTamanoBytes(),
+                                adjunto.getFechaSubida(),
+                                preview.getEstado(),
+                                previewUrl,
+                                preview.getTamanoVistaPrevia(),
+                                preview.getNumeroPaginas()
+                );
+        }
 }
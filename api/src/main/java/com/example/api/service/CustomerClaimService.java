@@ -0,0 +1,118 @@
+package com.example.api.service;
+
+import com.example.api.cache.CustomerClaimCache;
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.CustomerClaimsResponse;
+import com.example.api.entity.Reclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.repository.ReclamoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Historial de reclamos por cliente con paginación por cursor (keyset).
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerClaimService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ReclamoRepository reclamoRepository;
+    private final CustomerClaimCache customerClaimCache;
+
+    @Transactional(readOnly = true)
+    public CustomerClaimsResponse getCustomerClaims(Long customerId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        boolean cacheable = cursor == null && size == DEFAULT_PAGE_SIZE;
+        if (cacheable) {
+            CustomerClaimsResponse cached = customerClaimCache.get(customerId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long stamp = customerClaimCache.stamp();
+
+        // Se pide una fila extra para saber si hay página siguiente sin contar
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<Reclamo> reclamos;
+        if (cursor == null) {
+            reclamos = reclamoRepository.findByClienteIdNewestFirst(customerId, limit);
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            reclamos = reclamoRepository.findByClienteIdBefore(customerId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = reclamos.size() > size;
+        List<Reclamo> page = hasMore ? reclamos.subList(0, size) : reclamos;
+
+        Map<Long, EstadoReclamoEnum> lastStatuses = new HashMap<>();
+        if (!page.isEmpty()) {
+            List<Long> ids = page.stream().map(Reclamo::getId).collect(Collectors.toList());
+            for (Object[] row : reclamoRepository.findLastStatusByReclamoIds(ids)) {
+                lastStatuses.putIfAbsent((Long) row[0], (EstadoReclamoEnum) row[1]);
+            }
+        }
+
+        List<ClaimResponse> claims = page.stream()
+                .map(reclamo -> new ClaimResponse(
+                        reclamo.getId(),
+                        reclamo.getTitulo(),
+                        reclamo.getDescripcion(),
+                        reclamo.getClienteId(),
+                        lastStatuses.getOrDefault(reclamo.getId(), EstadoReclamoEnum.INGRESADO),
+                        reclamo.getFechaCreacion(),
+                        reclamo.getFechaActualizacion()
+                ))
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            Reclamo last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.getFechaCreacion(), last.getId()).encode();
+        }
+
+        CustomerClaimsResponse response = new CustomerClaimsResponse(customerId, claims, nextCursor);
+        if (cacheable) {
+            customerClaimCache.put(customerId, response, stamp);
+        }
+        return response;
+    }
+
+    /**
+     * Posición (fechaCreacion, id) del último reclamo entregado, codificada en base64url.
+     */
+    record Cursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+        }
+    }
+}
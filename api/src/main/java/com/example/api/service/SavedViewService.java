@@ -0,0 +1,141 @@
+package com.example.api.service;
+
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.CreateSavedViewRequest;
+import com.example.api.dto.SavedViewPageResponse;
+import com.example.api.dto.SavedViewResponse;
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.VistaGuardada;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.SavedViewCreatedEvent;
+import com.example.api.event.SavedViewDeletedEvent;
+import com.example.api.eventstore.ClaimEventStore;
+import com.example.api.eventstore.ClaimState;
+import com.example.api.exception.SavedViewNotFoundException;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.VistaGuardadaRepository;
+import com.example.api.search.ClaimStatusIndex;
+import com.example.api.search.SavedViewIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Vistas guardadas: combinaciones de estado y texto del listado de reclamos con nombre.
+ * Los ids que cumplen cada vista los mantiene {@link SavedViewIndex}, así que paginar una
+ * vista solo consulta los reclamos de la página. El índice se entera de las vistas creadas
+ * y borradas por eventos que escucha después del commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class SavedViewService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final VistaGuardadaRepository vistaGuardadaRepository;
+    private final ReclamoRepository reclamoRepository;
+    private final ClaimEventStore claimEventStore;
+    private final SavedViewIndex savedViewIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public SavedViewResponse createView(CreateSavedViewRequest request) {
+        String search = request.search() != null && !request.search().isBlank() ? request.search().trim() : null;
+        if (request.status() == null && search == null) {
+            throw new IllegalArgumentException("A saved view needs a status, a search text or both");
+        }
+        VistaGuardada vista = vistaGuardadaRepository.save(VistaGuardada.builder()
+                .nombre(request.name().trim())
+                .estado(request.status())
+                .texto(search)
+                .build());
+        eventPublisher.publishEvent(new SavedViewCreatedEvent(vista));
+        return toResponse(vista);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedViewResponse> getViews() {
+        return vistaGuardadaRepository.findAllByOrderByIdAsc().stream()
+                .map(SavedViewService::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void deleteView(Long id) {
+        if (!vistaGuardadaRepository.existsById(id)) {
+            throw new SavedViewNotFoundException(id);
+        }
+        vistaGuardadaRepository.deleteById(id);
+        eventPublisher.publishEvent(new SavedViewDeletedEvent(id));
+    }
+
+    /**
+     * Página de los reclamos que cumplen la vista, de mayor a menor id. Si la vista aún no
+     * está calculada se usa la consulta del listado.
+     */
+    @Transactional(readOnly = true)
+    public SavedViewPageResponse getViewClaims(Long id, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        VistaGuardada vista = vistaGuardadaRepository.findById(id)
+                .orElseThrow(() -> new SavedViewNotFoundException(id));
+        int offset = Math.multiplyExact(page, size);
+
+        ClaimStatusIndex.IdPage ids = savedViewIndex.page(vista, offset, size);
+        List<Reclamo> reclamos;
+        long total;
+        if (ids != null) {
+            Map<Long, Reclamo> byId = reclamoRepository.findAllById(Arrays.stream(ids.ids()).boxed().toList()).stream()
+                    .collect(Collectors.toMap(Reclamo::getId, Function.identity()));
+            reclamos = Arrays.stream(ids.ids())
+                    .mapToObj(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            total = ids.total();
+        } else {
+            List<Reclamo> matching = reclamoRepository.findWithFilters(vista.getEstado(), vista.getTexto()).stream()
+                    .sorted(Comparator.comparing(Reclamo::getId, Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+            reclamos = matching.stream().skip(offset).limit(size).collect(Collectors.toList());
+            total = matching.size();
+        }
+
+        // Only views without a status filter need each claim's current status
+        Map<Long, ClaimState> states = vista.getEstado() != null ? Map.of()
+                : claimEventStore.loadAll(reclamos.stream().map(Reclamo::getId).collect(Collectors.toList()));
+        List<ClaimResponse> claims = reclamos.stream()
+                .map(reclamo -> {
+                    ClaimState state = states.get(reclamo.getId());
+                    EstadoReclamoEnum currentStatus = vista.getEstado() != null ? vista.getEstado()
+                            : state != null && state.status() != null ? state.status() : EstadoReclamoEnum.INGRESADO;
+                    return new ClaimResponse(
+                            reclamo.getId(),
+                            reclamo.getTitulo(),
+                            reclamo.getDescripcion(),
+                            reclamo.getClienteId(),
+                            currentStatus,
+                            reclamo.getFechaCreacion(),
+                            reclamo.getFechaActualizacion());
+                })
+                .collect(Collectors.toList());
+        return new SavedViewPageResponse(toResponse(vista), total, page, size, claims);
+    }
+
+    private static SavedViewResponse toResponse(VistaGuardada vista) {
+        return new SavedViewResponse(vista.getId(), vista.getNombre(), vista.getEstado(), vista.getTexto(),
+                vista.getFechaCreacion());
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.api.service;
+
+import com.example.api.datasource.ReadConsistency;
+import com.example.api.dto.ClaimStatusRequest;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.StatusWriteTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Escritura agrupada (group commit) de cambios de estado. Los requests encolan su cambio en
+ * una cola acotada y un único hilo los escribe en lotes de hasta
+ * {@code app.status-group-commit.max-batch} cambios, esperando como máximo
+ * {@code max-delay} a que el lote se llene, con un solo commit por lote. Cada request
+ * responde cuando su lote confirmó, así que la durabilidad es la misma que escribiendo
+ * de a uno.
+ *
+ * <p>Si un lote falla, sus cambios se reintentan de a uno para que el error llegue solo al
+ * request que lo causó. Con la cola llena o el escritor detenido el cambio se rechaza
+ * ({@link RejectedExecutionException}, 503); un request espera su lote como máximo
+ * {@code write-timeout}.
+ */
+@Slf4j
+@Component
+public class StatusGroupCommitter {
+
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Cambio encolado y el aviso al request: el instante del commit o el error.
+     */
+    record Pending(ClaimService.StatusChange change, CompletableFuture<Long> committed) {}
+
+    private final ClaimService claimService;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final Duration writeTimeout;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean stopped;
+
+    @Autowired
+    public StatusGroupCommitter(ClaimService claimService,
+                                @Value("${app.status-group-commit.enabled:false}") boolean enabled,
+                                @Value("${app.status-group-commit.max-batch:200}") int maxBatch,
+                                @Value("${app.status-group-commit.max-delay:2ms}") Duration maxDelay,
+                                @Value("${app.status-group-commit.queue-capacity:5000}") int queueCapacity,
+                                @Value("${app.status-group-commit.write-timeout:10s}") Duration writeTimeout) {
+        this.claimService = claimService;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.writeTimeout = writeTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = enabled ? Thread.ofPlatform().name("status-group-commit").daemon().start(this::drain) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola el cambio. El future se completa con el instante del commit de su lote, o con
+     * el error si el cambio no se escribió.
+     */
+    public CompletableFuture<Long> submit(Long claimId, ClaimStatusRequest request) {
+        return enqueue(claimId, request).committed();
+    }
+
+    private Pending enqueue(Long claimId, ClaimStatusRequest request) {
+        Pending pending = new Pending(new ClaimService.StatusChange(claimId, request), new CompletableFuture<>());
+        if (stopped || writer == null || !writer.isAlive()) {
+            pending.committed().completeExceptionally(new RejectedExecutionException("Status writer is not running"));
+            return pending;
+        }
+        try {
+            if (!queue.offer(pending, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                pending.committed().completeExceptionally(
+                        new RejectedExecutionException("Status write queue is full"));
+            } else if (stopped && queue.remove(pending)) {
+                // The writer stopped after the check and its final drain may have missed this change
+                pending.committed().completeExceptionally(new RejectedExecutionException("Status writer stopped"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.committed().completeExceptionally(e);
+        }
+        return pending;
+    }
+
+    /**
+     * Escribe el cambio en el próximo lote y espera su commit, con los mismos errores que
+     * {@link ClaimService#addStatusToClaim}.
+     */
+    public void write(Long claimId, ClaimStatusRequest request) {
+        Pending pending = enqueue(claimId, request);
+        try {
+            pending.committed().get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued means it was never written; otherwise its batch is being committed
+            if (queue.remove(pending)) {
+                throw new RejectedExecutionException("Status write queue did not drain in time");
+            }
+            throw new StatusWriteTimeoutException(claimId, writeTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StatusWriteTimeoutException(claimId, writeTimeout);
+        }
+        // The commit happened on the writer thread; hand the consistency token to this request
+        ReadConsistency.writeCommitted();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopped = true;
+            queue.drainTo(batch);
+            for (Pending pending : batch) {
+                pending.committed().completeExceptionally(new RejectedExecutionException("Status writer stopped"));
+            }
+        }
+    }
+
+    void flush(List<Pending> batch) {
+        Set<Long> missing;
+        try {
+            missing = claimService.addStatusesToClaims(batch.stream().map(Pending::change).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).committed().completeExceptionally(e);
+                return;
+            }
+            log.warn("Status batch of {} changes failed, retrying them one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                flush(List.of(pending));
+            }
+            return;
+        }
+
+        long committedAt = System.currentTimeMillis();
+        for (Pending pending : batch) {
+            Long claimId = pending.change().claimId();
+            if (missing.contains(claimId)) {
+                pending.committed().completeExceptionally(new ClaimNotFoundException(claimId));
+            } else {
+                pending.committed().complete(committedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.api.sla;
+
+import com.example.api.entity.TareaProgramada;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.TareaProgramadaRepository;
+import com.example.api.service.ClaimService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Plazos de atención por estado ({@code app.sla.deadlines.<ESTADO>}). Cada reclamo en un
+ * estado con plazo tiene un temporizador en una {@link TimerWheel}; al arrancar se
+ * reconstruye desde el último estado de cada reclamo y después se actualiza con cada
+ * cambio de estado confirmado. En cada tick solo se revisan los temporizadores que vencen
+ * y esos reclamos se pasan a ESCALADO en lotes.
+ *
+ * <p>Con varias instancias todas mantienen la rueda (los cambios de otros nodos llegan por
+ * el bus de invalidación), pero solo escala la que tiene el préstamo de la tarea en
+ * {@code tareas_programadas}. Lo renueva en cada tick; si el nodo cae, otro lo toma cuando
+ * vence y escala lo que quedó pendiente.
+ *
+ * <p>Está apagado por defecto ({@code app.sla.enabled}): al encenderlo, el primer tick
+ * escala todos los reclamos que ya superaron su plazo.
+ */
+@Slf4j
+@Component
+public class SlaEngine {
+
+    static final String ESCALATION_REASON = "Escalado automáticamente por vencimiento de SLA";
+    static final String LEASE_NAME = "sla-escalation";
+    // Ticks the lease outlives its last renewal, so a slow tick does not hand it over
+    private static final int LEASE_TICKS = 3;
+
+    /**
+     * Estado que se está cronometrando y desde cuándo.
+     */
+    record Tracked(EstadoReclamoEnum status, LocalDateTime since) {}
+
+    private final ReclamoRepository reclamoRepository;
+    private final ClaimService claimService;
+    private final TareaProgramadaRepository tareaProgramadaRepository;
+    private final TransactionTemplate writes;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<EstadoReclamoEnum, Duration> deadlines;
+    private final long tickMillis;
+    private final int batchSize;
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final TimerWheel<Tracked> wheel;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public SlaEngine(ReclamoRepository reclamoRepository,
+                     ClaimService claimService,
+                     TareaProgramadaRepository tareaProgramadaRepository,
+                     PlatformTransactionManager transactionManager,
+                     Environment environment,
+                     @Value("${app.sla.tick:1m}") Duration tick,
+                     @Value("${app.sla.escalation-batch-size:200}") int batchSize,
+                     @Value("${app.sla.enabled:false}") boolean enabled) {
+        this(reclamoRepository, claimService, tareaProgramadaRepository, transactionManager, deadlines(environment),
+                tick, batchSize, enabled, System::currentTimeMillis);
+    }
+
+    SlaEngine(ReclamoRepository reclamoRepository, ClaimService claimService,
+              TareaProgramadaRepository tareaProgramadaRepository, PlatformTransactionManager transactionManager,
+              Map<EstadoReclamoEnum, Duration> deadlines, Duration tick, int batchSize, boolean enabled,
+              LongSupplier clock) {
+        this.reclamoRepository = reclamoRepository;
+        this.claimService = claimService;
+        this.tareaProgramadaRepository = tareaProgramadaRepository;
+        this.writes = new TransactionTemplate(transactionManager);
+        this.writes.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.deadlines = deadlines;
+        this.tickMillis = tick.toMillis();
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(clock.getAsLong() / tickMillis);
+    }
+
+    private static Map<EstadoReclamoEnum, Duration> deadlines(Environment environment) {
+        return new EnumMap<>(Binder.get(environment)
+                .bind("app.sla.deadlines", Bindable.mapOf(EstadoReclamoEnum.class, Duration.class))
+                .orElseGet(Map::of));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void start() {
+        if (!enabled || deadlines.isEmpty()) {
+            return;
+        }
+        createLease();
+        rebuild();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().name("sla-wheel").daemon().unstarted(runnable));
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    void rebuild() {
+        int tracked = 0;
+        try (Stream<Object[]> rows = reclamoRepository.streamCurrentStatuses(deadlines.keySet())) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                track((Long) row[0], (EstadoReclamoEnum) row[1], (LocalDateTime) row[2]);
+                tracked++;
+            }
+        }
+        log.info("SLA wheel rebuilt with {} claims", tracked);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimChanged(ClaimChangedEvent event) {
+        track(event.claimId(), event.status(), event.changedAt());
+    }
+
+    @EventListener
+    public void onClaimInvalidated(ClaimInvalidatedEvent event) {
+        onClaimChanged(event.change());
+    }
+
+    /**
+     * Programa el plazo del estado actual, o quita el temporizador si el estado no tiene
+     * plazo. Un cambio más antiguo que el ya registrado se ignora.
+     */
+    synchronized void track(Long claimId, EstadoReclamoEnum status, LocalDateTime since) {
+        Tracked current = wheel.get(claimId);
+        if (current != null && since != null && current.since().isAfter(since)) {
+            return;
+        }
+        Duration deadline = deadlines.get(status);
+        if (deadline == null || since == null) {
+            wheel.cancel(claimId);
+            return;
+        }
+        long dueAt = since.atZone(ZoneId.systemDefault()).toInstant().plus(deadline).toEpochMilli();
+        wheel.schedule(claimId, ceilDiv(dueAt, tickMillis), new Tracked(status, since));
+    }
+
+    synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Crea la fila del préstamo si ningún nodo la creó todavía.
+     */
+    private void createLease() {
+        try {
+            writes.executeWithoutResult(status -> {
+                if (!tareaProgramadaRepository.existsById(LEASE_NAME)) {
+                    tareaProgramadaRepository.save(TareaProgramada.builder().nombre(LEASE_NAME).build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("SLA lease row created by another node");
+        }
+    }
+
+    /**
+     * Toma o renueva el préstamo de la escalada. Sin préstamo el tick no avanza la rueda, así
+     * que los temporizadores vencidos siguen ahí si este nodo lo toma más adelante.
+     */
+    boolean holdsLease() {
+        long now = clock.getAsLong();
+        try {
+            Integer taken = writes.execute(status -> tareaProgramadaRepository.takeLease(
+                    LEASE_NAME, nodeId, toLocalDateTime(now + LEASE_TICKS * tickMillis), toLocalDateTime(now)));
+            return taken != null && taken == 1;
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the SLA escalation lease, skipping this tick", e);
+            return false;
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta el tick actual y escala los reclamos vencidos. Si un lote falla,
+     * sus temporizadores se reprograman para el siguiente tick.
+     */
+    void tick() {
+        if (!holdsLease()) {
+            return;
+        }
+        List<TimerWheel.Timer<Tracked>> expired;
+        long now;
+        synchronized (this) {
+            now = clock.getAsLong() / tickMillis;
+            expired = wheel.advance(now);
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<TimerWheel.Timer<Tracked>> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            Map<Long, EstadoReclamoEnum> expected = new LinkedHashMap<>();
+            for (TimerWheel.Timer<Tracked> timer : batch) {
+                expected.put(timer.key(), timer.payload().status());
+            }
+            try {
+                List<Long> escalated = claimService.escalateClaims(expected, ESCALATION_REASON);
+                log.info("Escalated {} of {} claims past their SLA", escalated.size(), batch.size());
+            } catch (RuntimeException e) {
+                log.error("SLA escalation of {} claims failed, retrying next tick", batch.size(), e);
+                synchronized (this) {
+                    for (TimerWheel.Timer<Tracked> timer : batch) {
+                        if (wheel.get(timer.key()) == null) {
+                            wheel.schedule(timer.key(), now + 1, timer.payload());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return Math.floorDiv(value + divisor - 1, divisor);
+    }
+}
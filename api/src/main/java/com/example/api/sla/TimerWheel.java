@@ -0,0 +1,188 @@
+package com.example.api.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de temporizadores jerárquica: {@value #LEVELS} niveles de {@value #SLOTS} ranuras,
+ * cada nivel con ranuras {@value #SLOTS} veces más anchas que el anterior. Programar y
+ * cancelar es O(1); avanzar un tick recorre solo la ranura que vence y, al completar una
+ * vuelta, redistribuye una ranura del nivel superior.
+ *
+ * <p>El tiempo se mide en ticks enteros. Los plazos más allá del alcance de la rueda se
+ * guardan en la última ranura del nivel superior y se recolocan al llegar a ella. No es
+ * segura para hilos.
+ *
+ * @param <T> dato asociado a cada temporizador
+ */
+public class TimerWheel<T> {
+
+    static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    static final int LEVELS = 4;
+    private static final int MASK = SLOTS - 1;
+
+    public record Timer<T>(long key, long deadline, T payload) {}
+
+    private static final class Node<T> {
+        final long key;
+        final long deadline;
+        final T payload;
+        Node<T> prev;
+        Node<T> next;
+
+        Node(long key, long deadline, T payload) {
+            this.key = key;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+
+    private final Node<T>[][] slots;
+    private final Map<Long, Node<T>> timers = new HashMap<>();
+    private final List<Node<T>> due = new ArrayList<>();
+    private long now;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTick) {
+        this.now = startTick;
+        this.slots = new Node[LEVELS][SLOTS];
+        for (Node<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                Node<T> sentinel = new Node<>(0, 0, null);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    public long now() {
+        return now;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public T get(long key) {
+        Node<T> node = timers.get(key);
+        return node != null ? node.payload : null;
+    }
+
+    /**
+     * Programa (o reprograma) el temporizador de {@code key}. Un plazo ya cumplido vence en
+     * el próximo {@link #advance}.
+     */
+    public void schedule(long key, long deadline, T payload) {
+        cancel(key);
+        Node<T> node = new Node<>(key, deadline, payload);
+        timers.put(key, node);
+        place(node);
+    }
+
+    public boolean cancel(long key) {
+        Node<T> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        if (node.prev != null) {
+            unlink(node);
+        } else {
+            due.remove(node);
+        }
+        return true;
+    }
+
+    /**
+     * Avanza hasta {@code tick} y devuelve los temporizadores vencidos, que dejan de estar
+     * programados.
+     */
+    public List<Timer<T>> advance(long tick) {
+        List<Timer<T>> expired = new ArrayList<>();
+        drainDue(expired);
+        while (now < tick) {
+            now++;
+            int highest = 0;
+            while (highest < LEVELS - 1 && ((now >>> (BITS * (highest + 1))) << (BITS * (highest + 1))) == now) {
+                highest++;
+            }
+            // Higher levels first, so their timers can fall into the lower slot being emptied
+            for (int level = highest; level >= 1; level--) {
+                cascade(level, (int) ((now >>> (BITS * level)) & MASK));
+            }
+            Node<T> sentinel = slots[0][(int) (now & MASK)];
+            for (Node<T> node = sentinel.next; node != sentinel; ) {
+                Node<T> next = node.next;
+                unlink(node);
+                expire(node, expired);
+                node = next;
+            }
+            drainDue(expired);
+        }
+        return expired;
+    }
+
+    private void place(Node<T> node) {
+        long delta = node.deadline - now;
+        if (delta <= 0) {
+            due.add(node);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (BITS * (level + 1))) {
+                link(slots[level][(int) ((node.deadline >>> (BITS * level)) & MASK)], node);
+                return;
+            }
+        }
+        // Beyond the wheel's span: park in the top-level slot reached last and re-place it then
+        int top = LEVELS - 1;
+        link(slots[top][(int) (((now >>> (BITS * top)) + MASK) & MASK)], node);
+    }
+
+    private void cascade(int level, int slot) {
+        Node<T> sentinel = slots[level][slot];
+        Node<T> node = sentinel.next;
+        sentinel.next = sentinel;
+        sentinel.prev = sentinel;
+        while (node != sentinel) {
+            Node<T> next = node.next;
+            node.prev = null;
+            node.next = null;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void drainDue(List<Timer<T>> expired) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Node<T>> nodes = new ArrayList<>(due);
+        due.clear();
+        for (Node<T> node : nodes) {
+            expire(node, expired);
+        }
+    }
+
+    private void expire(Node<T> node, List<Timer<T>> expired) {
+        timers.remove(node.key);
+        expired.add(new Timer<>(node.key, node.deadline, node.payload));
+    }
+
+    private static <T> void link(Node<T> sentinel, Node<T> node) {
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private static <T> void unlink(Node<T> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+}
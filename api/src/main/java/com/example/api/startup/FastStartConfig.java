@@ -0,0 +1,51 @@
+package com.example.api.startup;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * Perfil {@code faststart}: la documentación OpenAPI y Swagger UI no se necesitan para
+ * atender tráfico, así que sus beans se crean con el primer acceso en lugar de al arrancar.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    static final String[] LAZY_PACKAGES = {"org.springdoc.", "io.swagger."};
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyDocumentationBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isDocumentationBean(definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    static boolean isDocumentationBean(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                className = factoryMethod.getDeclaringClassName();
+            }
+        }
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : LAZY_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
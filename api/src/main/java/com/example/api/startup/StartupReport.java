@@ -0,0 +1,125 @@
+package com.example.api.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Informe de arranque: al quedar lista la aplicación registra los beans que más tardaron
+ * en crearse (tiempo propio, sin contar sus dependencias) y, con el primer request atendido,
+ * el tiempo desde el inicio de la JVM comparado con {@code app.startup.first-request-baseline}.
+ *
+ * <p>Necesita que la aplicación arranque con un {@link BufferingApplicationStartup}; la
+ * línea de tiempo se vacía después del informe.
+ */
+@Slf4j
+@Component
+public class StartupReport {
+
+    public static final int TIMELINE_CAPACITY = 4096;
+
+    static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    public record BeanTiming(String beanName, long selfMillis, long totalMillis) {}
+
+    private final int slowestBeans;
+    private final Duration firstRequestBaseline;
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    public StartupReport(@Value("${app.startup.slowest-beans:15}") int slowestBeans,
+                         @Value("${app.startup.first-request-baseline:}") Duration firstRequestBaseline) {
+        this.slowestBeans = slowestBeans;
+        this.firstRequestBaseline = firstRequestBaseline;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<BeanTiming> timings = slowestBeans(startup.drainBufferedTimeline(), slowestBeans);
+        log.info("Application ready in {} ms (JVM uptime {} ms). Slowest beans (self/total ms): {}",
+                event.getTimeTaken().toMillis(), uptimeMillis(),
+                timings.stream()
+                        .map(timing -> timing.beanName() + "=" + timing.selfMillis() + "/" + timing.totalMillis())
+                        .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Con arranque en frío el primer request es el que despierta la instancia, así que el
+     * tiempo de JVM al terminarlo es el tiempo hasta la primera respuesta.
+     */
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (!firstRequestSeen.compareAndSet(false, true)) {
+            return;
+        }
+        long firstRequestMillis = uptimeMillis();
+        if (firstRequestBaseline == null) {
+            log.info("First request {} handled {} ms after JVM start", event.getRequestUrl(), firstRequestMillis);
+            return;
+        }
+        long baselineMillis = firstRequestBaseline.toMillis();
+        String comparison = String.format("%+d ms vs baseline %d ms", firstRequestMillis - baselineMillis, baselineMillis);
+        if (firstRequestMillis > baselineMillis) {
+            log.warn("First request {} handled {} ms after JVM start ({}), slower than baseline",
+                    event.getRequestUrl(), firstRequestMillis, comparison);
+        } else {
+            log.info("First request {} handled {} ms after JVM start ({})",
+                    event.getRequestUrl(), firstRequestMillis, comparison);
+        }
+    }
+
+    /**
+     * Beans ordenados por tiempo propio: la duración de su instanciación menos la de los
+     * beans que se crearon dentro de ella.
+     */
+    static List<BeanTiming> slowestBeans(StartupTimeline timeline, int limit) {
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null && BEAN_INSTANTIATION.equals(event.getStartupStep().getName())) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+        return timeline.getEvents().stream()
+                .filter(event -> BEAN_INSTANTIATION.equals(event.getStartupStep().getName()))
+                .map(event -> {
+                    StartupStep step = event.getStartupStep();
+                    long total = event.getDuration().toNanos();
+                    long self = total - childNanos.getOrDefault(step.getId(), 0L);
+                    return new BeanTiming(beanName(step), self / 1_000_000, total / 1_000_000);
+                })
+                .sorted(Comparator.comparingLong(BeanTiming::selfMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.api.assignment;
+
+import com.example.api.dto.AssignmentResponse;
+import com.example.api.entity.AsignacionReclamo;
+import com.example.api.enums.AssignmentStatus;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.exception.AgentNotFoundException;
+import com.example.api.repository.AsignacionReclamoRepository;
+import com.example.api.repository.ReclamoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentQueuesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private AsignacionReclamoRepository asignacionReclamoRepository;
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    void setUp() {
+        // No other node holds the claims unless a test says so
+        lenient().when(asignacionReclamoRepository.lease(anyLong(), anyString(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void next_OwnQueue_ShouldHandOutClaimsInArrivalOrder() {
+        AssignmentQueues queues = queues("ana@empresa.com", "beto@empresa.com");
+        for (long id = 1; id <= 4; id++) {
+            queues.onClaimChanged(created(id));
+        }
+
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(1L);
+        assertThat(claimId(queues.next("ANA@empresa.com"))).isEqualTo(3L);
+        assertThat(claimId(queues.next("beto@empresa.com"))).isEqualTo(2L);
+        verify(asignacionReclamoRepository).insertQueued(eq(2L), eq("beto@empresa.com"), any());
+        verify(asignacionReclamoRepository).lease(eq(1L), eq("ana@empresa.com"), any(), any());
+    }
+
+    @Test
+    void next_OwnQueueEmpty_ShouldStealFromTailOfAnotherAgent() {
+        AssignmentQueues queues = queues("ana@empresa.com", "carla@empresa.com");
+        for (long id = 1; id <= 6; id++) {
+            queues.onClaimChanged(created(id));
+        }
+        for (int i = 0; i < 3; i++) {
+            queues.next("carla@empresa.com");
+        }
+
+        Optional<AssignmentResponse> stolen = queues.next("carla@empresa.com");
+
+        assertThat(claimId(stolen)).isEqualTo(5L);
+        assertThat(stolen.get().agentEmail()).isEqualTo("carla@empresa.com");
+        assertThat(queues.queued("ana@empresa.com")).isEqualTo(2);
+    }
+
+    @Test
+    void next_AgentNotConfigured_ShouldBeRejected() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+
+        assertThatThrownBy(() -> queues.next("intruso@empresa.com")).isInstanceOf(AgentNotFoundException.class);
+        assertThatThrownBy(() -> queues.next("no-es-un-email")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(queues.next(" Ana@Empresa.com ")).isEmpty();
+    }
+
+    @Test
+    void next_WithoutConfiguredAgents_ShouldRegisterUpToTheLimit() {
+        AssignmentQueues queues = new AssignmentQueues(asignacionReclamoRepository, reclamoRepository,
+                transactionManager, List.of(), 2, Duration.ofMinutes(30), Duration.ofSeconds(10), clock::get);
+        queues.next("ana@empresa.com");
+        queues.next("beto@empresa.com");
+
+        assertThatThrownBy(() -> queues.next("carla@empresa.com")).isInstanceOf(IllegalStateException.class);
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+    }
+
+    @Test
+    void next_NoAgentsYet_ShouldTakeFromSharedQueue() {
+        AssignmentQueues queues = queues();
+        queues.onClaimChanged(created(7L));
+
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(7L);
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+    }
+
+    @Test
+    void next_ClaimLeasedThroughAnotherNode_ShouldSkipIt() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+        queues.onClaimChanged(created(1L));
+        queues.onClaimChanged(created(2L));
+        when(asignacionReclamoRepository.lease(eq(1L), anyString(), any(), any())).thenReturn(0);
+
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(2L);
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+    }
+
+    @Test
+    void expireLeases_ShouldPutClaimBackAtFrontOfAgentQueue() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+        queues.onClaimChanged(created(1L));
+        queues.onClaimChanged(created(2L));
+        queues.next("ana@empresa.com");
+
+        clock.addAndGet(Duration.ofMinutes(31).toMillis());
+        when(asignacionReclamoRepository.findExpiredLeases(any()))
+                .thenReturn(List.of(row(1L, "ana@empresa.com", AssignmentStatus.LEASED)));
+        when(asignacionReclamoRepository.requeueExpired(eq(1L), any())).thenReturn(1);
+        queues.expireLeases();
+
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(1L);
+    }
+
+    @Test
+    void expireLeases_RenewedThroughAnotherNode_ShouldNotRequeue() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+        queues.onClaimChanged(created(1L));
+        queues.next("ana@empresa.com");
+
+        clock.addAndGet(Duration.ofMinutes(31).toMillis());
+        queues.expireLeases();
+
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+        verify(asignacionReclamoRepository, never()).requeueExpired(any(), any());
+    }
+
+    @Test
+    void onClaimInvalidated_ShouldOnlyAdjustLocalQueues() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+        queues.onClaimInvalidated(new ClaimInvalidatedEvent(created(1L)));
+        queues.onClaimInvalidated(new ClaimInvalidatedEvent(created(2L)));
+        queues.onClaimInvalidated(new ClaimInvalidatedEvent(
+                new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.RESUELTO, NOW)));
+
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(2L);
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+        verify(asignacionReclamoRepository, never()).insertQueued(any(), any(), any());
+        verify(asignacionReclamoRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void onClaimChanged_StatusUpdateRenewsLeaseAndFinalStatusRemovesClaim() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+        queues.onClaimChanged(created(1L));
+        queues.onClaimChanged(created(2L));
+        queues.next("ana@empresa.com");
+
+        clock.addAndGet(Duration.ofMinutes(20).toMillis());
+        queues.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.EN_PROCESO, NOW));
+        clock.addAndGet(Duration.ofMinutes(20).toMillis());
+        queues.expireLeases();
+        queues.onClaimChanged(new ClaimChangedEvent(2L, 10L, EstadoReclamoEnum.RECHAZADO, NOW));
+
+        assertThat(queues.next("ana@empresa.com")).isEmpty();
+        verify(asignacionReclamoRepository).deleteById(2L);
+    }
+
+    @Test
+    void onClaimChanged_ShouldWriteInItsOwnTransaction() {
+        AssignmentQueues queues = queues("ana@empresa.com");
+
+        queues.onClaimChanged(created(1L));
+        queues.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.CERRADO, NOW));
+
+        // The listener runs after the commit, so it cannot join the transaction that published the event
+        verify(transactionManager, times(3)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, times(3)).commit(any());
+        verify(asignacionReclamoRepository).insertQueued(eq(1L), eq("ana@empresa.com"), any());
+        verify(asignacionReclamoRepository).deleteById(1L);
+    }
+
+    @Test
+    void rebuild_ShouldRestoreStoredAssignmentsAndQueueUnassignedOpenClaims() {
+        when(asignacionReclamoRepository.findAllByOrderByFechaActualizacionAsc()).thenReturn(List.of(
+                row(1L, "ana@empresa.com", AssignmentStatus.QUEUED),
+                row(2L, "ana@empresa.com", AssignmentStatus.LEASED),
+                row(3L, "beto@empresa.com", AssignmentStatus.QUEUED)
+        ));
+        when(reclamoRepository.streamCurrentStatuses(any())).thenReturn(Stream.of(
+                new Object[]{1L, EstadoReclamoEnum.INGRESADO, NOW},
+                new Object[]{2L, EstadoReclamoEnum.EN_PROCESO, NOW},
+                new Object[]{4L, EstadoReclamoEnum.INGRESADO, NOW}
+        ));
+        AssignmentQueues queues = queues();
+
+        queues.rebuild();
+
+        verify(asignacionReclamoRepository).insertQueued(eq(4L), isNull(), any());
+        verify(asignacionReclamoRepository).deleteAllById(List.of(3L));
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(1L);
+        assertThat(claimId(queues.next("ana@empresa.com"))).isEqualTo(4L);
+        assertThat(queues.next("beto@empresa.com")).isEmpty();
+    }
+
+    @Test
+    void next_ConcurrentAgents_ShouldLeaseEachClaimExactlyOnce() throws Exception {
+        List<String> agents = List.of("a@empresa.com", "b@empresa.com", "c@empresa.com", "d@empresa.com",
+                "e@empresa.com");
+        AssignmentQueues queues = queues(agents.toArray(String[]::new));
+        for (long id = 1; id <= 2_000; id++) {
+            queues.onClaimChanged(created(id));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(agents.size() - 1);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int i = 1; i < agents.size(); i++) {
+            // The first agent does not work, so the others have to steal its claims
+            String agent = agents.get(i);
+            results.add(pool.submit(() -> {
+                List<Long> taken = new ArrayList<>();
+                Optional<AssignmentResponse> next;
+                while ((next = queues.next(agent)).isPresent()) {
+                    taken.add(next.get().claimId());
+                }
+                return taken;
+            }));
+        }
+        List<Long> all = Collections.synchronizedList(new ArrayList<>());
+        for (Future<List<Long>> result : results) {
+            all.addAll(result.get());
+        }
+        pool.shutdown();
+
+        assertThat(all).hasSize(2_000).doesNotHaveDuplicates();
+    }
+
+    private AssignmentQueues queues(String... agents) {
+        return new AssignmentQueues(asignacionReclamoRepository, reclamoRepository, transactionManager,
+                List.of(agents), 200, Duration.ofMinutes(30), Duration.ofSeconds(10), clock::get);
+    }
+
+    private static ClaimChangedEvent created(long claimId) {
+        return new ClaimChangedEvent(claimId, 10L, EstadoReclamoEnum.INGRESADO, NOW);
+    }
+
+    private static AsignacionReclamo row(Long claimId, String agent, AssignmentStatus status) {
+        return AsignacionReclamo.builder()
+                .reclamoId(claimId)
+                .asesorEmail(agent)
+                .estado(status)
+                .leaseExpira(status == AssignmentStatus.LEASED ? NOW.plusMinutes(10) : null)
+                .fechaActualizacion(NOW)
+                .build();
+    }
+
+    private static Long claimId(Optional<AssignmentResponse> response) {
+        assertThat(response).isPresent();
+        return response.get().claimId();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.api.cache;
+
+import com.example.api.dto.ClaimVersion;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import com.example.api.repository.ReclamoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimListVersionTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private ClusterInvalidationBus invalidationBus;
+
+    private ClaimListVersion listVersion;
+
+    @BeforeEach
+    void setUp() {
+        when(reclamoRepository.findListVersion()).thenReturn(Collections.singletonList(
+                new Object[]{5L, BASE, BASE.plusMinutes(1), 12L}));
+        lenient().when(invalidationBus.isEnabled()).thenReturn(true);
+        listVersion = new ClaimListVersion(reclamoRepository, invalidationBus);
+    }
+
+    @Test
+    void current_ShouldQueryOnceAndAdvanceWithLocalAndRemoteChanges() {
+        ClaimVersion seeded = listVersion.current();
+
+        listVersion.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.EN_PROCESO, BASE.plusMinutes(5)));
+        ClaimVersion afterLocal = listVersion.current();
+        listVersion.onClaimInvalidated(new ClaimInvalidatedEvent(
+                new ClaimChangedEvent(2L, 11L, EstadoReclamoEnum.RESUELTO, BASE.plusMinutes(3))));
+        ClaimVersion afterRemote = listVersion.current();
+
+        assertThat(seeded).isEqualTo(new ClaimVersion("claims", BASE.plusMinutes(1), 17));
+        assertThat(afterLocal).isEqualTo(new ClaimVersion("claims", BASE.plusMinutes(5), 18));
+        assertThat(afterRemote).isEqualTo(new ClaimVersion("claims", BASE.plusMinutes(5), 19));
+        assertThat(afterRemote.etag("json")).isNotEqualTo(afterLocal.etag("json"));
+        verify(reclamoRepository, times(1)).findListVersion();
+    }
+
+    @Test
+    void reset_ShouldRecomputeFromDatabase() {
+        listVersion.current();
+        listVersion.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.EN_PROCESO, BASE.plusMinutes(5)));
+
+        listVersion.reset();
+
+        assertThat(listVersion.current().rowCount()).isEqualTo(17);
+        verify(reclamoRepository, times(2)).findListVersion();
+    }
+
+    @Test
+    void current_WithoutInvalidationBus_ShouldQueryEveryTime() {
+        when(invalidationBus.isEnabled()).thenReturn(false);
+        listVersion.current();
+        listVersion.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.EN_PROCESO, BASE.plusMinutes(5)));
+
+        // A change made elsewhere, e.g. a seed or another node, shows up on the next request
+        when(reclamoRepository.findListVersion()).thenReturn(Collections.singletonList(
+                new Object[]{6L, BASE, BASE.plusMinutes(9), 14L}));
+
+        assertThat(listVersion.current()).isEqualTo(new ClaimVersion("claims", BASE.plusMinutes(9), 20));
+        verify(reclamoRepository, times(2)).findListVersion();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.api.cache;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClaimSummaryStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    private ClaimSummaryStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Small segments so that records and text span several mappings
+        store = new ClaimSummaryStore(null, true, directory, 256);
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void put_ShouldRoundTripSummariesNewestIdFirst() {
+        store.put(1, "CLM-000001", "Cobro duplicado", null, 10L, BASE, null, EstadoReclamoEnum.INGRESADO, BASE);
+        store.put(7, "CLM-000007", "Señal intermitente", "Sin servicio desde el lunes", 20L,
+                BASE.plusDays(1), BASE.plusDays(2), EstadoReclamoEnum.EN_PROCESO, BASE.plusDays(2));
+
+        List<String> rows = store.scan(summary -> summary.id() + "|" + summary.code() + "|" + summary.title()
+                + "|" + summary.description() + "|" + summary.customerId() + "|" + summary.status());
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(rows).containsExactly(
+                "7|CLM-000007|Señal intermitente|Sin servicio desde el lunes|20|EN_PROCESO",
+                "1|CLM-000001|Cobro duplicado|null|10|INGRESADO");
+        // Timestamps are kept with microsecond precision, like the database columns
+        LocalDateTime micros = BASE.withNano(123_456_000);
+        assertThat(store.scan(ClaimSummaryStore.Cursor::createdAt)).containsExactly(micros.plusDays(1), micros);
+        assertThat(store.scan(ClaimSummaryStore.Cursor::updatedAt)).containsExactly(micros.plusDays(2), null);
+    }
+
+    @Test
+    void updateStatus_ShouldKeepNewestChangeAndReportMissingClaims() {
+        store.put(3, "CLM-000003", "Reclamo", "Desc", 10L, BASE, BASE, EstadoReclamoEnum.INGRESADO, BASE);
+
+        assertThat(store.updateStatus(3, EstadoReclamoEnum.RESUELTO, BASE.plusHours(2))).isTrue();
+        assertThat(store.updateStatus(3, EstadoReclamoEnum.EN_PROCESO, BASE.plusHours(1))).isTrue();
+        assertThat(store.updateStatus(4, EstadoReclamoEnum.EN_PROCESO, BASE)).isFalse();
+        // A warm-up row older than the live change must not roll the status back
+        store.put(3, "CLM-000003", "Reclamo", "Desc", 10L, BASE, BASE, EstadoReclamoEnum.INGRESADO, BASE);
+
+        assertThat(store.scan(ClaimSummaryStore.Cursor::status)).containsExactly(EstadoReclamoEnum.RESUELTO);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_TextNotFittingSegmentTail_ShouldMoveToNextSegment() {
+        String title = "x".repeat(100);
+        for (long id = 1; id <= 20; id++) {
+            store.put(id, "CLM-" + id, title + id, "d".repeat((int) id * 3), id, BASE, BASE,
+                    EstadoReclamoEnum.INGRESADO, BASE);
+        }
+
+        List<String> titles = store.scan(ClaimSummaryStore.Cursor::title);
+        List<String> descriptions = store.scan(ClaimSummaryStore.Cursor::description);
+
+        assertThat(titles).hasSize(20).first().isEqualTo(title + 20);
+        assertThat(titles).last().isEqualTo(title + 1);
+        assertThat(descriptions).first().isEqualTo("d".repeat(60));
+    }
+
+    @Test
+    void onClaimChanged_KnownClaim_ShouldUpdateStatusWithoutRepository() {
+        store.put(1, "CLM-000001", "Reclamo", null, 10L, BASE, BASE, EstadoReclamoEnum.INGRESADO, BASE);
+
+        store.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.ESCALADO, BASE.plusDays(1)));
+
+        assertThat(store.scan(ClaimSummaryStore.Cursor::status)).containsExactly(EstadoReclamoEnum.ESCALADO);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.api.cache;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimAttachmentsInvalidatedEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs against a real Postgres (-Dit.postgres.url, default the local dev database) in a
+// throwaway schema; skipped when the database is not reachable
+class ClusterInvalidationBusPostgresTest {
+
+    private static final String URL = System.getProperty("it.postgres.url", "jdbc:postgresql://localhost:5433/myapp");
+    private static final String USER = System.getProperty("it.postgres.user", "postgres");
+    private static final String PASSWORD = System.getProperty("it.postgres.password", "postgres");
+    private static final String CHANNEL = "claim_changed_it";
+
+    private final BlockingQueue<ClaimChangedEvent> receivedByA = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ClaimChangedEvent> receivedByB = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> attachmentsChangedAtB = new LinkedBlockingQueue<>();
+    private String schema;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactions;
+    private ClusterInvalidationBus nodeA;
+    private ClusterInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(reachable(), "Postgres not reachable at " + URL);
+        schema = "bus_it_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        new JdbcTemplate(new DriverManagerDataSource(URL, USER, PASSWORD)).execute("CREATE SCHEMA " + schema);
+
+        String schemaUrl = URL + (URL.contains("?") ? "&" : "?") + "currentSchema=" + schema;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(schemaUrl, USER, PASSWORD);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE reclamos (id BIGINT PRIMARY KEY, cliente_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE estado_reclamos (id BIGSERIAL PRIMARY KEY, reclamo_id BIGINT NOT NULL, "
+                + "estado VARCHAR(50) NOT NULL, fecha_creacion TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE adjunto_reclamos (id BIGSERIAL PRIMARY KEY, reclamo_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE vistas_previas_adjunto (adjunto_id BIGINT PRIMARY KEY, "
+                + "reclamo_id BIGINT NOT NULL, estado VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO reclamos VALUES (7, 10)");
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(schemaUrl);
+        properties.setUsername(USER);
+        properties.setPassword(PASSWORD);
+        nodeA = new ClusterInvalidationBus(event -> {
+                    if (event instanceof ClaimInvalidatedEvent invalidated) {
+                        receivedByA.add(invalidated.change());
+                    }
+                },
+                jdbcTemplate, properties, true, CHANNEL, "node-a", Duration.ofMillis(10), Duration.ofMillis(100));
+        nodeB = new ClusterInvalidationBus(event -> {
+                    if (event instanceof ClaimAttachmentsInvalidatedEvent attachments) {
+                        attachmentsChangedAtB.add(attachments.claimId());
+                    } else {
+                        receivedByB.add(((ClaimInvalidatedEvent) event).change());
+                    }
+                },
+                jdbcTemplate, properties, true, CHANNEL, "node-b", Duration.ofMillis(10), Duration.ofMillis(100));
+        nodeA.start();
+        nodeB.start();
+        // LISTEN is issued on the listener threads; a first round trip shows both are subscribed
+        awaitSubscribed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.stop();
+            nodeB.stop();
+        }
+        if (schema != null) {
+            jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+        }
+    }
+
+    @Test
+    void insertByAnotherWriter_ShouldReachEveryNode() throws Exception {
+        jdbcTemplate.update("INSERT INTO estado_reclamos (reclamo_id, estado, fecha_creacion) "
+                + "VALUES (7, 'En Proceso', TIMESTAMP '2024-03-01 09:00:00.123456')");
+
+        ClaimChangedEvent expected = new ClaimChangedEvent(7L, 10L, EstadoReclamoEnum.EN_PROCESO,
+                LocalDateTime.of(2024, 3, 1, 9, 0, 0, 123_456_000));
+        assertThat(next(receivedByA, 5000)).isEqualTo(expected);
+        assertThat(next(receivedByB, 5000)).isEqualTo(expected);
+    }
+
+    @Test
+    void insertByNode_ShouldReachOnlyTheOtherNodes() throws Exception {
+        transactions.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO estado_reclamos (reclamo_id, estado, fecha_creacion) "
+                    + "VALUES (7, 'Resuelto', now())");
+            nodeA.onClaimChanged(new ClaimChangedEvent(7L, 10L, EstadoReclamoEnum.RESUELTO, null));
+        });
+
+        assertThat(next(receivedByB, 5000)).extracting(ClaimChangedEvent::status)
+                .isEqualTo(EstadoReclamoEnum.RESUELTO);
+        assertThat(next(receivedByA, 300)).isNull();
+    }
+
+    @Test
+    void rolledBackInsert_ShouldNotBeAnnounced() throws Exception {
+        transactions.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO estado_reclamos (reclamo_id, estado, fecha_creacion) "
+                    + "VALUES (7, 'Cerrado', now())");
+            status.setRollbackOnly();
+        });
+
+        assertThat(next(receivedByB, 500)).isNull();
+    }
+
+    @Test
+    void attachmentAndPreviewChanges_ShouldReachOtherNodes() throws Exception {
+        jdbcTemplate.update("INSERT INTO adjunto_reclamos (id, reclamo_id) VALUES (3, 7)");
+        assertThat(attachmentsChangedAtB.poll(5, TimeUnit.SECONDS)).isEqualTo(7L);
+
+        jdbcTemplate.update("INSERT INTO vistas_previas_adjunto VALUES (3, 7, 'PENDING')");
+        assertThat(attachmentsChangedAtB.poll(5, TimeUnit.SECONDS)).isEqualTo(7L);
+
+        jdbcTemplate.update("UPDATE vistas_previas_adjunto SET estado = 'READY' WHERE adjunto_id = 3");
+        assertThat(attachmentsChangedAtB.poll(5, TimeUnit.SECONDS)).isEqualTo(7L);
+    }
+
+    // Skips the subscription probes, which may still be arriving
+    private static ClaimChangedEvent next(BlockingQueue<ClaimChangedEvent> received, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        ClaimChangedEvent event;
+        do {
+            event = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } while (event != null && event.claimId() == 0L);
+        return event;
+    }
+
+    private void awaitSubscribed() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, CHANNEL, "probe|0||Ingresado|");
+            try {
+                ClaimChangedEvent a = receivedByA.poll(200, TimeUnit.MILLISECONDS);
+                ClaimChangedEvent b = receivedByB.poll(200, TimeUnit.MILLISECONDS);
+                if (a != null && b != null) {
+                    receivedByA.clear();
+                    receivedByB.clear();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException("Invalidation listeners did not subscribe in time");
+    }
+
+    private static boolean reachable() {
+        try (Connection ignored = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.api.cache;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimAttachmentsInvalidatedEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.ClaimInvalidatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterInvalidationBusTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0, 0, 123_456_000);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ClusterInvalidationBus bus;
+    private ClusterInvalidationBus otherNode;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ClusterInvalidationBus(eventPublisher, jdbcTemplate, null, true, "claim_changed",
+                "node-a", Duration.ofMillis(50), Duration.ofSeconds(1));
+        otherNode = new ClusterInvalidationBus(eventPublisher, jdbcTemplate, null, true, "claim_changed",
+                "node-b", Duration.ofMillis(50), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void onClaimChanged_ShouldMarkTransactionWithNodeId() {
+        bus.onClaimChanged(new ClaimChangedEvent(7L, 10L, EstadoReclamoEnum.EN_PROCESO, BASE));
+
+        verify(jdbcTemplate).queryForObject("SELECT set_config(?, ?, true)", String.class,
+                "app.cluster_node", "node-a");
+    }
+
+    @Test
+    void received_BurstForSameClaim_ShouldApplyNewestChangeOnce() {
+        otherNode.received("node-a|7|10|Resuelto|2024-03-01T09:02:00.123456");
+        otherNode.received("node-a|7|10|En Proceso|2024-03-01T09:01:00.123456");
+        otherNode.received("|8||Ingresado|2024-03-01T09:00:00.123456");
+
+        otherNode.flushPending();
+        otherNode.flushPending();
+
+        ArgumentCaptor<ClaimInvalidatedEvent> events = ArgumentCaptor.forClass(ClaimInvalidatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(ClaimInvalidatedEvent::change).containsExactly(
+                new ClaimChangedEvent(7L, 10L, EstadoReclamoEnum.RESUELTO, BASE.plusMinutes(2)),
+                new ClaimChangedEvent(8L, null, EstadoReclamoEnum.INGRESADO, BASE));
+    }
+
+    @Test
+    void received_AttachmentChanges_ShouldInvalidateEachClaimOnce() {
+        otherNode.received("node-a|7|adjuntos");
+        otherNode.received("|7|adjuntos");
+        otherNode.received("|8|adjuntos");
+        otherNode.received("node-b|9|adjuntos");
+
+        otherNode.flushPending();
+
+        ArgumentCaptor<ClaimAttachmentsInvalidatedEvent> events =
+                ArgumentCaptor.forClass(ClaimAttachmentsInvalidatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(ClaimAttachmentsInvalidatedEvent::claimId)
+                .containsExactly(7L, 8L);
+    }
+
+    @Test
+    void received_OwnOrMalformedNotification_ShouldBeIgnored() {
+        bus.received("node-a|7|10|En Proceso|2024-03-01T09:00:00.123456");
+        bus.received("node-b|7|10|UNKNOWN|");
+        bus.received("garbage");
+        bus.received("node-b|7|unknown");
+
+        bus.flushPending();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.api.cache;
+
+import com.example.api.entity.AdjuntoReclamo;
+import com.example.api.entity.EstadoReclamo;
+import com.example.api.entity.Reclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.repository.ReclamoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Hibernate never caches rows inserted by the current transaction, so these tests commit
+ * their data and count the SQL statements of separate sessions.
+ */
+@DataJpaTest(properties = "app.cluster-invalidation.enabled=true")
+@ActiveProfiles("test")
+@Import({ClaimCollectionCacheEvictor.class, ClaimCollectionCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReclamoRepository reclamoRepository;
+
+    @Autowired
+    private ClaimCollectionCacheEvictor evictor;
+
+    private Statistics statistics;
+    private Long claimId;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        claimId = inTransaction(entityManager -> {
+            Reclamo reclamo = Reclamo.builder()
+                    .codigo("CLM-CACHE")
+                    .titulo("Cobro duplicado")
+                    .descripcion("Se cobró dos veces")
+                    .clienteId(42L)
+                    .build();
+            entityManager.persist(reclamo);
+            entityManager.persist(status(reclamo, EstadoReclamoEnum.INGRESADO));
+            entityManager.persist(status(reclamo, EstadoReclamoEnum.EN_PROCESO));
+            entityManager.persist(AdjuntoReclamo.builder()
+                    .reclamo(reclamo)
+                    .nombreArchivo("factura.pdf")
+                    .tipoContenido("application/pdf")
+                    .tamanoBytes(1024L)
+                    .urlArchivo("/uploads/1/factura.pdf")
+                    .build());
+            return reclamo.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(entityManager -> {
+            entityManager.createQuery("DELETE FROM AdjuntoReclamo").executeUpdate();
+            entityManager.createQuery("DELETE FROM EstadoReclamo").executeUpdate();
+            return entityManager.createQuery("DELETE FROM Reclamo").executeUpdate();
+        });
+    }
+
+    @Test
+    void loadingClaimTwice_ShouldServeStatusesAndAttachmentsFromCache() {
+        long coldStatements = statementsToLoadClaim(2);
+        long warmStatements = statementsToLoadClaim(2);
+
+        assertThat(coldStatements).isEqualTo(3);
+        assertThat(warmStatements).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(Reclamo.STATUSES_CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(EstadoReclamo.CACHE_REGION).getHitCount()).isEqualTo(2);
+        assertThat(statistics.getDomainDataRegionStatistics(AdjuntoReclamo.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void appendingStatus_ShouldEvictStatusCollectionOnly() {
+        statementsToLoadClaim(2);
+
+        inTransaction(entityManager -> {
+            entityManager.persist(status(entityManager.find(Reclamo.class, claimId), EstadoReclamoEnum.RESUELTO));
+            return null;
+        });
+        evictor.onClaimChanged(new ClaimChangedEvent(claimId, 42L, EstadoReclamoEnum.RESUELTO, LocalDateTime.now()));
+
+        // The claim row and the reloaded status list; attachments still come from the cache
+        assertThat(statementsToLoadClaim(3)).isEqualTo(2);
+        assertThat(statementsToLoadClaim(3)).isEqualTo(1);
+    }
+
+    @Test
+    void appendingAttachment_ShouldEvictAttachmentCollection() {
+        statementsToLoadClaim(2);
+
+        evictor.onAttachmentAdded(new AttachmentAddedEvent(99L, claimId, "/uploads/1/otro.pdf", "application/pdf"));
+
+        assertThat(statementsToLoadClaim(2)).isEqualTo(2);
+    }
+
+    @Test
+    void findAllWithLastStatus_ShouldNotCachePartialStatusCollection() {
+        reclamoRepository.findAllWithLastStatus()
+                .forEach(reclamo -> assertThat(reclamo.getEstados()).hasSize(1));
+
+        statementsToLoadClaim(2);
+    }
+
+    // Without the bus nothing evicts another node's changes, so the lists are not cached
+    @Nested
+    @TestPropertySource(properties = "app.cluster-invalidation.enabled=false")
+    class WithoutClusterInvalidation {
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Test
+        void claimCollections_ShouldNotBeCached() {
+            MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+
+            assertThat(metamodel.getCollectionDescriptor(ClaimCollectionCacheEvictor.STATUSES_ROLE).hasCache()).isFalse();
+            assertThat(metamodel.getCollectionDescriptor(ClaimCollectionCacheEvictor.ATTACHMENTS_ROLE).hasCache()).isFalse();
+            assertThat(metamodel.getEntityDescriptor(EstadoReclamo.class).canReadFromCache()).isTrue();
+        }
+    }
+
+    private long statementsToLoadClaim(int expectedStatuses) {
+        statistics.clear();
+        inTransaction(entityManager -> {
+            Reclamo reclamo = entityManager.find(Reclamo.class, claimId);
+            assertThat(reclamo.getEstados()).hasSize(expectedStatuses);
+            assertThat(reclamo.getAdjuntos()).hasSize(1);
+            return null;
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            T result = work.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static EstadoReclamo status(Reclamo reclamo, EstadoReclamoEnum estado) {
+        return EstadoReclamo.builder()
+                .reclamo(reclamo)
+                .estado(estado)
+                .notas("nota")
+                .asesor_email("asesor@empresa.com")
+                .build();
+    }
+}
@@ -4,23 +4,37 @@ import com.example.api.dto.CreateClaimRequest;
 import com.example.api.dto.ClaimStatusRequest;
 import com.example.api.dto.ClaimResponse;
 import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.ClaimVersion;
 import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.service.AttachmentPreviewService;
+import com.example.api.service.ClaimExportService;
 import com.example.api.service.ClaimService;
+import com.example.api.service.StatusGroupCommitter;
 import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.ExportCompression;
+import com.example.api.enums.ExportFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,15 +49,29 @@ class ClaimControllerTest {
     @MockBean
     private ClaimService claimService;
 
+    @MockBean
+    private ClaimExportService claimExportService;
+
+    @MockBean
+    private AttachmentPreviewService attachmentPreviewService;
+
+    @MockBean
+    private StatusGroupCommitter statusGroupCommitter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private CreateClaimRequest createClaimRequest;
     private ClaimResponse claimResponse;
     private ClaimDetailResponse claimDetailResponse;
+    private ClaimVersion claimVersion;
 
     @BeforeEach
     void setUp() {
+        claimVersion = ClaimVersion.of("1", 2, LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(claimService.getClaimVersion(anyLong())).thenReturn(claimVersion);
+        when(claimService.getClaimsVersion()).thenReturn(ClaimVersion.of("claims", 7, LocalDateTime.of(2024, 1, 1, 10, 0)));
+
         createClaimRequest = new CreateClaimRequest(
                 "Test Claim",
                 "Test Description",
@@ -167,6 +195,38 @@ class ClaimControllerTest {
         verify(claimService).getAllClaimsWithLastStatus();
     }
 
+    @Test
+    void getAllClaims_AcceptCbor_ShouldReturnBinaryBody() throws Exception {
+        when(claimService.getAllClaimsWithLastStatus()).thenReturn(List.of(claimResponse));
+
+        MvcResult result = mockMvc.perform(get("/api/claims").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        ClaimResponse[] claims = cborMapper.readValue(result.getResponse().getContentAsByteArray(), ClaimResponse[].class);
+        assertThat(claims).containsExactly(claimResponse);
+    }
+
+    @Test
+    void getAttachmentPreview_Ready_ShouldReturnCacheablePng() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        when(attachmentPreviewService.getPreview(1L, 7L)).thenReturn(new ByteArrayResource(png));
+
+        mockMvc.perform(get("/api/claims/1/attachments/7/preview"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(content().bytes(png));
+    }
+
+    @Test
+    void getAttachmentPreview_NotReady_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/claims/1/attachments/7/preview"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getClaimById_ExistingClaim_ShouldReturnClaimDetails() throws Exception {
         when(claimService.getClaimDetailsById(1L)).thenReturn(claimDetailResponse);
@@ -183,6 +243,63 @@ class ClaimControllerTest {
         verify(claimService).getClaimDetailsById(1L);
     }
 
+    @Test
+    void getClaimById_ShouldReturnWeakEtagPerFormat() throws Exception {
+        when(claimService.getClaimDetailsById(1L)).thenReturn(claimDetailResponse);
+
+        mockMvc.perform(get("/api/claims/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", claimVersion.etag("json")))
+                .andExpect(header().stringValues("Vary", hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().exists("Last-Modified"));
+        mockMvc.perform(get("/api/claims/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", claimVersion.etag("cbor")));
+        assertThat(claimVersion.etag("json")).startsWith("W/\"");
+    }
+
+    @Test
+    void getClaimById_QualityValues_ShouldPickEtagOfNegotiatedFormat() throws Exception {
+        when(claimService.getClaimDetailsById(1L)).thenReturn(claimDetailResponse);
+
+        mockMvc.perform(get("/api/claims/1").header(HttpHeaders.ACCEPT, "application/json;q=0.1, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", claimVersion.etag("cbor")));
+        mockMvc.perform(get("/api/claims/1").header(HttpHeaders.ACCEPT, "application/cbor;q=0.4, */*;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", claimVersion.etag("json")));
+    }
+
+    @Test
+    void getClaimById_JsonEtagWithCborAccept_ShouldReturnBody() throws Exception {
+        when(claimService.getClaimDetailsById(1L)).thenReturn(claimDetailResponse);
+
+        mockMvc.perform(get("/api/claims/1").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", claimVersion.etag("json")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getClaimById_MatchingEtag_ShouldReturnNotModifiedWithoutLoadingClaim() throws Exception {
+        mockMvc.perform(get("/api/claims/1").header("If-None-Match", claimVersion.etag("json")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(claimService, never()).getClaimDetailsById(anyLong());
+    }
+
+    @Test
+    void getAllClaims_MatchingEtag_ShouldReturnNotModified() throws Exception {
+        String etag = claimService.getClaimsVersion().etag("json");
+
+        mockMvc.perform(get("/api/claims").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(claimService, never()).getAllClaimsWithLastStatus();
+    }
+
     @Test
     void getClaimById_NonExistingClaim_ShouldReturnNotFound() throws Exception {
         when(claimService.getClaimDetailsById(999L)).thenThrow(new ClaimNotFoundException(999L));
@@ -205,6 +322,34 @@ class ClaimControllerTest {
         verify(claimService).addStatusToClaim(eq(1L), any(ClaimStatusRequest.class));
     }
 
+    @Test
+    void updateClaimStatus_GroupCommitEnabled_ShouldWriteThroughCommitter() throws Exception {
+        ClaimStatusRequest statusRequest = new ClaimStatusRequest(EstadoReclamoEnum.EN_PROCESO, "Revisando documentos", "test@example.com");
+        when(statusGroupCommitter.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/claims/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusRequest)))
+                .andExpect(status().isOk());
+
+        verify(statusGroupCommitter).write(eq(1L), any(ClaimStatusRequest.class));
+        verify(claimService, never()).addStatusToClaim(anyLong(), any());
+    }
+
+    @Test
+    void updateClaimStatus_WriteQueueFull_ShouldReturnServiceUnavailable() throws Exception {
+        ClaimStatusRequest statusRequest = new ClaimStatusRequest(EstadoReclamoEnum.EN_PROCESO, "Revisando documentos", "test@example.com");
+        when(statusGroupCommitter.isEnabled()).thenReturn(true);
+        doThrow(new RejectedExecutionException("Status write queue is full"))
+                .when(statusGroupCommitter).write(eq(1L), any(ClaimStatusRequest.class));
+
+        mockMvc.perform(post("/api/claims/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
     @Test
     void updateClaimStatus_NonExistingClaim_ShouldReturnNotFound() throws Exception {
         ClaimStatusRequest statusRequest = new ClaimStatusRequest(EstadoReclamoEnum.EN_PROCESO, "Revisando documentos", "test@example.com");
@@ -281,4 +426,32 @@ class ClaimControllerTest {
 
         verify(claimService).addAttachmentToClaim(eq(1L), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportClaims_Ndjson_ShouldStreamWithAttachmentHeaders() throws Exception {
+        when(claimExportService.buildFilename(ExportFormat.NDJSON, ExportCompression.GZIP))
+                .thenReturn("reclamos.ndjson.gz");
+
+        MvcResult result = mockMvc.perform(get("/api/claims/export")
+                        .param("format", "ndjson")
+                        .param("compression", "gzip")
+                        .param("includeHistory", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reclamos.ndjson.gz\""))
+                .andExpect(content().contentType("application/gzip"));
+
+        verify(claimExportService).export(eq(ExportFormat.NDJSON), eq(ExportCompression.GZIP), eq(true), any());
+    }
+
+    @Test
+    void exportClaims_UnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/claims/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(claimExportService, never()).export(any(), any(), anyBoolean(), any());
+    }
+}
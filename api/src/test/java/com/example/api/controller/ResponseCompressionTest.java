@@ -0,0 +1,63 @@
+package com.example.api.controller;
+
+import com.example.api.dto.ClaimResponse;
+import com.example.api.dto.ClaimVersion;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.service.ClaimService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// MockMvc bypasses the Tomcat connector that compresses, so this one runs the real server
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ClaimService claimService;
+
+    @Test
+    void getAllClaims_LargeList_ShouldBeGzippedWithWeakEtag() throws Exception {
+        when(claimService.getClaimsVersion()).thenReturn(ClaimVersion.of("claims", 500, BASE));
+        List<ClaimResponse> claims = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> new ClaimResponse(id, "Cobro duplicado " + id, "Factura de enero cobrada dos veces",
+                        10L, EstadoReclamoEnum.EN_PROCESO, BASE, BASE))
+                .toList();
+        when(claimService.getAllClaimsWithLastStatus()).thenReturn(claims);
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/claims"))
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(etag -> assertThat(etag).startsWith("W/"));
+        assertThat(response.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).containsIgnoringCase("accept"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("\"id\":500");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryLoggingDataSourceTest {
+
+    private EmbeddedDatabase database;
+    private final List<QueryLog.Entry> entries = new CopyOnWriteArrayList<>();
+    private CapturingQueryLog queryLog;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE reclamos (id BIGINT PRIMARY KEY, titulo VARCHAR(255))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queryLog != null) {
+            queryLog.close();
+        }
+        database.shutdown();
+    }
+
+    @Test
+    void query_Sampled_ShouldRecordRowsAndBinds() {
+        JdbcTemplate jdbcTemplate = jdbcTemplate(1.0);
+        jdbcTemplate.update("INSERT INTO reclamos VALUES (?, ?)", 1L, "Internet lento");
+        jdbcTemplate.update("INSERT INTO reclamos VALUES (?, ?)", 2L, "Factura");
+
+        List<String> titles = jdbcTemplate.queryForList("SELECT titulo FROM reclamos WHERE id IN (?, ?) ORDER BY id",
+                String.class, 1L, 2L);
+
+        assertThat(titles).containsExactly("Internet lento", "Factura");
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).rows()).isEqualTo(1);
+        assertThat(entries.get(0).binds()).isEqualTo(2);
+        QueryLog.Entry select = entries.get(2);
+        assertThat(select.sql()).startsWith("SELECT titulo");
+        assertThat(select.rows()).isEqualTo(2);
+        assertThat(select.binds()).isEqualTo(2);
+    }
+
+    @Test
+    void batchUpdate_ShouldSumRowsAndBindsOfAllEntries() {
+        JdbcTemplate jdbcTemplate = jdbcTemplate(1.0);
+
+        jdbcTemplate.batchUpdate("INSERT INTO reclamos VALUES (?, ?)",
+                List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}, new Object[]{3L, "c"}));
+
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.rows()).isEqualTo(3);
+            assertThat(entry.binds()).isEqualTo(6);
+        });
+    }
+
+    @Test
+    void query_NotSampledAndFast_ShouldNotRecord() {
+        JdbcTemplate jdbcTemplate = jdbcTemplate(0.0);
+
+        jdbcTemplate.queryForList("SELECT titulo FROM reclamos", String.class);
+
+        assertThat(entries).isEmpty();
+    }
+
+    @Test
+    void normalize_ShouldReplaceLiteralsAndCollapseInLists() {
+        String sql = "select r1_0.id from reclamos r1_0\n  where r1_0.titulo = 'it''s'  and r1_0.cliente_id in (?, ?, ?) limit 20";
+
+        assertThat(QueryLog.normalize(sql))
+                .isEqualTo("select r1_0.id from reclamos r1_0 where r1_0.titulo = ? and r1_0.cliente_id in (?...) limit ?");
+    }
+
+    private JdbcTemplate jdbcTemplate(double sampleRate) {
+        queryLog = new CapturingQueryLog(sampleRate);
+        return new JdbcTemplate(new QueryLoggingDataSource(database, queryLog));
+    }
+
+    private class CapturingQueryLog extends QueryLog {
+
+        CapturingQueryLog(double sampleRate) {
+            super(Duration.ofMinutes(1), sampleRate, 10);
+        }
+
+        @Override
+        public void record(String sql, long durationNanos, long rows, int binds) {
+            entries.add(new Entry(sql, durationNanos, rows, binds, false));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.end();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplicaAndOthersPrimary() {
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+        assertThat(nodeIn(readWrite)).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_PrimaryRequired_ShouldUsePrimary() {
+        ReadConsistency.begin(true, null);
+
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void writeCommit_ShouldIssueTokenAndPinLaterReadsToPrimary() {
+        AtomicInteger commits = new AtomicInteger();
+        ReadConsistency.begin(false, commits::incrementAndGet);
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'primary-2'"));
+
+        assertThat(commits).hasValue(1);
+        assertThat(nodeIn(readOnly)).isEqualTo("primary-2");
+    }
+
+    @Test
+    void writeRollback_ShouldNotIssueToken() {
+        AtomicInteger commits = new AtomicInteger();
+        ReadConsistency.begin(false, commits::incrementAndGet);
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = 'primary-2'");
+            status.setRollbackOnly();
+        });
+
+        assertThat(commits).hasValue(0);
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void tokenFilter_WriteCommitted_ShouldReturnPrimaryPosition() throws Exception {
+        positions(primary, 4_200);
+        ConsistencyTokenFilter filter = new ConsistencyTokenFilter(monitor(new AtomicLong()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/claims"), response, (req, res) ->
+                readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'primary-2'")));
+
+        assertThat(response.getHeader(ConsistencyTokenFilter.HEADER)).isEqualTo("4200");
+    }
+
+    @Test
+    void lagMonitor_ShouldCompareTokenWithReplayedPositionAndCacheProbe() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        positions(replica, 900);
+        ReplicaLagMonitor monitor = monitor(now);
+
+        assertThat(monitor.isBehind(900)).isFalse();
+        assertThat(monitor.isBehind(901)).isTrue();
+
+        new JdbcTemplate(replica).update("UPDATE wal SET pos = 950");
+        assertThat(monitor.isBehind(950)).isTrue();
+
+        now.addAndGet(500);
+        assertThat(monitor.isBehind(950)).isFalse();
+    }
+
+    @Test
+    void lagMonitor_ProbeFailing_ShouldAssumeReplicaBehind() {
+        ReplicaLagMonitor monitor = monitor(new AtomicLong());
+
+        assertThat(monitor.isBehind(0)).isTrue();
+        assertThat(monitor.primaryPosition()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    private ReplicaLagMonitor monitor(AtomicLong now) {
+        return new ReplicaLagMonitor(primary, replica, "SELECT pos FROM wal", "SELECT pos FROM wal",
+                Duration.ofMillis(500), now::get);
+    }
+
+    private static void positions(EmbeddedDatabase database, long position) {
+        new JdbcTemplate(database).execute("CREATE TABLE wal (pos BIGINT)");
+        new JdbcTemplate(database).update("INSERT INTO wal VALUES (?)", position);
+    }
+
+    private String nodeIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+}
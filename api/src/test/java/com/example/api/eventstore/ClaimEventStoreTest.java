@@ -0,0 +1,146 @@
+package com.example.api.eventstore;
+
+import com.example.api.entity.EstadoReclamo;
+import com.example.api.entity.Reclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.repository.EstadoReclamoRepository;
+import com.example.api.repository.SnapshotReclamoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "app.event-store.snapshot-every=3")
+@ActiveProfiles("test")
+@Import(ClaimEventStore.class)
+class ClaimEventStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClaimEventStore claimEventStore;
+
+    @Autowired
+    private EstadoReclamoRepository estadoReclamoRepository;
+
+    @Autowired
+    private SnapshotReclamoRepository snapshotReclamoRepository;
+
+    private Reclamo reclamo;
+
+    @BeforeEach
+    void setUp() {
+        // H2 stand-ins for the PostgreSQL advisory lock functions
+        entityManager.getEntityManager().createNativeQuery("CREATE ALIAS IF NOT EXISTS HASHTEXT FOR '"
+                + H2Functions.class.getName() + ".hashText'").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("CREATE ALIAS IF NOT EXISTS PG_ADVISORY_XACT_LOCK FOR '"
+                + H2Functions.class.getName() + ".advisoryLock'").executeUpdate();
+        reclamo = entityManager.persist(Reclamo.builder()
+                .codigo("CLM-EVT001")
+                .titulo("Reclamo con historial")
+                .descripcion("Descripción")
+                .clienteId(123L)
+                .build());
+    }
+
+    @Test
+    void append_ShouldNumberEventsPerClaimAndSnapshotEveryInterval() {
+        Reclamo other = entityManager.persist(Reclamo.builder().codigo("CLM-EVT002").titulo("Otro").clienteId(9L).build());
+
+        append(reclamo, EstadoReclamoEnum.INGRESADO);
+        append(other, EstadoReclamoEnum.INGRESADO);
+        append(reclamo, EstadoReclamoEnum.EN_PROCESO);
+        EstadoReclamo third = append(reclamo, EstadoReclamoEnum.ESCALADO);
+
+        assertThat(third.getSecuencia()).isEqualTo(3L);
+        assertThat(snapshotReclamoRepository.findById(reclamo.getId()))
+                .hasValueSatisfying(snapshot -> {
+                    assertThat(snapshot.getSecuencia()).isEqualTo(3L);
+                    assertThat(snapshot.getEstado()).isEqualTo(EstadoReclamoEnum.ESCALADO);
+                    assertThat(snapshot.getEscalamientos()).isEqualTo(1);
+                });
+        assertThat(snapshotReclamoRepository.findById(other.getId())).isEmpty();
+    }
+
+    @Test
+    void load_ShouldApplyTailEventsOnTopOfSnapshot() {
+        append(reclamo, EstadoReclamoEnum.INGRESADO);
+        append(reclamo, EstadoReclamoEnum.ESCALADO);
+        append(reclamo, EstadoReclamoEnum.EN_PROCESO);
+        append(reclamo, EstadoReclamoEnum.ESCALADO);
+        append(reclamo, EstadoReclamoEnum.RESUELTO);
+
+        ClaimState state = claimEventStore.load(reclamo.getId());
+
+        assertThat(state.sequence()).isEqualTo(5L);
+        assertThat(state.status()).isEqualTo(EstadoReclamoEnum.RESUELTO);
+        assertThat(state.escalations()).isEqualTo(2);
+        assertThat(state.firstResponseAt()).isNotNull();
+    }
+
+    @Test
+    void backfillLegacyEvents_ShouldNumberLegacyEventsAndRebuildSnapshots() {
+        for (EstadoReclamoEnum estado : List.of(EstadoReclamoEnum.INGRESADO, EstadoReclamoEnum.EN_PROCESO,
+                EstadoReclamoEnum.PENDIENTE_INFORMACION, EstadoReclamoEnum.EN_PROCESO)) {
+            estadoReclamoRepository.save(EstadoReclamo.builder().reclamo(reclamo).estado(estado).build());
+        }
+        entityManager.flush();
+
+        claimEventStore.backfillLegacyEvents();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(estadoReclamoRepository.countBySecuenciaIsNull()).isZero();
+        assertThat(estadoReclamoRepository.findAll())
+                .extracting(EstadoReclamo::getSecuencia)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(snapshotReclamoRepository.findById(reclamo.getId()))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.getSecuencia()).isEqualTo(4L));
+
+        Map<Long, ClaimState> states = claimEventStore.loadAll(List.of(reclamo.getId(), 999L));
+        assertThat(states).containsOnlyKeys(reclamo.getId());
+        assertThat(states.get(reclamo.getId()).status()).isEqualTo(EstadoReclamoEnum.EN_PROCESO);
+    }
+
+    @Test
+    void backfillLegacyEvents_NumberedByAnotherNodeWhileWaiting_ShouldSkip() {
+        estadoReclamoRepository.save(EstadoReclamo.builder().reclamo(reclamo).estado(EstadoReclamoEnum.INGRESADO).build());
+        entityManager.flush();
+        // Simulates the node that held the lock: by the time it is granted nothing is left
+        H2Functions.onLock = () -> estadoReclamoRepository.backfillSequences();
+
+        claimEventStore.backfillLegacyEvents();
+
+        assertThat(estadoReclamoRepository.countBySecuenciaIsNull()).isZero();
+        assertThat(snapshotReclamoRepository.count()).isZero();
+    }
+
+    // H2 only calls aliases on public classes
+    public static class H2Functions {
+
+        static Runnable onLock = () -> { };
+
+        public static int hashText(String text) {
+            return text.hashCode();
+        }
+
+        public static void advisoryLock(int key) {
+            Runnable action = onLock;
+            onLock = () -> { };
+            action.run();
+        }
+    }
+
+    private EstadoReclamo append(Reclamo target, EstadoReclamoEnum estado) {
+        return claimEventStore.append(EstadoReclamo.builder().reclamo(target).estado(estado).build());
+    }
+}
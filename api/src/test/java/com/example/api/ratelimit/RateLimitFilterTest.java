@@ -0,0 +1,196 @@
+package com.example.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getBuckets().put(EndpointClass.READ, new RateLimitProperties.Bucket(3, 0.001));
+        filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void doFilter_BurstAboveCapacity_ShouldReturnTooManyRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("GET", "/api/claims", "client-a").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = perform("GET", "/api/claims", "client-a");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString()).contains("Rate limit exceeded for read requests");
+    }
+
+    @Test
+    void doFilter_ShouldKeepSeparateBucketsPerClientAndEndpointClass() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("GET", "/api/claims", "client-a");
+        }
+
+        assertThat(perform("GET", "/api/claims", "client-b").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/claims", "client-a").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ClientOverride_ShouldUseItsOwnCapacity() throws Exception {
+        properties.getClients().put("partner", Map.of(EndpointClass.READ, new RateLimitProperties.Bucket(1, 0.001)));
+
+        assertThat(perform("GET", "/api/claims", "partner").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/claims", "partner").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_ClientIdHeader_ShouldNotChangeBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("GET", "/api/claims", "10.0.0.1");
+        }
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/claims");
+        spoofed.setRemoteAddr("10.0.0.1");
+        spoofed.addHeader("X-Client-Id", "someone-else");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(spoofed, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_AuthenticatedUser_ShouldBeLimitedByNameNotAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            performAs("agent@example.com", "10.0.0." + i);
+        }
+
+        assertThat(performAs("agent@example.com", "10.0.0.9").getStatus()).isEqualTo(429);
+        assertThat(perform("GET", "/api/claims", "10.0.0.9").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_MapFull_ShouldShareDefaultOverflowButKeepOverrides() throws Exception {
+        properties.setMaxClients(2);
+        properties.getClients().put("partner", Map.of(EndpointClass.READ, new RateLimitProperties.Bucket(1, 0.001)));
+        perform("GET", "/api/claims", "10.0.0.1");
+        perform("GET", "/api/claims", "10.0.0.2");
+
+        // The override client still gets its own bucket, not the shared overflow one
+        assertThat(perform("GET", "/api/claims", "partner").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/claims", "partner").getStatus()).isEqualTo(429);
+        // Newcomers share the overflow bucket at the default capacity of 3
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("GET", "/api/claims", "10.0.1." + i).getStatus()).isEqualTo(200);
+        }
+        assertThat(perform("GET", "/api/claims", "10.0.1.3").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void doFilter_ConcurrencyLimitReached_ShouldShedWithServiceUnavailable() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = filter.getConcurrencyLimiter();
+        while (limiter.tryAcquire()) {
+            // occupy every permit
+        }
+
+        MockHttpServletResponse response = perform("POST", "/api/claims", "client-a");
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void doFilter_SlowUploads_ShouldNotShrinkConcurrencyLimit() throws Exception {
+        properties.getConcurrency().setLatencyThreshold(Duration.ofMillis(1));
+        filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules());
+        double initialLimit = filter.getConcurrencyLimiter().getLimit();
+
+        performSlowly("PATCH", "/api/uploads/abc");
+        performSlowly("POST", "/api/claims/1/attachments");
+        assertThat(filter.getConcurrencyLimiter().getLimit()).isEqualTo(initialLimit);
+
+        performSlowly("POST", "/api/claims/1/status");
+        assertThat(filter.getConcurrencyLimiter().getLimit()).isLessThan(initialLimit);
+    }
+
+    @Test
+    void doFilter_OtherPaths_ShouldNotBeLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("GET", "/api/hello", "client-a").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void concurrencyLimiter_SlowResponses_ShouldDecreaseLimitDownToMinimum() {
+        RateLimitProperties.Concurrency settings = new RateLimitProperties.Concurrency();
+        settings.setLatencyThreshold(Duration.ofMillis(100));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(Duration.ofSeconds(1).toNanos(), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(settings.getMinLimit());
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void concurrencyLimiter_FastResponsesAtLimit_ShouldGrowUpToMaximum() {
+        RateLimitProperties.Concurrency settings = new RateLimitProperties.Concurrency();
+        settings.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        for (int i = 0; i < 200; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(Duration.ofMillis(5).toNanos(), false);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(settings.getMaxLimit());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void performSlowly(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private MockHttpServletResponse performAs(String user, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/claims");
+        request.setRemoteAddr(remoteAddr);
+        request.setUserPrincipal(() -> user);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
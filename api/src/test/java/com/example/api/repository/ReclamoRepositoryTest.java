@@ -1,13 +1,18 @@
 package com.example.api.repository;
 
+import com.example.api.entity.AdjuntoReclamo;
 import com.example.api.entity.Reclamo;
 import com.example.api.entity.EstadoReclamo;
+import com.example.api.entity.VistaPreviaAdjunto;
 import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.enums.PreviewStatus;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -112,6 +117,7 @@ class ReclamoRepositoryTest {
                 .reclamo(savedReclamo1)
                 .estado(EstadoReclamoEnum.INGRESADO)
                 .notas("Initial status")
+                .secuencia(1L)
                 .build();
         entityManager.persist(status1);
 
@@ -119,6 +125,7 @@ class ReclamoRepositoryTest {
                 .reclamo(savedReclamo1)
                 .estado(EstadoReclamoEnum.EN_PROCESO)
                 .notas("Updated status")
+                .secuencia(2L)
                 .build();
         entityManager.persist(status2);
         entityManager.flush();
@@ -131,6 +138,22 @@ class ReclamoRepositoryTest {
         assertThat(reclamoWithStatus.getCodigo()).isEqualTo("CLM-TEST001");
     }
 
+    @Test
+    void currentStatus_ShouldFollowSequenceNotTimestamp() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        // Written by a node whose clock is behind: the later event has the older timestamp
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo1).estado(EstadoReclamoEnum.EN_PROCESO).secuencia(2L).build());
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo1).estado(EstadoReclamoEnum.INGRESADO).secuencia(1L).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(reclamoRepository.findByCurrentStatus(EstadoReclamoEnum.EN_PROCESO)).hasSize(1);
+        assertThat(reclamoRepository.findByCurrentStatus(EstadoReclamoEnum.INGRESADO)).isEmpty();
+        assertThat(reclamoRepository.findLastStatusByReclamoIds(List.of(savedReclamo1.getId())))
+                .extracting(row -> row[1])
+                .containsExactly(EstadoReclamoEnum.EN_PROCESO);
+    }
+
     @Test
     void findByCurrentStatus_ShouldReturnReclamosWithSpecificStatus() {
         Reclamo savedReclamo1 = entityManager.persist(reclamo1);
@@ -141,6 +164,7 @@ class ReclamoRepositoryTest {
                 .reclamo(savedReclamo1)
                 .estado(EstadoReclamoEnum.INGRESADO)
                 .notas("Initial status")
+                .secuencia(1L)
                 .build();
         entityManager.persist(status1);
 
@@ -148,6 +172,7 @@ class ReclamoRepositoryTest {
                 .reclamo(savedReclamo2)
                 .estado(EstadoReclamoEnum.EN_PROCESO)
                 .notas("In progress")
+                .secuencia(1L)
                 .build();
         entityManager.persist(status2);
         entityManager.flush();
@@ -189,4 +214,114 @@ class ReclamoRepositoryTest {
 
         assertThat(count).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findVersionById_ShouldCountStatusesAndReturnLatestTimestamps() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        entityManager.persist(EstadoReclamo.builder()
+                .reclamo(savedReclamo1)
+                .estado(EstadoReclamoEnum.INGRESADO)
+                .build());
+        entityManager.flush();
+
+        List<Object[]> version = reclamoRepository.findVersionById(savedReclamo1.getId());
+
+        assertThat(version).hasSize(1);
+        assertThat(version.get(0)[0]).isNotNull();
+        assertThat(version.get(0)[1]).isNotNull();
+        assertThat(version.get(0)[2]).isNull();
+        assertThat(version.get(0)[3]).isEqualTo(1L);
+        assertThat(version.get(0)[4]).isEqualTo(0L);
+        assertThat(version.get(0)[5]).isNull();
+        assertThat(reclamoRepository.findVersionById(999L)).isEmpty();
+    }
+
+    @Test
+    void findVersionById_ShouldChangeWhenAPreviewIsUpdated() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        AdjuntoReclamo adjunto = entityManager.persist(AdjuntoReclamo.builder()
+                .reclamo(savedReclamo1)
+                .nombreArchivo("factura.pdf")
+                .tipoContenido("application/pdf")
+                .tamanoBytes(1024L)
+                .urlArchivo("/uploads/1/factura.pdf")
+                .build());
+        VistaPreviaAdjunto preview = entityManager.persist(VistaPreviaAdjunto.builder()
+                .adjuntoId(adjunto.getId())
+                .reclamoId(savedReclamo1.getId())
+                .estado(PreviewStatus.PENDING)
+                .build());
+        entityManager.flush();
+        LocalDateTime pending = (LocalDateTime) reclamoRepository.findVersionById(savedReclamo1.getId()).get(0)[5];
+
+        preview.setEstado(PreviewStatus.READY);
+        entityManager.flush();
+
+        LocalDateTime ready = (LocalDateTime) reclamoRepository.findVersionById(savedReclamo1.getId()).get(0)[5];
+        assertThat(pending).isNotNull();
+        assertThat(ready).isAfter(pending);
+    }
+
+    @Test
+    void findByClienteIdBefore_ShouldReturnOlderClaimsOfCustomer() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        reclamo2.setClienteId(123L);
+        Reclamo savedReclamo2 = entityManager.persist(reclamo2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Reclamo> firstPage = reclamoRepository.findByClienteIdNewestFirst(123L, PageRequest.ofSize(1));
+        Reclamo newest = firstPage.get(0);
+        List<Reclamo> nextPage = reclamoRepository.findByClienteIdBefore(
+                123L, newest.getFechaCreacion(), newest.getId(), PageRequest.ofSize(10));
+
+        assertThat(firstPage).hasSize(1);
+        assertThat(nextPage).extracting(Reclamo::getId)
+                .containsExactly(newest.getId().equals(savedReclamo2.getId()) ? savedReclamo1.getId() : savedReclamo2.getId());
+    }
+
+    @Test
+    void findWithFilters_ShouldMatchStatusAndTextWithoutLoadingHistory() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        Reclamo savedReclamo2 = entityManager.persist(reclamo2);
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo1).estado(EstadoReclamoEnum.EN_PROCESO).secuencia(1L).build());
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo2).estado(EstadoReclamoEnum.INGRESADO).secuencia(1L).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Reclamo> enProceso = reclamoRepository.findWithFilters(EstadoReclamoEnum.EN_PROCESO, "test claim");
+
+        assertThat(enProceso).extracting(Reclamo::getCodigo).containsExactly("CLM-TEST001");
+        assertThat(Hibernate.isInitialized(enProceso.get(0).getEstados())).isFalse();
+    }
+
+    @Test
+    void findWithStatusByIds_ShouldFilterByCurrentStatusWithoutLoadingHistory() {
+        Reclamo savedReclamo1 = entityManager.persist(reclamo1);
+        Reclamo savedReclamo2 = entityManager.persist(reclamo2);
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo1).estado(EstadoReclamoEnum.EN_PROCESO).secuencia(1L).build());
+        entityManager.persist(EstadoReclamo.builder().reclamo(savedReclamo2).estado(EstadoReclamoEnum.INGRESADO).secuencia(1L).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = List.of(savedReclamo1.getId(), savedReclamo2.getId());
+        List<Reclamo> enProceso = reclamoRepository.findWithStatusByIds(EstadoReclamoEnum.EN_PROCESO, ids);
+
+        assertThat(enProceso).extracting(Reclamo::getCodigo).containsExactly("CLM-TEST001");
+        assertThat(Hibernate.isInitialized(enProceso.get(0).getEstados())).isFalse();
+        assertThat(reclamoRepository.findWithStatusByIds(null, ids)).hasSize(2);
+    }
+
+    @Test
+    void findWithFilters_WildcardsInSearch_ShouldMatchThemLiterally() {
+        reclamo1.setTitulo("Descuento del 50% no aplicado");
+        reclamo2.setTitulo("Descuento del 505 no aplicado");
+        entityManager.persist(reclamo1);
+        entityManager.persist(reclamo2);
+        entityManager.flush();
+
+        assertThat(reclamoRepository.findWithFilters(null, "50%")).extracting(Reclamo::getCodigo)
+                .containsExactly("CLM-TEST001");
+        assertThat(reclamoRepository.findWithFilters(null, "test_claim")).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.api.search;
+
+import com.example.api.repository.TerminoAdjuntoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AttachmentTextIndexer.class)
+class AttachmentTextIndexerTest {
+
+    @Autowired
+    private AttachmentTextIndexer attachmentTextIndexer;
+
+    @Autowired
+    private TerminoAdjuntoRepository terminoAdjuntoRepository;
+
+    @Test
+    void tokenizer_ShouldNormalizeAccentsCaseAndStopWords() {
+        assertThat(SearchTokenizer.termFrequencies("La FACTURA de energía, factura duplicada"))
+                .containsExactly(Map.entry("factura", 2), Map.entry("energia", 1), Map.entry("duplicada", 1));
+    }
+
+    @Test
+    void scoreClaims_ShouldRequireEveryTermAndSumFrequencies() {
+        attachmentTextIndexer.index(10L, 1L, "Factura duplicada. Adjunto la factura de enero.");
+        attachmentTextIndexer.index(11L, 2L, "Factura de febrero");
+        attachmentTextIndexer.index(12L, 2L, "Cobro duplicado");
+
+        assertThat(attachmentTextIndexer.scoreClaims("factura")).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 1L));
+        assertThat(attachmentTextIndexer.scoreClaims("Factura DUPLICADA")).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 3L));
+        assertThat(attachmentTextIndexer.scoreClaims("energía")).isEmpty();
+    }
+
+    @Test
+    void index_SameAttachmentTwice_ShouldReplacePreviousTerms() {
+        attachmentTextIndexer.index(10L, 1L, "factura enero");
+        attachmentTextIndexer.index(10L, 1L, "reembolso");
+
+        assertThat(attachmentTextIndexer.scoreClaims("factura")).isEmpty();
+        assertThat(attachmentTextIndexer.scoreClaims("reembolso")).containsEntry(1L, 1L);
+        assertThat(terminoAdjuntoRepository.count()).isEqualTo(1);
+    }
+}
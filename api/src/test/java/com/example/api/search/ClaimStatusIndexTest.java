@@ -0,0 +1,83 @@
+package com.example.api.search;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClaimStatusIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private final ClaimStatusIndex index = new ClaimStatusIndex(null, true);
+
+    @Test
+    void bitmap_RandomOperations_ShouldMatchTreeSet() {
+        Random random = new Random(11);
+        ClaimIdBitmap bitmap = new ClaimIdBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(300_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(bitmap.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(bitmap.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        List<Long> descending = new ArrayList<>();
+        bitmap.forEachDescending(descending::add);
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(descending).containsExactlyElementsOf(expected.descendingSet());
+        assertThat(bitmap.contains(expected.first())).isTrue();
+    }
+
+    @Test
+    void apply_OutOfOrderChanges_ShouldKeepNewestStatus() {
+        index.apply(1, BASE, EstadoReclamoEnum.INGRESADO, BASE);
+        index.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.RESUELTO, BASE.plusHours(2)));
+        index.onClaimChanged(new ClaimChangedEvent(1L, 10L, EstadoReclamoEnum.EN_PROCESO, BASE.plusHours(1)));
+
+        assertThat(index.contains(EstadoReclamoEnum.RESUELTO, 1)).isTrue();
+        assertThat(index.contains(EstadoReclamoEnum.EN_PROCESO, 1)).isFalse();
+        assertThat(index.counts())
+                .containsEntry(EstadoReclamoEnum.RESUELTO, 1L)
+                .containsEntry(EstadoReclamoEnum.INGRESADO, 0L);
+    }
+
+    @Test
+    void apply_WarmUpAfterLiveChange_ShouldKeepLiveStatusAndTakeCreationDate() {
+        index.onClaimChanged(new ClaimChangedEvent(5L, 10L, EstadoReclamoEnum.ESCALADO, BASE));
+        index.apply(5, BASE.minusDays(10), EstadoReclamoEnum.INGRESADO, BASE.minusDays(10));
+
+        ClaimStatusIndex.IdPage page = index.page(EstadoReclamoEnum.ESCALADO,
+                BASE.minusDays(10).toLocalDate(), BASE.minusDays(10).toLocalDate(), 0, 10);
+        assertThat(page.ids()).containsExactly(5L);
+    }
+
+    @Test
+    void page_ShouldReturnNewestIdsWithTotalsForStatusAndDateRange() {
+        for (long id = 1; id <= 200_000; id++) {
+            EstadoReclamoEnum status = id % 4 == 0 ? EstadoReclamoEnum.EN_PROCESO : EstadoReclamoEnum.INGRESADO;
+            LocalDateTime createdAt = BASE.plusDays(id % 10);
+            index.apply(id, createdAt, status, createdAt);
+        }
+
+        ClaimStatusIndex.IdPage firstPage = index.page(EstadoReclamoEnum.EN_PROCESO, null, null, 0, 3);
+        assertThat(firstPage.total()).isEqualTo(50_000);
+        assertThat(firstPage.ids()).containsExactly(200_000L, 199_996L, 199_992L);
+
+        LocalDate day = BASE.plusDays(8).toLocalDate();
+        ClaimStatusIndex.IdPage dated = index.page(EstadoReclamoEnum.EN_PROCESO, day, day, 2, 2);
+        assertThat(dated.total()).isEqualTo(10_000);
+        assertThat(dated.ids()).containsExactly(199_948L, 199_928L);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.api.search;
+
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.VistaGuardada;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.event.SavedViewDeletedEvent;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.VistaGuardadaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedViewIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private VistaGuardadaRepository vistaGuardadaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object[]> texts = new ArrayList<>();
+    private ClaimStatusIndex statusIndex;
+    private ScheduledExecutorService builder;
+    private SavedViewIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(reclamoRepository.streamLatestStatuses()).thenReturn(Stream.empty());
+        statusIndex = new ClaimStatusIndex(reclamoRepository, true);
+        statusIndex.warmUp();
+        builder = Executors.newSingleThreadScheduledExecutor();
+        index = new SavedViewIndex(reclamoRepository, vistaGuardadaRepository, statusIndex, transactionManager, true,
+                builder, Duration.ofMillis(1));
+
+        claim(1, "CLM-0001", "Cobro duplicado en factura", null, EstadoReclamoEnum.EN_PROCESO);
+        claim(2, "CLM-0002", "Sin señal", "La FACTURA llegó tarde", EstadoReclamoEnum.INGRESADO);
+        claim(3, "CLM-0003", "Cambio de plan", "Sin detalle", EstadoReclamoEnum.EN_PROCESO);
+        claim(4, "FACTURA-4", "Reclamo", null, EstadoReclamoEnum.EN_PROCESO);
+        lenient().when(reclamoRepository.streamTexts()).thenAnswer(invocation -> texts.stream());
+    }
+
+    @AfterEach
+    void tearDown() {
+        builder.shutdownNow();
+    }
+
+    @Test
+    void warmUp_ShouldPageTextMatchesFilteredByCurrentStatus() {
+        when(vistaGuardadaRepository.findAllByOrderByIdAsc()).thenReturn(List.of(
+                view(1L, EstadoReclamoEnum.EN_PROCESO, "factura"),
+                view(2L, null, "factura"),
+                view(3L, EstadoReclamoEnum.INGRESADO, null)));
+
+        index.warmUp();
+        awaitBuilds();
+
+        ClaimStatusIndex.IdPage inProcess = index.page(view(1L, EstadoReclamoEnum.EN_PROCESO, "factura"), 0, 10);
+        ClaimStatusIndex.IdPage anyStatus = index.page(view(2L, null, "factura"), 1, 1);
+        ClaimStatusIndex.IdPage statusOnly = index.page(view(3L, EstadoReclamoEnum.INGRESADO, null), 0, 10);
+
+        assertThat(inProcess.total()).isEqualTo(2);
+        assertThat(inProcess.ids()).containsExactly(4L, 1L);
+        assertThat(anyStatus.total()).isEqualTo(3);
+        assertThat(anyStatus.ids()).containsExactly(2L);
+        assertThat(statusOnly.ids()).containsExactly(2L);
+    }
+
+    @Test
+    void onClaimChanged_NewClaim_ShouldJoinMatchingViewsAndStatusChangesFollowIndex() {
+        VistaGuardada vista = view(1L, EstadoReclamoEnum.INGRESADO, "factura");
+        when(vistaGuardadaRepository.findAllByOrderByIdAsc()).thenReturn(List.of(vista));
+        index.warmUp();
+        awaitBuilds();
+        Reclamo created = Reclamo.builder().id(5L).codigo("CLM-0005").titulo("Factura errónea").build();
+        when(reclamoRepository.findById(5L)).thenReturn(Optional.of(created));
+
+        ClaimChangedEvent creation = new ClaimChangedEvent(5L, 10L, EstadoReclamoEnum.INGRESADO, BASE.plusDays(1));
+        statusIndex.onClaimChanged(creation);
+        index.onClaimChanged(creation);
+        assertThat(index.page(vista, 0, 10).ids()).containsExactly(5L, 2L);
+
+        ClaimChangedEvent resolved = new ClaimChangedEvent(5L, 10L, EstadoReclamoEnum.RESUELTO, BASE.plusDays(2));
+        statusIndex.onClaimChanged(resolved);
+        index.onClaimChanged(resolved);
+        assertThat(index.page(vista, 0, 10).ids()).containsExactly(2L);
+        // The text of a claim is only read the first time it is seen
+        verify(reclamoRepository, times(1)).findById(5L);
+    }
+
+    @Test
+    void page_ViewNotRegistered_ShouldFallBackUntilBuiltInBackground() {
+        when(vistaGuardadaRepository.findAllByOrderByIdAsc()).thenReturn(List.of());
+        index.warmUp();
+        awaitBuilds();
+
+        assertThat(index.page(view(9L, null, "sin"), 0, 10)).isNull();
+        awaitBuilds();
+
+        assertThat(index.page(view(9L, null, "sin"), 0, 10).ids()).containsExactly(3L, 2L);
+        index.onViewDeleted(new SavedViewDeletedEvent(9L));
+        assertThat(index.page(view(9L, null, "sin"), 0, 10)).isNull();
+    }
+
+    @Test
+    void register_ScanFails_ShouldRetryUntilBuilt() throws Exception {
+        when(vistaGuardadaRepository.findAllByOrderByIdAsc()).thenReturn(List.of());
+        index.warmUp();
+        awaitBuilds();
+        when(reclamoRepository.streamTexts())
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenAnswer(invocation -> texts.stream());
+
+        VistaGuardada vista = view(9L, EstadoReclamoEnum.EN_PROCESO, "factura");
+        index.register(vista);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.page(vista, 0, 10) == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(index.page(vista, 0, 10).ids()).containsExactly(4L, 1L);
+    }
+
+    // Zero-delay tasks run in submission order on the single builder thread
+    private void awaitBuilds() {
+        try {
+            builder.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void claim(long id, String codigo, String titulo, String descripcion, EstadoReclamoEnum status) {
+        texts.add(new Object[]{id, codigo, titulo, descripcion});
+        statusIndex.apply(id, BASE, status, BASE);
+    }
+
+    private static VistaGuardada view(Long id, EstadoReclamoEnum status, String search) {
+        return VistaGuardada.builder().id(id).nombre("Vista " + id).estado(status).texto(search).build();
+    }
+}
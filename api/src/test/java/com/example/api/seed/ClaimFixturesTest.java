@@ -0,0 +1,58 @@
+package com.example.api.seed;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClaimFixturesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 9, 30);
+
+    private final ClaimFixtures fixtures = new ClaimFixtures(1_000, 365, 42, NOW);
+
+    @Test
+    void claim_SameSeedAndIndex_ShouldBeReproducible() {
+        ClaimFixtures other = new ClaimFixtures(1_000, 365, 42, NOW);
+
+        assertThat(other.claim(12_345)).isEqualTo(fixtures.claim(12_345));
+        assertThat(fixtures.claim(12_345)).isNotEqualTo(fixtures.claim(12_346));
+    }
+
+    @Test
+    void claim_ShouldHaveConsistentHistory() {
+        for (long index = 0; index < 5_000; index++) {
+            ClaimFixtures.FixtureClaim claim = fixtures.claim(index);
+
+            assertThat(claim.createdAt()).isBeforeOrEqualTo(NOW).isAfter(NOW.minusDays(366));
+            assertThat(claim.statuses().get(0).status()).isEqualTo(EstadoReclamoEnum.INGRESADO);
+            assertThat(claim.statuses().get(0).createdAt()).isEqualTo(claim.createdAt());
+            assertThat(claim.updatedAt()).isEqualTo(claim.statuses().get(claim.statuses().size() - 1).createdAt());
+            assertThat(claim.updatedAt()).isBeforeOrEqualTo(NOW);
+            for (int i = 1; i < claim.statuses().size(); i++) {
+                assertThat(claim.statuses().get(i).createdAt()).isAfterOrEqualTo(claim.statuses().get(i - 1).createdAt());
+            }
+            assertThat(claim.attachments()).hasSizeLessThanOrEqualTo(3);
+            assertThat(claim.customerId()).isBetween(10_000L, 11_000L);
+        }
+    }
+
+    @Test
+    void claim_ShouldLeaveMostOldClaimsFinishedAndRecentOnesOpen() {
+        Map<EstadoReclamoEnum, Integer> statuses = new EnumMap<>(EstadoReclamoEnum.class);
+        for (long index = 0; index < 20_000; index++) {
+            statuses.merge(fixtures.claim(index).currentStatus(), 1, Integer::sum);
+        }
+
+        int finished = statuses.getOrDefault(EstadoReclamoEnum.CERRADO, 0)
+                + statuses.getOrDefault(EstadoReclamoEnum.RESUELTO, 0)
+                + statuses.getOrDefault(EstadoReclamoEnum.RECHAZADO, 0);
+        assertThat(finished).isGreaterThan(10_000);
+        assertThat(statuses.get(EstadoReclamoEnum.ESCALADO)).isPositive();
+        assertThat(statuses.get(EstadoReclamoEnum.PENDIENTE_INFORMACION)).isPositive();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.api.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FixtureLoaderTest {
+
+    @Test
+    void ranges_ShouldCoverAllRowsWithoutOverlap() {
+        List<long[]> ranges = FixtureLoader.ranges(10, 4);
+
+        assertThat(ranges).extracting(range -> range[0]).containsExactly(0L, 3L, 6L, 9L);
+        assertThat(ranges).extracting(range -> range[1]).containsExactly(3L, 6L, 9L, 10L);
+        assertThat(FixtureLoader.ranges(0, 4)).isEmpty();
+        assertThat(FixtureLoader.ranges(2, 4)).hasSize(2);
+    }
+
+    @Test
+    void run_ClaimsAlreadyLoaded_ShouldSkipSeed() throws Exception {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE reclamos (id BIGINT PRIMARY KEY)");
+            jdbcTemplate.update("INSERT INTO reclamos VALUES (1)");
+
+            // Seeding would need a PostgreSQL connection for COPY, so getting past the guard fails
+            new FixtureLoader(database, 10, 0, 30, 42, 2, "", false).run(null);
+
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reclamos", Long.class)).isEqualTo(1);
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void appendText_ShouldEscapeCopyTextFormat() {
+        StringBuilder line = new StringBuilder();
+
+        FixtureLoader.appendText(line, "a\tb\nc\\d\r").append('|');
+        FixtureLoader.appendText(line, null);
+
+        assertThat(line.toString()).isEqualTo("a\\tb\\nc\\\\d\\r|\\N");
+    }
+}
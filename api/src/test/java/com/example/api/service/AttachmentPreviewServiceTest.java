@@ -0,0 +1,175 @@
+package com.example.api.service;
+
+import com.example.api.entity.VistaPreviaAdjunto;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.VistaPreviaAdjuntoRepository;
+import com.example.api.search.AttachmentTextIndexer;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentPreviewServiceTest {
+
+    @Mock
+    private VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository;
+
+    @Mock
+    private AdjuntoReclamoRepository adjuntoReclamoRepository;
+
+    @Mock
+    private AttachmentTextIndexer attachmentTextIndexer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path storageDir;
+
+    private AttachmentStorage attachmentStorage;
+    private ExecutorService workers;
+    private AttachmentPreviewService attachmentPreviewService;
+
+    @BeforeEach
+    void setUp() {
+        attachmentStorage = new AttachmentStorage(storageDir.toString());
+        workers = Executors.newSingleThreadExecutor();
+        attachmentPreviewService = new AttachmentPreviewService(vistaPreviaAdjuntoRepository, adjuntoReclamoRepository,
+                attachmentStorage, attachmentTextIndexer, transactionManager, workers);
+        lenient().when(vistaPreviaAdjuntoRepository.save(any(VistaPreviaAdjunto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void onAttachmentAdded_Pdf_ShouldRenderFirstPageAndExtractText() throws Exception {
+        attachmentStorage.store("/uploads/1/evidencia.pdf", new ByteArrayInputStream(twoPagePdf()));
+
+        attachmentPreviewService.onAttachmentAdded(new AttachmentAddedEvent(7L, 1L, "/uploads/1/evidencia.pdf", "application/pdf"));
+        awaitWorkers();
+
+        VistaPreviaAdjunto preview = lastSaved();
+        assertThat(preview.getEstado()).isEqualTo(PreviewStatus.READY);
+        assertThat(preview.getNumeroPaginas()).isEqualTo(2);
+        assertThat(preview.getTexto()).contains("Factura duplicada").contains("Segunda página");
+        assertThat(preview.getUrlVistaPrevia()).isEqualTo("/uploads/1/evidencia.pdf.preview.png");
+
+        BufferedImage image = ImageIO.read(attachmentStorage.resolve(preview.getUrlVistaPrevia()).toFile());
+        assertThat(image.getWidth()).isEqualTo(AttachmentPreviewService.PREVIEW_WIDTH);
+        assertThat(preview.getTamanoVistaPrevia()).isPositive();
+        verify(attachmentTextIndexer).index(eq(7L), eq(1L), contains("Factura duplicada"));
+        // The listener runs after the upload commit, so every write needs a transaction of its own
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void onAttachmentAdded_UnsupportedType_ShouldMarkUnsupported() throws Exception {
+        attachmentStorage.store("/uploads/1/notas.txt", new ByteArrayInputStream("hola".getBytes(StandardCharsets.UTF_8)));
+
+        attachmentPreviewService.onAttachmentAdded(new AttachmentAddedEvent(8L, 1L, "/uploads/1/notas.txt", "text/plain"));
+        awaitWorkers();
+
+        assertThat(lastSaved().getEstado()).isEqualTo(PreviewStatus.UNSUPPORTED);
+    }
+
+    @Test
+    void onAttachmentAdded_MissingFile_ShouldMarkFailed() throws Exception {
+        attachmentPreviewService.onAttachmentAdded(new AttachmentAddedEvent(9L, 1L, "/uploads/1/perdido.pdf", "application/pdf"));
+        awaitWorkers();
+
+        VistaPreviaAdjunto preview = lastSaved();
+        assertThat(preview.getEstado()).isEqualTo(PreviewStatus.FAILED);
+        assertThat(preview.getError()).isEqualTo("Attachment file not found");
+    }
+
+    @Test
+    void onAttachmentAdded_QueueFull_ShouldLeavePreviewPendingForBackfill() {
+        workers.shutdown();
+
+        attachmentPreviewService.onAttachmentAdded(new AttachmentAddedEvent(10L, 1L, "/uploads/1/factura.pdf", "application/pdf"));
+
+        verify(vistaPreviaAdjuntoRepository, times(1)).save(any(VistaPreviaAdjunto.class));
+        assertThat(lastSaved().getEstado()).isEqualTo(PreviewStatus.PENDING);
+    }
+
+    @Test
+    void backfillMissing_ShouldGeneratePreviewsOfAttachmentsWithoutOne() throws Exception {
+        attachmentStorage.store("/uploads/1/evidencia.pdf", new ByteArrayInputStream(twoPagePdf()));
+        when(adjuntoReclamoRepository.findWithoutPreview()).thenReturn(List.<Object[]>of(
+                new Object[]{7L, 1L, "/uploads/1/evidencia.pdf", "application/pdf"}));
+
+        attachmentPreviewService.backfillMissing();
+        awaitWorkers();
+
+        VistaPreviaAdjunto preview = lastSaved();
+        assertThat(preview.getAdjuntoId()).isEqualTo(7L);
+        assertThat(preview.getEstado()).isEqualTo(PreviewStatus.READY);
+    }
+
+    @Test
+    void indexMissingText_ShouldIndexExtractedTextNotYetInTheIndex() {
+        when(vistaPreviaAdjuntoRepository.findUnindexedText(eq(0L), any())).thenReturn(List.<Object[]>of(
+                new Object[]{7L, 1L}, new Object[]{8L, 2L}));
+        when(vistaPreviaAdjuntoRepository.findById(7L)).thenReturn(Optional.of(
+                VistaPreviaAdjunto.builder().adjuntoId(7L).reclamoId(1L).texto("Factura duplicada").build()));
+        when(vistaPreviaAdjuntoRepository.findById(8L)).thenReturn(Optional.of(
+                VistaPreviaAdjunto.builder().adjuntoId(8L).reclamoId(2L).texto("").build()));
+
+        attachmentPreviewService.indexMissingText();
+
+        verify(attachmentTextIndexer).index(7L, 1L, "Factura duplicada");
+        verify(attachmentTextIndexer, never()).index(eq(8L), any(), any());
+        // A short batch is the last one
+        verify(vistaPreviaAdjuntoRepository, times(1)).findUnindexedText(any(), any());
+    }
+
+    private void awaitWorkers() throws InterruptedException {
+        workers.shutdown();
+        assertThat(workers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private VistaPreviaAdjunto lastSaved() {
+        ArgumentCaptor<VistaPreviaAdjunto> saved = ArgumentCaptor.forClass(VistaPreviaAdjunto.class);
+        verify(vistaPreviaAdjuntoRepository, atLeastOnce()).save(saved.capture());
+        List<VistaPreviaAdjunto> values = saved.getAllValues();
+        return values.get(values.size() - 1);
+    }
+
+    private static byte[] twoPagePdf() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos)))) {
+            document.add(new Paragraph("Factura duplicada del mes de enero"));
+            document.add(new AreaBreak());
+            document.add(new Paragraph("Segunda página"));
+        }
+        return baos.toByteArray();
+    }
+}
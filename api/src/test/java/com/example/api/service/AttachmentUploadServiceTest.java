@@ -0,0 +1,165 @@
+package com.example.api.service;
+
+import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.CreateUploadRequest;
+import com.example.api.dto.UploadSessionResponse;
+import com.example.api.entity.AdjuntoReclamo;
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.SesionCarga;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.exception.UploadOffsetConflictException;
+import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.SesionCargaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentUploadServiceTest {
+
+    @Mock
+    private SesionCargaRepository sesionCargaRepository;
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private AdjuntoReclamoRepository adjuntoReclamoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path storageDir;
+
+    private AttachmentStorage attachmentStorage;
+    private AttachmentUploadService attachmentUploadService;
+    private SesionCarga sesion;
+
+    @BeforeEach
+    void setUp() {
+        attachmentStorage = new AttachmentStorage(storageDir.toString());
+        attachmentUploadService = new AttachmentUploadService(sesionCargaRepository, reclamoRepository,
+                adjuntoReclamoRepository, attachmentStorage, eventPublisher, 1024);
+
+        sesion = SesionCarga.builder()
+                .id("upload-1")
+                .reclamoId(1L)
+                .nombreArchivo("evidencia.pdf")
+                .tipoContenido("application/pdf")
+                .tamanoTotal(11L)
+                .bytesRecibidos(0L)
+                .build();
+    }
+
+    @Test
+    void createUpload_ShouldStripDirectoriesFromFileName() {
+        when(reclamoRepository.existsById(1L)).thenReturn(true);
+        when(sesionCargaRepository.save(any(SesionCarga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UploadSessionResponse upload = attachmentUploadService.createUpload(1L,
+                new CreateUploadRequest("../../etc/evidencia.pdf", "application/pdf", 11L));
+
+        assertThat(upload.fileName()).isEqualTo("evidencia.pdf");
+        assertThat(upload.offset()).isZero();
+        assertThat(upload.uploadId()).isNotBlank();
+    }
+
+    @Test
+    void createUpload_TooLarge_ShouldThrowException() {
+        when(reclamoRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> attachmentUploadService.createUpload(1L,
+                new CreateUploadRequest("evidencia.pdf", "application/pdf", 4096L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void appendChunk_ThenComplete_ShouldAssembleFileAndCreateAttachment() throws Exception {
+        Reclamo reclamo = new Reclamo();
+        reclamo.setId(1L);
+        when(sesionCargaRepository.findById("upload-1")).thenReturn(Optional.of(sesion));
+        when(sesionCargaRepository.advanceOffset(eq("upload-1"), anyLong(), anyLong(), any())).thenReturn(1);
+        when(reclamoRepository.findById(1L)).thenReturn(Optional.of(reclamo));
+        when(adjuntoReclamoRepository.save(any(AdjuntoReclamo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(attachmentUploadService.appendChunk("upload-1", 0, stream("hello "), 6).offset()).isEqualTo(6);
+        assertThat(attachmentUploadService.appendChunk("upload-1", 6, stream("world"), 5).offset()).isEqualTo(11);
+        ClaimDetailResponse.ClaimAttachment attachment = attachmentUploadService.completeUpload("upload-1");
+
+        ArgumentCaptor<AdjuntoReclamo> saved = ArgumentCaptor.forClass(AdjuntoReclamo.class);
+        verify(adjuntoReclamoRepository).save(saved.capture());
+        String url = saved.getValue().getUrlArchivo();
+        assertThat(url).matches("/uploads/1/[0-9a-f-]{36}-evidencia\\.pdf");
+        assertThat(attachment.fileSize()).isEqualTo(11L);
+        assertThat(Files.readString(attachmentStorage.resolve(url))).isEqualTo("hello world");
+        verify(sesionCargaRepository).delete(sesion);
+        verify(eventPublisher).publishEvent(any(AttachmentAddedEvent.class));
+    }
+
+    @Test
+    void completeUpload_MoveFails_ShouldLeaveThePartialFileForARetry() throws Exception {
+        sesion.setBytesRecibidos(11L);
+        Reclamo reclamo = new Reclamo();
+        reclamo.setId(1L);
+        when(sesionCargaRepository.findById("upload-1")).thenReturn(Optional.of(sesion));
+        when(reclamoRepository.findById(1L)).thenReturn(Optional.of(reclamo));
+        when(adjuntoReclamoRepository.save(any(AdjuntoReclamo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // No partial file on disk, so the move fails after the row was saved and the transaction rolls back
+
+        assertThatThrownBy(() -> attachmentUploadService.completeUpload("upload-1"))
+                .isInstanceOf(UncheckedIOException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void appendChunk_WrongOffset_ShouldThrowConflictWithCurrentOffset() {
+        sesion.setBytesRecibidos(6L);
+        when(sesionCargaRepository.findById("upload-1")).thenReturn(Optional.of(sesion));
+
+        assertThatThrownBy(() -> attachmentUploadService.appendChunk("upload-1", 0, stream("hello "), 6))
+                .isInstanceOf(UploadOffsetConflictException.class)
+                .extracting(e -> ((UploadOffsetConflictException) e).getCurrentOffset())
+                .isEqualTo(6L);
+        verify(sesionCargaRepository, never()).advanceOffset(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void appendChunk_PastDeclaredSize_ShouldThrowException() {
+        when(sesionCargaRepository.findById("upload-1")).thenReturn(Optional.of(sesion));
+
+        assertThatThrownBy(() -> attachmentUploadService.appendChunk("upload-1", 0, stream("hello world!"), 12))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void completeUpload_Incomplete_ShouldThrowException() {
+        sesion.setBytesRecibidos(6L);
+        when(sesionCargaRepository.findById("upload-1")).thenReturn(Optional.of(sesion));
+
+        assertThatThrownBy(() -> attachmentUploadService.completeUpload("upload-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(adjuntoReclamoRepository, never()).save(any());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
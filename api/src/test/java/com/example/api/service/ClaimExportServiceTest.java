@@ -0,0 +1,107 @@
+package com.example.api.service;
+
+import com.example.api.enums.ExportCompression;
+import com.example.api.enums.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClaimExportServiceTest {
+
+    private EmbeddedDatabase database;
+    private ClaimExportService claimExportService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE reclamos (id BIGINT PRIMARY KEY, codigo VARCHAR(255), titulo VARCHAR(255), " +
+                "descripcion TEXT, cliente_id BIGINT, fecha_creacion TIMESTAMP, fecha_actualizacion TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE estado_reclamos (id BIGINT PRIMARY KEY, reclamo_id BIGINT, estado VARCHAR(255), " +
+                "notas TEXT, asesor_email TEXT, fecha_creacion TIMESTAMP)");
+
+        jdbcTemplate.update("INSERT INTO reclamos VALUES (1, 'CLM-1', 'Internet, lento', 'Dice \"urgente\"', 100, " +
+                "TIMESTAMP '2024-01-01 10:00:00', TIMESTAMP '2024-01-02 10:00:00')");
+        jdbcTemplate.update("INSERT INTO reclamos VALUES (2, 'CLM-2', 'Factura', 'Cobro doble', 200, " +
+                "TIMESTAMP '2024-01-03 10:00:00', TIMESTAMP '2024-01-03 10:00:00')");
+        jdbcTemplate.update("INSERT INTO estado_reclamos VALUES (1, 1, 'Ingresado', 'Recibido', 'a@empresa.com', " +
+                "TIMESTAMP '2024-01-01 10:00:00')");
+        jdbcTemplate.update("INSERT INTO estado_reclamos VALUES (2, 1, 'EN_PROCESO', 'Revisando', 'b@empresa.com', " +
+                "TIMESTAMP '2024-01-02 10:00:00')");
+
+        claimExportService = new ClaimExportService(jdbcTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void export_Csv_ShouldWriteOneLinePerClaimWithEscaping() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = claimExportService.export(ExportFormat.CSV, ExportCompression.NONE, false, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,codigo,titulo");
+        assertThat(lines[1]).startsWith("1,CLM-1,\"Internet, lento\",\"Dice \"\"urgente\"\"\",100,EN_PROCESO,");
+        assertThat(lines[2]).startsWith("2,CLM-2,Factura,Cobro doble,200,INGRESADO,");
+    }
+
+    @Test
+    void export_CsvWithHistory_ShouldWriteOneLinePerStatus() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        claimExportService.export(ExportFormat.CSV, ExportCompression.NONE, true, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).contains(",1,INGRESADO,Recibido,a@empresa.com,");
+        assertThat(lines[2]).contains(",2,EN_PROCESO,Revisando,b@empresa.com,");
+        assertThat(lines[3]).startsWith("2,CLM-2").endsWith(",,,,,");
+    }
+
+    @Test
+    void export_GzipNdjsonWithHistory_ShouldNestStatusHistory() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        claimExportService.export(ExportFormat.NDJSON, ExportCompression.GZIP, true, output);
+
+        String content;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            content = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("currentStatus").asText()).isEqualTo("En Proceso");
+        assertThat(first.get("statusHistory")).hasSize(2);
+        assertThat(first.get("statusHistory").get(0).get("status").asText()).isEqualTo("Ingresado");
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("statusHistory")).isEmpty();
+    }
+}
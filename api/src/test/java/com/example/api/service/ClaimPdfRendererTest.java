@@ -0,0 +1,81 @@
+package com.example.api.service;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClaimPdfRendererTest {
+
+    private final ClaimPdfRenderer renderer = new ClaimPdfRenderer(new ClaimReportTemplate(), 4, 50);
+
+    @AfterEach
+    void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Test
+    void render_ManyChunks_ShouldKeepRowOrderAndNumberPages() throws Exception {
+        byte[] pdf = renderer.render(rows(230));
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            int totalPages = document.getNumberOfPages();
+            String firstPage = PdfTextExtractor.getTextFromPage(document.getPage(1));
+            String lastPage = PdfTextExtractor.getTextFromPage(document.getPage(totalPages));
+
+            assertThat(totalPages).isGreaterThan(1);
+            assertThat(firstPage).contains("Reporte de Reclamos").contains("CLM-00001").contains("Página 1 de " + totalPages);
+            assertThat(lastPage).contains("CLM-00230").contains("Total de reclamos: 230")
+                    .contains("Página " + totalPages + " de " + totalPages);
+        }
+    }
+
+    @Test
+    void render_NoClaims_ShouldProduceSinglePageReport() throws Exception {
+        byte[] pdf = renderer.render(List.of());
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+            assertThat(PdfTextExtractor.getTextFromPage(document.getPage(1))).contains("Total de reclamos: 0");
+        }
+    }
+
+    @Test
+    void render_ConcurrentReports_ShouldEachImportTheSharedTitle() throws Exception {
+        List<CompletableFuture<byte[]>> reports = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            reports.add(CompletableFuture.supplyAsync(() -> renderer.render(rows(10))));
+        }
+
+        for (CompletableFuture<byte[]> report : reports) {
+            try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(report.get())))) {
+                assertThat(PdfTextExtractor.getTextFromPage(document.getPage(1))).contains("Reporte de Reclamos");
+            }
+        }
+    }
+
+    private List<ClaimPdfRenderer.ClaimRow> rows(int count) {
+        List<ClaimPdfRenderer.ClaimRow> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new ClaimPdfRenderer.ClaimRow(
+                    (long) i,
+                    String.format("CLM-%05d", i),
+                    "Reclamo " + i,
+                    1000L + i,
+                    EstadoReclamoEnum.EN_PROCESO,
+                    LocalDateTime.of(2024, 1, 1, 10, 0)
+            ));
+        }
+        return rows;
+    }
+}
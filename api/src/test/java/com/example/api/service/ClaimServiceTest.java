@@ -1,29 +1,44 @@
 package com.example.api.service;
 
+import com.example.api.cache.ClaimSummaryStore;
 import com.example.api.dto.CreateClaimRequest;
 import com.example.api.dto.ClaimStatusRequest;
 import com.example.api.dto.ClaimResponse;
 import com.example.api.dto.ClaimDetailResponse;
+import com.example.api.dto.ClaimStatusPageResponse;
 import com.example.api.entity.Reclamo;
 import com.example.api.entity.EstadoReclamo;
 import com.example.api.entity.AdjuntoReclamo;
+import com.example.api.entity.VistaPreviaAdjunto;
+import com.example.api.enums.PreviewStatus;
+import com.example.api.event.AttachmentAddedEvent;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.eventstore.ClaimEventStore;
+import com.example.api.eventstore.ClaimState;
 import com.example.api.exception.ClaimNotFoundException;
 import com.example.api.repository.ReclamoRepository;
-import com.example.api.repository.EstadoReclamoRepository;
 import com.example.api.repository.AdjuntoReclamoRepository;
+import com.example.api.repository.VistaPreviaAdjuntoRepository;
+import com.example.api.search.AttachmentTextIndexer;
+import com.example.api.search.ClaimStatusIndex;
 import com.example.api.enums.EstadoReclamoEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,11 +51,29 @@ class ClaimServiceTest {
     private ReclamoRepository reclamoRepository;
 
     @Mock
-    private EstadoReclamoRepository estadoReclamoRepository;
+    private ClaimEventStore claimEventStore;
 
     @Mock
     private AdjuntoReclamoRepository adjuntoReclamoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    @Mock
+    private VistaPreviaAdjuntoRepository vistaPreviaAdjuntoRepository;
+
+    @Mock
+    private AttachmentTextIndexer attachmentTextIndexer;
+
+    @Mock
+    private ClaimStatusIndex claimStatusIndex;
+
+    @Mock
+    private ClaimSummaryStore claimSummaryStore;
+
     @Mock
     private MultipartFile multipartFile;
 
@@ -81,7 +114,7 @@ class ClaimServiceTest {
     @Test
     void createClaim_ShouldCreateClaimSuccessfully() {
         when(reclamoRepository.save(any(Reclamo.class))).thenReturn(reclamo);
-        when(estadoReclamoRepository.save(any(EstadoReclamo.class))).thenReturn(estadoReclamo);
+        when(claimEventStore.append(any(EstadoReclamo.class))).thenReturn(estadoReclamo);
 
         ClaimResponse result = claimService.createClaim(createClaimRequest);
 
@@ -98,10 +131,13 @@ class ClaimServiceTest {
             r.getClienteId().equals(123L) &&
             r.getCodigo().startsWith("CLM-")
         ));
-        verify(estadoReclamoRepository).save(argThat(e ->
+        verify(claimEventStore).append(argThat(e ->
             e.getEstado().equals(EstadoReclamoEnum.INGRESADO) &&
             e.getNotas().equals("Reclamo creado exitosamente")
         ));
+        verify(eventPublisher).publishEvent(new ClaimChangedEvent(
+            1L, 123L, EstadoReclamoEnum.INGRESADO, estadoReclamo.getFechaCreacion()
+        ));
     }
 
     @Test
@@ -120,6 +156,20 @@ class ClaimServiceTest {
         verify(reclamoRepository).findAllWithLastStatus();
     }
 
+    @Test
+    void getAllClaimsWithLastStatus_SummaryStoreReady_ShouldServeFromStoreNewestFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        ClaimResponse older = new ClaimResponse(2L, "Antiguo", null, 5L, EstadoReclamoEnum.RESUELTO, now.minusDays(1), now);
+        ClaimResponse newer = new ClaimResponse(1L, "Nuevo", "Desc", 5L, EstadoReclamoEnum.INGRESADO, now, now);
+        when(claimSummaryStore.isReady()).thenReturn(true);
+        when(claimSummaryStore.scan(any())).thenReturn(new ArrayList<>(List.of(older, newer)));
+
+        List<ClaimResponse> result = claimService.getAllClaimsWithLastStatus();
+
+        assertThat(result).containsExactly(newer, older);
+        verifyNoInteractions(reclamoRepository);
+    }
+
     @Test
     void getAllClaimsWithLastStatus_WithoutStatus_ShouldReturnDefaultIngresadoStatus() {
         reclamo.setEstados(Arrays.asList());
@@ -159,6 +209,93 @@ class ClaimServiceTest {
         verify(reclamoRepository).findById(1L);
     }
 
+    @Test
+    void getClaimDetailsById_ShouldTakeCurrentStatusFromSequence() {
+        estadoReclamo.setSecuencia(1L);
+        EstadoReclamo later = EstadoReclamo.builder()
+                .id(2L)
+                .reclamo(reclamo)
+                .estado(EstadoReclamoEnum.EN_PROCESO)
+                .secuencia(2L)
+                .fechaCreacion(estadoReclamo.getFechaCreacion().minusSeconds(1))
+                .build();
+        reclamo.setEstados(Arrays.asList(estadoReclamo, later));
+        reclamo.setAdjuntos(List.of());
+
+        when(reclamoRepository.findById(1L)).thenReturn(Optional.of(reclamo));
+
+        assertThat(claimService.getClaimDetailsById(1L).currentStatus()).isEqualTo(EstadoReclamoEnum.EN_PROCESO);
+    }
+
+    @Test
+    void getClaimDetailsById_WithReadyPreview_ShouldExposePreviewMetadata() {
+        AdjuntoReclamo adjunto = AdjuntoReclamo.builder()
+                .id(7L)
+                .nombreArchivo("evidencia.pdf")
+                .tipoContenido("application/pdf")
+                .tamanoBytes(5_000_000L)
+                .fechaSubida(LocalDateTime.now())
+                .build();
+        VistaPreviaAdjunto preview = VistaPreviaAdjunto.builder()
+                .adjuntoId(7L)
+                .reclamoId(1L)
+                .estado(PreviewStatus.READY)
+                .urlVistaPrevia("/uploads/1/evidencia.pdf.preview.png")
+                .tamanoVistaPrevia(40_000L)
+                .numeroPaginas(12)
+                .build();
+
+        reclamo.setEstados(Arrays.asList(estadoReclamo));
+        reclamo.setAdjuntos(Arrays.asList(adjunto));
+
+        when(reclamoRepository.findById(1L)).thenReturn(Optional.of(reclamo));
+        when(vistaPreviaAdjuntoRepository.findAllById(List.of(7L))).thenReturn(List.of(preview));
+
+        ClaimDetailResponse.ClaimAttachment attachment = claimService.getClaimDetailsById(1L).attachments().get(0);
+
+        assertThat(attachment.previewStatus()).isEqualTo(PreviewStatus.READY);
+        assertThat(attachment.previewUrl()).isEqualTo("/api/claims/1/attachments/7/preview");
+        assertThat(attachment.previewSize()).isEqualTo(40_000L);
+        assertThat(attachment.pageCount()).isEqualTo(12);
+    }
+
+    @Test
+    void getClaimsWithFilters_AttachmentMatches_ShouldRankFieldMatchesFirst() {
+        Reclamo olderAttachmentHit = Reclamo.builder().id(2L).codigo("CLM-2").titulo("Cobro").descripcion("Ver PDF")
+                .clienteId(5L).fechaCreacion(LocalDateTime.now().minusDays(3)).estados(List.of()).build();
+        Reclamo newerAttachmentHit = Reclamo.builder().id(3L).codigo("CLM-3").titulo("Otro").descripcion("Ver PDF")
+                .clienteId(5L).fechaCreacion(LocalDateTime.now().minusDays(1)).estados(List.of()).build();
+        reclamo.setTitulo("Factura duplicada");
+        reclamo.setEstados(List.of(estadoReclamo));
+
+        when(reclamoRepository.findWithFilters(null, "factura")).thenReturn(List.of(reclamo));
+        when(attachmentTextIndexer.scoreClaims("factura")).thenReturn(Map.of(2L, 9L, 3L, 1L));
+        when(reclamoRepository.findWithStatusByIds(eq(null), argThat(ids -> ids.containsAll(List.of(2L, 3L)))))
+                .thenReturn(List.of(newerAttachmentHit, olderAttachmentHit));
+
+        List<ClaimResponse> result = claimService.getClaimsWithFilters(null, "factura");
+
+        assertThat(result).extracting(ClaimResponse::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void getClaimsWithFilters_AttachmentMatches_ShouldScoreFieldsWithIndexTerms() {
+        Reclamo accentedTitle = Reclamo.builder().id(2L).codigo("CLM-2").titulo("Facturación de marzo").descripcion("Ver PDF")
+                .clienteId(5L).fechaCreacion(LocalDateTime.now().minusDays(3)).build();
+        Reclamo attachmentOnly = Reclamo.builder().id(3L).codigo("CLM-3").titulo("Otro").descripcion("Ver PDF")
+                .clienteId(5L).fechaCreacion(LocalDateTime.now()).build();
+        reclamo.setTitulo("Facturacion pendiente");
+
+        when(reclamoRepository.findWithFilters(null, "FACTURACION")).thenReturn(List.of(reclamo));
+        when(attachmentTextIndexer.scoreClaims("FACTURACION")).thenReturn(Map.of(2L, 5L, 3L, 900L));
+        when(reclamoRepository.findWithStatusByIds(eq(null), any())).thenReturn(List.of(attachmentOnly, accentedTitle));
+
+        List<ClaimResponse> result = claimService.getClaimsWithFilters(null, "FACTURACION");
+
+        // The accented title is a field hit once normalized like the index, so it outranks attachment-only 3
+        assertThat(result).extracting(ClaimResponse::id).containsExactly(2L, 1L, 3L);
+    }
+
     @Test
     void getClaimDetailsById_ClaimNotFound_ShouldThrowException() {
         when(reclamoRepository.findById(1L)).thenReturn(Optional.empty());
@@ -178,11 +315,17 @@ class ClaimServiceTest {
         claimService.addStatusToClaim(1L, statusRequest);
 
         verify(reclamoRepository).findById(1L);
-        verify(estadoReclamoRepository).save(argThat(estado ->
+        verify(claimEventStore).append(argThat(estado ->
             estado.getEstado().equals(EstadoReclamoEnum.EN_PROCESO) &&
             estado.getNotas().equals("Revisando documentos") &&
             estado.getReclamo().equals(reclamo)
         ));
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+            event instanceof ClaimChangedEvent changed &&
+            changed.claimId().equals(1L) &&
+            changed.customerId().equals(123L) &&
+            changed.status() == EstadoReclamoEnum.EN_PROCESO
+        ));
     }
 
     @Test
@@ -195,7 +338,95 @@ class ClaimServiceTest {
                 .isInstanceOf(ClaimNotFoundException.class);
 
         verify(reclamoRepository).findById(1L);
-        verify(estadoReclamoRepository, never()).save(any());
+        verify(claimEventStore, never()).append(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addStatusesToClaims_ShouldAppendInOrderAndReportMissingClaims() {
+        ClaimStatusRequest enProceso = new ClaimStatusRequest(EstadoReclamoEnum.EN_PROCESO, null, null);
+        ClaimStatusRequest resuelto = new ClaimStatusRequest(EstadoReclamoEnum.RESUELTO, "Listo", null);
+        when(reclamoRepository.findAllById(List.of(1L, 7L))).thenReturn(List.of(reclamo));
+        when(claimEventStore.appendAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Set<Long> missing = claimService.addStatusesToClaims(List.of(
+                new ClaimService.StatusChange(1L, enProceso),
+                new ClaimService.StatusChange(7L, enProceso),
+                new ClaimService.StatusChange(1L, resuelto)));
+
+        assertThat(missing).containsExactly(7L);
+        verify(claimEventStore).appendAll(argThat(statuses -> statuses.size() == 2
+                && statuses.get(0).getEstado() == EstadoReclamoEnum.EN_PROCESO
+                && statuses.get(1).getEstado() == EstadoReclamoEnum.RESUELTO));
+        verify(eventPublisher, times(2)).publishEvent(any(ClaimChangedEvent.class));
+    }
+
+    @Test
+    void getClaimsByStatus_IndexReady_ShouldHydrateOnlyThePageInIndexOrder() {
+        Reclamo newer = Reclamo.builder().id(9L).titulo("Nuevo").clienteId(5L).fechaCreacion(LocalDateTime.now()).build();
+        when(claimStatusIndex.isReady()).thenReturn(true);
+        when(claimStatusIndex.page(EstadoReclamoEnum.EN_PROCESO, null, null, 20, 20))
+                .thenReturn(new ClaimStatusIndex.IdPage(42, new long[]{9L, 1L}));
+        when(reclamoRepository.findAllById(List.of(9L, 1L))).thenReturn(List.of(reclamo, newer));
+
+        ClaimStatusPageResponse result = claimService.getClaimsByStatus(EstadoReclamoEnum.EN_PROCESO, null, null, 1, 20);
+
+        assertThat(result.total()).isEqualTo(42);
+        assertThat(result.claims()).extracting(ClaimResponse::id).containsExactly(9L, 1L);
+        assertThat(result.claims()).extracting(ClaimResponse::currentStatus).containsOnly(EstadoReclamoEnum.EN_PROCESO);
+        verify(reclamoRepository, never()).findByCurrentStatus(any());
+    }
+
+    @Test
+    void getClaimsWithFilters_IndexReadyWithoutSearch_ShouldLoadClaimsByIdNewestFirst() {
+        Reclamo newer = Reclamo.builder().id(9L).titulo("Nuevo").clienteId(5L).fechaCreacion(LocalDateTime.now()).build();
+        reclamo.setFechaCreacion(LocalDateTime.now().minusDays(1));
+        when(claimStatusIndex.isReady()).thenReturn(true);
+        when(claimStatusIndex.page(EstadoReclamoEnum.EN_PROCESO, null, null, 0, Integer.MAX_VALUE))
+                .thenReturn(new ClaimStatusIndex.IdPage(2, new long[]{1L, 9L}));
+        when(reclamoRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(reclamo, newer));
+
+        List<ClaimResponse> result = claimService.getClaimsWithFilters(EstadoReclamoEnum.EN_PROCESO, null);
+
+        assertThat(result).extracting(ClaimResponse::id).containsExactly(9L, 1L);
+        assertThat(result).extracting(ClaimResponse::currentStatus).containsOnly(EstadoReclamoEnum.EN_PROCESO);
+        verify(reclamoRepository, never()).findWithStatusByIds(any(), any());
+    }
+
+    @Test
+    void getClaimsWithFilters_IndexReady_ShouldFilterSearchResultsByIndexedStatus() {
+        Reclamo other = Reclamo.builder().id(2L).titulo("Factura vieja").clienteId(5L).fechaCreacion(LocalDateTime.now()).build();
+        when(claimStatusIndex.isReady()).thenReturn(true);
+        when(reclamoRepository.findWithFilters(null, "factura")).thenReturn(List.of(reclamo, other));
+        when(claimStatusIndex.contains(EstadoReclamoEnum.RESUELTO, 1L)).thenReturn(false);
+        when(claimStatusIndex.contains(EstadoReclamoEnum.RESUELTO, 2L)).thenReturn(true);
+
+        List<ClaimResponse> result = claimService.getClaimsWithFilters(EstadoReclamoEnum.RESUELTO, "factura");
+
+        assertThat(result).extracting(ClaimResponse::id).containsExactly(2L);
+        verify(reclamoRepository, never()).findWithFilters(eq(EstadoReclamoEnum.RESUELTO), any());
+    }
+
+    @Test
+    void escalateClaims_ShouldSkipClaimsWhoseStatusChanged() {
+        Reclamo other = Reclamo.builder().id(2L).clienteId(456L).build();
+        when(claimEventStore.loadAll(any())).thenReturn(Map.of(
+                1L, ClaimState.empty(1L).apply(1, EstadoReclamoEnum.INGRESADO, LocalDateTime.now()),
+                2L, ClaimState.empty(2L).apply(2, EstadoReclamoEnum.EN_PROCESO, LocalDateTime.now())
+        ));
+        when(reclamoRepository.findAllById(any())).thenReturn(List.of(reclamo, other));
+        when(claimEventStore.appendAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Long> escalated = claimService.escalateClaims(
+                Map.of(1L, EstadoReclamoEnum.INGRESADO, 2L, EstadoReclamoEnum.INGRESADO), "SLA vencido");
+
+        assertThat(escalated).containsExactly(1L);
+        verify(claimEventStore).appendAll(argThat(statuses -> {
+            List<EstadoReclamo> list = (List<EstadoReclamo>) statuses;
+            return list.size() == 1 && list.get(0).getEstado() == EstadoReclamoEnum.ESCALADO
+                    && list.get(0).getNotas().equals("SLA vencido (Ingresado)");
+        }));
+        verify(eventPublisher).publishEvent(any(ClaimChangedEvent.class));
     }
 
     @Test
@@ -213,9 +444,26 @@ class ClaimServiceTest {
             adjunto.getNombreArchivo().equals("document.pdf") &&
             adjunto.getTipoContenido().equals("application/pdf") &&
             adjunto.getTamanoBytes().equals(1024L) &&
-            adjunto.getUrlArchivo().equals("/uploads/1/document.pdf") &&
+            adjunto.getUrlArchivo().matches("/uploads/1/[0-9a-f-]{36}-document\\.pdf") &&
             adjunto.getReclamo().equals(reclamo)
         ));
+        verify(attachmentStorage).store(matches("/uploads/1/[0-9a-f-]{36}-document\\.pdf"), any());
+        verify(eventPublisher).publishEvent(any(AttachmentAddedEvent.class));
+    }
+
+    @Test
+    void addAttachmentToClaim_SameFileNameTwice_ShouldNotOverwriteTheFirst() {
+        when(reclamoRepository.findById(1L)).thenReturn(Optional.of(reclamo));
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("../document.pdf");
+
+        claimService.addAttachmentToClaim(1L, multipartFile);
+        claimService.addAttachmentToClaim(1L, multipartFile);
+
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(attachmentStorage, times(2)).store(urls.capture(), any());
+        assertThat(urls.getAllValues()).doesNotHaveDuplicates()
+                .allMatch(url -> url.matches("/uploads/1/[0-9a-f-]{36}-document\\.pdf"));
     }
 
     @Test
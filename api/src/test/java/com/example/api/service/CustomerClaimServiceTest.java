@@ -0,0 +1,147 @@
+package com.example.api.service;
+
+import com.example.api.cache.CustomerClaimCache;
+import com.example.api.dto.CustomerClaimsResponse;
+import com.example.api.entity.Reclamo;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.repository.ReclamoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerClaimServiceTest {
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    private CustomerClaimCache customerClaimCache;
+    private CustomerClaimService customerClaimService;
+
+    private final LocalDateTime base = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        customerClaimCache = new CustomerClaimCache();
+        customerClaimService = new CustomerClaimService(reclamoRepository, customerClaimCache);
+    }
+
+    @Test
+    void getCustomerClaims_FirstPage_ShouldReturnCursorWhenMoreClaimsExist() {
+        when(reclamoRepository.findByClienteIdNewestFirst(eq(123L), any(Pageable.class)))
+                .thenReturn(reclamos(3, 0));
+        when(reclamoRepository.findLastStatusByReclamoIds(List.of(100L, 99L)))
+                .thenReturn(List.<Object[]>of(new Object[]{100L, EstadoReclamoEnum.EN_PROCESO}));
+
+        CustomerClaimsResponse result = customerClaimService.getCustomerClaims(123L, null, 2);
+
+        assertThat(result.claims()).hasSize(2);
+        assertThat(result.claims().get(0).currentStatus()).isEqualTo(EstadoReclamoEnum.EN_PROCESO);
+        assertThat(result.claims().get(1).currentStatus()).isEqualTo(EstadoReclamoEnum.INGRESADO);
+        assertThat(result.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void getCustomerClaims_WithCursor_ShouldQueryAfterLastPosition() {
+        when(reclamoRepository.findByClienteIdNewestFirst(eq(123L), any(Pageable.class)))
+                .thenReturn(reclamos(3, 0));
+        String cursor = customerClaimService.getCustomerClaims(123L, null, 2).nextCursor();
+
+        when(reclamoRepository.findByClienteIdBefore(eq(123L), eq(base.minusMinutes(1)), eq(99L), any(Pageable.class)))
+                .thenReturn(reclamos(1, 2));
+
+        CustomerClaimsResponse result = customerClaimService.getCustomerClaims(123L, cursor, 2);
+
+        assertThat(result.claims()).extracting("id").containsExactly(98L);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getCustomerClaims_DefaultFirstPage_ShouldBeServedFromCacheUntilInvalidated() {
+        when(reclamoRepository.findByClienteIdNewestFirst(eq(123L), any(Pageable.class)))
+                .thenReturn(reclamos(1, 0));
+
+        customerClaimService.getCustomerClaims(123L, null, CustomerClaimService.DEFAULT_PAGE_SIZE);
+        customerClaimService.getCustomerClaims(123L, null, CustomerClaimService.DEFAULT_PAGE_SIZE);
+        verify(reclamoRepository, times(1)).findByClienteIdNewestFirst(eq(123L), any(Pageable.class));
+
+        customerClaimCache.onClaimChanged(new ClaimChangedEvent(100L, 123L, EstadoReclamoEnum.RESUELTO, base));
+        customerClaimService.getCustomerClaims(123L, null, CustomerClaimService.DEFAULT_PAGE_SIZE);
+        verify(reclamoRepository, times(2)).findByClienteIdNewestFirst(eq(123L), any(Pageable.class));
+    }
+
+    @Test
+    void getCustomerClaims_InvalidCursor_ShouldThrowException() {
+        assertThatThrownBy(() -> customerClaimService.getCustomerClaims(123L, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void customerClaimCache_ShouldEvictLeastRecentlyUsedCustomer() {
+        CustomerClaimCache cache = new CustomerClaimCache(2);
+        cache.put(1L, new CustomerClaimsResponse(1L, Collections.emptyList(), null), cache.stamp());
+        cache.put(2L, new CustomerClaimsResponse(2L, Collections.emptyList(), null), cache.stamp());
+        cache.get(1L);
+        cache.put(3L, new CustomerClaimsResponse(3L, Collections.emptyList(), null), cache.stamp());
+
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isNotNull();
+    }
+
+    @Test
+    void customerClaimCache_PutAfterInvalidation_ShouldOnlyDropThatCustomersPage() {
+        CustomerClaimCache cache = new CustomerClaimCache(2);
+        long stamp = cache.stamp();
+        cache.evict(2L);
+
+        cache.put(1L, new CustomerClaimsResponse(1L, Collections.emptyList(), null), stamp);
+        cache.put(2L, new CustomerClaimsResponse(2L, Collections.emptyList(), null), stamp);
+
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void customerClaimCache_ForgottenInvalidation_ShouldDropPagesReadBeforeIt() {
+        CustomerClaimCache cache = new CustomerClaimCache(2);
+        long stamp = cache.stamp();
+        cache.evict(1L);
+        cache.evict(2L);
+        cache.evict(3L);
+
+        cache.put(1L, new CustomerClaimsResponse(1L, Collections.emptyList(), null), stamp);
+        cache.put(4L, new CustomerClaimsResponse(4L, Collections.emptyList(), null), stamp);
+        cache.put(4L, new CustomerClaimsResponse(4L, Collections.emptyList(), null), cache.stamp());
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(4L)).isNotNull();
+    }
+
+    private List<Reclamo> reclamos(int count, int offset) {
+        List<Reclamo> reclamos = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            reclamos.add(Reclamo.builder()
+                    .id(100L - i)
+                    .codigo("CLM-" + i)
+                    .titulo("Reclamo " + i)
+                    .clienteId(123L)
+                    .fechaCreacion(base.minusMinutes(i))
+                    .build());
+        }
+        return reclamos;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.api.service;
+
+import com.example.api.dto.CreateSavedViewRequest;
+import com.example.api.dto.SavedViewPageResponse;
+import com.example.api.dto.SavedViewResponse;
+import com.example.api.entity.Reclamo;
+import com.example.api.entity.VistaGuardada;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.SavedViewCreatedEvent;
+import com.example.api.event.SavedViewDeletedEvent;
+import com.example.api.eventstore.ClaimEventStore;
+import com.example.api.exception.SavedViewNotFoundException;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.VistaGuardadaRepository;
+import com.example.api.search.ClaimStatusIndex;
+import com.example.api.search.SavedViewIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedViewServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private VistaGuardadaRepository vistaGuardadaRepository;
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private ClaimEventStore claimEventStore;
+
+    @Mock
+    private SavedViewIndex savedViewIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SavedViewService savedViewService;
+
+    @Test
+    void createView_ShouldSaveTrimmedFilterAndPrecomputeIt() {
+        when(vistaGuardadaRepository.save(any(VistaGuardada.class))).thenAnswer(invocation -> {
+            VistaGuardada vista = invocation.getArgument(0);
+            vista.setId(3L);
+            return vista;
+        });
+
+        SavedViewResponse response = savedViewService.createView(
+                new CreateSavedViewRequest(" Facturación ", EstadoReclamoEnum.ESCALADO, "  factura "));
+
+        assertThat(response.id()).isEqualTo(3L);
+        assertThat(response.name()).isEqualTo("Facturación");
+        assertThat(response.search()).isEqualTo("factura");
+        // The index only picks the view up after commit
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof SavedViewCreatedEvent created && created.view().getId() == 3L));
+        verifyNoInteractions(savedViewIndex);
+    }
+
+    @Test
+    void deleteView_ShouldDropItFromIndexAfterCommit() {
+        when(vistaGuardadaRepository.existsById(3L)).thenReturn(true);
+
+        savedViewService.deleteView(3L);
+
+        verify(vistaGuardadaRepository).deleteById(3L);
+        verify(eventPublisher).publishEvent(new SavedViewDeletedEvent(3L));
+        verifyNoInteractions(savedViewIndex);
+    }
+
+    @Test
+    void createView_WithoutFilters_ShouldBeRejected() {
+        assertThatThrownBy(() -> savedViewService.createView(new CreateSavedViewRequest("Todo", null, " ")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(vistaGuardadaRepository, savedViewIndex, eventPublisher);
+    }
+
+    @Test
+    void getViewClaims_Precomputed_ShouldLoadOnlyThePage() {
+        VistaGuardada vista = vista(EstadoReclamoEnum.EN_PROCESO, "factura");
+        when(vistaGuardadaRepository.findById(3L)).thenReturn(Optional.of(vista));
+        when(savedViewIndex.page(vista, 20, 20)).thenReturn(new ClaimStatusIndex.IdPage(45, new long[]{25L, 24L}));
+        when(reclamoRepository.findAllById(List.of(25L, 24L))).thenReturn(List.of(reclamo(24L), reclamo(25L)));
+
+        SavedViewPageResponse page = savedViewService.getViewClaims(3L, 1, 20);
+
+        assertThat(page.total()).isEqualTo(45);
+        assertThat(page.claims()).extracting("id").containsExactly(25L, 24L);
+        assertThat(page.claims()).extracting("currentStatus").containsOnly(EstadoReclamoEnum.EN_PROCESO);
+        verify(reclamoRepository, never()).findWithFilters(any(), any());
+    }
+
+    @Test
+    void getViewClaims_NotPrecomputed_ShouldFallBackToListQuery() {
+        VistaGuardada vista = vista(EstadoReclamoEnum.EN_PROCESO, "factura");
+        when(vistaGuardadaRepository.findById(3L)).thenReturn(Optional.of(vista));
+        when(reclamoRepository.findWithFilters(EstadoReclamoEnum.EN_PROCESO, "factura"))
+                .thenReturn(List.of(reclamo(7L), reclamo(9L), reclamo(8L)));
+
+        SavedViewPageResponse page = savedViewService.getViewClaims(3L, 0, 2);
+
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.claims()).extracting("id").containsExactly(9L, 8L);
+    }
+
+    @Test
+    void getViewClaims_UnknownView_ShouldThrowNotFound() {
+        when(vistaGuardadaRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> savedViewService.getViewClaims(99L, 0, 20))
+                .isInstanceOf(SavedViewNotFoundException.class);
+    }
+
+    private static VistaGuardada vista(EstadoReclamoEnum status, String search) {
+        return VistaGuardada.builder().id(3L).nombre("Facturación").estado(status).texto(search)
+                .fechaCreacion(BASE).build();
+    }
+
+    private static Reclamo reclamo(Long id) {
+        return Reclamo.builder().id(id).codigo("CLM-" + id).titulo("Factura " + id).descripcion("Desc")
+                .clienteId(10L).fechaCreacion(BASE.plusMinutes(id)).fechaActualizacion(BASE.plusMinutes(id)).build();
+    }
+}
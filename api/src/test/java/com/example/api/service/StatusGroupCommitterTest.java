@@ -0,0 +1,156 @@
+package com.example.api.service;
+
+import com.example.api.dto.ClaimStatusRequest;
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.exception.ClaimNotFoundException;
+import com.example.api.exception.ConcurrentClaimUpdateException;
+import com.example.api.exception.StatusWriteTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusGroupCommitterTest {
+
+    private static final ClaimStatusRequest EN_PROCESO = new ClaimStatusRequest(EstadoReclamoEnum.EN_PROCESO, null, null);
+
+    @Mock
+    private ClaimService claimService;
+
+    private StatusGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ConcurrentChanges_ShouldCommitThemInOneBatch() {
+        when(claimService.addStatusesToClaims(anyList())).thenReturn(Set.of());
+        committer = new StatusGroupCommitter(claimService, true, 10, Duration.ofSeconds(1), 100, Duration.ofSeconds(5));
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (long claimId = 1; claimId <= 10; claimId++) {
+            futures.add(committer.submit(claimId, EN_PROCESO));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClaimService.StatusChange>> batch = ArgumentCaptor.forClass(List.class);
+        verify(claimService).addStatusesToClaims(batch.capture());
+        assertThat(batch.getValue()).extracting(ClaimService.StatusChange::claimId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void flush_MissingClaim_ShouldFailOnlyItsRequest() {
+        when(claimService.addStatusesToClaims(anyList())).thenReturn(Set.of(2L));
+        committer = new StatusGroupCommitter(claimService, false, 10, Duration.ZERO, 100, Duration.ofSeconds(5));
+        StatusGroupCommitter.Pending found = pending(1L);
+        StatusGroupCommitter.Pending missing = pending(2L);
+
+        committer.flush(List.of(found, missing));
+
+        assertThat(found.committed()).isCompleted();
+        assertThatThrownBy(missing.committed()::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ClaimNotFoundException.class);
+    }
+
+    @Test
+    void flush_FailedBatch_ShouldRetryChangesOneByOne() {
+        ConcurrentClaimUpdateException conflict = new ConcurrentClaimUpdateException(2L, null);
+        when(claimService.addStatusesToClaims(anyList())).thenAnswer(invocation -> {
+            List<ClaimService.StatusChange> changes = invocation.getArgument(0);
+            if (changes.stream().anyMatch(change -> change.claimId() == 2L)) {
+                throw conflict;
+            }
+            return Set.of();
+        });
+        committer = new StatusGroupCommitter(claimService, false, 10, Duration.ZERO, 100, Duration.ofSeconds(5));
+        StatusGroupCommitter.Pending first = pending(1L);
+        StatusGroupCommitter.Pending conflicting = pending(2L);
+        StatusGroupCommitter.Pending third = pending(3L);
+
+        committer.flush(List.of(first, conflicting, third));
+
+        assertThat(first.committed()).isCompleted();
+        assertThat(third.committed()).isCompleted();
+        assertThatThrownBy(conflicting.committed()::join).hasCause(conflict);
+        verify(claimService, times(4)).addStatusesToClaims(anyList());
+    }
+
+    @Test
+    void write_MissingClaim_ShouldRethrowClaimNotFound() {
+        when(claimService.addStatusesToClaims(anyList())).thenReturn(Set.of(99L));
+        committer = new StatusGroupCommitter(claimService, true, 10, Duration.ZERO, 100, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> committer.write(99L, EN_PROCESO)).isInstanceOf(ClaimNotFoundException.class);
+    }
+
+    @Test
+    void submit_AfterShutdown_ShouldBeRejected() {
+        committer = new StatusGroupCommitter(claimService, true, 10, Duration.ZERO, 100, Duration.ofSeconds(5));
+        committer.shutdown();
+
+        assertThatThrownBy(() -> committer.write(1L, EN_PROCESO)).isInstanceOf(RejectedExecutionException.class);
+        verifyNoInteractions(claimService);
+    }
+
+    @Test
+    void write_StillQueuedAtTimeout_ShouldBeWithdrawnAndRejected() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(claimService.addStatusesToClaims(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return Set.of();
+        });
+        committer = new StatusGroupCommitter(claimService, true, 10, Duration.ZERO, 100, Duration.ofMillis(50));
+
+        // The first write holds the writer, so the second stays queued and is withdrawn
+        CompletableFuture<Long> held = committer.submit(1L, EN_PROCESO);
+        verify(claimService, timeout(1000)).addStatusesToClaims(anyList());
+        assertThatThrownBy(() -> committer.write(2L, EN_PROCESO)).isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        held.join();
+        verify(claimService, times(1)).addStatusesToClaims(anyList());
+    }
+
+    @Test
+    void write_BatchStillCommitting_ShouldReportTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(claimService.addStatusesToClaims(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return Set.of();
+        });
+        committer = new StatusGroupCommitter(claimService, true, 10, Duration.ZERO, 100, Duration.ofMillis(50));
+
+        try {
+            assertThatThrownBy(() -> committer.write(1L, EN_PROCESO)).isInstanceOf(StatusWriteTimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static StatusGroupCommitter.Pending pending(long claimId) {
+        return new StatusGroupCommitter.Pending(new ClaimService.StatusChange(claimId, EN_PROCESO), new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.api.sla;
+
+import com.example.api.enums.EstadoReclamoEnum;
+import com.example.api.event.ClaimChangedEvent;
+import com.example.api.repository.ReclamoRepository;
+import com.example.api.repository.TareaProgramadaRepository;
+import com.example.api.service.ClaimService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlaEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private ReclamoRepository reclamoRepository;
+
+    @Mock
+    private ClaimService claimService;
+
+    @Mock
+    private TareaProgramadaRepository tareaProgramadaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong(millis(START));
+    private SlaEngine slaEngine;
+
+    @BeforeEach
+    void setUp() {
+        slaEngine = new SlaEngine(reclamoRepository, claimService, tareaProgramadaRepository, transactionManager,
+                Map.of(EstadoReclamoEnum.INGRESADO, Duration.ofHours(24),
+                        EstadoReclamoEnum.PENDIENTE_INFORMACION, Duration.ofHours(72)),
+                Duration.ofMinutes(1), 2, true, clock::get);
+        lenient().when(tareaProgramadaRepository.takeLease(eq(SlaEngine.LEASE_NAME), anyString(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void tick_AfterRebuild_ShouldEscalateOverdueClaimsInBatches() {
+        when(reclamoRepository.streamCurrentStatuses(any())).thenReturn(Stream.of(
+                new Object[]{1L, EstadoReclamoEnum.INGRESADO, START.minusHours(30)},
+                new Object[]{2L, EstadoReclamoEnum.INGRESADO, START.minusHours(25)},
+                new Object[]{3L, EstadoReclamoEnum.PENDIENTE_INFORMACION, START.minusHours(80)},
+                new Object[]{4L, EstadoReclamoEnum.INGRESADO, START.minusHours(1)}
+        ));
+        when(claimService.escalateClaims(anyMap(), anyString())).thenAnswer(invocation ->
+                List.copyOf(invocation.<Map<Long, EstadoReclamoEnum>>getArgument(0).keySet()));
+
+        slaEngine.rebuild();
+        slaEngine.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, EstadoReclamoEnum>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(claimService, times(2)).escalateClaims(batches.capture(), eq(SlaEngine.ESCALATION_REASON));
+        assertThat(batches.getAllValues()).flatExtracting(Map::keySet).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(slaEngine.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void onClaimChanged_StatusWithoutDeadline_ShouldStopTracking() {
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.INGRESADO, START));
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.EN_PROCESO, START.plusHours(2)));
+
+        clock.set(millis(START.plusDays(2)));
+        slaEngine.tick();
+
+        assertThat(slaEngine.pending()).isZero();
+        verifyNoInteractions(claimService);
+    }
+
+    @Test
+    void onClaimChanged_NewStatus_ShouldRestartDeadline() {
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.INGRESADO, START));
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.PENDIENTE_INFORMACION, START.plusHours(20)));
+
+        clock.set(millis(START.plusHours(30)));
+        slaEngine.tick();
+        verifyNoInteractions(claimService);
+
+        clock.set(millis(START.plusHours(92)));
+        slaEngine.tick();
+        verify(claimService).escalateClaims(Map.of(1L, EstadoReclamoEnum.PENDIENTE_INFORMACION), SlaEngine.ESCALATION_REASON);
+    }
+
+    @Test
+    void tick_EscalationFails_ShouldRetryOnNextTick() {
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.INGRESADO, START.minusDays(2)));
+        when(claimService.escalateClaims(anyMap(), anyString()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(1L));
+
+        slaEngine.tick();
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        slaEngine.tick();
+
+        verify(claimService, times(2)).escalateClaims(Map.of(1L, EstadoReclamoEnum.INGRESADO), SlaEngine.ESCALATION_REASON);
+        assertThat(slaEngine.pending()).isZero();
+    }
+
+    @Test
+    void tick_LeaseHeldByAnotherNode_ShouldKeepTimersUntilItTakesOver() {
+        slaEngine.onClaimChanged(new ClaimChangedEvent(1L, 100L, EstadoReclamoEnum.INGRESADO, START.minusDays(2)));
+        when(tareaProgramadaRepository.takeLease(eq(SlaEngine.LEASE_NAME), anyString(), any(), any()))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(claimService.escalateClaims(anyMap(), anyString())).thenReturn(List.of(1L));
+
+        slaEngine.tick();
+        verifyNoInteractions(claimService);
+        assertThat(slaEngine.pending()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofMinutes(3).toMillis());
+        slaEngine.tick();
+        verify(claimService).escalateClaims(Map.of(1L, EstadoReclamoEnum.INGRESADO), SlaEngine.ESCALATION_REASON);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
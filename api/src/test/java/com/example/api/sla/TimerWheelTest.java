@@ -0,0 +1,70 @@
+package com.example.api.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void advance_DeadlinesAcrossLevels_ShouldExpireExactlyOnTheirTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(1_000);
+        long[] delays = {1, 63, 64, 65, 4_095, 4_096, 300_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, 1_000 + delays[i], "t" + i);
+        }
+
+        for (int i = 0; i < delays.length; i++) {
+            long deadline = 1_000 + delays[i];
+            assertThat(wheel.advance(deadline - 1)).as("before %d", deadline).isEmpty();
+            assertThat(wheel.advance(deadline)).extracting(TimerWheel.Timer::key).containsExactly((long) i);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_RandomDeadlines_ShouldMatchNaiveScan() {
+        Random random = new Random(7);
+        TimerWheel<Void> wheel = new TimerWheel<>(0);
+        long[] deadlines = new long[2_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = 1 + random.nextInt(20_000);
+            wheel.schedule(i, deadlines[i], null);
+        }
+
+        for (long tick = 0; tick < 20_000 + 50; tick += 1 + random.nextInt(50)) {
+            List<TimerWheel.Timer<Void>> expired = wheel.advance(tick);
+            for (TimerWheel.Timer<Void> timer : expired) {
+                assertThat(timer.deadline()).isLessThanOrEqualTo(tick).isGreaterThan(tick - 50);
+            }
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelAndReschedule_ShouldOnlyFireLatestTimer() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        wheel.schedule(1, 10, "first");
+        wheel.schedule(1, 20, "second");
+        wheel.schedule(2, 10, "cancelled");
+        wheel.cancel(2);
+
+        assertThat(wheel.advance(15)).isEmpty();
+        assertThat(wheel.advance(20)).extracting(TimerWheel.Timer::payload).containsExactly("second");
+    }
+
+    @Test
+    void schedule_PastOrBeyondSpan_ShouldExpireWhenDue() {
+        TimerWheel<String> wheel = new TimerWheel<>(100);
+        long beyondSpan = 100 + (1L << (TimerWheel.BITS * TimerWheel.LEVELS)) + 5;
+        wheel.schedule(1, 50, "overdue");
+        wheel.schedule(2, beyondSpan, "far");
+
+        assertThat(wheel.advance(100)).extracting(TimerWheel.Timer::payload).containsExactly("overdue");
+        assertThat(wheel.advance(beyondSpan - 1)).isEmpty();
+        assertThat(wheel.advance(beyondSpan)).extracting(TimerWheel.Timer::payload).containsExactly("far");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.api.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StartupReportTest {
+
+    @Test
+    void slowestBeans_NestedInstantiation_ShouldRankBySelfTime() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.startRecording();
+
+        StartupStep service = bean(startup, "claimService");
+        Thread.sleep(5);
+        StartupStep repository = bean(startup, "reclamoRepository");
+        Thread.sleep(60);
+        repository.end();
+        service.end();
+        startup.start("spring.context.refresh").end();
+
+        List<StartupReport.BeanTiming> timings = StartupReport.slowestBeans(startup.getBufferedTimeline(), 10);
+
+        assertThat(timings).extracting(StartupReport.BeanTiming::beanName)
+                .containsExactly("reclamoRepository", "claimService");
+        StartupReport.BeanTiming claimService = timings.get(1);
+        assertThat(claimService.totalMillis()).isGreaterThanOrEqualTo(65);
+        assertThat(claimService.selfMillis()).isLessThan(claimService.totalMillis() - 50);
+    }
+
+    @Test
+    void slowestBeans_Limit_ShouldKeepOnlyTopEntries() {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        for (int i = 0; i < 5; i++) {
+            bean(startup, "bean" + i).end();
+        }
+
+        assertThat(StartupReport.slowestBeans(startup.getBufferedTimeline(), 3)).hasSize(3);
+    }
+
+    private StartupStep bean(BufferingApplicationStartup startup, String name) {
+        return startup.start(StartupReport.BEAN_INSTANTIATION).tag("beanName", name);
+    }
+}